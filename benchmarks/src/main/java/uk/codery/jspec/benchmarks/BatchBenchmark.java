@@ -0,0 +1,67 @@
+package uk.codery.jspec.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.codery.jspec.evaluator.SpecificationEvaluator;
+import uk.codery.jspec.result.BatchOutcome;
+import uk.codery.jspec.result.EvaluationOutcome;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many documents against one generated specification: {@link SpecificationEvaluator#evaluateAll}
+ * versus calling {@code evaluate} once per document, sequentially and from a parallel stream.
+ * The largest parameters retain millions of results per invocation, so forks get a 4 GB heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+public class BatchBenchmark {
+
+    @Param({"1000", "100000"})
+    public int documents;
+
+    /** Number of query criteria in the specification. */
+    @Param({"10", "100"})
+    public int size;
+
+    private SpecificationEvaluator evaluator;
+    private List<Map<String, Object>> batch;
+
+    @Setup
+    public void setUp() {
+        evaluator = new SpecificationEvaluator(Fixtures.synthetic(size, 2));
+        batch = new ArrayList<>(Collections.nCopies(documents, Fixtures.syntheticDocument()));
+    }
+
+    @Benchmark
+    public BatchOutcome evaluateAll() {
+        return evaluator.evaluateAll(batch);
+    }
+
+    @Benchmark
+    public List<EvaluationOutcome> evaluateEach() {
+        return batch.stream().map(evaluator::evaluate).toList();
+    }
+
+    @Benchmark
+    public List<EvaluationOutcome> evaluateEachInParallel() {
+        return batch.parallelStream().map(evaluator::evaluate).toList();
+    }
+}
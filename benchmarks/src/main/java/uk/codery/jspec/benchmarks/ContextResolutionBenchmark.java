@@ -0,0 +1,96 @@
+package uk.codery.jspec.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.codery.jspec.evaluator.ContextPathResolver;
+import uk.codery.jspec.evaluator.SpecificationEvaluator;
+import uk.codery.jspec.model.Criterion;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.model.SpecificationNormaliser;
+import uk.codery.jspec.result.EvaluationOutcome;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code $contextPath} resolution: {@link ContextPathResolver#resolve} on a query with and
+ * without references, and evaluation of a context-dependent specification with the context
+ * passed per call versus bound once with {@link SpecificationEvaluator#bindContext(Object)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ContextResolutionBenchmark {
+
+    /** Number of fields in the benchmarked query. */
+    @Param({"1", "8", "32"})
+    public int fields;
+
+    private Map<String, Object> plainQuery;
+    private Map<String, Object> referencingQuery;
+    private Map<String, Object> context;
+    private SpecificationEvaluator evaluator;
+    private SpecificationEvaluator bound;
+    private Map<String, Object> document;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Map<String, Object> plain = new HashMap<>();
+        Map<String, Object> referencing = new HashMap<>();
+        Map<String, Object> limits = new HashMap<>();
+        List<Criterion> criteria = new ArrayList<>();
+        document = new HashMap<>();
+        for (int f = 0; f < fields; f++) {
+            plain.put("f" + f, Map.of("$lte", 50));
+            Map<String, Object> operand = Map.of("$lte", Map.of("$contextPath", "limits.f" + f));
+            referencing.put("f" + f, operand);
+            criteria.add(new QueryCriterion("q" + f, Map.of("f" + f, operand)));
+            limits.put("f" + f, 50);
+            document.put("f" + f, f);
+        }
+        plainQuery = (Map<String, Object>) SpecificationNormaliser.normalise(plain);
+        referencingQuery = (Map<String, Object>) SpecificationNormaliser.normalise(referencing);
+        context = Map.of("limits", limits);
+
+        evaluator = new SpecificationEvaluator(new Specification("context", criteria));
+        bound = evaluator.bindContext(context);
+    }
+
+    /** A query without references is returned as is. */
+    @Benchmark
+    public Map<String, Object> resolveWithoutReferences() {
+        return ContextPathResolver.resolve(plainQuery, context);
+    }
+
+    @Benchmark
+    public Map<String, Object> resolveWithReferences() {
+        return ContextPathResolver.resolve(referencingQuery, context);
+    }
+
+    @Benchmark
+    public EvaluationOutcome evaluateWithContext() {
+        return evaluator.evaluate(document, context);
+    }
+
+    @Benchmark
+    public EvaluationOutcome evaluateBound() {
+        return bound.evaluate(document);
+    }
+}
@@ -0,0 +1,93 @@
+package uk.codery.jspec.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.codery.jspec.accessor.BeanDocumentAccessor;
+import uk.codery.jspec.accessor.DocumentAccessor;
+import uk.codery.jspec.evaluator.CriterionEvaluator;
+import uk.codery.jspec.evaluator.SpecificationEvaluator;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.operator.OperatorRegistry;
+import uk.codery.jspec.result.EvaluationOutcome;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluating typed records and Jackson trees in place, through a
+ * {@link uk.codery.jspec.accessor.DocumentAccessor}, versus converting them to maps first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DocumentAccessorBenchmark {
+
+    public record Address(String city, String postcode) {
+    }
+
+    public record Line(String sku, int quantity, double price) {
+    }
+
+    public record Order(String id, String status, double total, Address shipping, List<Line> lines,
+                        List<String> notes) {
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private SpecificationEvaluator evaluator;
+    private Order order;
+    private JsonNode tree;
+
+    @Setup
+    public void setUp() {
+        Specification specification = new Specification("orders", List.of(
+                new QueryCriterion("active", Map.of("status", "ACTIVE")),
+                new QueryCriterion("large", Map.of("total", Map.of("$gte", 100))),
+                new QueryCriterion("london", Map.of("shipping.city", "London")),
+                new QueryCriterion("bulk", Map.of("lines", Map.of("$elemMatch", Map.of("quantity", Map.of("$gt", 10))))),
+                new QueryCriterion("two-lines", Map.of("lines", Map.of("$size", 2)))));
+        DocumentAccessor accessor = DocumentAccessor.of(BeanDocumentAccessor.records(), DocumentAccessor.defaults());
+        evaluator = new SpecificationEvaluator(specification,
+                new CriterionEvaluator(OperatorRegistry.withDefaults(), Clock.systemUTC(), accessor));
+        order = new Order("o-1", "ACTIVE", 240.0, new Address("London", "N1"),
+                List.of(new Line("a", 2, 20.0), new Line("b", 20, 10.0)),
+                List.of("leave with neighbour", "fragile", "gift wrap", "call ahead"));
+        tree = JSON.valueToTree(order);
+    }
+
+    @Benchmark
+    public EvaluationOutcome recordInPlace() {
+        return evaluator.evaluate(order);
+    }
+
+    @Benchmark
+    public EvaluationOutcome recordConvertedToMap() {
+        return evaluator.evaluate(JSON.convertValue(order, Map.class));
+    }
+
+    @Benchmark
+    public EvaluationOutcome treeInPlace() {
+        return evaluator.evaluate(tree);
+    }
+
+    @Benchmark
+    public EvaluationOutcome treeConvertedToMap() {
+        return evaluator.evaluate(JSON.convertValue(tree, Map.class));
+    }
+}
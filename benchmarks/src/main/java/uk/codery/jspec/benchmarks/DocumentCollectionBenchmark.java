@@ -0,0 +1,83 @@
+package uk.codery.jspec.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.codery.jspec.evaluator.CriterionEvaluator;
+import uk.codery.jspec.evaluator.DocumentCollection;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.result.EvaluationState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtering an in-memory collection of orders: {@link DocumentCollection#find(QueryCriterion)}
+ * drained in full and cut short by {@code findFirst()}, versus calling
+ * {@link CriterionEvaluator#evaluateQuery} for every document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DocumentCollectionBenchmark {
+
+    private static final QueryCriterion QUERY = new QueryCriterion("large-uk", Map.of(
+            "order.total", Map.of("$gt", 150),
+            "customer.country", Map.of("$in", List.of("GB", "IE"))));
+
+    @Param({"1000", "100000"})
+    public int documents;
+
+    private DocumentCollection collection;
+    private List<Map<String, Object>> list;
+    private CriterionEvaluator criterionEvaluator;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        list = new ArrayList<>(documents);
+        for (int i = 0; i < documents; i++) {
+            list.add(Map.of(
+                    "order", Map.of("total", random.nextInt(200), "status", random.nextBoolean() ? "paid" : "pending"),
+                    "customer", Map.of("country", List.of("GB", "IE", "FR", "DE", "US").get(random.nextInt(5)))));
+        }
+        criterionEvaluator = new CriterionEvaluator();
+        collection = new DocumentCollection(list, criterionEvaluator);
+    }
+
+    @Benchmark
+    public List<Object> find() {
+        return collection.find(QUERY).toList();
+    }
+
+    @Benchmark
+    public Optional<Object> findFirst() {
+        return collection.find(QUERY).findFirst();
+    }
+
+    @Benchmark
+    public List<Object> evaluateQueryPerDocument() {
+        List<Object> matched = new ArrayList<>();
+        for (Map<String, Object> document : list) {
+            if (criterionEvaluator.evaluateQuery(document, QUERY).state() == EvaluationState.MATCHED) {
+                matched.add(document);
+            }
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,63 @@
+package uk.codery.jspec.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.codery.jspec.evaluator.CriterionEvaluator;
+import uk.codery.jspec.evaluator.SpecificationEvaluator;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.result.EvaluationOutcome;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction and evaluation of the library's YAML fixtures — the loan-eligibility spec,
+ * which exercises every operator, and the shopping-cart spec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FixtureBenchmark {
+
+    @Param({"LOAN", "SHOPPING_CART"})
+    public String fixture;
+
+    @Param({"default", "specialised", "short-circuit", "adaptive"})
+    public String options;
+
+    private Specification specification;
+    private SpecificationEvaluator evaluator;
+    private Object document;
+
+    @Setup
+    public void setUp() {
+        Fixtures.Named named = Fixtures.Named.valueOf(fixture);
+        specification = named.specification();
+        evaluator = new SpecificationEvaluator(specification, new CriterionEvaluator(),
+                SpecificationEvaluatorBenchmark.options(options));
+        document = named.document();
+    }
+
+    @Benchmark
+    public EvaluationOutcome evaluate() {
+        return evaluator.evaluate(document);
+    }
+
+    /** Normalising, planning and compiling — the cost paid once per specification. */
+    @Benchmark
+    public SpecificationEvaluator construct() {
+        return new SpecificationEvaluator(specification, new CriterionEvaluator(),
+                SpecificationEvaluatorBenchmark.options(options));
+    }
+}
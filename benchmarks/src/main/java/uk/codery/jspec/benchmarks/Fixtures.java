@@ -0,0 +1,125 @@
+package uk.codery.jspec.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import uk.codery.jspec.model.CompositeCriterion;
+import uk.codery.jspec.model.Criterion;
+import uk.codery.jspec.model.CriterionReference;
+import uk.codery.jspec.model.Junction;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Specifications and documents shared by the benchmarks.
+ *
+ * <p>The named fixtures are the library's own YAML test resources, which the benchmark build
+ * puts on its classpath; the synthetic ones are generated from a fixed seed so every run (and
+ * every fork) measures the same input.
+ */
+final class Fixtures {
+
+    /** The YAML fixtures: a specification and a document it is evaluated against. */
+    enum Named {
+        LOAN("e2e/loan-eligibility-spec.yaml", "e2e/applicant-qualified.yaml"),
+        SHOPPING_CART("specification.yaml", "document.yaml");
+
+        private final String specification;
+        private final String document;
+
+        Named(String specification, String document) {
+            this.specification = specification;
+            this.document = document;
+        }
+
+        Specification specification() {
+            return read(specification, Specification.class);
+        }
+
+        Object document() {
+            return read(document, Object.class);
+        }
+    }
+
+    /** Number of distinct fields synthetic specifications query. */
+    static final int FIELDS = 32;
+
+    private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory());
+
+    private Fixtures() {}
+
+    /**
+     * Generates a specification of {@code size} query criteria over {@link #FIELDS} fields,
+     * cycling through the common operators, plus one composite per four queries whose
+     * {@code AND}/{@code OR} groups nest {@code depth} levels deep and reference the queries at
+     * their leaves. A depth of zero generates queries only.
+     */
+    static Specification synthetic(int size, int depth) {
+        Random random = new Random(size * 31L + depth);
+        List<Criterion> criteria = new ArrayList<>(size + size / 4);
+        for (int i = 0; i < size; i++) {
+            criteria.add(new QueryCriterion("q" + i, Map.of("f" + (i % FIELDS), operand(i))));
+        }
+        if (depth > 0) {
+            for (int i = 0; i < Math.max(1, size / 4); i++) {
+                criteria.add(composite("c" + i, depth, size, random));
+            }
+        }
+        return new Specification("synthetic-" + size + "-" + depth, criteria);
+    }
+
+    /**
+     * A document for {@link #synthetic}: most fields hold a value between 0 and 99, and every
+     * eighth is absent, so each evaluation sees matched, not-matched and undetermined queries.
+     */
+    static Map<String, Object> syntheticDocument() {
+        Random random = new Random(42);
+        Map<String, Object> document = new HashMap<>();
+        for (int f = 0; f < FIELDS; f++) {
+            if (f % 8 != 7) {
+                document.put("f" + f, random.nextInt(100));
+            }
+        }
+        return document;
+    }
+
+    private static Object operand(int i) {
+        return switch (i % 6) {
+            case 0 -> i % 100;
+            case 1 -> Map.of("$gte", i % 100);
+            case 2 -> Map.of("$lt", 50);
+            case 3 -> Map.of("$in", List.of(i % 100, (i + 7) % 100, (i + 13) % 100));
+            case 4 -> Map.of("$exists", true);
+            default -> Map.of("$between", List.of(25, 75));
+        };
+    }
+
+    private static CompositeCriterion composite(String id, int depth, int size, Random random) {
+        List<Criterion> children = new ArrayList<>(3);
+        for (int i = 0; i < 3; i++) {
+            children.add(depth > 1
+                    ? composite(id + "-" + i, depth - 1, size, random)
+                    : new CriterionReference("q" + random.nextInt(size)));
+        }
+        return new CompositeCriterion(id, depth % 2 == 0 ? Junction.OR : Junction.AND, children);
+    }
+
+    private static <T> T read(String resource, Class<T> type) {
+        try (InputStream in = Fixtures.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Fixture not on the classpath: " + resource);
+            }
+            return YAML.readValue(in, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read fixture " + resource, e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package uk.codery.jspec.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.codery.jspec.evaluator.SpecificationEvaluator;
+import uk.codery.jspec.formatter.CustomResultFormatter;
+import uk.codery.jspec.formatter.JsonResultFormatter;
+import uk.codery.jspec.formatter.ResultFormatter;
+import uk.codery.jspec.formatter.SummaryResultFormatter;
+import uk.codery.jspec.formatter.TextResultFormatter;
+import uk.codery.jspec.formatter.YamlResultFormatter;
+import uk.codery.jspec.result.EvaluationOutcome;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each {@link ResultFormatter} on the outcome of evaluating the loan-eligibility fixture.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FormatterBenchmark {
+
+    @Param({"json", "json-pretty", "yaml", "text", "text-verbose", "summary", "custom"})
+    public String formatter;
+
+    private ResultFormatter resultFormatter;
+    private EvaluationOutcome outcome;
+
+    @Setup
+    public void setUp() {
+        resultFormatter = switch (formatter) {
+            case "json" -> new JsonResultFormatter(false);
+            case "json-pretty" -> new JsonResultFormatter(true);
+            case "yaml" -> new YamlResultFormatter();
+            case "text" -> new TextResultFormatter(false);
+            case "text-verbose" -> new TextResultFormatter(true);
+            case "summary" -> new SummaryResultFormatter(true);
+            case "custom" -> new CustomResultFormatter(true);
+            default -> throw new IllegalArgumentException("Unknown formatter: " + formatter);
+        };
+        outcome = new SpecificationEvaluator(Fixtures.Named.LOAN.specification())
+                .evaluate(Fixtures.Named.LOAN.document());
+    }
+
+    @Benchmark
+    public String format() {
+        return resultFormatter.format(outcome);
+    }
+}
@@ -0,0 +1,68 @@
+package uk.codery.jspec.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.codery.jspec.model.Criterion;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.model.SpecificationNormaliser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SpecificationNormaliser#normalise} over every query of a specification — the walk
+ * each {@link uk.codery.jspec.evaluator.SpecificationEvaluator} pays once at construction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class NormaliserBenchmark {
+
+    @Param({"LOAN", "SHOPPING_CART", "SYNTHETIC"})
+    public String fixture;
+
+    private List<Map<String, Object>> queries;
+
+    @Setup
+    public void setUp() {
+        Specification specification = fixture.equals("SYNTHETIC")
+                ? withContextReferences(Fixtures.synthetic(100, 0))
+                : Fixtures.Named.valueOf(fixture).specification();
+        queries = specification.queries().stream().map(QueryCriterion::query).toList();
+    }
+
+    @Benchmark
+    public void normalise(Blackhole blackhole) {
+        for (Map<String, Object> query : queries) {
+            blackhole.consume(SpecificationNormaliser.normalise(query));
+        }
+    }
+
+    /** Rewrites every other query of {@code specification} to take its operand from the context. */
+    private static Specification withContextReferences(Specification specification) {
+        List<Criterion> criteria = new ArrayList<>();
+        List<QueryCriterion> queries = specification.queries();
+        for (int i = 0; i < queries.size(); i++) {
+            QueryCriterion query = queries.get(i);
+            criteria.add(i % 2 == 0 ? query : new QueryCriterion(query.id(), Map.of(
+                    "f" + (i % Fixtures.FIELDS), Map.of("$eq", Map.of("$contextPath", "expected.f" + i)))));
+        }
+        return new Specification(specification.id(), criteria);
+    }
+}
@@ -0,0 +1,119 @@
+package uk.codery.jspec.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.codery.jspec.evaluator.CriterionEvaluator;
+import uk.codery.jspec.evaluator.EvaluationOptions;
+import uk.codery.jspec.evaluator.SpecificationEvaluator;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.result.EvaluationOutcome;
+import uk.codery.jspec.result.QueryResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each built-in operator on a single matching query, three ways: through
+ * {@link CriterionEvaluator#evaluateQuery} (the interpreter), and through a one-criterion
+ * {@link SpecificationEvaluator} with generic and with specialised compiled operators.
+ *
+ * <p>Setup fails if an operator in the parameter list is not supported, or if its input does
+ * not match, so the suite cannot silently measure a miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OperatorBenchmark {
+
+    /** Every operator {@link CriterionEvaluator#supportedOperators()} reports by default. */
+    @Param({"$eq", "$ne", "$gt", "$gte", "$lt", "$lte",
+            "$in", "$nin", "$exists", "$type", "$regex", "$size", "$elemMatch", "$all",
+            "$contains", "$startsWith", "$endsWith", "$between", "$dateBefore", "$dateAfter",
+            "$and", "$or", "$not"})
+    public String operator;
+
+    private CriterionEvaluator criterionEvaluator;
+    private QueryCriterion criterion;
+    private SpecificationEvaluator compiled;
+    private SpecificationEvaluator specialised;
+    private Map<String, Object> document;
+
+    @Setup
+    public void setUp() {
+        criterionEvaluator = new CriterionEvaluator();
+        if (!criterionEvaluator.supportedOperators().contains(operator)) {
+            throw new IllegalStateException("Not a supported operator: " + operator);
+        }
+        Object[] input = input(operator);
+        document = Map.of("value", input[0]);
+        criterion = new QueryCriterion("operator", Map.of("value", Map.of(operator, input[1])));
+
+        Specification specification = new Specification("operator", List.of(criterion));
+        compiled = new SpecificationEvaluator(specification, criterionEvaluator, EvaluationOptions.defaults());
+        specialised = new SpecificationEvaluator(specification, criterionEvaluator,
+                EvaluationOptions.defaults().withSpecialisedOperators(true));
+
+        if (!interpreted().state().matched()) {
+            throw new IllegalStateException(operator + " does not match its benchmark input");
+        }
+    }
+
+    @Benchmark
+    public QueryResult interpreted() {
+        return criterionEvaluator.evaluateQuery(document, criterion);
+    }
+
+    @Benchmark
+    public EvaluationOutcome compiled() {
+        return compiled.evaluate(document);
+    }
+
+    @Benchmark
+    public EvaluationOutcome specialised() {
+        return specialised.evaluate(document);
+    }
+
+    /** A document value and a matching operand for {@code operator}. */
+    private static Object[] input(String operator) {
+        return switch (operator) {
+            case "$eq" -> new Object[]{"gold", "gold"};
+            case "$ne" -> new Object[]{"gold", "silver"};
+            case "$gt", "$gte" -> new Object[]{42, 18};
+            case "$lt", "$lte" -> new Object[]{42, 65};
+            case "$in" -> new Object[]{"uk", List.of("us", "ca", "au", "nz", "ie", "fr", "de", "uk")};
+            case "$nin" -> new Object[]{"es", List.of("us", "ca", "au", "nz", "ie", "fr", "de", "uk")};
+            case "$exists" -> new Object[]{"gold", true};
+            case "$type" -> new Object[]{"gold", "string"};
+            case "$regex" -> new Object[]{"ORD-2024-12345", "^ORD-\\d{4}-\\d+$"};
+            case "$size" -> new Object[]{List.of("a", "b", "c"), 3};
+            case "$elemMatch" -> new Object[]{
+                    List.of(Map.of("sku", "A1", "in_stock", false), Map.of("sku", "B2", "in_stock", true)),
+                    Map.of("in_stock", true)};
+            case "$all" -> new Object[]{List.of("frequent-buyer", "newsletter", "vip"), List.of("vip", "newsletter")};
+            case "$contains" -> new Object[]{"alice@example.com", "@example"};
+            case "$startsWith" -> new Object[]{"ORD-2024-12345", "ORD-"};
+            case "$endsWith" -> new Object[]{"alice@example.com", ".com"};
+            case "$between" -> new Object[]{42, List.of(18, 65)};
+            case "$dateBefore" -> new Object[]{"2024-03-01", "2025-01-01"};
+            case "$dateAfter" -> new Object[]{"2024-03-01", "2020-01-01"};
+            case "$and" -> new Object[]{42, List.of(Map.of("$gte", 18), Map.of("$lt", 65))};
+            case "$or" -> new Object[]{42, List.of(Map.of("$lt", 18), Map.of("$gte", 21))};
+            case "$not" -> new Object[]{"gold", Map.of("$eq", "silver")};
+            default -> throw new IllegalArgumentException("No benchmark input for " + operator);
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package uk.codery.jspec.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.codery.jspec.evaluator.CriterionEvaluator;
+import uk.codery.jspec.evaluator.EvaluationOptions;
+import uk.codery.jspec.evaluator.ExecutionStrategy;
+import uk.codery.jspec.evaluator.Percolator;
+import uk.codery.jspec.evaluator.SpecificationSet;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.result.EvaluationOutcome;
+import uk.codery.jspec.result.EvaluationState;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One document against many routing specifications, each matching a different region, channel
+ * and order value: a {@link Percolator}, which evaluates only the candidates its index leaves,
+ * versus evaluating the whole {@link SpecificationSet} and keeping the matches. Both run on the
+ * calling thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PercolatorBenchmark {
+
+    private static final List<String> REGIONS = List.of("GB", "IE", "FR", "DE", "ES", "IT", "NL", "SE");
+
+    @Param({"100", "5000"})
+    public int specifications;
+
+    private Percolator percolator;
+    private SpecificationSet set;
+    private Map<String, Object> document;
+
+    @Setup
+    public void setUp() {
+        List<Specification> specs = new ArrayList<>();
+        for (int s = 0; s < specifications; s++) {
+            specs.add(new Specification("route-" + s, List.of(
+                    new QueryCriterion("region", Map.of("order.region",
+                            Map.of("$in", List.of(REGIONS.get(s % REGIONS.size()), REGIONS.get((s + 3) % REGIONS.size()))))),
+                    new QueryCriterion("channel", Map.of("order.channel", "channel-" + (s % 20))),
+                    new QueryCriterion("value", Map.of("order.total", Map.of("$gte", s % 500, "$lt", s % 500 + 50))),
+                    new QueryCriterion("contact", Map.of("customer.email", Map.of("$regex", ".*@example\\.com$"))))));
+        }
+        EvaluationOptions options = EvaluationOptions.defaults().withExecutionStrategy(ExecutionStrategy.callerThread());
+        CriterionEvaluator criterionEvaluator = new CriterionEvaluator();
+        percolator = new Percolator(specs, criterionEvaluator, options);
+        set = new SpecificationSet(specs, criterionEvaluator, options);
+        document = Map.of(
+                "customer", Map.of("email", "ada@example.com"),
+                "order", Map.of("region", "FR", "channel", "channel-7", "total", 220));
+    }
+
+    @Benchmark
+    public Map<String, EvaluationOutcome> percolate() {
+        return percolator.percolate(document);
+    }
+
+    @Benchmark
+    public Map<String, EvaluationOutcome> evaluateAll() {
+        Map<String, EvaluationOutcome> matched = new LinkedHashMap<>();
+        set.evaluate(document).forEach((id, outcome) -> {
+            if (outcome.overallState() == EvaluationState.MATCHED) {
+                matched.put(id, outcome);
+            }
+        });
+        return matched;
+    }
+}
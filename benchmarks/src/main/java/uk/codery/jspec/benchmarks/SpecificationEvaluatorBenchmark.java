@@ -0,0 +1,74 @@
+package uk.codery.jspec.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.codery.jspec.evaluator.CriterionEvaluator;
+import uk.codery.jspec.evaluator.EvaluationOptions;
+import uk.codery.jspec.evaluator.ExecutionStrategy;
+import uk.codery.jspec.evaluator.SpecificationEvaluator;
+import uk.codery.jspec.result.EvaluationOutcome;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SpecificationEvaluator#evaluate(Object)} over generated specifications of growing
+ * size and composite depth, under each {@link EvaluationOptions} profile.
+ *
+ * <p>Construction (normalising, planning and compiling) happens in setup; only evaluation is
+ * measured. See {@link FixtureBenchmark} for the YAML fixtures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SpecificationEvaluatorBenchmark {
+
+    /** Number of query criteria; one composite is added per four queries. */
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    /** Nesting depth of each composite; 0 evaluates queries only. */
+    @Param({"0", "2", "4"})
+    public int depth;
+
+    @Param({"default", "specialised", "short-circuit", "caller-thread"})
+    public String options;
+
+    private SpecificationEvaluator evaluator;
+    private Map<String, Object> document;
+
+    @Setup
+    public void setUp() {
+        evaluator = new SpecificationEvaluator(Fixtures.synthetic(size, depth), new CriterionEvaluator(),
+                options(options));
+        document = Fixtures.syntheticDocument();
+    }
+
+    @Benchmark
+    public EvaluationOutcome evaluate() {
+        return evaluator.evaluate(document);
+    }
+
+    static EvaluationOptions options(String name) {
+        return switch (name) {
+            case "default" -> EvaluationOptions.defaults();
+            case "specialised" -> EvaluationOptions.defaults().withSpecialisedOperators(true);
+            case "short-circuit" -> EvaluationOptions.defaults().withShortCircuit(true);
+            case "adaptive" -> EvaluationOptions.defaults().withShortCircuit(true).withAdaptiveOrdering(true);
+            case "caller-thread" -> EvaluationOptions.defaults().withExecutionStrategy(ExecutionStrategy.callerThread());
+            default -> throw new IllegalArgumentException("Unknown options profile: " + name);
+        };
+    }
+}
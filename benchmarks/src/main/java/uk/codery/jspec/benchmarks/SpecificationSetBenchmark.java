@@ -0,0 +1,93 @@
+package uk.codery.jspec.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.codery.jspec.evaluator.CriterionEvaluator;
+import uk.codery.jspec.evaluator.EvaluationOptions;
+import uk.codery.jspec.evaluator.ExecutionStrategy;
+import uk.codery.jspec.evaluator.SpecificationEvaluator;
+import uk.codery.jspec.evaluator.SpecificationSet;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.result.EvaluationOutcome;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One document against many specifications drawn from a small pool of common queries: a
+ * {@link SpecificationSet}, which evaluates each distinct query once, versus one
+ * {@link SpecificationEvaluator} per specification. Both run on the calling thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SpecificationSetBenchmark {
+
+    /** The distinct queries the specifications draw from. */
+    private static final int POOL = 40;
+
+    @Param({"10", "300"})
+    public int specifications;
+
+    private SpecificationSet set;
+    private List<SpecificationEvaluator> evaluators;
+    private Map<String, Object> document;
+
+    @Setup
+    public void setUp() {
+        List<Map<String, Object>> pool = new ArrayList<>();
+        for (int i = 0; i < POOL; i++) {
+            pool.add(switch (i % 4) {
+                case 0 -> Map.of("customer.verified", true);
+                case 1 -> Map.of("order.total", Map.of("$gt", i * 10));
+                case 2 -> Map.of("customer.email", Map.of("$regex", ".*@example" + i + "\\.com$"));
+                default -> Map.of("order.items", Map.of("$elemMatch", Map.of("quantity", Map.of("$gte", i))));
+            });
+        }
+        List<Specification> specs = new ArrayList<>();
+        for (int s = 0; s < specifications; s++) {
+            List<QueryCriterion> criteria = new ArrayList<>();
+            for (int q = 0; q < 8; q++) {
+                criteria.add(new QueryCriterion("s" + s + "-q" + q, pool.get((s * 7 + q * 13) % POOL)));
+            }
+            specs.add(new Specification("spec-" + s, List.copyOf(criteria)));
+        }
+        EvaluationOptions options = EvaluationOptions.defaults().withExecutionStrategy(ExecutionStrategy.callerThread());
+        CriterionEvaluator criterionEvaluator = new CriterionEvaluator();
+        set = new SpecificationSet(specs, criterionEvaluator, options);
+        evaluators = specs.stream().map(spec -> new SpecificationEvaluator(spec, criterionEvaluator, options)).toList();
+        document = Map.of(
+                "customer", Map.of("verified", true, "email", "ada@example12.com"),
+                "order", Map.of("total", 250, "items", List.of(Map.of("quantity", 3), Map.of("quantity", 30))));
+    }
+
+    @Benchmark
+    public Map<String, EvaluationOutcome> set() {
+        return set.evaluate(document);
+    }
+
+    @Benchmark
+    public Map<String, EvaluationOutcome> evaluatorPerSpecification() {
+        Map<String, EvaluationOutcome> outcomes = new LinkedHashMap<>();
+        for (SpecificationEvaluator evaluator : evaluators) {
+            outcomes.put(evaluator.specification().id(), evaluator.evaluate(document));
+        }
+        return outcomes;
+    }
+}
@@ -0,0 +1,356 @@
+package uk.codery.jspec.accessor;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Reads Java records and beans in place, so typed domain objects can be evaluated without
+ * {@code ObjectMapper.convertValue} to a map first.
+ *
+ * <p>A record's fields are its components; a bean's are its public {@code getX()} /
+ * {@code isX()} getters and public fields, named as Jackson names them. The first time a
+ * field is read from a class, its getter is turned into a {@link Function} with
+ * {@link LambdaMetafactory} and cached for that class, so only the fields specifications
+ * actually reference are ever resolved, and reading them afterwards is a plain interface call.
+ * A field the class does not have, or whose getter returns {@code null}, is missing — queries
+ * on it are {@code UNDETERMINED}, exactly as for an absent map key.
+ *
+ * <p>Values are returned as Jackson would convert them: enums as their {@code name()},
+ * {@code Character}s as strings, and collections that are not lists as lists. The accessor
+ * also reads the {@code Map}s, {@code List}s and Java arrays such objects hold, so a list of
+ * records converts to a list of maps wherever an operator needs it whole; maps and lists that
+ * hold nothing to convert are returned as they are. Chain it in front of the defaults:
+ * <pre>{@code
+ * DocumentAccessor accessor = DocumentAccessor.of(BeanDocumentAccessor.records(), DocumentAccessor.defaults());
+ * CriterionEvaluator evaluator = new CriterionEvaluator(OperatorRegistry.withDefaults(), Clock.systemUTC(), accessor);
+ *
+ * EvaluationOutcome outcome = new SpecificationEvaluator(spec, evaluator).evaluate(order);
+ * }</pre>
+ *
+ * @since 0.8.0
+ */
+public final class BeanDocumentAccessor implements DocumentAccessor {
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+    private final Predicate<Class<?>> types;
+    private final String description;
+    private final ClassValue<Properties> properties = new ClassValue<>() {
+        @Override
+        protected Properties computeValue(Class<?> type) {
+            return new Properties(type, isBean(type));
+        }
+    };
+
+    private BeanDocumentAccessor(Predicate<Class<?>> types, String description) {
+        this.types = types;
+        this.description = description;
+    }
+
+    /**
+     * Returns an accessor that reads every record class.
+     *
+     * @return the accessor
+     */
+    public static BeanDocumentAccessor records() {
+        return new BeanDocumentAccessor(type -> false, "BeanDocumentAccessor.records()");
+    }
+
+    /**
+     * Returns an accessor that reads every record class, and any other class matching
+     * {@code types} as a bean.
+     *
+     * @param types selects the bean classes, e.g. {@code type -> type.getPackageName().startsWith("com.acme.model")}
+     * @return the accessor
+     * @throws IllegalArgumentException if types is null
+     */
+    public static BeanDocumentAccessor forTypes(Predicate<Class<?>> types) {
+        if (types == null) {
+            throw new IllegalArgumentException("Type predicate cannot be null");
+        }
+        return new BeanDocumentAccessor(types, "BeanDocumentAccessor.forTypes(" + types + ")");
+    }
+
+    private boolean isBean(Class<?> type) {
+        if (type.isRecord()) {
+            return true;
+        }
+        return !type.isArray() && !type.isPrimitive() && !type.isEnum() && !type.isInterface()
+                && !Map.class.isAssignableFrom(type) && !Collection.class.isAssignableFrom(type)
+                && types.test(type);
+    }
+
+    @Override
+    public boolean supports(Object value) {
+        return value instanceof Map<?, ?> || value instanceof List<?> || value.getClass().isArray()
+                || properties.get(value.getClass()).bean;
+    }
+
+    @Override
+    public boolean isObject(Object value) {
+        return value instanceof Map<?, ?> || value != null && properties.get(value.getClass()).bean;
+    }
+
+    @Override
+    public Object field(Object object, String name) {
+        if (object instanceof Map<?, ?> map) {
+            return value(map.get(name));
+        }
+        return value(properties.get(object.getClass()).getter(name).apply(object));
+    }
+
+    @Override
+    public boolean isArray(Object value) {
+        return value instanceof List<?> || value != null && value.getClass().isArray();
+    }
+
+    @Override
+    public int size(Object array) {
+        return array instanceof List<?> list ? list.size() : Array.getLength(array);
+    }
+
+    @Override
+    public Object element(Object array, int index) {
+        return value(array instanceof List<?> list ? list.get(index) : Array.get(array, index));
+    }
+
+    @Override
+    public Object toJava(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> object = null;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                Object element = toJava(value(entry.getValue()));
+                if (object == null && element != entry.getValue()) {
+                    object = new LinkedHashMap<>(map);
+                }
+                if (object != null) {
+                    object.put(entry.getKey(), element);
+                }
+            }
+            return object == null ? map : object;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> array = null;
+            for (int i = 0; i < list.size(); i++) {
+                Object element = toJava(value(list.get(i)));
+                if (array == null && element != list.get(i)) {
+                    array = new ArrayList<>(list);
+                }
+                if (array != null) {
+                    array.set(i, element);
+                }
+            }
+            return array == null ? list : array;
+        }
+        if (isArray(value)) {
+            int length = Array.getLength(value);
+            List<Object> array = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                array.add(toJava(value(Array.get(value, i))));
+            }
+            return array;
+        }
+        if (isObject(value)) {
+            Properties type = properties.get(value.getClass());
+            Map<String, Object> object = new LinkedHashMap<>();
+            for (String name : type.names()) {
+                object.put(name, toJava(value(type.getter(name).apply(value))));
+            }
+            return object;
+        }
+        Object converted = value(value);
+        return converted == value ? value : toJava(converted);
+    }
+
+    /** Converts a value as read from a getter to the form the evaluator expects. */
+    private static Object value(Object value) {
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        if (value instanceof Character character) {
+            return character.toString();
+        }
+        if (value instanceof Collection<?> collection && !(value instanceof List<?>)) {
+            return new ArrayList<>(collection);
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    /** The getters of one class, resolved on first use. */
+    private static final class Properties {
+
+        private static final Function<Object, Object> ABSENT = object -> null;
+
+        private final Class<?> type;
+        private final boolean bean;
+        private final Map<String, Function<Object, Object>> getters = new ConcurrentHashMap<>();
+        private volatile List<String> names;
+
+        Properties(Class<?> type, boolean bean) {
+            this.type = type;
+            this.bean = bean;
+        }
+
+        Function<Object, Object> getter(String name) {
+            Function<Object, Object> getter = getters.get(name);
+            if (getter == null) {
+                getter = getters.computeIfAbsent(name, this::resolve);
+            }
+            return getter;
+        }
+
+        List<String> names() {
+            List<String> result = names;
+            if (result == null) {
+                result = type.isRecord() ? recordNames() : beanNames();
+                names = result;
+            }
+            return result;
+        }
+
+        private List<String> recordNames() {
+            List<String> result = new ArrayList<>();
+            for (RecordComponent component : type.getRecordComponents()) {
+                result.add(component.getName());
+            }
+            return List.copyOf(result);
+        }
+
+        private List<String> beanNames() {
+            Map<String, Boolean> result = new LinkedHashMap<>();
+            for (Method method : type.getMethods()) {
+                String name = propertyName(method);
+                if (name != null) {
+                    result.put(name, true);
+                }
+            }
+            for (Field field : type.getFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    result.put(field.getName(), true);
+                }
+            }
+            return List.copyOf(result.keySet());
+        }
+
+        private Function<Object, Object> resolve(String name) {
+            if (type.isRecord()) {
+                for (RecordComponent component : type.getRecordComponents()) {
+                    if (component.getName().equals(name)) {
+                        return getter(component.getAccessor());
+                    }
+                }
+                return ABSENT;
+            }
+            for (Method method : type.getMethods()) {
+                if (name.equals(propertyName(method))) {
+                    return getter(method);
+                }
+            }
+            for (Field field : type.getFields()) {
+                if (field.getName().equals(name) && !Modifier.isStatic(field.getModifiers())) {
+                    return getter(field);
+                }
+            }
+            return ABSENT;
+        }
+
+        /** Returns the property a bean getter reads, or {@code null} if the method is not a getter. */
+        private static String propertyName(Method method) {
+            if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())
+                    || method.getReturnType() == void.class || method.getDeclaringClass() == Object.class) {
+                return null;
+            }
+            String name = method.getName();
+            if (name.startsWith("get") && name.length() > 3) {
+                return decapitalise(name.substring(3));
+            }
+            if (name.startsWith("is") && name.length() > 2
+                    && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class)) {
+                return decapitalise(name.substring(2));
+            }
+            return null;
+        }
+
+        /**
+         * Lower-cases the leading upper-case run, as Jackson does: {@code URL} → {@code url},
+         * {@code Name} → {@code name}.
+         */
+        private static String decapitalise(String name) {
+            char[] chars = name.toCharArray();
+            for (int i = 0; i < chars.length && Character.isUpperCase(chars[i]); i++) {
+                chars[i] = Character.toLowerCase(chars[i]);
+            }
+            return new String(chars);
+        }
+
+        private Function<Object, Object> getter(Method method) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+                MethodHandle handle = lookup.unreflect(method);
+                try {
+                    CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                            MethodType.methodType(Function.class), GETTER.erase(), handle, handle.type().wrap());
+                    @SuppressWarnings("unchecked")
+                    Function<Object, Object> getter = (Function<Object, Object>) site.getTarget().invokeExact();
+                    return getter;
+                } catch (Throwable e) {
+                    // Not every accessible method can back a generated class; call the handle instead
+                    return invoker(handle);
+                }
+            } catch (IllegalAccessException e) {
+                return publicGetter(method, e);
+            }
+        }
+
+        private Function<Object, Object> publicGetter(Method method, IllegalAccessException cause) {
+            try {
+                return invoker(MethodHandles.publicLookup().unreflect(method));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read property of " + type.getName() + " with "
+                        + method.getName() + "()", cause);
+            }
+        }
+
+        private Function<Object, Object> getter(Field field) {
+            try {
+                return invoker(MethodHandles.privateLookupIn(type, MethodHandles.lookup()).unreflectGetter(field));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read field " + field.getName() + " of " + type.getName(), e);
+            }
+        }
+
+        private static Function<Object, Object> invoker(MethodHandle handle) {
+            MethodHandle getter = handle.asType(GETTER);
+            return object -> {
+                try {
+                    return getter.invokeExact(object);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        }
+    }
+}
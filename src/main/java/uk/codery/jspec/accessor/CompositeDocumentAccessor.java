@@ -0,0 +1,76 @@
+package uk.codery.jspec.accessor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Hands each value to the first accessor that supports it (see {@link DocumentAccessor#of}).
+ * Unsupported values are plain scalars: neither objects nor arrays, and already in Java form.
+ */
+final class CompositeDocumentAccessor implements DocumentAccessor {
+
+    static final CompositeDocumentAccessor DEFAULTS = new CompositeDocumentAccessor(List.of(
+            MapDocumentAccessor.INSTANCE, JsonNodeDocumentAccessor.INSTANCE));
+
+    private final DocumentAccessor[] accessors;
+
+    CompositeDocumentAccessor(List<DocumentAccessor> accessors) {
+        this.accessors = accessors.toArray(DocumentAccessor[]::new);
+    }
+
+    /** Returns the accessor for {@code value}, or {@code null} if none supports it. */
+    private DocumentAccessor accessor(Object value) {
+        if (value == null) {
+            return null;
+        }
+        for (DocumentAccessor accessor : accessors) {
+            if (accessor.supports(value)) return accessor;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean supports(Object value) {
+        return accessor(value) != null;
+    }
+
+    @Override
+    public boolean isObject(Object value) {
+        DocumentAccessor accessor = accessor(value);
+        return accessor != null && accessor.isObject(value);
+    }
+
+    @Override
+    public Object field(Object object, String name) {
+        return accessor(object).field(object, name);
+    }
+
+    @Override
+    public boolean isArray(Object value) {
+        DocumentAccessor accessor = accessor(value);
+        return accessor != null && accessor.isArray(value);
+    }
+
+    @Override
+    public int size(Object array) {
+        return accessor(array).size(array);
+    }
+
+    @Override
+    public Object element(Object array, int index) {
+        return accessor(array).element(array, index);
+    }
+
+    @Override
+    public Object toJava(Object value) {
+        DocumentAccessor accessor = accessor(value);
+        return accessor == null ? value : accessor.toJava(value);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.stream(accessors).map(Object::toString)
+                .collect(Collectors.joining(", ", "DocumentAccessor.of(", ")"));
+    }
+}
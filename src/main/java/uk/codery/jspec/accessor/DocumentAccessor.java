@@ -0,0 +1,139 @@
+package uk.codery.jspec.accessor;
+
+import java.util.List;
+
+/**
+ * Reads documents in one in-memory representation, so specifications can be evaluated
+ * directly over that representation instead of first converting it to maps and lists.
+ *
+ * <p>The evaluator sees a document as a tree of <em>objects</em> (fields by name),
+ * <em>arrays</em> (elements by index) and plain Java values — {@code String}, {@code Number},
+ * {@code Boolean}, or {@code null} for anything absent. An accessor answers those questions
+ * for the values it {@linkplain #supports(Object) supports}:
+ * <ul>
+ *   <li>navigation — dot-notation field paths and field queries — walks objects with
+ *       {@link #field(Object, String)};</li>
+ *   <li>list queries, {@code $elemMatch} and {@code $size} walk arrays with
+ *       {@link #size(Object)} and {@link #element(Object, int)};</li>
+ *   <li>{@code $type} and {@code $exists} classify values without converting them;</li>
+ *   <li>everything else — equality, the other operators and custom
+ *       {@link uk.codery.jspec.operator.OperatorHandler}s — receives the value's
+ *       {@linkplain #toJava(Object) plain Java form}.</li>
+ * </ul>
+ * Field and element values that are neither objects nor arrays must be returned in plain
+ * Java form, and JSON {@code null}s as {@code null}; objects and arrays may stay in the
+ * accessor's own representation. Results are then identical to evaluating the document
+ * converted to {@code Map}/{@code List}: only values an operator consumes whole are ever
+ * converted.
+ *
+ * <p>{@link #defaults()} reads {@code Map}/{@code List} documents and Jackson
+ * {@code JsonNode} trees, and is what a {@link uk.codery.jspec.evaluator.CriterionEvaluator}
+ * uses unless given another accessor. Add a representation by chaining its accessor in front
+ * of the defaults:
+ * <pre>{@code
+ * DocumentAccessor accessor = DocumentAccessor.of(new AvroRecordAccessor(), DocumentAccessor.defaults());
+ * CriterionEvaluator evaluator = new CriterionEvaluator(OperatorRegistry.withDefaults(), Clock.systemUTC(), accessor);
+ * }</pre>
+ *
+ * <p>Implementations must be thread-safe; one accessor serves every evaluation of its evaluator.
+ *
+ * @see MapDocumentAccessor
+ * @see JsonNodeDocumentAccessor
+ * @see BeanDocumentAccessor
+ * @since 0.8.0
+ */
+public interface DocumentAccessor {
+
+    /**
+     * Returns whether {@code value} is in this accessor's representation. Never called with
+     * {@code null}.
+     *
+     * @param value a document, or a value within one
+     * @return {@code true} if the other methods can be asked about {@code value}
+     */
+    boolean supports(Object value);
+
+    /**
+     * Returns whether {@code value} is an object whose fields can be read by name.
+     *
+     * @param value any value, including {@code null} and values this accessor does not support
+     * @return {@code true} if {@code value} is a supported object
+     */
+    boolean isObject(Object value);
+
+    /**
+     * Returns the value of field {@code name} of {@code object}.
+     *
+     * @param object a supported value that {@linkplain #isObject(Object) is an object}
+     * @param name   the field name (one segment of a dot-notation path)
+     * @return the field's value, or {@code null} if the field is absent or null
+     */
+    Object field(Object object, String name);
+
+    /**
+     * Returns whether {@code value} is an array whose elements can be read by index.
+     *
+     * @param value any value, including {@code null} and values this accessor does not support
+     * @return {@code true} if {@code value} is a supported array
+     */
+    boolean isArray(Object value);
+
+    /**
+     * Returns the number of elements of {@code array}.
+     *
+     * @param array a supported value that {@linkplain #isArray(Object) is an array}
+     * @return its size
+     */
+    int size(Object array);
+
+    /**
+     * Returns the element at {@code index} of {@code array}.
+     *
+     * @param array a supported value that {@linkplain #isArray(Object) is an array}
+     * @param index an index from {@code 0} to {@code size(array) - 1}
+     * @return the element, or {@code null} if it is null
+     */
+    Object element(Object array, int index);
+
+    /**
+     * Returns the plain Java form of {@code value}: objects as {@code Map<String, Object>},
+     * arrays as {@code List<Object>}, recursively, and scalars as {@code String},
+     * {@code Number} or {@code Boolean} — exactly what parsing the same document into maps and
+     * lists would have produced. Values this accessor does not support are returned unchanged.
+     *
+     * @param value any value
+     * @return its plain Java form
+     */
+    Object toJava(Object value);
+
+    /**
+     * Returns the accessor for {@code Map}/{@code List} documents and Jackson {@code JsonNode}
+     * trees.
+     *
+     * @return the default accessor
+     */
+    static DocumentAccessor defaults() {
+        return CompositeDocumentAccessor.DEFAULTS;
+    }
+
+    /**
+     * Returns an accessor that hands each value to the first of {@code accessors} that
+     * {@linkplain #supports(Object) supports} it. Values no accessor supports are treated as
+     * plain scalars.
+     *
+     * @param accessors the accessors to consult, in order
+     * @return the chained accessor
+     * @throws IllegalArgumentException if accessors is null, empty or contains null
+     */
+    static DocumentAccessor of(DocumentAccessor... accessors) {
+        if (accessors == null || accessors.length == 0) {
+            throw new IllegalArgumentException("At least one DocumentAccessor is required");
+        }
+        for (DocumentAccessor accessor : accessors) {
+            if (accessor == null) {
+                throw new IllegalArgumentException("DocumentAccessor cannot be null");
+            }
+        }
+        return new CompositeDocumentAccessor(List.of(accessors));
+    }
+}
@@ -0,0 +1,108 @@
+package uk.codery.jspec.accessor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.BinaryNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads Jackson {@link JsonNode} trees in place, so a document from
+ * {@code ObjectMapper.readTree} can be evaluated without {@code convertValue} to a map first.
+ *
+ * <p>Object and array nodes are navigated directly. Scalar nodes are unwrapped as they are
+ * reached — {@code textValue()}, {@code numberValue()}, {@code booleanValue()} — so values
+ * have the same types as when the same JSON is read into maps and lists ({@code Integer},
+ * {@code Long}, {@code BigInteger}, {@code Double}, …); null and missing nodes are
+ * {@code null}. A whole object or array is converted only when an operator consumes it whole,
+ * such as an equality test against a list or {@code $in} over an array field.
+ *
+ * @since 0.8.0
+ */
+public final class JsonNodeDocumentAccessor implements DocumentAccessor {
+
+    /** The shared instance; the accessor has no state. */
+    public static final JsonNodeDocumentAccessor INSTANCE = new JsonNodeDocumentAccessor();
+
+    private JsonNodeDocumentAccessor() {
+    }
+
+    @Override
+    public boolean supports(Object value) {
+        return value instanceof JsonNode;
+    }
+
+    @Override
+    public boolean isObject(Object value) {
+        return value instanceof JsonNode node && node.isObject();
+    }
+
+    @Override
+    public Object field(Object object, String name) {
+        return value(((JsonNode) object).get(name));
+    }
+
+    @Override
+    public boolean isArray(Object value) {
+        return value instanceof JsonNode node && node.isArray();
+    }
+
+    @Override
+    public int size(Object array) {
+        return ((JsonNode) array).size();
+    }
+
+    @Override
+    public Object element(Object array, int index) {
+        return value(((JsonNode) array).get(index));
+    }
+
+    @Override
+    public Object toJava(Object value) {
+        return value instanceof JsonNode node ? toJava(node) : value;
+    }
+
+    /** Unwraps a scalar node; object and array nodes are returned as they are. */
+    private static Object value(JsonNode node) {
+        if (node == null) {
+            return null;
+        }
+        return switch (node.getNodeType()) {
+            case OBJECT, ARRAY -> node;
+            case STRING -> node.textValue();
+            case NUMBER -> node.numberValue();
+            case BOOLEAN -> node.booleanValue();
+            case BINARY -> ((BinaryNode) node).binaryValue();
+            case POJO -> ((POJONode) node).getPojo();
+            case NULL, MISSING -> null;
+        };
+    }
+
+    private static Object toJava(JsonNode node) {
+        if (node.isObject()) {
+            Map<String, Object> object = new LinkedHashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                object.put(field.getKey(), toJava(field.getValue()));
+            }
+            return object;
+        }
+        if (node.isArray()) {
+            List<Object> array = new ArrayList<>(node.size());
+            for (JsonNode element : node) {
+                array.add(toJava(element));
+            }
+            return array;
+        }
+        return value(node);
+    }
+
+    @Override
+    public String toString() {
+        return "JsonNodeDocumentAccessor";
+    }
+}
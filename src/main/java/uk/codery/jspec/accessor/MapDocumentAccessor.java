@@ -0,0 +1,62 @@
+package uk.codery.jspec.accessor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads documents made of {@code Map}s and {@code List}s — what Jackson, SnakeYAML and most
+ * hand-built documents produce. Values are already plain Java, so nothing is ever converted.
+ *
+ * <p>This is the representation the evaluator has always read; evaluating such documents is
+ * unchanged.
+ *
+ * @since 0.8.0
+ */
+public final class MapDocumentAccessor implements DocumentAccessor {
+
+    /** The shared instance; the accessor has no state. */
+    public static final MapDocumentAccessor INSTANCE = new MapDocumentAccessor();
+
+    private MapDocumentAccessor() {
+    }
+
+    @Override
+    public boolean supports(Object value) {
+        return value instanceof Map || value instanceof List;
+    }
+
+    @Override
+    public boolean isObject(Object value) {
+        return value instanceof Map;
+    }
+
+    @Override
+    public Object field(Object object, String name) {
+        return ((Map<?, ?>) object).get(name);
+    }
+
+    @Override
+    public boolean isArray(Object value) {
+        return value instanceof List;
+    }
+
+    @Override
+    public int size(Object array) {
+        return ((List<?>) array).size();
+    }
+
+    @Override
+    public Object element(Object array, int index) {
+        return ((List<?>) array).get(index);
+    }
+
+    @Override
+    public Object toJava(Object value) {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "MapDocumentAccessor";
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * Document representations the evaluator can read in place.
+ *
+ * <p>Specifications are evaluated against a tree of objects, arrays and plain values. A
+ * {@link uk.codery.jspec.accessor.DocumentAccessor} reads that tree in one in-memory
+ * representation, so documents need not be converted to {@code Map}/{@code List} first:
+ *
+ * <pre>{@code
+ * JsonNode document = objectMapper.readTree(requestBody);
+ *
+ * // The default accessor reads JsonNode trees as well as maps - no convertValue needed
+ * EvaluationOutcome outcome = new SpecificationEvaluator(spec).evaluate(document);
+ * }</pre>
+ *
+ * <h2>Core Classes</h2>
+ * <ul>
+ *   <li>{@link uk.codery.jspec.accessor.DocumentAccessor} - the SPI, with
+ *       {@link uk.codery.jspec.accessor.DocumentAccessor#defaults()} and
+ *       {@link uk.codery.jspec.accessor.DocumentAccessor#of(DocumentAccessor...)} to chain
+ *       representations</li>
+ *   <li>{@link uk.codery.jspec.accessor.MapDocumentAccessor} - {@code Map}/{@code List} documents</li>
+ *   <li>{@link uk.codery.jspec.accessor.JsonNodeDocumentAccessor} - Jackson {@code JsonNode} trees</li>
+ *   <li>{@link uk.codery.jspec.accessor.BeanDocumentAccessor} - Java records and beans, through
+ *       generated getters</li>
+ * </ul>
+ *
+ * <p>An evaluator's accessor is fixed when its
+ * {@link uk.codery.jspec.evaluator.CriterionEvaluator} is created. Whatever the
+ * representation, every operator gives the same result as for the document converted to maps
+ * and lists.
+ *
+ * @since 0.8.0
+ */
+package uk.codery.jspec.accessor;
@@ -0,0 +1,94 @@
+package uk.codery.jspec.evaluator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Run-time profile of the branches of one short-circuiting junction — the operators of a
+ * compiled operator query, the branches of a compiled {@code $and}/{@code $or}, the children of
+ * a composite — and the evaluation order derived from it.
+ *
+ * <p>A junction stops at its first <em>decisive</em> branch ({@code NOT_MATCHED} for AND,
+ * {@code MATCHED} for OR), so its expected cost is lowest when branches run in ascending order
+ * of cost per chance of being decisive. Authors order conditions for readability, so that order
+ * is learned: on a random sample of evaluations (one in {@code sampleRate}) the junction runs
+ * every branch, timing each and noting whether it was decisive; every {@code samplesPerReorder}
+ * samples the order is recomputed from the totals, which are then halved so the profile follows
+ * changes in the data. The new order replaces the old one in a single volatile write.
+ *
+ * <p>The order only decides which branches run, never the result: Strong Kleene AND and OR are
+ * commutative, and callers report missing paths and reasons in declaration order (see
+ * {@link CompiledQuery}). Instances are thread-safe; concurrent updates may occasionally lose a
+ * sample, which only slows learning down.
+ */
+final class BranchProfile {
+
+    static final int DEFAULT_SAMPLE_RATE = 64;
+    static final int DEFAULT_SAMPLES_PER_REORDER = 32;
+
+    private final int sampleRate;
+    private final int samplesPerReorder;
+    private final AtomicLongArray nanos;
+    private final AtomicLongArray decisive;
+    private final AtomicInteger samples = new AtomicInteger();
+    private final AtomicBoolean reordering = new AtomicBoolean();
+    private volatile int[] order;
+
+    BranchProfile(int branches) {
+        this(branches, DEFAULT_SAMPLE_RATE, DEFAULT_SAMPLES_PER_REORDER);
+    }
+
+    BranchProfile(int branches, int sampleRate, int samplesPerReorder) {
+        this.sampleRate = sampleRate;
+        this.samplesPerReorder = samplesPerReorder;
+        this.nanos = new AtomicLongArray(branches);
+        this.decisive = new AtomicLongArray(branches);
+        this.order = IntStream.range(0, branches).toArray();
+    }
+
+    /** The current evaluation order: branch indexes, most promising first. Never modified in place. */
+    int[] order() {
+        return order;
+    }
+
+    /** Decides whether the calling evaluation is a sample, which must run every branch. */
+    boolean sample() {
+        return sampleRate <= 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    /** Records one branch of a sampled evaluation. */
+    void record(int branch, boolean wasDecisive, long elapsedNanos) {
+        nanos.addAndGet(branch, elapsedNanos);
+        if (wasDecisive) decisive.incrementAndGet(branch);
+    }
+
+    /** Ends a sampled evaluation, reordering once enough samples have been taken. */
+    void endSample() {
+        if (samples.incrementAndGet() % samplesPerReorder == 0 && reordering.compareAndSet(false, true)) {
+            try {
+                reorder();
+            } finally {
+                reordering.set(false);
+            }
+        }
+    }
+
+    private void reorder() {
+        int n = nanos.length();
+        double[] score = new double[n];
+        for (int i = 0; i < n; i++) {
+            // Expected cost per decisive outcome; the +1 keeps never-decisive branches finite.
+            score[i] = nanos.get(i) / (decisive.get(i) + 1.0);
+            nanos.set(i, nanos.get(i) / 2);
+            decisive.set(i, decisive.get(i) / 2);
+        }
+        Integer[] ranked = IntStream.range(0, n).boxed().toArray(Integer[]::new);
+        Arrays.sort(ranked, Comparator.comparingDouble(i -> score[i]));  // stable: ties keep declaration order
+        order = Arrays.stream(ranked).mapToInt(Integer::intValue).toArray();
+    }
+}
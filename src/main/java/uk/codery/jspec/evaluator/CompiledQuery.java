@@ -0,0 +1,696 @@
+package uk.codery.jspec.evaluator;
+
+import lombok.extern.slf4j.Slf4j;
+import uk.codery.jspec.accessor.DocumentAccessor;
+import uk.codery.jspec.evaluator.CriterionEvaluator.InnerResult;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.operator.OperatorHandler;
+import uk.codery.jspec.result.EvaluationState;
+import uk.codery.jspec.result.QueryResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * A {@link QueryCriterion} compiled once into an immutable tree of typed match nodes.
+ *
+ * <p>The interpreter in {@link CriterionEvaluator} re-inspects the raw query map on every
+ * document: {@code instanceof} checks to classify each value, a key-set scan to decide
+ * whether a map is an operator query, string comparisons for {@code $and}/{@code $or}/{@code $not}
+ * and a {@code HashMap} lookup of the {@link OperatorHandler} for every operator. Compilation
+ * performs all of that exactly once, so per-document evaluation is a plain walk over nodes
+ * whose operators, handlers and field paths are already resolved.
+ *
+ * <p>Compiled evaluation is result-for-result identical to
+ * {@link CriterionEvaluator#evaluateQuery(Object, QueryCriterion)} — same states, same
+ * missing paths, same failure reasons — and the interpreter remains the fallback for
+ * anything not compiled (queries carrying {@code $contextPath} operands, which must be
+ * resolved per evaluation, and criteria evaluated outside a {@link SpecificationEvaluator}).
+ * A {@linkplain SpecificationEvaluator#bindContext(Object) context-bound} evaluator compiles
+ * its queries after resolution instead, so their operands may hold unresolved sentinels.
+ * Structural problems in the query (a non-list {@code $or} operand, an unknown operator, …)
+ * are logged once at compile time rather than on every evaluation.
+ *
+ * <p>Instances are safe to share across threads. They are immutable except, with
+ * {@link EvaluationOptions#adaptiveOrdering()}, for the {@link BranchProfile}s of their
+ * short-circuiting junctions, which change the order branches run in but never the result.
+ *
+ * @see CriterionEvaluator#compile(QueryCriterion)
+ * @see SpecificationEvaluator
+ */
+@Slf4j
+final class CompiledQuery {
+
+    private final QueryCriterion criterion;
+    private final CriterionEvaluator evaluator;
+    private final Node root;
+    /** The decided results carry nothing per document, so each query builds them once. */
+    private final QueryResult matched;
+    private final QueryResult notMatched;
+
+    private CompiledQuery(QueryCriterion criterion, CriterionEvaluator evaluator, Node root) {
+        this.criterion = criterion;
+        this.evaluator = evaluator;
+        this.root = root;
+        this.matched = new QueryResult(criterion, EvaluationState.MATCHED, List.of(), null);
+        this.notMatched = new QueryResult(criterion, EvaluationState.NOT_MATCHED, List.of(), null);
+    }
+
+    /**
+     * Compiles {@code criterion} against the operator set of {@code evaluator}.
+     *
+     * @param criterion a normalised query criterion containing no {@code $contextPath} operands
+     *                  (unresolved sentinels left by {@link ContextPathResolver} are allowed)
+     * @param evaluator the evaluator whose (immutable) operator handlers are bound into the tree
+     * @param options    compilation options (see {@link EvaluationOptions#specialisedOperators()})
+     * @return the compiled query
+     */
+    static CompiledQuery compile(QueryCriterion criterion, CriterionEvaluator evaluator, EvaluationOptions options) {
+        return compile(criterion, evaluator, options, null);
+    }
+
+    /**
+     * Compiles {@code criterion}, recording the root-level fields it reads in {@code paths}, so
+     * that evaluations can share their values with other queries (see {@link PathValues}).
+     *
+     * @param paths the specification's field path table, or {@code null} to always navigate
+     * @see #compile(QueryCriterion, CriterionEvaluator, EvaluationOptions)
+     */
+    static CompiledQuery compile(QueryCriterion criterion, CriterionEvaluator evaluator, EvaluationOptions options,
+                                 FieldPathTable paths) {
+        Compiler compiler = new Compiler(criterion.id(), evaluator, options.specialisedOperators(),
+                options.adaptiveOrdering());
+        Node root = compiler.value(criterion.query(), "");
+        if (paths != null && root instanceof FieldQuery fields) {
+            int[] slots = Arrays.stream(fields.keys()).mapToInt(paths::slot).toArray();
+            root = new FieldQuery(fields.keys(), fields.subQueries(), fields.path(), slots, fields.accessor());
+        }
+        return new CompiledQuery(criterion, evaluator, root);
+    }
+
+    /**
+     * Returns the criterion this query was compiled from.
+     */
+    QueryCriterion criterion() {
+        return criterion;
+    }
+
+    /**
+     * Evaluates the compiled query against a document as a standalone evaluation.
+     *
+     * @param document the document to evaluate
+     * @return the query result, identical to the interpreter's result for the same inputs
+     */
+    QueryResult evaluate(Object document) {
+        return evaluate(document, new EvaluationContext(evaluator));
+    }
+
+    /**
+     * Evaluates the compiled query against a document within an evaluation, which supplies
+     * per-evaluation state such as {@link EvaluationContext#now()}.
+     *
+     * @param document the document to evaluate
+     * @param context  the evaluation this query is part of
+     * @return the query result, identical to the interpreter's result for the same inputs
+     */
+    QueryResult evaluate(Object document, EvaluationContext context) {
+        InnerResult result = root.match(evaluator.document(document), context);
+        if (result.missingPaths().isEmpty() && result.failureReason() == null) {
+            switch (result.state()) {
+                case MATCHED -> { return matched; }
+                case NOT_MATCHED -> { return notMatched; }
+                default -> { }
+            }
+        }
+        return new QueryResult(criterion, result.state(), result.missingPaths(), result.failureReason());
+    }
+
+    // ==================== Nodes ====================
+
+    /**
+     * A node in value position — the compiled counterpart of {@code matchValue(val, query, path)}.
+     * A node's position in the query is fixed, so the path it reports when its value is missing
+     * is built once at compile time rather than concatenated on every evaluation. Nodes that
+     * look inside values read them through the evaluator's {@link DocumentAccessor}.
+     */
+    sealed interface Node permits Literal, ListMatch, FieldQuery, OperatorQuery {
+        InnerResult match(Object val, EvaluationContext context);
+    }
+
+    /** A plain (non-map, non-list) query value: implicit equality. */
+    record Literal(Object expected, String path, DocumentAccessor accessor) implements Node {
+        @Override
+        public InnerResult match(Object val, EvaluationContext context) {
+            if (val == null) return InnerResult.undeterminedMissingData(path);
+            return Objects.equals(accessor.toJava(val), expected) ? InnerResult.matched() : InnerResult.notMatched();
+        }
+    }
+
+    /** A list query value: exact, element-wise match against a list of the same size. */
+    record ListMatch(Node[] elements, String path, DocumentAccessor accessor) implements Node {
+        @Override
+        public InnerResult match(Object val, EvaluationContext context) {
+            if (val == null) return InnerResult.undeterminedMissingData(path);
+            if (!accessor.isArray(val) || accessor.size(val) != elements.length) {
+                return InnerResult.notMatched();
+            }
+            List<String> missingPaths = null;
+            EvaluationState overallState = EvaluationState.MATCHED;
+            String firstFailureReason = null;
+            for (int i = 0; i < elements.length; i++) {
+                InnerResult subResult = elements[i].match(accessor.element(val, i), context);
+                if (subResult.state() == EvaluationState.MATCHED) continue;
+                // Priority: UNDETERMINED > NOT_MATCHED
+                if (subResult.state() == EvaluationState.UNDETERMINED) {
+                    overallState = EvaluationState.UNDETERMINED;
+                    if (firstFailureReason == null) firstFailureReason = subResult.failureReason();
+                } else if (overallState == EvaluationState.MATCHED) {
+                    overallState = EvaluationState.NOT_MATCHED;
+                }
+                missingPaths = CriterionEvaluator.addPaths(missingPaths, subResult.missingPaths());
+            }
+            return CriterionEvaluator.aggregate(overallState, missingPaths, firstFailureReason);
+        }
+    }
+
+    /**
+     * A map query without operator keys: every (dot-notation) field must match its sub-query.
+     * The root query of a specification's compiled query carries the {@link FieldPathTable}
+     * {@code slots} of its keys, and reads their values through the evaluation's
+     * {@link PathValues}; {@code slots} is {@code null} everywhere else.
+     */
+    record FieldQuery(FieldPath[] keys, Node[] subQueries, String path, int[] slots,
+                      DocumentAccessor accessor) implements Node {
+        @Override
+        public InnerResult match(Object val, EvaluationContext context) {
+            if (val == null) return InnerResult.undeterminedMissingData(path);
+            if (!accessor.isObject(val)) return InnerResult.notMatched();
+
+            PathValues values = slots == null ? null : context.pathValues();
+            List<String> missingPaths = null;
+            EvaluationState overallState = EvaluationState.MATCHED;
+            String firstFailureReason = null;
+            for (int i = 0; i < keys.length; i++) {
+                Object fieldValue = values == null
+                        ? keys[i].navigate(val, accessor)
+                        : values.get(slots[i], keys[i], val, accessor);
+                InnerResult subResult = subQueries[i].match(fieldValue, context);
+                if (subResult.state() == EvaluationState.MATCHED) continue;
+                // Priority: UNDETERMINED > NOT_MATCHED
+                if (subResult.state() == EvaluationState.UNDETERMINED) {
+                    overallState = EvaluationState.UNDETERMINED;
+                    if (firstFailureReason == null) firstFailureReason = subResult.failureReason();
+                } else if (overallState == EvaluationState.MATCHED) {
+                    overallState = EvaluationState.NOT_MATCHED;
+                }
+                missingPaths = CriterionEvaluator.addPaths(missingPaths, subResult.missingPaths());
+            }
+            return CriterionEvaluator.aggregate(overallState, missingPaths, firstFailureReason);
+        }
+    }
+
+    /**
+     * A map of operators applied to one value, combined with Strong Kleene AND.
+     * {@code exists} records whether {@code $exists} is present, which lets the operators
+     * run against an absent (null) value instead of reporting missing data. With a
+     * {@code profile}, the operators run in its learned order rather than declaration order.
+     */
+    record OperatorQuery(Op[] ops, boolean exists, String path, BranchProfile profile) implements Node {
+        @Override
+        public InnerResult match(Object val, EvaluationContext context) {
+            if (val == null && !exists) return InnerResult.undeterminedMissingData(path);
+            return evaluate(val, context);
+        }
+
+        /** Operator-query evaluation without the missing-value check ({@code $not}/{@code $and}/{@code $or} bodies). */
+        InnerResult evaluate(Object val, EvaluationContext context) {
+            if (profile != null) {
+                return adaptive(profile, ops.length, i -> ops[i].apply(val, context),
+                        EvaluationState.MATCHED, EvaluationState.NOT_MATCHED);
+            }
+            EvaluationState combined = EvaluationState.MATCHED;
+            List<String> missingPaths = null;
+            String failureReason = null;
+            for (Op op : ops) {
+                InnerResult opResult = op.apply(val, context);
+                combined = combined.and(opResult.state());
+                missingPaths = CriterionEvaluator.addPaths(missingPaths, opResult.missingPaths());
+                if (failureReason == null) failureReason = opResult.failureReason();
+                if (combined == EvaluationState.NOT_MATCHED) break;  // AND short-circuit
+            }
+            return CriterionEvaluator.finalise(combined, missingPaths, failureReason);
+        }
+    }
+
+    // ==================== Operators ====================
+
+    /** One compiled operator entry of an {@link OperatorQuery}. */
+    sealed interface Op permits HandlerOp, ElemMatchOp, InOp, AllOp, DateCompareOp, AndOp, OrOp, NotOp,
+            Constant, EqualsOp, NumericCompareOp, StringCompareOp, ExistsOp, SizeOp {
+        InnerResult apply(Object val, EvaluationContext context);
+    }
+
+    /**
+     * A boolean {@link OperatorHandler} with its operand, both resolved at compile time. Values
+     * reach the handler in plain Java form, converted by {@code accessor}; a {@code null}
+     * accessor passes them as they are, to handlers that read document values themselves.
+     */
+    record HandlerOp(String name, OperatorHandler handler, Object operand, DocumentAccessor accessor) implements Op {
+        @Override
+        public InnerResult apply(Object val, EvaluationContext context) {
+            try {
+                Object value = accessor == null ? val : accessor.toJava(val);
+                return handler.evaluate(value, operand) ? InnerResult.matched() : InnerResult.notMatched();
+            } catch (Exception e) {
+                log.warn("Error evaluating operator '{}': {} - marking as UNDETERMINED", name, e.getMessage(), e);
+                return InnerResult.undetermined("Error evaluating operator " + name + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /** {@code $elemMatch} with its sub-query compiled, rather than re-interpreted per array element. */
+    record ElemMatchOp(Node subQuery, DocumentAccessor accessor) implements Op {
+        @Override
+        public InnerResult apply(Object val, EvaluationContext context) {
+            if (!accessor.isArray(val)) {
+                log.debug("Operator $elemMatch expects List value, got {} - treating as not matched",
+                        val == null ? "null" : val.getClass().getSimpleName());
+                return InnerResult.notMatched();
+            }
+            for (int i = 0, size = accessor.size(val); i < size; i++) {
+                if (subQuery.match(accessor.element(val, i), context).state() == EvaluationState.MATCHED) {
+                    return InnerResult.matched();
+                }
+            }
+            return InnerResult.notMatched();
+        }
+    }
+
+    /**
+     * {@code $in} ({@code negate == false}) or {@code $nin} ({@code negate == true}) against an
+     * operand list hashed at compile time.
+     */
+    record InOp(OperandSet operand, boolean negate, DocumentAccessor accessor) implements Op {
+        @Override
+        public InnerResult apply(Object val, EvaluationContext context) {
+            Object value = accessor.toJava(val);
+            boolean found = value instanceof List<?> valList ? operand.containsAny(valList) : operand.contains(value);
+            return found != negate ? InnerResult.matched() : InnerResult.notMatched();
+        }
+    }
+
+    /** {@code $all} against an operand list hashed at compile time. */
+    record AllOp(OperandSet operand, HandlerOp generic, DocumentAccessor accessor) implements Op {
+        @Override
+        public InnerResult apply(Object val, EvaluationContext context) {
+            if (accessor.toJava(val) instanceof List<?> valList) {
+                return operand.isCoveredBy(valList) ? InnerResult.matched() : InnerResult.notMatched();
+            }
+            return generic.apply(val, context);
+        }
+    }
+
+    /**
+     * {@code $dateBefore} ({@code before == true}) or {@code $dateAfter} against an operand parsed
+     * at compile time — or, for {@code "now"} ({@code operand == null}), the evaluation's
+     * {@link EvaluationContext#now()}.
+     */
+    record DateCompareOp(boolean before, Instant operand) implements Op {
+        @Override
+        public InnerResult apply(Object val, EvaluationContext context) {
+            Instant valInstant = DateParser.isNow(val) ? context.now() : DateParser.toInstant(val);
+            if (valInstant == null) {
+                log.debug("Could not parse dates for {} comparison - treating as not matched",
+                        before ? "$dateBefore" : "$dateAfter");
+                return InnerResult.notMatched();
+            }
+            Instant operandInstant = operand == null ? context.now() : operand;
+            boolean matched = before ? valInstant.isBefore(operandInstant) : valInstant.isAfter(operandInstant);
+            return matched ? InnerResult.matched() : InnerResult.notMatched();
+        }
+    }
+
+    /**
+     * {@code $and}: Kleene conjunction over compiled branches. A {@code null} branch marks a
+     * non-map condition, which yields NOT_MATCHED if the fold reaches it — an order-dependent
+     * outcome, so such junctions are never given a {@code profile}.
+     */
+    record AndOp(OperatorQuery[] branches, BranchProfile profile) implements Op {
+        @Override
+        public InnerResult apply(Object val, EvaluationContext context) {
+            if (profile != null) {
+                return adaptive(profile, branches.length, i -> branches[i].evaluate(val, context),
+                        EvaluationState.MATCHED, EvaluationState.NOT_MATCHED);
+            }
+            return combine(val, context, branches, EvaluationState.MATCHED, EvaluationState.NOT_MATCHED);
+        }
+    }
+
+    /** {@code $or}: Kleene disjunction over compiled branches (see {@link AndOp}). */
+    record OrOp(OperatorQuery[] branches, BranchProfile profile) implements Op {
+        @Override
+        public InnerResult apply(Object val, EvaluationContext context) {
+            if (profile != null) {
+                return adaptive(profile, branches.length, i -> branches[i].evaluate(val, context),
+                        EvaluationState.NOT_MATCHED, EvaluationState.MATCHED);
+            }
+            return combine(val, context, branches, EvaluationState.NOT_MATCHED, EvaluationState.MATCHED);
+        }
+    }
+
+    /** {@code $not}: Strong Kleene negation of a compiled nested operator query. */
+    record NotOp(OperatorQuery nested) implements Op {
+        @Override
+        public InnerResult apply(Object val, EvaluationContext context) {
+            InnerResult inner = nested.evaluate(val, context);
+            return switch (inner.state()) {
+                case MATCHED -> InnerResult.notMatched();
+                case NOT_MATCHED -> InnerResult.matched();
+                case UNDETERMINED -> inner; // ¬UNDETERMINED = UNDETERMINED (preserve paths/reason)
+            };
+        }
+    }
+
+    /** An operator whose outcome is fixed at compile time (malformed operand, unknown operator). */
+    record Constant(InnerResult result) implements Op {
+        @Override
+        public InnerResult apply(Object val, EvaluationContext context) {
+            return result;
+        }
+    }
+
+    // ==================== Specialised operators ====================
+    //
+    // Built-in operators with a literal operand, compiled only when EvaluationOptions
+    // enables specialisation and the operator's handler is the default one. Each inlines
+    // the default handler's logic for its common operand type so the call site is
+    // monomorphic; values of any other type take the generic handler path, so results
+    // are identical to HandlerOp.
+
+    /** The ordering test of {@code $gt}/{@code $gte}/{@code $lt}/{@code $lte}. */
+    enum Comparison {
+        GT, GTE, LT, LTE;
+
+        static Comparison of(String op) {
+            return switch (op) {
+                case "$gt" -> GT;
+                case "$gte" -> GTE;
+                case "$lt" -> LT;
+                case "$lte" -> LTE;
+                default -> null;
+            };
+        }
+
+        // Primitive operators rather than Double.compare, matching the default handlers' NaN behaviour.
+        boolean test(double a, double b) {
+            return switch (this) {
+                case GT -> a > b;
+                case GTE -> a >= b;
+                case LT -> a < b;
+                case LTE -> a <= b;
+            };
+        }
+
+        boolean test(int cmp) {
+            return switch (this) {
+                case GT -> cmp > 0;
+                case GTE -> cmp >= 0;
+                case LT -> cmp < 0;
+                case LTE -> cmp <= 0;
+            };
+        }
+    }
+
+    /** {@code $eq} ({@code negate == false}) or {@code $ne} ({@code negate == true}). */
+    record EqualsOp(Object operand, boolean negate, DocumentAccessor accessor) implements Op {
+        @Override
+        public InnerResult apply(Object val, EvaluationContext context) {
+            return Objects.equals(accessor.toJava(val), operand) != negate
+                    ? InnerResult.matched()
+                    : InnerResult.notMatched();
+        }
+    }
+
+    /** An ordering operator against a numeric literal, compared as primitive doubles. */
+    record NumericCompareOp(Comparison comparison, double operand, HandlerOp generic) implements Op {
+        @Override
+        public InnerResult apply(Object val, EvaluationContext context) {
+            if (val instanceof Number number) {
+                return comparison.test(number.doubleValue(), operand)
+                        ? InnerResult.matched()
+                        : InnerResult.notMatched();
+            }
+            return generic.apply(val, context);
+        }
+    }
+
+    /** An ordering operator against a string literal. */
+    record StringCompareOp(Comparison comparison, String operand, HandlerOp generic) implements Op {
+        @Override
+        public InnerResult apply(Object val, EvaluationContext context) {
+            if (val instanceof String string) {
+                return comparison.test(string.compareTo(operand)) ? InnerResult.matched() : InnerResult.notMatched();
+            }
+            return generic.apply(val, context);
+        }
+    }
+
+    /** {@code $exists} with a boolean operand. */
+    record ExistsOp(boolean expected) implements Op {
+        @Override
+        public InnerResult apply(Object val, EvaluationContext context) {
+            return (val != null) == expected ? InnerResult.matched() : InnerResult.notMatched();
+        }
+    }
+
+    /** {@code $size} with a numeric operand. */
+    record SizeOp(int size, HandlerOp generic, DocumentAccessor accessor) implements Op {
+        @Override
+        public InnerResult apply(Object val, EvaluationContext context) {
+            if (accessor.isArray(val)) {
+                return accessor.size(val) == size ? InnerResult.matched() : InnerResult.notMatched();
+            }
+            return generic.apply(val, context);
+        }
+    }
+
+    private static InnerResult combine(Object val, EvaluationContext context, OperatorQuery[] branches,
+                                       EvaluationState identity, EvaluationState shortCircuit) {
+        EvaluationState combined = identity;
+        List<String> missingPaths = null;
+        String failureReason = null;
+        for (OperatorQuery branch : branches) {
+            if (branch == null) return InnerResult.notMatched();
+            InnerResult result = branch.evaluate(val, context);
+            combined = (identity == EvaluationState.MATCHED)
+                    ? combined.and(result.state())
+                    : combined.or(result.state());
+            missingPaths = CriterionEvaluator.addPaths(missingPaths, result.missingPaths());
+            if (failureReason == null) failureReason = result.failureReason();
+            if (combined == shortCircuit) break;
+        }
+        return CriterionEvaluator.finalise(combined, missingPaths, failureReason);
+    }
+
+    /**
+     * The Kleene fold of {@link #combine}, running branches in {@code profile}'s order. Sampled
+     * evaluations run every branch to feed the profile; the others stop at the first decisive
+     * one. A decided fold reports no paths, and an undetermined one has run every branch (none
+     * was decisive), whose paths and first reason are then gathered in declaration order — so
+     * the result is exactly the declaration-order fold's.
+     */
+    private static InnerResult adaptive(BranchProfile profile, int count, IntFunction<InnerResult> branch,
+                                        EvaluationState identity, EvaluationState decisive) {
+        int[] order = profile.order();
+        boolean sample = profile.sample();
+        InnerResult[] results = new InnerResult[count];
+        EvaluationState combined = identity;
+        for (int i : order) {
+            long start = sample ? System.nanoTime() : 0L;
+            InnerResult result = branch.apply(i);
+            results[i] = result;
+            if (sample) profile.record(i, result.state() == decisive, System.nanoTime() - start);
+            combined = (identity == EvaluationState.MATCHED)
+                    ? combined.and(result.state())
+                    : combined.or(result.state());
+            if (combined == decisive && !sample) break;
+        }
+        if (sample) profile.endSample();
+        if (combined != EvaluationState.UNDETERMINED) {
+            return CriterionEvaluator.finalise(combined, List.of(), null);
+        }
+        List<String> missingPaths = new ArrayList<>();
+        String failureReason = null;
+        for (InnerResult result : results) {
+            missingPaths.addAll(result.missingPaths());
+            if (failureReason == null) failureReason = result.failureReason();
+        }
+        return CriterionEvaluator.finalise(combined, missingPaths, failureReason);
+    }
+
+    // ==================== Compiler ====================
+
+    /**
+     * Translates a normalised query map into nodes, mirroring the interpreter's
+     * classification rules in {@code matchValue}/{@code matchMapValue}/{@code evaluateOperator}.
+     */
+    private record Compiler(String criterionId, CriterionEvaluator evaluator, boolean specialise, boolean adaptive) {
+
+        /**
+         * Compiles a query value found at {@code path}, the path the interpreter would report
+         * for it as missing.
+         */
+        Node value(Object query, String path) {
+            if (query instanceof List<?> list) {
+                Node[] elements = new Node[list.size()];
+                for (int i = 0; i < elements.length; i++) {
+                    elements[i] = value(list.get(i), CriterionEvaluator.buildArrayPath(path, i));
+                }
+                return new ListMatch(elements, path, evaluator.documentAccessor());
+            }
+            if (query instanceof Map<?, ?> map) {
+                if (map.keySet().stream().anyMatch(k -> ((String) k).startsWith("$"))) {
+                    return operators(map, path);
+                }
+                FieldPath[] keys = new FieldPath[map.size()];
+                Node[] subQueries = new Node[map.size()];
+                int i = 0;
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    String key = (String) entry.getKey();
+                    keys[i] = FieldPath.of(key);
+                    subQueries[i] = value(entry.getValue(), CriterionEvaluator.buildFieldPath(path, key));
+                    i++;
+                }
+                return new FieldQuery(keys, subQueries, path, null, evaluator.documentAccessor());
+            }
+            return new Literal(query, path, evaluator.documentAccessor());
+        }
+
+        /** Compiles the {@code $}-prefixed entries of a map; other keys are ignored, as in the interpreter. */
+        OperatorQuery operators(Map<?, ?> map, String path) {
+            List<Op> ops = new ArrayList<>(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                String op = (String) entry.getKey();
+                if (!op.startsWith("$")) continue;
+                ops.add(operator(op, entry.getValue()));
+            }
+            return new OperatorQuery(ops.toArray(Op[]::new), map.containsKey("$exists"), path, profile(ops.size()));
+        }
+
+        private Op operator(String op, Object operand) {
+            switch (op) {
+                case "$and", "$or" -> {
+                    if (!(operand instanceof List<?> conditions)) {
+                        log.warn("Criterion '{}': operator {} expects List of conditions, got {} - "
+                                        + "treating as not matched",
+                                criterionId, op, typeName(operand));
+                        return new Constant(InnerResult.notMatched());
+                    }
+                    OperatorQuery[] branches = new OperatorQuery[conditions.size()];
+                    for (int i = 0; i < branches.length; i++) {
+                        if (conditions.get(i) instanceof Map<?, ?> condition) {
+                            branches[i] = operators(condition, "");
+                        } else {
+                            log.warn("Criterion '{}': each condition in {} must be a Map, got {} - "
+                                            + "treating as not matched",
+                                    criterionId, op, typeName(conditions.get(i)));
+                        }
+                    }
+                    BranchProfile profile = Arrays.asList(branches).contains(null) ? null : profile(branches.length);
+                    return op.equals("$and") ? new AndOp(branches, profile) : new OrOp(branches, profile);
+                }
+                case "$not" -> {
+                    if (!(operand instanceof Map<?, ?> nested)) {
+                        log.warn("Criterion '{}': operator $not expects Map operand (nested query), got {} - "
+                                        + "treating as not matched",
+                                criterionId, typeName(operand));
+                        return new Constant(InnerResult.notMatched());
+                    }
+                    return new NotOp(operators(nested, ""));
+                }
+                default -> {
+                    // Only a context-bound query can get here with an unresolved sentinel; it
+                    // pre-empts the handler exactly as in the interpreter.
+                    InnerResult unresolved = CriterionEvaluator.unresolvedOperand(operand);
+                    if (unresolved != null) {
+                        return new Constant(unresolved);
+                    }
+                    OperatorHandler handler = evaluator.handler(op);
+                    if (handler == null) {
+                        log.warn("Criterion '{}': unknown operator '{}' - criterion will be UNDETERMINED",
+                                criterionId, op);
+                        return new Constant(InnerResult.undetermined("Unknown operator: " + op));
+                    }
+                    // $elemMatch is always the evaluator's own handler (evaluator-bound operators
+                    // take precedence over the registry), so its sub-query can be compiled too.
+                    DocumentAccessor accessor = evaluator.documentAccessor();
+                    if (op.equals("$elemMatch") && operand instanceof Map<?, ?> subQuery) {
+                        return new ElemMatchOp(value(subQuery, ""), accessor);
+                    }
+                    HandlerOp generic = new HandlerOp(op, handler, operand,
+                            CriterionEvaluator.readsNodes(op) ? null : accessor);
+                    // Date operands are parsed once, here; "now" is read per evaluation.
+                    if (op.equals("$dateBefore") || op.equals("$dateAfter")) {
+                        boolean before = op.equals("$dateBefore");
+                        if (DateParser.isNow(operand)) {
+                            return new DateCompareOp(before, null);
+                        }
+                        Instant parsed = DateParser.toInstant(operand);
+                        if (parsed != null) {
+                            return new DateCompareOp(before, parsed);
+                        }
+                    }
+                    // Likewise $in/$nin/$all: hash their list operand once, here.
+                    if (operand instanceof List<?> list) {
+                        switch (op) {
+                            case "$in" -> { return new InOp(OperandSet.of(list), false, accessor); }
+                            case "$nin" -> { return new InOp(OperandSet.of(list), true, accessor); }
+                            case "$all" -> { return new AllOp(OperandSet.of(list), generic, accessor); }
+                            default -> { }
+                        }
+                    }
+                    return specialise && evaluator.isBuiltIn(op)
+                            ? specialised(op, operand, generic, accessor)
+                            : generic;
+                }
+            }
+        }
+
+        /** Returns the specialised form of a built-in operator, or {@code generic} if there is none. */
+        private static Op specialised(String op, Object operand, HandlerOp generic, DocumentAccessor accessor) {
+            Comparison comparison = Comparison.of(op);
+            if (comparison != null) {
+                if (operand instanceof Number number) {
+                    return new NumericCompareOp(comparison, number.doubleValue(), generic);
+                }
+                if (operand instanceof String string) {
+                    return new StringCompareOp(comparison, string, generic);
+                }
+                return generic;
+            }
+            return switch (op) {
+                case "$eq" -> new EqualsOp(operand, false, accessor);
+                case "$ne" -> new EqualsOp(operand, true, accessor);
+                case "$exists" -> operand instanceof Boolean expected ? new ExistsOp(expected) : generic;
+                case "$size" -> operand instanceof Number number
+                        ? new SizeOp(number.intValue(), generic, accessor)
+                        : generic;
+                default -> generic;
+            };
+        }
+
+        /** A profile for a junction of {@code branches}, if adaptive ordering is on and there is an order to learn. */
+        private BranchProfile profile(int branches) {
+            return adaptive && branches > 1 ? new BranchProfile(branches) : null;
+        }
+
+        private static String typeName(Object value) {
+            return value == null ? "null" : value.getClass().getSimpleName();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package uk.codery.jspec.evaluator;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * The context-bound evaluators of one specification (see
+ * {@link SpecificationEvaluator#bindContext(Object)}), cached by context document.
+ *
+ * <p>Context documents are keyed by {@code equals}, so an equal document re-read from its
+ * source finds the evaluator bound to the previous copy; like any hash key, a context
+ * document must not be mutated once bound. The cache is bounded twice over: it holds at most
+ * {@code maximumSize} evaluators, evicting the least recently bound first, and an evaluator
+ * is rebound once it is {@code timeToLive} old, so the cache never outlives the data it was
+ * built from by more than that. A maximum size of zero disables caching. Bindings are aged by
+ * a monotonic ticker ({@link System#nanoTime()}), not the {@link CriterionEvaluator}'s clock,
+ * which is often fixed so that date operators are deterministic.
+ *
+ * <p>Lookups are synchronised — they happen once per context, not per document — but binding
+ * runs outside the lock, so two threads binding the same new context may both do the work;
+ * the later result wins.
+ */
+final class ContextBindings {
+
+    private record Binding(SpecificationEvaluator evaluator, long boundAt) {}
+
+    private final int maximumSize;
+    /** The time to live in nanoseconds, saturated at {@code Long.MAX_VALUE}. */
+    private final long timeToLive;
+    private final LongSupplier ticker;
+    private final Function<Object, SpecificationEvaluator> binder;
+    private final LinkedHashMap<Object, Binding> bindings;
+
+    /**
+     * @param maximumSize the most evaluators to keep; zero disables caching
+     * @param timeToLive  how long a bound evaluator is reused
+     * @param ticker      the nanosecond ticker that ages bindings, such as {@code System::nanoTime}
+     * @param binder      binds an evaluator to a (non-null) context document
+     */
+    ContextBindings(int maximumSize, Duration timeToLive, LongSupplier ticker,
+                    Function<Object, SpecificationEvaluator> binder) {
+        this.maximumSize = maximumSize;
+        this.timeToLive = nanos(timeToLive);
+        this.ticker = ticker;
+        this.binder = binder;
+        // Access order, so the eldest entry is the least recently used one.
+        this.bindings = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Binding> eldest) {
+                return size() > ContextBindings.this.maximumSize;
+            }
+        };
+    }
+
+    /** Returns the evaluator bound to {@code contextDoc}, binding it if it is not cached or has expired. */
+    SpecificationEvaluator get(Object contextDoc) {
+        if (maximumSize == 0) {
+            return binder.apply(contextDoc);
+        }
+        long now = ticker.getAsLong();
+        synchronized (this) {
+            Binding binding = bindings.get(contextDoc);
+            if (binding != null && live(binding, now)) {
+                return binding.evaluator();
+            }
+        }
+        SpecificationEvaluator evaluator = binder.apply(contextDoc);
+        synchronized (this) {
+            bindings.values().removeIf(binding -> !live(binding, now));
+            bindings.put(contextDoc, new Binding(evaluator, now));
+        }
+        return evaluator;
+    }
+
+    /** Whether {@code binding} is younger than the time to live at ticker time {@code now}. */
+    private boolean live(Binding binding, long now) {
+        // Elapsed time by subtraction, as System.nanoTime() values may wrap.
+        return now - binding.boundAt() < timeToLive;
+    }
+
+    private static long nanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException tooLong) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /** Number of cached evaluators, expired ones included until the next binding purges them. */
+    synchronized int size() {
+        return bindings.size();
+    }
+}
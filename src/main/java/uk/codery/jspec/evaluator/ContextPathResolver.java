@@ -34,6 +34,24 @@ public final class ContextPathResolver {
         return (Map<String, Object>) walk(query, contextDoc);
     }
 
+    /**
+     * Returns whether {@code value} (a normalised query tree) contains any
+     * {@link ContextPathReference}, i.e. whether {@link #resolve} could ever rewrite it.
+     */
+    static boolean containsReference(Object value) {
+        if (value instanceof ContextPathReference) return true;
+        if (value instanceof Map<?, ?> map) {
+            for (Object v : map.values()) {
+                if (containsReference(v)) return true;
+            }
+        } else if (value instanceof List<?> list) {
+            for (Object v : list) {
+                if (containsReference(v)) return true;
+            }
+        }
+        return false;
+    }
+
     private static Object walk(Object value, Object contextDoc) {
         if (value instanceof ContextPathReference ref) {
             return lookup(ref, contextDoc);
@@ -69,8 +87,10 @@ public final class ContextPathResolver {
     }
 
     private static Object lookup(ContextPathReference ref, Object contextDoc) {
+        FieldPath path = FieldPath.of(ref.path());
         Object current = contextDoc;
-        for (String segment : ref.path().split("\\.")) {
+        for (int i = 0; i < path.size(); i++) {
+            String segment = path.segment(i);
             if (!(current instanceof Map<?, ?> map) || !map.containsKey(segment)) {
                 // Leave a typed sentinel (not null — null is a valid resolved value).
                 return new UnresolvedReference(CONTEXT_PREFIX + ref.path());
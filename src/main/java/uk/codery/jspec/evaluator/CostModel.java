@@ -0,0 +1,94 @@
+package uk.codery.jspec.evaluator;
+
+import uk.codery.jspec.model.Criterion;
+import uk.codery.jspec.model.QueryCriterion;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Static estimates of how expensive a criterion is to evaluate, in abstract <em>units</em>
+ * of roughly one field navigation or scalar comparison each. Only the ratios matter: the
+ * {@link ParallelismTuner} learns what a unit costs in nanoseconds at run time.
+ *
+ * <p>The estimate follows the query's structure: each field navigated, each operator by its
+ * kind (a {@code $regex} match is far dearer than an equality test), the operand sizes of
+ * {@code $in}/{@code $nin}/{@code $all}, and {@code $elemMatch} sub-queries times an assumed
+ * array length. Custom operators are unknown, so they get a middling default.
+ */
+final class CostModel {
+
+    /** A composite combines results already in place. */
+    static final double COMPOSITE = 1;
+
+    /** Elements an {@code $elemMatch} sub-query is assumed to run on. */
+    private static final double ELEMENTS = 4;
+    private static final double REGEX = 20;
+    private static final double DATE = 10;
+    private static final double CUSTOM = 5;
+
+    private CostModel() {
+    }
+
+    /** Returns the estimated cost of {@code criterion}: its query's, or {@link #COMPOSITE}. */
+    static double units(Criterion criterion) {
+        return criterion instanceof QueryCriterion query ? query(query.query()) : COMPOSITE;
+    }
+
+    /** Returns the estimated cost of a query or operator map. */
+    static double query(Map<?, ?> query) {
+        double units = 0;
+        for (Map.Entry<?, ?> entry : query.entrySet()) {
+            String key = String.valueOf(entry.getKey());
+            if (key.startsWith("$")) {
+                units += operator(key, entry.getValue());
+            } else {
+                units += navigation(key) + value(entry.getValue());
+            }
+        }
+        return Math.max(1, units);
+    }
+
+    /** One unit per path segment navigated. */
+    private static double navigation(String path) {
+        return 1 + path.chars().filter(c -> c == '.').count();
+    }
+
+    private static double value(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            return query(map);
+        }
+        if (value instanceof List<?> list) {
+            return 1 + list.size();
+        }
+        return 1;
+    }
+
+    private static double operator(String operator, Object operand) {
+        return switch (operator) {
+            case "$and", "$or" -> {
+                double units = 0;
+                if (operand instanceof List<?> branches) {
+                    for (Object branch : branches) {
+                        units += value(branch);
+                    }
+                }
+                yield Math.max(1, units);
+            }
+            case "$not" -> value(operand);
+            case "$elemMatch" -> ELEMENTS * (1 + value(operand));
+            case "$regex" -> REGEX;
+            case "$dateBefore", "$dateAfter" -> DATE;
+            case "$in", "$nin" -> 1 + size(operand) / 8.0;
+            case "$all" -> 1 + size(operand);
+            case "$contains", "$startsWith", "$endsWith", "$between" -> 2;
+            case "$eq", "$ne", "$gt", "$gte", "$lt", "$lte", "$exists", "$type", "$size" -> 1;
+            default -> CUSTOM;
+        };
+    }
+
+    private static int size(Object operand) {
+        return operand instanceof Collection<?> collection ? collection.size() : 1;
+    }
+}
@@ -1,19 +1,15 @@
 package uk.codery.jspec.evaluator;
 
 import lombok.extern.slf4j.Slf4j;
+import uk.codery.jspec.accessor.DocumentAccessor;
 import uk.codery.jspec.model.QueryCriterion;
 import uk.codery.jspec.operator.OperatorHandler;
 import uk.codery.jspec.operator.OperatorRegistry;
 import uk.codery.jspec.result.QueryResult;
 import uk.codery.jspec.result.EvaluationState;
 
+import java.time.Clock;
 import java.time.Instant;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.time.temporal.TemporalAccessor;
 import java.util.*;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -87,8 +83,11 @@ import java.util.regex.PatternSyntaxException;
  *       mismatches become NOT_MATCHED</li>
  *   <li><b>Regex Caching:</b> Thread-safe LRU cache (100 patterns) for ~10-100x speedup</li>
  *   <li><b>Dot Notation:</b> Navigate nested fields with "address.city" syntax</li>
+ *   <li><b>Document Representations:</b> {@code Map}/{@code List} documents and Jackson
+ *       {@code JsonNode} trees are read in place; others plug in through a
+ *       {@link DocumentAccessor}</li>
  *   <li><b>Custom Operators:</b> Extensible via OperatorRegistry</li>
- *   <li><b>Performance Optimized:</b> HashSet-based $all operator, cached patterns</li>
+ *   <li><b>Performance Optimized:</b> hashed $in/$nin/$all operand sets, cached patterns</li>
  * </ul>
  *
  * <h2>Usage Examples</h2>
@@ -176,6 +175,18 @@ import java.util.regex.PatternSyntaxException;
 public class CriterionEvaluator {
     private final Map<String, OperatorHandler> operators = new HashMap<>();
 
+    /** Source of {@code "now"} for {@code $dateBefore}/{@code $dateAfter}. */
+    private final Clock clock;
+
+    /** Reads the documents being evaluated. */
+    private final DocumentAccessor accessor;
+
+    /**
+     * Operators bound to their built-in implementation: the registry's un-overridden default
+     * comparison handlers plus every evaluator-owned operator.
+     */
+    private final Set<String> builtInOperators = new HashSet<>();
+
     /** Cached, unmodifiable view of {@link #supportedOperators()} — stable after construction. */
     private final SortedSet<String> supportedOperators;
 
@@ -220,27 +231,34 @@ public class CriterionEvaluator {
     );
 
     /**
-     * Internal result that includes tri-state model.
+     * Internal result that includes tri-state model. Package-private so that
+     * {@link CompiledQuery} nodes produce exactly the interpreter's results.
      */
-    private record InnerResult(EvaluationState state, List<String> missingPaths, String failureReason){
+    record InnerResult(EvaluationState state, List<String> missingPaths, String failureReason){
+
+        private static final InnerResult MATCHED = new InnerResult(EvaluationState.MATCHED, List.of(), null);
+        private static final InnerResult NOT_MATCHED = new InnerResult(EvaluationState.NOT_MATCHED, List.of(), null);
+
         /**
-         * Creates a MATCHED result.
+         * Returns the (shared) MATCHED result.
          */
         static InnerResult matched() {
-            return new InnerResult(EvaluationState.MATCHED, List.of(), null);
+            return MATCHED;
         }
 
         /**
-         * Creates a NOT_MATCHED result.
+         * Returns the (shared) NOT_MATCHED result.
          */
         static InnerResult notMatched() {
-            return new InnerResult(EvaluationState.NOT_MATCHED, List.of(), null);
+            return NOT_MATCHED;
         }
 
         /**
-         * Creates a NOT_MATCHED result with missing paths.
+         * Creates a NOT_MATCHED result with missing paths; {@code null} or empty paths give
+         * the shared result.
          */
         static InnerResult notMatched(List<String> missingPaths) {
+            if (missingPaths == null || missingPaths.isEmpty()) return NOT_MATCHED;
             return new InnerResult(EvaluationState.NOT_MATCHED, missingPaths, null);
         }
 
@@ -263,14 +281,89 @@ public class CriterionEvaluator {
     public QueryResult evaluateQuery(Object doc, QueryCriterion criterion) {
         log.debug("Evaluating query criterion '{}' against document", criterion.id());
 
-        return Optional.of(criterion)
-                .map(QueryCriterion::query)
-                .map(query -> matchValue(doc, query, ""))
-                .map(result -> new QueryResult(criterion, result.state, result.missingPaths, result.failureReason))
-                .orElseGet(() -> {
-                    log.warn("Query criterion '{}' has no query defined", criterion.id());
-                    return QueryResult.missing(criterion);
-                });
+        Map<String, Object> query = criterion.query();
+        if (query == null) {
+            log.warn("Query criterion '{}' has no query defined", criterion.id());
+            return QueryResult.missing(criterion);
+        }
+        InnerResult result = matchValue(document(doc), query, "");
+        return new QueryResult(criterion, result.state, result.missingPaths, result.failureReason);
+    }
+
+    /**
+     * Compiles a query criterion into an immutable node tree bound to this evaluator's
+     * operator handlers. Evaluating the compiled form yields exactly the result of
+     * {@link #evaluateQuery(Object, QueryCriterion)} without re-interpreting the query map.
+     *
+     * <p>The criterion must not contain {@code $contextPath} operands; those are resolved
+     * per evaluation and stay on the interpreter path.
+     *
+     * @param criterion the (normalised) criterion to compile
+     * @return the compiled query
+     * @see SpecificationEvaluator
+     */
+    CompiledQuery compile(QueryCriterion criterion) {
+        return compile(criterion, EvaluationOptions.defaults());
+    }
+
+    /**
+     * Compiles a query criterion with the given options (see {@link #compile(QueryCriterion)}).
+     */
+    CompiledQuery compile(QueryCriterion criterion, EvaluationOptions options) {
+        return CompiledQuery.compile(criterion, this, options);
+    }
+
+    /**
+     * Compiles a query criterion with the given options, sharing its root-level field lookups
+     * through {@code paths} (see {@link FieldPathTable}).
+     */
+    CompiledQuery compile(QueryCriterion criterion, EvaluationOptions options, FieldPathTable paths) {
+        return CompiledQuery.compile(criterion, this, options, paths);
+    }
+
+    /**
+     * Returns the boolean handler registered for {@code op}, or {@code null} if unknown.
+     */
+    OperatorHandler handler(String op) {
+        return operators.get(op);
+    }
+
+    /**
+     * Returns whether {@code op} is bound to its built-in implementation rather than a
+     * custom handler, so its semantics may be specialised at compile time.
+     */
+    boolean isBuiltIn(String op) {
+        return builtInOperators.contains(op);
+    }
+
+    /**
+     * Returns whether {@code op}'s handler reads document values through the accessor itself,
+     * rather than being given their plain Java form (see {@link DocumentAccessor#toJava}).
+     * Only evaluator-bound operators do, and those can never be overridden.
+     */
+    static boolean readsNodes(String op) {
+        return NODE_OPERATORS.contains(op);
+    }
+
+    /**
+     * Returns a whole document as the evaluator walks it: objects and arrays as they are,
+     * anything else (a scalar document) in its plain Java form.
+     */
+    Object document(Object document) {
+        if (document == null || accessor.isObject(document) || accessor.isArray(document)) {
+            return document;
+        }
+        return accessor.toJava(document);
+    }
+
+    /**
+     * Returns the accessor that reads the documents this evaluator is given.
+     *
+     * @return the document accessor
+     * @since 0.8.0
+     */
+    public DocumentAccessor documentAccessor() {
+        return accessor;
     }
 
     /**
@@ -311,14 +404,72 @@ public class CriterionEvaluator {
      * @throws IllegalArgumentException if registry is null
      */
     public CriterionEvaluator(OperatorRegistry registry) {
+        this(registry, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a CriterionEvaluator with a custom operator registry and the clock that
+     * supplies {@code "now"} to {@code $dateBefore}/{@code $dateAfter}.
+     *
+     * <p>A {@link SpecificationEvaluator} reads the clock once per evaluation (see
+     * {@link EvaluationContext#now()}), so every criterion in one evaluation sees the same
+     * instant. A fixed clock makes date rules reproducible in tests:
+     *
+     * <pre>{@code
+     * Clock fixed = Clock.fixed(Instant.parse("2025-06-01T00:00:00Z"), ZoneOffset.UTC);
+     * CriterionEvaluator evaluator = new CriterionEvaluator(OperatorRegistry.withDefaults(), fixed);
+     * }</pre>
+     *
+     * @param registry the operator registry to use for evaluation
+     * @param clock the clock supplying the current instant
+     * @throws IllegalArgumentException if registry or clock is null
+     * @since 0.8.0
+     */
+    public CriterionEvaluator(OperatorRegistry registry, Clock clock) {
+        this(registry, clock, DocumentAccessor.defaults());
+    }
+
+    /**
+     * Creates a CriterionEvaluator that reads documents through {@code accessor}, for
+     * document representations beyond the {@linkplain DocumentAccessor#defaults() defaults}
+     * ({@code Map}/{@code List} and Jackson {@code JsonNode}):
+     *
+     * <pre>{@code
+     * DocumentAccessor accessor = DocumentAccessor.of(new AvroRecordAccessor(), DocumentAccessor.defaults());
+     * CriterionEvaluator evaluator =
+     *         new CriterionEvaluator(OperatorRegistry.withDefaults(), Clock.systemUTC(), accessor);
+     * }</pre>
+     *
+     * <p>Results are the same for any representation of a document. Operator handlers,
+     * built-in or custom, receive field values in plain Java form.
+     *
+     * @param registry the operator registry to use for evaluation
+     * @param clock the clock supplying the current instant
+     * @param accessor reads the documents being evaluated
+     * @throws IllegalArgumentException if registry, clock or accessor is null
+     * @since 0.8.0
+     */
+    public CriterionEvaluator(OperatorRegistry registry, Clock clock, DocumentAccessor accessor) {
         if (registry == null) {
             throw new IllegalArgumentException("OperatorRegistry cannot be null");
         }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        if (accessor == null) {
+            throw new IllegalArgumentException("DocumentAccessor cannot be null");
+        }
+        this.clock = clock;
+        this.accessor = accessor;
         this.operators.putAll(registry.getAll());
+        for (String name : operators.keySet()) {
+            if (registry.isDefault(name)) builtInOperators.add(name);
+        }
         // Register the evaluator-owned operators on top of the registry's defaults (and any
         // custom operators the registry carries). The registry seeds only the six overridable
         // comparison operators; everything else is owned here.
         registerEvaluatorBoundOperators();
+        builtInOperators.addAll(EVALUATOR_BOUND_OPERATORS);
         this.supportedOperators = computeSupportedOperators();
         log.debug("Created CriterionEvaluator with custom registry ({} operators)", operators.size());
     }
@@ -342,6 +493,17 @@ public class CriterionEvaluator {
      * project contract — incomparable operands (e.g. a String value against a numeric operand)
      * yield NOT_MATCHED (the handler returns {@code false}), not UNDETERMINED.
      */
+    private static final Set<String> EVALUATOR_BOUND_OPERATORS = Set.of(
+            "$contains", "$startsWith", "$endsWith", "$between", "$dateBefore", "$dateAfter",
+            "$in", "$nin", "$exists", "$type", "$regex", "$size", "$elemMatch", "$all");
+
+    /**
+     * The evaluator-bound operators whose handlers are given document values as they are and
+     * read them through the {@link DocumentAccessor}, so an array or object is never converted
+     * just to be counted, classified or searched.
+     */
+    private static final Set<String> NODE_OPERATORS = Set.of("$exists", "$type", "$size", "$elemMatch");
+
     private void registerEvaluatorBoundOperators() {
         operators.put("$contains", this::evaluateContainsOperator);
         operators.put("$startsWith", this::evaluateStartsWithOperator);
@@ -373,7 +535,7 @@ public class CriterionEvaluator {
             // MongoDB behavior: if val is an array, check if ANY element in val is in the operand list
             if (val instanceof List<?> valList) {
                 for (Object item : valList) {
-                    if (list.contains(item)) {
+                    if (OperandSet.containsCanonical(list, item)) {
                         return true;
                     }
                 }
@@ -381,7 +543,7 @@ public class CriterionEvaluator {
             }
 
             // Otherwise, check if val is in the operand list
-            return list.contains(val);
+            return OperandSet.containsCanonical(list, val);
         } catch (Exception e) {
             log.warn("Error evaluating $in operator: {}", e.getMessage(), e);
             return false;
@@ -399,7 +561,7 @@ public class CriterionEvaluator {
             // MongoDB behavior: if val is an array, check that NO element in val is in the operand list
             if (val instanceof List<?> valList) {
                 for (Object item : valList) {
-                    if (list.contains(item)) {
+                    if (OperandSet.containsCanonical(list, item)) {
                         return false;
                     }
                 }
@@ -407,7 +569,7 @@ public class CriterionEvaluator {
             }
 
             // Otherwise, check if val is not in the operand list
-            return !list.contains(val);
+            return !OperandSet.containsCanonical(list, val);
         } catch (Exception e) {
             log.warn("Error evaluating $nin operator: {}", e.getMessage(), e);
             return false;
@@ -472,7 +634,7 @@ public class CriterionEvaluator {
 
     private boolean evaluateSizeOperator(Object val, Object operand) {
         try {
-            if (!(val instanceof List)) {
+            if (!accessor.isArray(val)) {
                 log.debug("Operator $size expects List value, got {} - treating as not matched",
                             val == null ? "null" : val.getClass().getSimpleName());
                 return false;
@@ -482,7 +644,7 @@ public class CriterionEvaluator {
                            operand == null ? "null" : operand.getClass().getSimpleName());
                 return false;
             }
-            return ((List<?>) val).size() == ((Number) operand).intValue();
+            return accessor.size(val) == ((Number) operand).intValue();
         } catch (Exception e) {
             log.warn("Error evaluating $size operator: {}", e.getMessage(), e);
             return false;
@@ -491,7 +653,7 @@ public class CriterionEvaluator {
 
     private boolean evaluateElemMatchOperator(Object val, Object operand) {
         try {
-            if (!(val instanceof List)) {
+            if (!accessor.isArray(val)) {
                 log.debug("Operator $elemMatch expects List value, got {} - treating as not matched",
                             val == null ? "null" : val.getClass().getSimpleName());
                 return false;
@@ -503,8 +665,8 @@ public class CriterionEvaluator {
             }
             @SuppressWarnings("unchecked")
             Map<String, Object> queryMap = (Map<String, Object>) operand;
-            for (Object item : (List<?>) val) {
-                if (matchValue(item, queryMap, "").state == EvaluationState.MATCHED) {
+            for (int i = 0, size = accessor.size(val); i < size; i++) {
+                if (matchValue(accessor.element(val, i), queryMap, "").state == EvaluationState.MATCHED) {
                     return true;
                 }
             }
@@ -527,8 +689,7 @@ public class CriterionEvaluator {
                            operand == null ? "null" : operand.getClass().getSimpleName());
                 return false;
             }
-            //noinspection SuspiciousMethodCalls
-            return new HashSet<>(valList).containsAll(queryList);
+            return OperandSet.of(queryList).isCoveredBy(valList);
         } catch (Exception e) {
             log.warn("Error evaluating $all operator: {}", e.getMessage(), e);
             return false;
@@ -679,79 +840,24 @@ public class CriterionEvaluator {
     }
 
     /**
-     * Parses various date representations to an Instant.
-     * Supports:
-     * - "now" keyword for current time
-     * - ISO 8601 date-time strings (e.g., "2025-01-01T00:00:00Z")
-     * - ISO 8601 date strings (e.g., "2025-01-01")
-     * - Long epoch milliseconds
-     * - Instant objects
+     * Converts a date value or operand to an Instant: the {@code "now"} keyword reads the
+     * clock, anything else is parsed by {@link DateParser}.
      *
      * @param value the value to parse
      * @return the parsed Instant, or null if parsing fails
      */
     private Instant parseToInstant(Object value) {
-        if (value == null) {
-            return null;
-        }
-
-        // Already an Instant
-        if (value instanceof Instant instant) {
-            return instant;
-        }
-
-        // Long epoch milliseconds
-        if (value instanceof Long epochMillis) {
-            return Instant.ofEpochMilli(epochMillis);
-        }
-
-        // Number (could be epoch millis or seconds)
-        if (value instanceof Number number) {
-            long longValue = number.longValue();
-            // Heuristic: if < 1e10, treat as seconds; otherwise as milliseconds
-            if (longValue < 10_000_000_000L) {
-                return Instant.ofEpochSecond(longValue);
-            } else {
-                return Instant.ofEpochMilli(longValue);
-            }
-        }
-
-        // String parsing
-        if (value instanceof String str) {
-            // Special keyword "now"
-            if ("now".equalsIgnoreCase(str)) {
-                return Instant.now();
-            }
-
-            // Try ISO 8601 date-time first
-            try {
-                return Instant.parse(str);
-            } catch (DateTimeParseException ignored) {
-                // Try other formats
-            }
-
-            // Try ISO 8601 date-time with offset
-            try {
-                return DateTimeFormatter.ISO_DATE_TIME
-                        .parse(str, Instant::from);
-            } catch (DateTimeParseException ignored) {
-                // Try other formats
-            }
-
-            // Try ISO 8601 date only (assume start of day in UTC)
-            try {
-                LocalDate date = LocalDate.parse(str, DateTimeFormatter.ISO_DATE);
-                return date.atStartOfDay(ZoneId.of("UTC")).toInstant();
-            } catch (DateTimeParseException ignored) {
-                // Failed to parse
-            }
-
-            log.debug("Could not parse date string '{}' - unsupported format", str);
-            return null;
-        }
+        return DateParser.isNow(value) ? clock.instant() : DateParser.toInstant(value);
+    }
 
-        log.debug("Unsupported date type: {} - cannot parse to Instant", value.getClass().getSimpleName());
-        return null;
+    /**
+     * Returns the clock supplying {@code "now"} to the date operators.
+     *
+     * @return the clock
+     * @since 0.8.0
+     */
+    public Clock clock() {
+        return clock;
     }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
@@ -768,6 +874,8 @@ public class CriterionEvaluator {
     }
 
     private String getType(Object val) {
+        if (accessor.isArray(val)) return "array";
+        if (accessor.isObject(val)) return "object";
         return switch (val) {
             case null -> "null";
             case List<?> ignored -> "array";
@@ -822,30 +930,30 @@ public class CriterionEvaluator {
     }
 
     private InnerResult matchSimpleValue(Object val, Object query) {
-        boolean match = Objects.equals(val, query);
+        boolean match = Objects.equals(accessor.toJava(val), query);
         return match ? InnerResult.matched() : InnerResult.notMatched();
     }
 
     private InnerResult matchListValue(Object val, List<?> queryList, String path) {
-        if (!(val instanceof List<?> valList)) {
+        if (!accessor.isArray(val)) {
             return InnerResult.notMatched();
         }
 
-        if (valList.size() != queryList.size()) {
+        if (accessor.size(val) != queryList.size()) {
             return InnerResult.notMatched();
         }
 
-        return matchListElements(valList, queryList, path);
+        return matchListElements(val, queryList, path);
     }
 
-    private InnerResult matchListElements(List<?> valList, List<?> queryList, String path) {
-        List<String> missingPaths = new ArrayList<>();
+    private InnerResult matchListElements(Object valList, List<?> queryList, String path) {
+        List<String> missingPaths = null;
         EvaluationState overallState = EvaluationState.MATCHED;
         String firstFailureReason = null;
 
         for (int i = 0; i < queryList.size(); i++) {
             String newPath = buildArrayPath(path, i);
-            InnerResult subResult = matchValue(valList.get(i), queryList.get(i), newPath);
+            InnerResult subResult = matchValue(accessor.element(valList, i), queryList.get(i), newPath);
 
             if (subResult.state != EvaluationState.MATCHED) {
                 // Priority: UNDETERMINED > NOT_MATCHED
@@ -857,20 +965,39 @@ public class CriterionEvaluator {
                 } else if (overallState == EvaluationState.MATCHED) {
                     overallState = EvaluationState.NOT_MATCHED;
                 }
-                missingPaths.addAll(subResult.missingPaths);
+                missingPaths = addPaths(missingPaths, subResult.missingPaths);
             }
         }
 
-        if (overallState == EvaluationState.UNDETERMINED) {
-            return new InnerResult(EvaluationState.UNDETERMINED, missingPaths, firstFailureReason);
-        } else if (overallState == EvaluationState.NOT_MATCHED) {
-            return InnerResult.notMatched(missingPaths);
-        } else {
-            return InnerResult.matched();
-        }
+        return aggregate(overallState, missingPaths, firstFailureReason);
+    }
+
+    /**
+     * Builds the result of an element-wise or field-wise match. Unlike {@link #finalise},
+     * missing paths are kept for NOT_MATCHED too, so the result reason can name them.
+     * {@code missingPaths} may be {@code null} for none.
+     */
+    static InnerResult aggregate(EvaluationState state, List<String> missingPaths, String failureReason) {
+        return switch (state) {
+            case MATCHED -> InnerResult.matched();
+            case NOT_MATCHED -> InnerResult.notMatched(missingPaths);
+            case UNDETERMINED -> new InnerResult(EvaluationState.UNDETERMINED,
+                    missingPaths == null ? List.of() : missingPaths, failureReason);
+        };
+    }
+
+    /**
+     * Appends {@code paths} to {@code missingPaths}, creating the list on first use, so a match
+     * that never meets missing data allocates none. Returns the (possibly new) list.
+     */
+    static List<String> addPaths(List<String> missingPaths, List<String> paths) {
+        if (paths.isEmpty()) return missingPaths;
+        if (missingPaths == null) missingPaths = new ArrayList<>(paths.size());
+        missingPaths.addAll(paths);
+        return missingPaths;
     }
 
-    private String buildArrayPath(String path, int index) {
+    static String buildArrayPath(String path, int index) {
         return path.isEmpty() ? "[" + index + "]" : path + "[" + index + "]";
     }
 
@@ -885,7 +1012,10 @@ public class CriterionEvaluator {
     }
 
     private boolean isOperatorQuery(Map<String, Object> queryMap) {
-        return queryMap.keySet().stream().anyMatch(k -> k.startsWith("$"));
+        for (String key : queryMap.keySet()) {
+            if (key.startsWith("$")) return true;
+        }
+        return false;
     }
 
     /**
@@ -896,7 +1026,7 @@ public class CriterionEvaluator {
      */
     private InnerResult evaluateOperatorQuery(Object val, Map<String, Object> queryMap) {
         EvaluationState combined = EvaluationState.MATCHED;
-        List<String> missingPaths = new ArrayList<>();
+        List<String> missingPaths = null;
         String failureReason = null;
 
         for (Map.Entry<String, Object> entry : queryMap.entrySet()) {
@@ -906,7 +1036,7 @@ public class CriterionEvaluator {
             InnerResult opResult = evaluateOperator(val, op, entry.getValue());
 
             combined = combined.and(opResult.state);
-            missingPaths.addAll(opResult.missingPaths);
+            missingPaths = addPaths(missingPaths, opResult.missingPaths);
             if (failureReason == null) failureReason = opResult.failureReason;
 
             if (combined == EvaluationState.NOT_MATCHED) break;  // AND short-circuit
@@ -925,11 +1055,9 @@ public class CriterionEvaluator {
         if (op.equals("$and")) return evaluateAnd(val, operand);
         if (op.equals("$not")) return evaluateNot(val, operand);
 
-        List<String> unresolved = collectUnresolved(operand);
-        if (!unresolved.isEmpty()) {
-            return new InnerResult(EvaluationState.UNDETERMINED, List.copyOf(unresolved),
-                    "Unresolved context path" + (unresolved.size() == 1 ? "" : "s") + ": "
-                            + String.join(", ", unresolved));
+        InnerResult unresolved = unresolvedOperand(operand);
+        if (unresolved != null) {
+            return unresolved;
         }
 
         OperatorHandler handler = operators.get(op);
@@ -939,7 +1067,8 @@ public class CriterionEvaluator {
         }
 
         try {
-            return handler.evaluate(val, operand) ? InnerResult.matched() : InnerResult.notMatched();
+            Object value = readsNodes(op) ? val : accessor.toJava(val);
+            return handler.evaluate(value, operand) ? InnerResult.matched() : InnerResult.notMatched();
         } catch (Exception e) {
             log.warn("Error evaluating operator '{}': {} - marking as UNDETERMINED", op, e.getMessage(), e);
             return InnerResult.undetermined("Error evaluating operator " + op + ": " + e.getMessage());
@@ -976,7 +1105,7 @@ public class CriterionEvaluator {
                                         EvaluationState identity, EvaluationState shortCircuit,
                                         String operatorName) {
         EvaluationState combined = identity;
-        List<String> missingPaths = new ArrayList<>();
+        List<String> missingPaths = null;
         String failureReason = null;
 
         for (Object condition : conditions) {
@@ -992,7 +1121,7 @@ public class CriterionEvaluator {
             combined = (identity == EvaluationState.MATCHED)
                     ? combined.and(branch.state)
                     : combined.or(branch.state);
-            missingPaths.addAll(branch.missingPaths);
+            missingPaths = addPaths(missingPaths, branch.missingPaths);
             if (failureReason == null) failureReason = branch.failureReason;
 
             if (combined == shortCircuit) break;
@@ -1005,16 +1134,46 @@ public class CriterionEvaluator {
      * Builds the result for a combined evaluation. Per the design decision, missing
      * paths are surfaced only when they left the result UNDETERMINED — a path inside a
      * branch that was overridden by a MATCHED/NOT_MATCHED sibling did not influence the
-     * outcome and is therefore not reported.
+     * outcome and is therefore not reported. {@code missingPaths} may be {@code null} for none.
      */
-    private static InnerResult finalise(EvaluationState state, List<String> missingPaths, String failureReason) {
+    static InnerResult finalise(EvaluationState state, List<String> missingPaths, String failureReason) {
         return switch (state) {
             case MATCHED -> InnerResult.matched();
             case NOT_MATCHED -> InnerResult.notMatched();
-            case UNDETERMINED -> new InnerResult(EvaluationState.UNDETERMINED, List.copyOf(missingPaths), failureReason);
+            case UNDETERMINED -> new InnerResult(EvaluationState.UNDETERMINED,
+                    missingPaths == null ? List.of() : List.copyOf(missingPaths), failureReason);
         };
     }
 
+    /**
+     * Returns the UNDETERMINED result of an operator whose operand carries unresolved
+     * {@code $contextPath} sentinels, or {@code null} if it carries none.
+     */
+    static InnerResult unresolvedOperand(Object operand) {
+        if (!containsUnresolved(operand)) {
+            return null;
+        }
+        List<String> unresolved = collectUnresolved(operand);
+        return new InnerResult(EvaluationState.UNDETERMINED, List.copyOf(unresolved),
+                "Unresolved context path" + (unresolved.size() == 1 ? "" : "s") + ": "
+                        + String.join(", ", unresolved));
+    }
+
+    /** Whether {@link #collectUnresolved} would find anything; allocates nothing. */
+    private static boolean containsUnresolved(Object operand) {
+        if (operand instanceof UnresolvedReference) return true;
+        if (operand instanceof List<?> list) {
+            for (Object element : list) {
+                if (containsUnresolved(element)) return true;
+            }
+        } else if (operand instanceof Map<?, ?> map) {
+            for (Object value : map.values()) {
+                if (containsUnresolved(value)) return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Recursively collects the {@code context.<path>} of every unresolved
      * {@code $contextPath} sentinel reachable inside an operator operand (directly, or
@@ -1038,17 +1197,14 @@ public class CriterionEvaluator {
     }
 
     private InnerResult evaluateFieldQuery(Object val, Map<String, Object> queryMap, String path) {
-        if (!(val instanceof Map)) {
+        if (!accessor.isObject(val)) {
             return InnerResult.notMatched();
         }
-
-        @SuppressWarnings("unchecked")
-        Map<String, Object> valMap = (Map<String, Object>) val;
-        return matchAllFields(valMap, queryMap, path);
+        return matchAllFields(val, queryMap, path);
     }
 
-    private InnerResult matchAllFields(Map<String, Object> valMap, Map<String, Object> queryMap, String path) {
-        List<String> missingPaths = new ArrayList<>();
+    private InnerResult matchAllFields(Object valObject, Map<String, Object> queryMap, String path) {
+        List<String> missingPaths = null;
         EvaluationState overallState = EvaluationState.MATCHED;
         String firstFailureReason = null;
 
@@ -1056,8 +1212,8 @@ public class CriterionEvaluator {
             String key = entry.getKey();
             Object subQuery = entry.getValue();
             String newPath = buildFieldPath(path, key);
-            // Use navigate() to support dot notation (e.g., "address.city")
-            Object subVal = navigate(valMap, key);
+            // Navigate the dot-notation path (e.g., "address.city")
+            Object subVal = FieldPath.of(key).navigate(valObject, accessor);
 
             InnerResult subResult = matchValue(subVal, subQuery, newPath);
 
@@ -1071,57 +1227,14 @@ public class CriterionEvaluator {
                 } else if (overallState == EvaluationState.MATCHED) {
                     overallState = EvaluationState.NOT_MATCHED;
                 }
-                missingPaths.addAll(subResult.missingPaths);
+                missingPaths = addPaths(missingPaths, subResult.missingPaths);
             }
         }
 
-        if (overallState == EvaluationState.UNDETERMINED) {
-            return new InnerResult(EvaluationState.UNDETERMINED, missingPaths, firstFailureReason);
-        } else if (overallState == EvaluationState.NOT_MATCHED) {
-            return InnerResult.notMatched(missingPaths);
-        } else {
-            return InnerResult.matched();
-        }
+        return aggregate(overallState, missingPaths, firstFailureReason);
     }
 
-    private String buildFieldPath(String path, String key) {
+    static String buildFieldPath(String path, String key) {
         return path.isEmpty() ? key : path + "." + key;
     }
-
-    /**
-     * Navigates through a nested map structure using dot notation.
-     * For example, "address.city" navigates to map.get("address").get("city").
-     *
-     * @param map the map to navigate
-     * @param path the dot-notation path (e.g., "address.city")
-     * @return the value at the path, or null if not found
-     */
-    private Object navigate(Map<String, Object> map, String path) {
-        if (path == null || path.isEmpty()) {
-            return map;
-        }
-
-        // If path doesn't contain dots, simple lookup
-        if (!path.contains(".")) {
-            return map.get(path);
-        }
-
-        // Split path and navigate through nested maps
-        String[] parts = path.split("\\.");
-        Object current = map;
-
-        for (String part : parts) {
-            if (!(current instanceof Map)) {
-                return null;
-            }
-            @SuppressWarnings("unchecked")
-            Map<String, Object> currentMap = (Map<String, Object>) current;
-            current = currentMap.get(part);
-            if (current == null) {
-                return null;
-            }
-        }
-
-        return current;
-    }
 }
@@ -0,0 +1,185 @@
+package uk.codery.jspec.evaluator;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Converts the values and operands of {@code $dateBefore}/{@code $dateAfter} to {@link Instant}s.
+ *
+ * <p>Supports {@code Instant}s, epoch numbers ({@code Long} as milliseconds; other numbers as
+ * seconds below {@code 1e10}, milliseconds above) and ISO-8601 strings: instants
+ * ({@code "2025-01-01T00:00:00Z"}), date-times with an offset and optional zone
+ * ({@code "2025-01-01T10:00+01:00[Europe/Paris]"}) and dates ({@code "2025-01-01"}, taken as
+ * the start of that day in UTC). The {@code "now"} keyword is not handled here — it depends on
+ * the evaluation, not the value (see {@link EvaluationContext#now()}).
+ *
+ * <p>Strings used to be tried against each {@code java.time} parser in turn, with
+ * {@link DateTimeParseException} as control flow, so a date-only value cost two exceptions
+ * per comparison and an arbitrary string three. A hand-rolled scan of the string's shape now
+ * picks the single parser that can accept it; strings of no supported shape are rejected
+ * without parsing. A parser is only tried and failed for date-shaped strings holding an
+ * invalid value (month 13, an unknown zone, …). Results are identical to the old cascade.
+ */
+@Slf4j
+final class DateParser {
+
+    /** ISO-8601 string shapes, as far as they decide which parser applies. */
+    enum Shape {
+        /** Not a supported date or date-time. */
+        NONE,
+        /** A date, optionally with an offset: {@code ISO_DATE}. */
+        DATE,
+        /** A date-time with an offset and seconds, and no zone: {@code Instant.parse} first. */
+        INSTANT,
+        /** Any other date-time with an offset: {@code ISO_DATE_TIME}. */
+        DATE_TIME
+    }
+
+    private static final String NOW = "now";
+
+    private DateParser() {}
+
+    /**
+     * Returns whether {@code value} is the {@code "now"} keyword (case-insensitive).
+     */
+    static boolean isNow(Object value) {
+        return value instanceof String str && NOW.equalsIgnoreCase(str);
+    }
+
+    /**
+     * Converts a value to an {@code Instant}.
+     *
+     * @param value the value to convert
+     * @return the instant, or {@code null} if the value is not a supported date representation
+     */
+    static Instant toInstant(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Instant instant) {
+            return instant;
+        }
+        if (value instanceof Long epochMillis) {
+            return Instant.ofEpochMilli(epochMillis);
+        }
+        if (value instanceof Number number) {
+            long longValue = number.longValue();
+            // Heuristic: if < 1e10, treat as seconds; otherwise as milliseconds
+            return longValue < 10_000_000_000L ? Instant.ofEpochSecond(longValue) : Instant.ofEpochMilli(longValue);
+        }
+        if (value instanceof String str) {
+            Instant parsed = parse(str);
+            if (parsed == null) {
+                log.debug("Could not parse date string '{}' - unsupported format", str);
+            }
+            return parsed;
+        }
+        log.debug("Unsupported date type: {} - cannot parse to Instant", value.getClass().getSimpleName());
+        return null;
+    }
+
+    private static Instant parse(String str) {
+        try {
+            return switch (shapeOf(str)) {
+                case NONE -> null;
+                case DATE -> LocalDate.parse(str, DateTimeFormatter.ISO_DATE).atStartOfDay(ZoneOffset.UTC).toInstant();
+                case INSTANT -> parseInstant(str);
+                case DATE_TIME -> DateTimeFormatter.ISO_DATE_TIME.parse(str, Instant::from);
+            };
+        } catch (DateTimeParseException invalid) {
+            return null;
+        }
+    }
+
+    /**
+     * {@code Instant.parse} also accepts leap seconds and {@code 24:00}, which
+     * {@code ISO_DATE_TIME} rejects; for anything else they agree.
+     */
+    private static Instant parseInstant(String str) {
+        try {
+            return Instant.parse(str);
+        } catch (DateTimeParseException e) {
+            return DateTimeFormatter.ISO_DATE_TIME.parse(str, Instant::from);
+        }
+    }
+
+    /**
+     * Classifies an ISO-8601 string without parsing it. The scan is deliberately a little more
+     * permissive than the formatters (it checks layout, not field ranges), so it never rejects
+     * a string one of them would accept.
+     */
+    static Shape shapeOf(String s) {
+        int n = s.length();
+        int i = 0;
+        // date: [+-]yyyy[y…]-MM-dd
+        if (i < n && (s.charAt(i) == '+' || s.charAt(i) == '-')) i++;
+        int yearStart = i;
+        while (i < n && isDigit(s.charAt(i))) i++;
+        if (i - yearStart < 4) return Shape.NONE;
+        i = expect(s, i, '-');
+        i = digits(s, i, 2);
+        i = expect(s, i, '-');
+        i = digits(s, i, 2);
+        if (i < 0) return Shape.NONE;
+        if (i == n) return Shape.DATE;
+
+        char c = s.charAt(i);
+        if (c != 'T' && c != 't') {
+            // ISO_DATE allows an offset after the date
+            return offsetEnd(s, i) == n ? Shape.DATE : Shape.NONE;
+        }
+        // time: HH:mm[:ss[.fffffffff]]
+        i = digits(s, i + 1, 2);
+        i = expect(s, i, ':');
+        i = digits(s, i, 2);
+        if (i < 0) return Shape.NONE;
+        boolean seconds = i < n && s.charAt(i) == ':';
+        if (seconds) {
+            i = digits(s, i + 1, 2);
+            if (i < 0) return Shape.NONE;
+            if (i < n && s.charAt(i) == '.') {
+                i++;
+                while (i < n && isDigit(s.charAt(i))) i++;
+            }
+        }
+        // An offset is required: a local date-time has no instant.
+        int offsetEnd = offsetEnd(s, i);
+        if (offsetEnd < 0) return Shape.NONE;
+        if (offsetEnd == n) return seconds ? Shape.INSTANT : Shape.DATE_TIME;
+        // optional [zone] after the offset
+        if (s.charAt(offsetEnd) == '[' && s.charAt(n - 1) == ']' && n - offsetEnd > 2) return Shape.DATE_TIME;
+        return Shape.NONE;
+    }
+
+    /** Returns the index after an offset ({@code Z} or {@code ±HH:MM[:ss]}) at {@code i}, or -1. */
+    private static int offsetEnd(String s, int i) {
+        if (i >= s.length()) return -1;
+        char c = s.charAt(i);
+        if (c == 'Z' || c == 'z') return i + 1;
+        if (c != '+' && c != '-') return -1;
+        int end = i + 1;
+        while (end < s.length() && (isDigit(s.charAt(end)) || s.charAt(end) == ':')) end++;
+        return end > i + 1 ? end : -1;
+    }
+
+    private static int digits(String s, int i, int count) {
+        if (i < 0 || i + count > s.length()) return -1;
+        for (int k = i; k < i + count; k++) {
+            if (!isDigit(s.charAt(k))) return -1;
+        }
+        return i + count;
+    }
+
+    private static int expect(String s, int i, char c) {
+        return i >= 0 && i < s.length() && s.charAt(i) == c ? i + 1 : -1;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,303 @@
+package uk.codery.jspec.evaluator;
+
+import lombok.extern.slf4j.Slf4j;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.result.EvaluationState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An in-memory collection of documents that can be queried with jspec's query language, like
+ * a MongoDB collection held on the heap.
+ *
+ * <p>Reference data, caches and test fixtures are often filtered with the same queries used for
+ * specifications. Looping over {@link CriterionEvaluator#evaluateQuery} interprets the query
+ * afresh for every document; a collection instead binds the query once — normalised, compiled
+ * where possible, its field paths numbered — and scans the documents with it:
+ *
+ * <pre>{@code
+ * DocumentCollection orders = new DocumentCollection(cachedOrders);
+ *
+ * List<Object> large = orders.find(new QueryCriterion("large", Map.of("order.total", Map.of("$gt", 100))))
+ *         .toList();
+ * Optional<Object> firstPending = orders.find(pending).findFirst();
+ * int[] positions = orders.indices(fraudScreening).limit(10).toArray();
+ * }</pre>
+ *
+ * <p>A document is found when the query is MATCHED or, for a {@link Specification}, when its
+ * {@linkplain uk.codery.jspec.result.EvaluationOutcome#overallState() overall state} is MATCHED;
+ * documents that are NOT_MATCHED or UNDETERMINED are not. Results are lazy streams in collection
+ * order. The scan runs in <em>waves</em> of documents, each split into chunks across the
+ * options' {@linkplain EvaluationOptions#executionStrategy() execution strategy} as far as its
+ * estimated cost justifies, exactly as {@link SpecificationEvaluator#evaluateAll(Iterable)}
+ * does. A wave is only scanned once the stream's consumer has taken every match before it, and
+ * waves start small and double, so {@code findFirst()}, {@code limit(n)} and
+ * {@code anyMatch(...)} stop the scan soon after they are satisfied. The returned streams are
+ * sequential; the parallelism is the scan's own.
+ *
+ * <p>{@code $contextPath} operands are resolved against an empty context document; to supply
+ * one, {@linkplain SpecificationEvaluator#bindContext(Object) bind it} and pass the bound
+ * evaluator to {@link #find(SpecificationEvaluator)}.
+ *
+ * <p>The documents are copied on construction. Instances are immutable and thread-safe, provided
+ * the documents themselves are not modified.
+ *
+ * @see SpecificationEvaluator#evaluateAll(Iterable)
+ * @since 0.8.0
+ */
+@Slf4j
+public final class DocumentCollection {
+
+    /** Documents in the first wave of a scan. */
+    static final int FIRST_WAVE = 256;
+
+    /** The most documents in one wave of a scan. */
+    static final int MAX_WAVE = 64 * SpecificationEvaluator.MAX_BATCH_CHUNK;
+
+    private final List<Object> documents;
+    private final CriterionEvaluator criterionEvaluator;
+    private final EvaluationOptions options;
+
+    /**
+     * Creates a collection queried with default built-in operators and
+     * {@linkplain EvaluationOptions#defaults() default options}.
+     *
+     * @param documents the documents (typically Maps, but can be any Objects), in order
+     * @throws IllegalArgumentException if documents is null
+     */
+    public DocumentCollection(Collection<?> documents) {
+        this(documents, new CriterionEvaluator());
+    }
+
+    /**
+     * Creates a collection queried with {@code criterionEvaluator} and
+     * {@linkplain EvaluationOptions#defaults() default options}.
+     *
+     * @param documents          the documents (typically Maps, but can be any Objects), in order
+     * @param criterionEvaluator the criterion evaluator to use for query evaluation
+     * @throws IllegalArgumentException if documents or criterionEvaluator is null
+     */
+    public DocumentCollection(Collection<?> documents, CriterionEvaluator criterionEvaluator) {
+        this(documents, criterionEvaluator, EvaluationOptions.defaults());
+    }
+
+    /**
+     * Creates a collection queried with {@code criterionEvaluator} and {@code options}.
+     *
+     * @param documents          the documents (typically Maps, but can be any Objects), in order
+     * @param criterionEvaluator the criterion evaluator to use for query evaluation
+     * @param options            the evaluation options, applied to every query
+     * @throws IllegalArgumentException if documents, criterionEvaluator or options is null
+     */
+    public DocumentCollection(Collection<?> documents, CriterionEvaluator criterionEvaluator,
+                              EvaluationOptions options) {
+        if (documents == null) {
+            throw new IllegalArgumentException("Documents cannot be null");
+        }
+        if (criterionEvaluator == null) {
+            throw new IllegalArgumentException("CriterionEvaluator cannot be null");
+        }
+        if (options == null) {
+            throw new IllegalArgumentException("EvaluationOptions cannot be null");
+        }
+        this.documents = Collections.unmodifiableList(new ArrayList<>(documents));
+        this.criterionEvaluator = criterionEvaluator;
+        this.options = options;
+    }
+
+    /**
+     * Returns the number of documents in the collection.
+     *
+     * @return the number of documents
+     */
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Returns the documents of the collection, in order.
+     *
+     * @return an unmodifiable view of the documents
+     */
+    public List<Object> documents() {
+        return documents;
+    }
+
+    /**
+     * Returns the documents {@code query} matches, in collection order.
+     *
+     * @param query the query to match
+     * @return a lazy stream of the matching documents
+     * @throws IllegalArgumentException if query is null
+     */
+    public Stream<Object> find(QueryCriterion query) {
+        return find(evaluator(query));
+    }
+
+    /**
+     * Returns the documents {@code specification} matches, in collection order.
+     *
+     * @param specification the specification to match
+     * @return a lazy stream of the matching documents
+     * @throws IllegalArgumentException if specification is null
+     */
+    public Stream<Object> find(Specification specification) {
+        return find(evaluator(specification));
+    }
+
+    /**
+     * Returns the documents the bound specification of {@code evaluator} matches, in collection
+     * order, evaluated with that evaluator's criterion evaluator, options, context and targets
+     * rather than the collection's.
+     *
+     * @param evaluator the evaluator to match with
+     * @return a lazy stream of the matching documents
+     * @throws IllegalArgumentException if evaluator is null
+     */
+    public Stream<Object> find(SpecificationEvaluator evaluator) {
+        return indices(evaluator).mapToObj(documents::get);
+    }
+
+    /**
+     * Returns the indexes of the documents {@code query} matches, ascending.
+     *
+     * @param query the query to match
+     * @return a lazy stream of the matching documents' indexes into {@link #documents()}
+     * @throws IllegalArgumentException if query is null
+     */
+    public IntStream indices(QueryCriterion query) {
+        return indices(evaluator(query));
+    }
+
+    /**
+     * Returns the indexes of the documents {@code specification} matches, ascending.
+     *
+     * @param specification the specification to match
+     * @return a lazy stream of the matching documents' indexes into {@link #documents()}
+     * @throws IllegalArgumentException if specification is null
+     */
+    public IntStream indices(Specification specification) {
+        return indices(evaluator(specification));
+    }
+
+    /**
+     * Returns the indexes of the documents the bound specification of {@code evaluator}
+     * matches, ascending; see {@link #find(SpecificationEvaluator)}.
+     *
+     * @param evaluator the evaluator to match with
+     * @return a lazy stream of the matching documents' indexes into {@link #documents()}
+     * @throws IllegalArgumentException if evaluator is null
+     */
+    public IntStream indices(SpecificationEvaluator evaluator) {
+        if (evaluator == null) {
+            throw new IllegalArgumentException("SpecificationEvaluator cannot be null");
+        }
+        log.debug("Scanning {} documents with specification '{}'", documents.size(), evaluator.specification().id());
+        return StreamSupport.intStream(new Scan(evaluator, documents), false);
+    }
+
+    private SpecificationEvaluator evaluator(QueryCriterion query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Criterion cannot be null");
+        }
+        return evaluator(new Specification(query.id(), List.of(query)));
+    }
+
+    private SpecificationEvaluator evaluator(Specification specification) {
+        if (specification == null) {
+            throw new IllegalArgumentException("Specification cannot be null");
+        }
+        return new SpecificationEvaluator(specification, criterionEvaluator, options);
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentCollection[" + documents.size() + " documents]";
+    }
+
+    /**
+     * The matching indexes of one scan. Each wave is evaluated when the consumer asks for a
+     * match beyond the previous wave's, and buffers only its own matches.
+     */
+    private static final class Scan extends Spliterators.AbstractIntSpliterator {
+
+        private final SpecificationEvaluator evaluator;
+        private final List<Object> documents;
+        private int next;
+        private int wave = FIRST_WAVE;
+        private boolean[] matched = new boolean[0];
+        private int[] hits = new int[0];
+        private int hitCount;
+        private int hitPosition;
+
+        Scan(SpecificationEvaluator evaluator, List<Object> documents) {
+            super(documents.size(), Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED
+                    | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+            this.evaluator = evaluator;
+            this.documents = documents;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            while (hitPosition == hitCount) {
+                if (next >= documents.size()) {
+                    return false;
+                }
+                scanWave();
+            }
+            action.accept(hits[hitPosition++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (tryAdvance(action)) {
+                while (hitPosition < hitCount) {
+                    action.accept(hits[hitPosition++]);
+                }
+            }
+        }
+
+        @Override
+        public Comparator<? super Integer> getComparator() {
+            return null;
+        }
+
+        private void scanWave() {
+            int from = next;
+            int to = Math.min(documents.size(), from + wave);
+            int size = to - from;
+            if (matched.length < size) {
+                matched = new boolean[size];
+                hits = new int[size];
+            } else {
+                Arrays.fill(matched, 0, size, false);
+            }
+            boolean[] waveMatched = matched;
+            // Chunks write disjoint slots; the fork's completion publishes them to this thread.
+            evaluator.evaluateChunks(documents, from, to, (outcome, i) ->
+                    waveMatched[i - from] = outcome.overallState() == EvaluationState.MATCHED);
+            hitCount = 0;
+            hitPosition = 0;
+            for (int i = 0; i < size; i++) {
+                if (waveMatched[i]) {
+                    hits[hitCount++] = from + i;
+                }
+            }
+            next = to;
+            wave = Math.min(MAX_WAVE, wave * 2);
+        }
+    }
+}
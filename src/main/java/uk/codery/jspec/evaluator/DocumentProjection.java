@@ -0,0 +1,350 @@
+package uk.codery.jspec.evaluator;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import uk.codery.jspec.model.CompositeCriterion;
+import uk.codery.jspec.model.ContextPathReference;
+import uk.codery.jspec.model.Criterion;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.model.SpecificationNormaliser;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The parts of a document that a specification's queries can read, and a reader that parses
+ * only those parts.
+ *
+ * <p>A specification typically tests a few dozen fields of documents with hundreds. The
+ * projection is derived from the query structure — field keys and their dot-notation
+ * segments, nested field queries and {@code $elemMatch} sub-queries — so a document can be
+ * parsed sparsely: {@link #read(JsonParser)} binds the referenced values and
+ * {@linkplain JsonParser#skipChildren() skips} everything else without building it.
+ * {@link #project(Object)} applies the same projection to a document already in memory.
+ *
+ * <p>Evaluating a projected document gives exactly the outcome of evaluating the full one,
+ * missing-path reporting included:
+ * <ul>
+ *   <li>every value an operator or equality test reads is kept whole;</li>
+ *   <li>objects on the way to a referenced field keep the referenced fields only, and stay
+ *       objects, so a field query against them still sees a map;</li>
+ *   <li>arrays on the way are kept only as far as {@code $elemMatch} field sub-queries look
+ *       into their elements — any other array there is never navigated, and becomes empty;</li>
+ *   <li>scalars where an object was expected are kept as they are.</li>
+ * </ul>
+ * Operators with unknown or custom semantics read their value whole, so custom operators are
+ * safe. A {@link CriterionEvaluator} subclass that overrides
+ * {@link CriterionEvaluator#evaluateQuery} may read anything, and should not be given
+ * projected documents.
+ *
+ * <p>{@code $contextPath} operands read the context document, not the evaluated one; their
+ * paths are reported separately by {@link #contextPaths()}.
+ *
+ * <p>Instances are immutable and thread-safe.
+ *
+ * @see SpecificationEvaluator#projection()
+ * @see StreamingEvaluator#withProjection()
+ * @since 0.8.0
+ */
+public final class DocumentProjection {
+
+    /** Binds values from parsers that have no codec of their own. */
+    private static final ObjectMapper FALLBACK_CODEC = new ObjectMapper();
+
+    /** What is needed of the value at one position of the document. */
+    private static final class Node {
+        /** The value is read by an operator or an equality test, so it is needed whole. */
+        boolean whole;
+        /** Fields read from the value if it is an object; {@code null} for none. */
+        Map<String, Node> fields;
+        /** What is read from each element if the value is an array; {@code null} for nothing. */
+        Node elements;
+
+        Node field(String name) {
+            if (fields == null) fields = new LinkedHashMap<>();
+            return fields.computeIfAbsent(name, n -> new Node());
+        }
+
+        Node elements() {
+            if (elements == null) elements = new Node();
+            return elements;
+        }
+
+        /** Drops what a whole value makes redundant, bottom up. */
+        void simplify() {
+            if (elements != null) {
+                elements.simplify();
+                // Whole elements are the whole array, give or take a non-array value.
+                if (elements.whole) whole = true;
+            }
+            if (fields != null) {
+                fields.values().forEach(Node::simplify);
+            }
+            if (whole) {
+                fields = null;
+                elements = null;
+            }
+        }
+    }
+
+    private final Node root;
+    private final Set<String> paths;
+    private final Set<String> contextPaths;
+
+    private DocumentProjection(Node root, Set<String> contextPaths) {
+        root.simplify();
+        this.root = root;
+        Set<String> collected = new LinkedHashSet<>();
+        collectPaths(root, "", collected);
+        this.paths = Collections.unmodifiableSet(collected);
+        this.contextPaths = Collections.unmodifiableSet(contextPaths);
+    }
+
+    /**
+     * Returns the projection of every query in {@code specification}, nested ones included.
+     *
+     * @param specification the specification whose queries decide what is read
+     * @return the projection
+     * @throws IllegalArgumentException if specification is null
+     */
+    public static DocumentProjection of(Specification specification) {
+        if (specification == null) {
+            throw new IllegalArgumentException("Specification cannot be null");
+        }
+        Node root = new Node();
+        Set<String> contextPaths = new LinkedHashSet<>();
+        addCriteria(specification.criteria(), root, contextPaths);
+        return new DocumentProjection(root, contextPaths);
+    }
+
+    private static void addCriteria(List<Criterion> criteria, Node root, Set<String> contextPaths) {
+        for (Criterion criterion : criteria) {
+            if (criterion instanceof QueryCriterion query && query.query() != null) {
+                Object normalised = SpecificationNormaliser.normalise(query.query());
+                require(root, normalised);
+                collectContextPaths(normalised, contextPaths);
+            } else if (criterion instanceof CompositeCriterion composite) {
+                addCriteria(composite.criteria(), root, contextPaths);
+            }
+            // CriterionReference: its target is defined elsewhere in the specification.
+        }
+    }
+
+    /** Records what matching {@code query} against the value at {@code node} reads, as {@code matchValue} does. */
+    private static void require(Node node, Object query) {
+        if (!(query instanceof Map<?, ?> map)) {
+            node.whole = true; // an equality test against a literal or a list
+            return;
+        }
+        if (isOperatorQuery(map)) {
+            requireOperators(node, map);
+            return;
+        }
+        // A field query: the value must stay an object, with the queried fields.
+        if (node.fields == null) node.fields = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            FieldPath path = FieldPath.of(String.valueOf(entry.getKey()));
+            Node child = node;
+            for (int i = 0; i < path.size(); i++) {
+                child = child.field(path.segment(i));
+            }
+            require(child, entry.getValue());
+        }
+    }
+
+    /** Records what the operators of {@code query} read from the value at {@code node}. */
+    private static void requireOperators(Node node, Map<?, ?> query) {
+        for (Map.Entry<?, ?> entry : query.entrySet()) {
+            String op = String.valueOf(entry.getKey());
+            if (!op.startsWith("$")) continue;
+            Object operand = entry.getValue();
+            switch (op) {
+                case "$and", "$or" -> {
+                    if (operand instanceof List<?> conditions) {
+                        for (Object condition : conditions) {
+                            if (condition instanceof Map<?, ?> branch) requireOperators(node, branch);
+                        }
+                    }
+                }
+                case "$not" -> {
+                    if (operand instanceof Map<?, ?> nested) requireOperators(node, nested);
+                }
+                case "$elemMatch" -> {
+                    if (operand instanceof Map<?, ?>) require(node.elements(), operand);
+                }
+                default -> node.whole = true;
+            }
+        }
+    }
+
+    private static boolean isOperatorQuery(Map<?, ?> query) {
+        for (Object key : query.keySet()) {
+            if (String.valueOf(key).startsWith("$")) return true;
+        }
+        return false;
+    }
+
+    private static void collectContextPaths(Object value, Set<String> contextPaths) {
+        if (value instanceof ContextPathReference reference) {
+            contextPaths.add(reference.path());
+        } else if (value instanceof Map<?, ?> map) {
+            map.values().forEach(v -> collectContextPaths(v, contextPaths));
+        } else if (value instanceof List<?> list) {
+            list.forEach(v -> collectContextPaths(v, contextPaths));
+        }
+    }
+
+    private static void collectPaths(Node node, String path, Set<String> paths) {
+        boolean leaf = node.whole || ((node.fields == null || node.fields.isEmpty()) && node.elements == null);
+        if (leaf) {
+            paths.add(path);
+            return;
+        }
+        if (node.fields != null) {
+            node.fields.forEach((name, child) -> collectPaths(child, path.isEmpty() ? name : path + "." + name, paths));
+        }
+        if (node.elements != null) {
+            collectPaths(node.elements, path + "[]", paths);
+        }
+    }
+
+    /**
+     * Returns the document paths the specification reads, each needed whole: dot-notation
+     * field paths, with {@code []} marking the elements of an array searched by
+     * {@code $elemMatch} (for example {@code order.items[].in_stock}). The empty path stands
+     * for the whole document.
+     *
+     * @return the referenced paths, in the order first referenced
+     */
+    public Set<String> paths() {
+        return paths;
+    }
+
+    /**
+     * Returns the {@code $contextPath} paths the specification reads from the context document.
+     *
+     * @return the referenced context paths, in the order first referenced
+     */
+    public Set<String> contextPaths() {
+        return contextPaths;
+    }
+
+    /**
+     * Reads the next value from {@code parser}, binding only the projected parts and skipping
+     * the rest. The parser may be positioned on the value's first token or just before it; as
+     * with {@link ObjectMapper#readValue(JsonParser, Class)}, it is left just after the value,
+     * so consecutive calls read consecutive root-level values.
+     *
+     * <p>Projected values are bound with the parser's codec (the {@link ObjectMapper} that
+     * created it), so they have exactly the types a full parse would give them.
+     *
+     * @param parser the parser to read from, JSON or any other Jackson format
+     * @return the projected document
+     * @throws IOException if the input cannot be read or is malformed
+     * @throws EOFException if the parser has no further value
+     */
+    public Object read(JsonParser parser) throws IOException {
+        if (parser.currentToken() == null && parser.nextToken() == null) {
+            throw new EOFException("No value to read");
+        }
+        Object value = read(parser, root);
+        parser.clearCurrentToken();
+        return value;
+    }
+
+    private static Object read(JsonParser parser, Node node) throws IOException {
+        if (node.whole) {
+            return bind(parser);
+        }
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            Map<String, Object> object = new LinkedHashMap<>();
+            for (JsonToken next = parser.nextToken(); next == JsonToken.FIELD_NAME; next = parser.nextToken()) {
+                String name = parser.currentName();
+                parser.nextToken();
+                Node child = node.fields == null ? null : node.fields.get(name);
+                if (child == null) {
+                    parser.skipChildren();
+                } else {
+                    object.put(name, read(parser, child));
+                }
+            }
+            return object;
+        }
+        if (token == JsonToken.START_ARRAY) {
+            List<Object> array = new ArrayList<>();
+            if (node.elements == null) {
+                parser.skipChildren();
+                return array;
+            }
+            for (JsonToken next = parser.nextToken(); next != JsonToken.END_ARRAY; next = parser.nextToken()) {
+                if (next == null) {
+                    throw new EOFException("Unexpected end of input inside an array");
+                }
+                array.add(read(parser, node.elements));
+            }
+            return array;
+        }
+        return bind(parser);
+    }
+
+    private static Object bind(JsonParser parser) throws IOException {
+        ObjectCodec codec = parser.getCodec();
+        return (codec != null ? codec : FALLBACK_CODEC).readValue(parser, Object.class);
+    }
+
+    /**
+     * Returns the projected form of a document already in memory: the same sparse document
+     * {@link #read(JsonParser)} would have built from it. Values needed whole are shared with
+     * {@code document}, not copied.
+     *
+     * @param document the document to project
+     * @return the projected document
+     */
+    public Object project(Object document) {
+        return project(document, root);
+    }
+
+    private static Object project(Object value, Node node) {
+        if (node.whole) {
+            return value;
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> object = new LinkedHashMap<>();
+            if (node.fields != null) {
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    Node child = node.fields.get(String.valueOf(entry.getKey()));
+                    if (child != null) {
+                        object.put(String.valueOf(entry.getKey()), project(entry.getValue(), child));
+                    }
+                }
+            }
+            return object;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> array = new ArrayList<>(node.elements == null ? 0 : list.size());
+            if (node.elements != null) {
+                for (Object element : list) {
+                    array.add(project(element, node.elements));
+                }
+            }
+            return array;
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentProjection[paths=" + paths + ", contextPaths=" + contextPaths + "]";
+    }
+}
@@ -3,14 +3,25 @@ package uk.codery.jspec.evaluator;
 import uk.codery.jspec.model.CompositeCriterion;
 import uk.codery.jspec.model.Criterion;
 import uk.codery.jspec.model.CriterionReference;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.result.CompositeResult;
 import uk.codery.jspec.result.EvaluationResult;
+import uk.codery.jspec.result.QueryResult;
 import uk.codery.jspec.result.ReferenceResult;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Context for criterion evaluation that maintains a result cache.
@@ -20,7 +31,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * <ul>
  *   <li><b>Result Caching:</b> Stores evaluation results by criterion ID</li>
  *   <li><b>Cache-Aware Evaluation:</b> Automatically uses cached results when available</li>
- *   <li><b>Thread-Safe:</b> Uses ConcurrentHashMap for parallel evaluation</li>
+ *   <li><b>Thread-Safe:</b> Safe to share across the threads of a parallel evaluation</li>
  *   <li><b>Evaluator Access:</b> Provides access to the CriterionEvaluator</li>
  * </ul>
  *
@@ -44,7 +55,8 @@ import java.util.concurrent.ConcurrentHashMap;
  * <ul>
  *   <li><b>Cache Miss:</b> Criterion not in cache → evaluate and store result</li>
  *   <li><b>Cache Hit:</b> Criterion in cache → return cached result (no re-evaluation)</li>
- *   <li><b>Thread-Safe:</b> ConcurrentHashMap.computeIfAbsent ensures single evaluation per criterion</li>
+ *   <li><b>Thread-Safe:</b> In unplanned mode, ConcurrentHashMap.computeIfAbsent ensures single
+ *       evaluation per criterion; see Planned Evaluation below for contexts bound to a plan</li>
  *   <li><b>Immutable Results:</b> Cached results are immutable records, safe to share</li>
  * </ul>
  *
@@ -80,12 +92,24 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  * <p>This class is thread-safe:
  * <ul>
- *   <li>Uses {@link ConcurrentHashMap} for cache</li>
- *   <li>{@code computeIfAbsent} ensures atomic cache updates</li>
+ *   <li>Unplanned mode: uses {@link ConcurrentHashMap} for the cache, and
+ *       {@code computeIfAbsent} ensures atomic cache updates</li>
+ *   <li>Planned mode: ordinal-indexed slots, published with VarHandle CAS when levels run
+ *       in parallel (see below)</li>
  *   <li>Safe for parallel stream evaluation</li>
  *   <li>Immutable {@link EvaluationResult} records prevent shared mutable state</li>
  * </ul>
  *
+ * <h2>Planned Evaluation</h2>
+ *
+ * <p>A context created by {@link SpecificationEvaluator} is bound to the evaluator's
+ * {@link EvaluationPlan} instead: each criterion has a fixed ordinal, results live in a
+ * pre-sized array (filled with VarHandle CAS when the plan's levels run in parallel, so the
+ * first result stored for an ordinal is the one every reader sees; plainly otherwise) and
+ * {@link #getAllResults()} returns them in declaration order. Reference cycles were found when
+ * the plan was built, so planned evaluation keeps no per-thread cycle guard. The public methods
+ * behave the same in both modes.
+ *
  * @see Criterion
  * @see CriterionEvaluator
  * @see EvaluationResult
@@ -93,9 +117,37 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class EvaluationContext implements AutoCloseable {
 
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(EvaluationResult[].class);
+
     private final CriterionEvaluator evaluator;
     private final Object contextDoc;
-    private final Map<String, EvaluationResult> cache = new ConcurrentHashMap<>();
+
+    /** Results by criterion id; {@code null} in planned mode. */
+    private final Map<String, EvaluationResult> cache;
+
+    /** The bound specification's plan; {@code null} unless created by {@link SpecificationEvaluator}. */
+    private final EvaluationPlan plan;
+
+    /** Planned mode: results by ordinal. */
+    private final EvaluationResult[] slots;
+
+    /** Planned mode: whether slots may be written by several threads at once (CAS) or by one (plain). */
+    private final boolean concurrent;
+
+    /** Planned mode: whether composites stop at the first child that decides their junction. */
+    private final boolean shortCircuit;
+
+    /** Planned mode: learned child orders by composite ordinal; {@code null} unless adaptive. */
+    private final BranchProfile[] profiles;
+
+    /** Planned mode: the evaluation's shared field path values; {@code null} otherwise. */
+    private final PathValues pathValues;
+
+    /** Planned mode: the {@link QueryNetwork} node of each ordinal; {@code null} outside a {@link SpecificationSet}. */
+    private final int[] nodes;
+
+    /** Planned mode: the document's results shared across a {@link SpecificationSet}; {@code null} otherwise. */
+    private final QueryNetwork.Results shared;
 
     /**
      * Index of criterion id → criterion definition, used to resolve references to
@@ -109,8 +161,12 @@ public class EvaluationContext implements AutoCloseable {
     /**
      * Per-thread guard tracking which reference ids are currently being resolved on the
      * calling thread, used to break reference cycles before they recurse unboundedly.
+     * {@code null} in planned mode, where the plan has already cut every cycle.
      */
-    private final ThreadLocal<Set<String>> resolving = ThreadLocal.withInitial(HashSet::new);
+    private final ThreadLocal<Set<String>> resolving;
+
+    /** The evaluation's {@code "now"}, read from the evaluator's clock on first use. */
+    private final AtomicReference<Instant> now = new AtomicReference<>();
 
     /**
      * Creates an evaluation context with the given evaluator and an empty context document.
@@ -168,6 +224,83 @@ public class EvaluationContext implements AutoCloseable {
         this.evaluator = evaluator;
         this.contextDoc = contextDoc == null ? Map.of() : contextDoc;
         this.criterionIndex = criterionIndex == null ? Map.of() : criterionIndex;
+        this.cache = new ConcurrentHashMap<>();
+        this.resolving = ThreadLocal.withInitial(HashSet::new);
+        this.plan = null;
+        this.slots = null;
+        this.concurrent = true;
+        this.shortCircuit = false;
+        this.profiles = null;
+        this.pathValues = null;
+        this.nodes = null;
+        this.shared = null;
+    }
+
+    /**
+     * Creates a context for one evaluation of a bound specification: results are kept by
+     * the plan's ordinals, queries take their compiled forms where available and reference
+     * cycles are resolved from the plan rather than tracked per thread.
+     *
+     * @param concurrent   whether criteria will be evaluated from several threads at once
+     * @param shortCircuit whether composites skip the children after the first one that decides
+     *                     their junction (see {@link EvaluationOptions#shortCircuit()})
+     * @param profiles     learned child orders by composite ordinal (shared across evaluations),
+     *                     or {@code null} to evaluate children in declaration order
+     * @param pathValues   the document's field path values, shared by this evaluation's compiled
+     *                     queries, or {@code null} for each query to navigate on its own
+     */
+    EvaluationContext(CriterionEvaluator evaluator, Object contextDoc, EvaluationPlan plan, boolean concurrent,
+                      boolean shortCircuit, BranchProfile[] profiles, PathValues pathValues) {
+        this(evaluator, contextDoc, plan, concurrent, shortCircuit, profiles, pathValues, null, null);
+    }
+
+    /**
+     * Creates a context for one member's evaluation within a {@link SpecificationSet}: as the
+     * other planned constructor, but each query with a {@link QueryNetwork} node takes the
+     * node's result when another member has already evaluated it, and shares its own otherwise.
+     *
+     * @param nodes  each ordinal's node, or {@link QueryNetwork#UNSHARED}
+     * @param shared the document's node results, shared by every member
+     */
+    EvaluationContext(CriterionEvaluator evaluator, Object contextDoc, EvaluationPlan plan, boolean concurrent,
+                      boolean shortCircuit, BranchProfile[] profiles, PathValues pathValues,
+                      int[] nodes, QueryNetwork.Results shared) {
+        this.evaluator = evaluator;
+        this.contextDoc = contextDoc == null ? Map.of() : contextDoc;
+        this.criterionIndex = Map.of();
+        this.cache = null;
+        this.resolving = null;
+        this.plan = plan;
+        this.slots = new EvaluationResult[plan.size()];
+        this.concurrent = concurrent;
+        this.shortCircuit = shortCircuit;
+        this.profiles = profiles;
+        this.pathValues = pathValues;
+        this.nodes = nodes;
+        this.shared = shared;
+    }
+
+    /**
+     * Clears this single-threaded planned context for another evaluation of the same plan, so
+     * a batch can reuse one context per worker instead of allocating one per document. Results,
+     * shared field values and the captured {@link #now()} are all dropped.
+     *
+     * @param document the next document to evaluate
+     */
+    void reset(Object document) {
+        Arrays.fill(slots, null);
+        now.set(null);
+        if (pathValues != null) {
+            pathValues.reset(document);
+        }
+    }
+
+    /**
+     * Returns the field path values shared by this evaluation's compiled queries, or
+     * {@code null} outside a {@link SpecificationEvaluator} evaluation.
+     */
+    PathValues pathValues() {
+        return pathValues;
     }
 
     /**
@@ -190,6 +323,26 @@ public class EvaluationContext implements AutoCloseable {
         return contextDoc;
     }
 
+    /**
+     * Returns the instant {@code "now"} denotes in this evaluation.
+     *
+     * <p>Read once, on first use, from the evaluator's {@linkplain CriterionEvaluator#clock()
+     * clock} and then fixed, so every {@code $dateBefore}/{@code $dateAfter} comparison against
+     * {@code "now"} in one evaluation — across criteria and threads — uses the same instant.
+     *
+     * @return the current instant of this evaluation
+     * @since 0.8.0
+     */
+    public Instant now() {
+        Instant captured = now.get();
+        if (captured == null) {
+            Clock clock = evaluator == null ? Clock.systemUTC() : evaluator.clock();
+            now.compareAndSet(null, clock.instant());
+            captured = now.get();
+        }
+        return captured;
+    }
+
     /**
      * Gets or evaluates a criterion, using cached results when available.
      *
@@ -221,6 +374,9 @@ public class EvaluationContext implements AutoCloseable {
     public EvaluationResult getOrEvaluate(Criterion criterion, Object document) {
         // A reference's id equals its target's id, so it must never be cached under its own
         // key (that would make computeIfAbsent re-enter the same key — "Recursive update").
+        if (plan != null) {
+            return planned(criterion, document);
+        }
         if (criterion instanceof CriterionReference reference) {
             return resolveReference(reference, document);
         }
@@ -238,14 +394,172 @@ public class EvaluationContext implements AutoCloseable {
             // owns its removal); only the owner removes, so this finally is guarded by added.
             boolean added = inProgress.add(criterion.id());
             try {
-                return cache.computeIfAbsent(criterion.id(), id -> criterion.evaluate(document, this));
+                return cache.computeIfAbsent(criterion.id(), id -> evaluate(criterion, document));
             } finally {
                 if (added) {
                     inProgress.remove(criterion.id());
                 }
             }
         }
-        return cache.computeIfAbsent(criterion.id(), id -> criterion.evaluate(document, this));
+        return cache.computeIfAbsent(criterion.id(), id -> evaluate(criterion, document));
+    }
+
+    private EvaluationResult evaluate(Criterion criterion, Object document) {
+        return criterion.evaluate(document, this);
+    }
+
+    // ==================== Planned mode ====================
+
+    /** {@link #getOrEvaluate} in planned mode: evaluate by the plan's ordinal for the criterion's id. */
+    private EvaluationResult planned(Criterion criterion, Object document) {
+        if (criterion instanceof CriterionReference reference) {
+            return resolveReference(reference, plan.ordinal(reference.ref()), document);
+        }
+        int ordinal = plan.ordinal(criterion.id());
+        // Outside the bound specification: nothing to cache it under.
+        return ordinal == EvaluationPlan.UNKNOWN ? evaluate(criterion, document) : evaluate(ordinal, document);
+    }
+
+    /**
+     * Returns the result for {@code ordinal}, evaluating the plan's definition on first use.
+     * No cycle guard is needed: the plan marks the references that close a cycle, so the
+     * recursion through {@link #evaluateComposite} always terminates.
+     */
+    EvaluationResult evaluate(int ordinal, Object document) {
+        EvaluationResult cached = slot(ordinal);
+        if (cached != null) {
+            return cached;
+        }
+        Criterion criterion = plan.criterion(ordinal);
+        if (criterion instanceof CompositeCriterion composite) {
+            return store(ordinal, evaluateComposite(ordinal, composite, document));
+        }
+        int node = shared == null ? QueryNetwork.UNSHARED : nodes[ordinal];
+        if (node != QueryNetwork.UNSHARED) {
+            QueryResult result = shared.get(node, (QueryCriterion) criterion);
+            if (result != null) {
+                return store(ordinal, result);
+            }
+        }
+        CompiledQuery compiled = plan.compiled(ordinal);
+        EvaluationResult result = compiled != null
+                ? compiled.evaluate(document, this)
+                : criterion.evaluate(document, this);
+        if (node != QueryNetwork.UNSHARED && result instanceof QueryResult query) {
+            shared.store(node, query);
+        }
+        return store(ordinal, result);
+    }
+
+    /**
+     * {@link CompositeCriterion#evaluate} with children resolved through the plan's ordinals. When
+     * short-circuiting, stops after the first child that decides the junction and records the
+     * rest as not evaluated — visiting children in their learned order if the composite has a
+     * {@link BranchProfile}.
+     */
+    private CompositeResult evaluateComposite(int ordinal, CompositeCriterion composite, Object document) {
+        int[] children = plan.children(ordinal);
+        if (shortCircuit && profiles != null && profiles[ordinal] != null) {
+            return evaluateAdaptively(profiles[ordinal], composite, children, document);
+        }
+        List<Criterion> criteria = composite.criteria();
+        List<EvaluationResult> childResults = new ArrayList<>(children.length);
+        for (int i = 0; i < children.length; i++) {
+            if (shortCircuit && i > 0 && composite.isDecidedBy(childResults.get(i - 1).state())) {
+                return composite.combine(childResults, criteria.subList(i, children.length));
+            }
+            childResults.add(child(criteria.get(i), children[i], document));
+        }
+        return composite.combine(childResults);
+    }
+
+    /**
+     * Short-circuit evaluation in the profile's order. Sampled evaluations run every child to
+     * feed the profile. Evaluated and skipped children are both reported in declaration order.
+     */
+    private CompositeResult evaluateAdaptively(BranchProfile profile, CompositeCriterion composite, int[] children,
+                                               Object document) {
+        List<Criterion> criteria = composite.criteria();
+        boolean sample = profile.sample();
+        EvaluationResult[] results = new EvaluationResult[children.length];
+        for (int i : profile.order()) {
+            long start = sample ? System.nanoTime() : 0L;
+            results[i] = child(criteria.get(i), children[i], document);
+            boolean decided = composite.isDecidedBy(results[i].state());
+            if (sample) {
+                profile.record(i, decided, System.nanoTime() - start);
+            } else if (decided) {
+                break;
+            }
+        }
+        if (sample) profile.endSample();
+        List<EvaluationResult> childResults = new ArrayList<>(children.length);
+        List<Criterion> notEvaluated = new ArrayList<>();
+        for (int i = 0; i < children.length; i++) {
+            if (results[i] != null) {
+                childResults.add(results[i]);
+            } else {
+                notEvaluated.add(criteria.get(i));
+            }
+        }
+        return composite.combine(childResults, notEvaluated);
+    }
+
+    /** Evaluates one composite child, whose plan ordinal (or reference target) is {@code target}. */
+    private EvaluationResult child(Criterion child, int target, Object document) {
+        if (child instanceof CriterionReference reference) {
+            return resolveReference(reference, target, document);
+        }
+        if (target == EvaluationPlan.CYCLE) {
+            // A nested composite repeating an enclosing composite's id.
+            return ReferenceResult.cycle(new CriterionReference(child.id()));
+        }
+        return evaluate(target, document);
+    }
+
+    /** {@link #resolveReference(CriterionReference, Object)} against the plan's ordinals. */
+    private EvaluationResult resolveReference(CriterionReference reference, int target, Object document) {
+        if (target == EvaluationPlan.UNKNOWN) {
+            return ReferenceResult.missing(reference);
+        }
+        if (target == EvaluationPlan.CYCLE) {
+            return ReferenceResult.cycle(reference);
+        }
+        return new ReferenceResult(reference, evaluate(target, document));
+    }
+
+    private EvaluationResult slot(int ordinal) {
+        return concurrent ? (EvaluationResult) SLOTS.getAcquire(slots, ordinal) : slots[ordinal];
+    }
+
+    /** Stores a result, keeping (and returning) the first one if another thread got there first. */
+    private EvaluationResult store(int ordinal, EvaluationResult result) {
+        if (!concurrent) {
+            slots[ordinal] = result;
+            return result;
+        }
+        EvaluationResult witness = (EvaluationResult) SLOTS.compareAndExchange(slots, ordinal, null, result);
+        return witness == null ? result : witness;
+    }
+
+    /** Planned mode: the results at {@code ordinals}, skipping any not evaluated. */
+    List<EvaluationResult> results(int[] ordinals) {
+        List<EvaluationResult> results = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            EvaluationResult result = slot(ordinal);
+            if (result != null) results.add(result);
+        }
+        return results;
+    }
+
+    /** Planned mode: the results, in declaration order. */
+    private List<EvaluationResult> slotResults() {
+        List<EvaluationResult> results = new ArrayList<>(slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            EvaluationResult result = slot(i);
+            if (result != null) results.add(result);
+        }
+        return results;
     }
 
     /**
@@ -259,10 +573,15 @@ public class EvaluationContext implements AutoCloseable {
      * evaluation completes. Only the calling thread is affected — composites, the only
      * criteria that touch the guard, are evaluated sequentially on that thread.
      *
+     * <p>Contexts created by {@link SpecificationEvaluator} have no guard (reference cycles are
+     * detected when the specification is bound), so this is a no-op for them.
+     *
      * @since 0.7.0
      */
     public void clearThreadCycleState() {
-        resolving.remove();
+        if (resolving != null) {
+            resolving.remove();
+        }
     }
 
     /**
@@ -273,7 +592,7 @@ public class EvaluationContext implements AutoCloseable {
      *     ctx.getOrEvaluate(criterion, document);
      * }
      * }</pre>
-     * {@link SpecificationEvaluator} already cleans up after every evaluation, so this matters
+     * {@link SpecificationEvaluator}'s contexts carry no per-thread state, so this matters
      * only for direct, custom orchestration on pooled threads.
      *
      * @since 0.7.0
@@ -355,6 +674,10 @@ public class EvaluationContext implements AutoCloseable {
      * @return the cached result, or null if not found
      */
     public EvaluationResult getCached(String criterionId) {
+        if (plan != null) {
+            int ordinal = plan.ordinal(criterionId);
+            return ordinal == EvaluationPlan.UNKNOWN ? null : slot(ordinal);
+        }
         return cache.get(criterionId);
     }
 
@@ -370,10 +693,13 @@ public class EvaluationContext implements AutoCloseable {
      * EvaluationSummary summary = EvaluationSummary.from(allResults);
      * }</pre>
      *
+     * <p>For a context created by {@link SpecificationEvaluator} the results are in
+     * declaration order.
+     *
      * @return all cached evaluation results
      */
     public Collection<EvaluationResult> getAllResults() {
-        return cache.values();
+        return plan != null ? slotResults() : cache.values();
     }
 
     /**
@@ -382,6 +708,13 @@ public class EvaluationContext implements AutoCloseable {
      * @return the cache size
      */
     public int cacheSize() {
+        if (plan != null) {
+            int size = 0;
+            for (int i = 0; i < slots.length; i++) {
+                if (slot(i) != null) size++;
+            }
+            return size;
+        }
         return cache.size();
     }
 
@@ -392,7 +725,7 @@ public class EvaluationContext implements AutoCloseable {
      * @return true if the result is cached, false otherwise
      */
     public boolean isCached(String criterionId) {
-        return cache.containsKey(criterionId);
+        return getCached(criterionId) != null;
     }
 
     /**
@@ -404,6 +737,10 @@ public class EvaluationContext implements AutoCloseable {
      * Only use between separate evaluations.
      */
     public void clearCache() {
-        cache.clear();
+        if (plan != null) {
+            Arrays.fill(slots, null);
+        } else {
+            cache.clear();
+        }
     }
 }
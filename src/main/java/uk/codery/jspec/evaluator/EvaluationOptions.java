@@ -0,0 +1,176 @@
+package uk.codery.jspec.evaluator;
+
+import java.time.Duration;
+
+/**
+ * Tuning options for a {@link SpecificationEvaluator}.
+ *
+ * <p>Options never change <em>what</em> a specification evaluates to — every combination
+ * yields the same tri-state result for every criterion — only <em>how</em> the work is done.
+ * (With {@code shortCircuit}, criteria nobody needed are left out of the outcome instead.) Start from
+ * {@link #defaults()} and derive variants with the {@code with…} methods:
+ *
+ * <pre>{@code
+ * EvaluationOptions options = EvaluationOptions.defaults()
+ *     .withSpecialisedOperators(true);
+ *
+ * SpecificationEvaluator evaluator =
+ *     new SpecificationEvaluator(spec, new CriterionEvaluator(), options);
+ * }</pre>
+ *
+ * @param specialisedOperators when {@code true}, built-in operators whose handler has not been
+ *                             overridden are compiled into type-specialised nodes (e.g. a
+ *                             {@code $gt} against a numeric literal becomes a primitive
+ *                             {@code double} comparison) instead of dispatching through the
+ *                             {@link uk.codery.jspec.operator.OperatorHandler} interface.
+ *                             Worth enabling for hot specifications evaluated at high rates.
+ * @param shortCircuit         when {@code true}, composites evaluate their children lazily, in
+ *                             order, and stop at the first child that decides the junction: a
+ *                             {@code NOT_MATCHED} child of an AND, a {@code MATCHED} child of an
+ *                             OR. The remaining children are recorded in
+ *                             {@link uk.codery.jspec.result.CompositeResult#notEvaluated()}
+ *                             instead of being computed, and nested criteria reached only
+ *                             through skipped children have no result in the outcome. Composite
+ *                             states are unchanged (Strong Kleene logic: the deciding child
+ *                             dominates whatever the others would have been). Top-level
+ *                             criteria are always evaluated.
+ * @param adaptiveOrdering     when {@code true}, short-circuiting junctions learn their evaluation
+ *                             order at run time: the operators of a compiled operator query, the
+ *                             branches of compiled {@code $and}/{@code $or} and, with
+ *                             {@code shortCircuit}, the children of composites are sampled for
+ *                             cost and selectivity and periodically reordered so the branch most
+ *                             likely to decide the junction cheaply runs first. Results are
+ *                             unchanged; with {@code shortCircuit}, which children a composite
+ *                             skips may differ.
+ * @param contextCacheSize     the most {@linkplain SpecificationEvaluator#bindContext(Object)
+ *                             context-bound} evaluators a specification keeps, least recently
+ *                             bound evicted first; {@code 0} rebinds on every call
+ * @param contextCacheTtl      how long a context-bound evaluator is reused before its context
+ *                             is bound afresh, in elapsed time — not the
+ *                             {@link CriterionEvaluator#clock() evaluator's clock}
+ * @param executionStrategy    where parallel work runs: the criteria of a dependency level, the
+ *                             chunks of a batch and the windows of a stream (see
+ *                             {@link ExecutionStrategy}); the common fork-join pool by default
+ * @param costBasedParallelism when {@code true}, each dependency level and each batch is split
+ *                             into only as many parallel tasks as its estimated cost justifies —
+ *                             none for a handful of cheap queries, one per worker for thousands
+ *                             of regular expressions. Costs are estimated from the queries'
+ *                             operators and refined from sampled timings as workloads drift.
+ *                             When {@code false}, every level with more than one criterion is
+ *                             split across all workers
+ * @see SpecificationEvaluator#SpecificationEvaluator(uk.codery.jspec.model.Specification, CriterionEvaluator, EvaluationOptions)
+ * @since 0.8.0
+ */
+public record EvaluationOptions(boolean specialisedOperators, boolean shortCircuit, boolean adaptiveOrdering,
+                                int contextCacheSize, Duration contextCacheTtl,
+                                ExecutionStrategy executionStrategy, boolean costBasedParallelism) {
+
+    /** Default number of context-bound evaluators kept per specification. */
+    public static final int DEFAULT_CONTEXT_CACHE_SIZE = 64;
+
+    /** Default lifetime of a context-bound evaluator. */
+    public static final Duration DEFAULT_CONTEXT_CACHE_TTL = Duration.ofHours(1);
+
+    private static final EvaluationOptions DEFAULTS = new EvaluationOptions(false, false, false,
+            DEFAULT_CONTEXT_CACHE_SIZE, DEFAULT_CONTEXT_CACHE_TTL, ExecutionStrategy.commonPool(), true);
+
+    /**
+     * Validates the context cache bounds and the execution strategy.
+     *
+     * @throws IllegalArgumentException if contextCacheSize is negative, contextCacheTtl is
+     *                                  null, zero or negative, or executionStrategy is null
+     */
+    public EvaluationOptions {
+        if (contextCacheSize < 0) {
+            throw new IllegalArgumentException("Context cache size cannot be negative: " + contextCacheSize);
+        }
+        if (contextCacheTtl == null || contextCacheTtl.isNegative() || contextCacheTtl.isZero()) {
+            throw new IllegalArgumentException("Context cache TTL must be positive: " + contextCacheTtl);
+        }
+        if (executionStrategy == null) {
+            throw new IllegalArgumentException("ExecutionStrategy cannot be null");
+        }
+    }
+
+    /**
+     * Returns the default options: generic operator dispatch, every child of every composite
+     * evaluated, declaration order throughout, up to {@value #DEFAULT_CONTEXT_CACHE_SIZE}
+     * context-bound evaluators kept for an hour, and parallel work on the common fork-join pool,
+     * split as far as its estimated cost justifies.
+     *
+     * @return the default options
+     */
+    public static EvaluationOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Returns a copy of these options with operator specialisation switched on or off.
+     *
+     * @param enabled whether to compile built-in operators into specialised nodes
+     * @return the updated options
+     */
+    public EvaluationOptions withSpecialisedOperators(boolean enabled) {
+        return new EvaluationOptions(enabled, shortCircuit, adaptiveOrdering, contextCacheSize, contextCacheTtl,
+                executionStrategy, costBasedParallelism);
+    }
+
+    /**
+     * Returns a copy of these options with short-circuit composite evaluation switched on or off.
+     *
+     * @param enabled whether composites stop evaluating children once their state is decided
+     * @return the updated options
+     */
+    public EvaluationOptions withShortCircuit(boolean enabled) {
+        return new EvaluationOptions(specialisedOperators, enabled, adaptiveOrdering, contextCacheSize, contextCacheTtl,
+                executionStrategy, costBasedParallelism);
+    }
+
+    /**
+     * Returns a copy of these options with profile-guided branch ordering switched on or off.
+     *
+     * @param enabled whether short-circuiting junctions reorder their branches from run-time samples
+     * @return the updated options
+     */
+    public EvaluationOptions withAdaptiveOrdering(boolean enabled) {
+        return new EvaluationOptions(specialisedOperators, shortCircuit, enabled, contextCacheSize, contextCacheTtl,
+                executionStrategy, costBasedParallelism);
+    }
+
+    /**
+     * Returns a copy of these options with different bounds on the cache of
+     * {@linkplain SpecificationEvaluator#bindContext(Object) context-bound} evaluators.
+     *
+     * @param maximumSize the most bound evaluators to keep; {@code 0} disables the cache
+     * @param timeToLive  how long a bound evaluator is reused
+     * @return the updated options
+     * @throws IllegalArgumentException if maximumSize is negative or timeToLive is not positive
+     */
+    public EvaluationOptions withContextCache(int maximumSize, Duration timeToLive) {
+        return new EvaluationOptions(specialisedOperators, shortCircuit, adaptiveOrdering, maximumSize, timeToLive,
+                executionStrategy, costBasedParallelism);
+    }
+
+    /**
+     * Returns a copy of these options with a different execution strategy.
+     *
+     * @param strategy where parallel work runs, e.g. {@link ExecutionStrategy#callerThread()}
+     * @return the updated options
+     * @throws IllegalArgumentException if strategy is null
+     */
+    public EvaluationOptions withExecutionStrategy(ExecutionStrategy strategy) {
+        return new EvaluationOptions(specialisedOperators, shortCircuit, adaptiveOrdering, contextCacheSize,
+                contextCacheTtl, strategy, costBasedParallelism);
+    }
+
+    /**
+     * Returns a copy of these options with cost-based parallelism switched on or off.
+     *
+     * @param enabled whether to split work only as far as its estimated cost justifies
+     * @return the updated options
+     */
+    public EvaluationOptions withCostBasedParallelism(boolean enabled) {
+        return new EvaluationOptions(specialisedOperators, shortCircuit, adaptiveOrdering, contextCacheSize,
+                contextCacheTtl, executionStrategy, enabled);
+    }
+}
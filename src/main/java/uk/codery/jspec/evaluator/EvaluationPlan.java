@@ -0,0 +1,308 @@
+package uk.codery.jspec.evaluator;
+
+import uk.codery.jspec.model.CompositeCriterion;
+import uk.codery.jspec.model.Criterion;
+import uk.codery.jspec.model.CriterionReference;
+import uk.codery.jspec.model.QueryCriterion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * The fixed shape of a bound specification's evaluation, derived once by
+ * {@link SpecificationEvaluator}: every indexed criterion gets a dense <em>ordinal</em>, so an
+ * {@link EvaluationContext} can keep results in a pre-sized array instead of a hash map.
+ *
+ * <p>Ordinals follow declaration order — a depth-first walk of the specification, the same
+ * walk that builds the criterion index — so results collected by ordinal come out in
+ * declaration order. An id declared more than once keeps the ordinal and definition of its
+ * first declaration, as the index does.
+ *
+ * <p>Composite children and reference targets are resolved to ordinals here as well, so
+ * evaluation never looks an id up. Instances are immutable and shared by every evaluation.
+ *
+ * <h2>Reference Cycles</h2>
+ *
+ * <p>The reference graph is fixed once the index is built, so cycles are found here, once,
+ * rather than by a per-thread guard on every evaluation. A depth-first walk in evaluation
+ * order — the top-level dependents in declaration order, then any ordinal not yet reached —
+ * marks each reference whose target is still on the walk's stack as {@link #CYCLE}. Such a
+ * reference evaluates to {@link uk.codery.jspec.result.ReferenceResult#cycle}, exactly where
+ * the runtime guard used to trip. (A nested composite that repeats an enclosing composite's id
+ * resolves to that ancestor's ordinal; it is cut the same way instead of recursing without
+ * end.) With those back edges cut the remaining graph is acyclic,
+ * so evaluation needs no guard, from any entry point and on any number of threads.
+ */
+final class EvaluationPlan {
+
+    /** Ordinal of a reference whose target is not in the specification. */
+    static final int UNKNOWN = -1;
+
+    /** Child ordinal of a reference (or repeated id) that closes a cycle. */
+    static final int CYCLE = -2;
+
+    private final Map<String, Integer> ordinals;
+    private final Criterion[] criteria;
+    private final CompiledQuery[] compiled;
+    /**
+     * Per composite ordinal: ordinal of each child (reference children: the target's, or
+     * {@link #CYCLE}).
+     */
+    private final int[][] children;
+    private final int[] dependents;
+    /** Distinct ordinals of the top-level criteria (reference targets for references), in declaration order. */
+    private final int[] roots;
+    private final Schedule schedule;
+
+    /**
+     * An evaluation schedule: ordinals grouped so that each composite's children (other than
+     * {@link #CYCLE} and {@link #UNKNOWN} ones) are all in earlier levels. Evaluating the levels
+     * in order, each in any order or in parallel, leaves every composite to combine results
+     * that are already in place.
+     *
+     * @param levels         the ordinals, by level; ascending within a level
+     * @param parallelisable whether any level holds more than one ordinal, i.e. whether
+     *                       parallel evaluation can help
+     */
+    record Schedule(int[][] levels, boolean parallelisable) {}
+
+    /**
+     * @param topLevel        the normalised specification's top-level criteria
+     * @param index           criterion id → first definition (see {@code buildCriterionIndex})
+     * @param compiledQueries compiled forms of the indexed queries, by id
+     */
+    EvaluationPlan(List<Criterion> topLevel, Map<String, Criterion> index, Map<String, CompiledQuery> compiledQueries) {
+        List<Criterion> declared = new ArrayList<>(index.size());
+        Map<String, Integer> byId = new HashMap<>();
+        assignOrdinals(topLevel, byId, declared);
+        this.ordinals = Map.copyOf(byId);
+        this.criteria = declared.toArray(Criterion[]::new);
+        this.compiled = new CompiledQuery[criteria.length];
+        this.children = new int[criteria.length][];
+        for (int i = 0; i < criteria.length; i++) {
+            if (criteria[i] instanceof QueryCriterion query) {
+                CompiledQuery form = compiledQueries.get(query.id());
+                compiled[i] = form != null && form.criterion() == query ? form : null;
+            } else if (criteria[i] instanceof CompositeCriterion composite) {
+                children[i] = composite.criteria().stream().mapToInt(this::targetOf).toArray();
+            }
+        }
+
+        // Every top-level criterion is a root of a full evaluation; the composites and reference
+        // targets among them, in declaration order, also order the cycle walk.
+        List<Integer> rootOrdinals = new ArrayList<>();
+        List<Integer> dependentOrdinals = new ArrayList<>();
+        for (Criterion c : topLevel) {
+            int ordinal = targetOf(c);
+            if (ordinal == UNKNOWN) continue;
+            rootOrdinals.add(ordinal);
+            if (c instanceof CriterionReference || !(criteria[ordinal] instanceof QueryCriterion)) {
+                dependentOrdinals.add(ordinal);
+            }
+        }
+        this.dependents = dependentOrdinals.stream().mapToInt(Integer::intValue).toArray();
+
+        this.roots = rootOrdinals.stream().mapToInt(Integer::intValue).distinct().toArray();
+
+        cutCycles();
+        this.schedule = schedule(roots);
+    }
+
+    /** Shares {@code base}'s shape (ordinals, children, roots, schedule) with other query definitions. */
+    private EvaluationPlan(EvaluationPlan base, Criterion[] criteria, CompiledQuery[] compiled) {
+        this.ordinals = base.ordinals;
+        this.criteria = criteria;
+        this.compiled = compiled;
+        this.children = base.children;
+        this.dependents = base.dependents;
+        this.roots = base.roots;
+        this.schedule = base.schedule;
+    }
+
+    /**
+     * Returns a plan of the same shape in which each query definition is replaced by
+     * {@code rebind}'s result for it. Queries {@code rebind} returns unchanged keep their
+     * compiled form; replaced ones are compiled with {@code compiler}, which may return
+     * {@code null} to leave them interpreted. Composites are kept as they are: their
+     * children are evaluated through ordinals, so they pick up the replaced queries.
+     *
+     * @param rebind   maps a query definition to the one to evaluate in its place
+     * @param compiler compiles a replacement query, or returns {@code null}
+     * @return the rebound plan; this plan is left unchanged
+     */
+    EvaluationPlan withQueries(UnaryOperator<QueryCriterion> rebind, Function<QueryCriterion, CompiledQuery> compiler) {
+        Criterion[] rebound = criteria.clone();
+        CompiledQuery[] recompiled = compiled.clone();
+        for (int i = 0; i < rebound.length; i++) {
+            if (rebound[i] instanceof QueryCriterion query) {
+                QueryCriterion replacement = rebind.apply(query);
+                if (replacement != query) {
+                    rebound[i] = replacement;
+                    recompiled[i] = compiler.apply(replacement);
+                }
+            }
+        }
+        return new EvaluationPlan(this, rebound, recompiled);
+    }
+
+    /**
+     * Groups every ordinal reachable from {@code roots} by depth in the (acyclic, once cycles
+     * are cut) dependency graph: queries and composites without evaluable children at level 0,
+     * every other composite one level above its deepest child. Within a level, ordinals ascend.
+     *
+     * @param roots the ordinals to evaluate; their dependencies are included transitively
+     * @return the schedule evaluating exactly {@code roots} and their dependencies
+     */
+    Schedule schedule(int[] roots) {
+        int[] depth = new int[criteria.length];
+        Arrays.fill(depth, -1);
+        int deepest = -1;
+        for (int root : roots) {
+            deepest = Math.max(deepest, depth(root, depth));
+        }
+        int[] counts = new int[deepest + 1];
+        for (int d : depth) {
+            if (d >= 0) counts[d]++;
+        }
+        int[][] grouped = new int[deepest + 1][];
+        for (int level = 0; level <= deepest; level++) {
+            grouped[level] = new int[counts[level]];
+            counts[level] = 0;
+        }
+        for (int ordinal = 0; ordinal < criteria.length; ordinal++) {
+            int d = depth[ordinal];
+            if (d >= 0) grouped[d][counts[d]++] = ordinal;
+        }
+        return new Schedule(grouped, Arrays.stream(grouped).anyMatch(level -> level.length > 1));
+    }
+
+    private int depth(int ordinal, int[] depth) {
+        if (depth[ordinal] >= 0) return depth[ordinal];
+        int d = 0;
+        int[] targets = children[ordinal];
+        if (targets != null) {
+            for (int target : targets) {
+                if (target >= 0) d = Math.max(d, depth(target, depth) + 1);
+            }
+        }
+        return depth[ordinal] = d;
+    }
+
+    /** Marks the back edges of a depth-first walk in evaluation order as {@link #CYCLE}. */
+    private void cutCycles() {
+        byte[] state = new byte[criteria.length];
+        for (int ordinal : dependents) {
+            walk(ordinal, state);
+        }
+        for (int ordinal = 0; ordinal < criteria.length; ordinal++) {
+            walk(ordinal, state);
+        }
+    }
+
+    private static final byte ON_STACK = 1;
+    private static final byte DONE = 2;
+
+    private void walk(int ordinal, byte[] state) {
+        if (state[ordinal] != 0) return;
+        int[] targets = children[ordinal];
+        if (targets == null) {
+            state[ordinal] = DONE;
+            return;
+        }
+        state[ordinal] = ON_STACK;
+        for (int i = 0; i < targets.length; i++) {
+            int target = targets[i];
+            if (target == UNKNOWN) continue;
+            if (state[target] == ON_STACK) {
+                targets[i] = CYCLE;
+            } else {
+                walk(target, state);
+            }
+        }
+        state[ordinal] = DONE;
+    }
+
+    private static void assignOrdinals(List<Criterion> criteria, Map<String, Integer> byId, List<Criterion> declared) {
+        for (Criterion c : criteria) {
+            if (c instanceof CriterionReference) continue;
+            if (byId.putIfAbsent(c.id(), declared.size()) == null) {
+                declared.add(c);
+            }
+            if (c instanceof CompositeCriterion composite) {
+                assignOrdinals(composite.criteria(), byId, declared);
+            }
+        }
+    }
+
+    /** The ordinal a criterion evaluates through: its own id's, or for a reference, its target's. */
+    private int targetOf(Criterion c) {
+        String id = c instanceof CriterionReference reference ? reference.ref() : c.id();
+        return ordinal(id);
+    }
+
+    /** Number of ordinals (result slots). */
+    int size() {
+        return criteria.length;
+    }
+
+    /** Returns the ordinal of {@code id}, or {@link #UNKNOWN}. */
+    int ordinal(String id) {
+        Integer ordinal = ordinals.get(id);
+        return ordinal == null ? UNKNOWN : ordinal;
+    }
+
+    /** Returns the definition evaluated for {@code ordinal}. */
+    Criterion criterion(int ordinal) {
+        return criteria[ordinal];
+    }
+
+    /** Returns the compiled form of the query at {@code ordinal}, or {@code null} if it is interpreted. */
+    CompiledQuery compiled(int ordinal) {
+        return compiled[ordinal];
+    }
+
+    /**
+     * Returns the child ordinals of the composite at {@code ordinal}, aligned with its criteria:
+     * a reference child holds its target's ordinal, {@link #UNKNOWN} or {@link #CYCLE}.
+     */
+    int[] children(int ordinal) {
+        return children[ordinal];
+    }
+
+    /** Ordinals of top-level composites and reference targets, in declaration order. */
+    int[] dependents() {
+        return dependents;
+    }
+
+    /**
+     * A schedule for demand-driven evaluation, where composites evaluate their children
+     * themselves (short-circuit evaluation): the query roots in level 0, then each other root
+     * in a level of its own, in the order given. Nothing below the roots is scheduled.
+     *
+     * @param roots the ordinals to evaluate, in evaluation order
+     * @return the schedule
+     */
+    Schedule demandSchedule(int[] roots) {
+        List<int[]> levels = new ArrayList<>();
+        levels.add(Arrays.stream(roots).filter(ordinal -> criteria[ordinal] instanceof QueryCriterion).toArray());
+        Arrays.stream(roots)
+                .filter(ordinal -> !(criteria[ordinal] instanceof QueryCriterion))
+                .forEach(ordinal -> levels.add(new int[]{ordinal}));
+        return new Schedule(levels.toArray(int[][]::new), levels.get(0).length > 1);
+    }
+
+    /** Distinct ordinals of the top-level criteria, in declaration order. */
+    int[] roots() {
+        return roots;
+    }
+
+    /** The schedule of a full evaluation: every ordinal reachable from the top level. */
+    Schedule schedule() {
+        return schedule;
+    }
+}
@@ -0,0 +1,81 @@
+package uk.codery.jspec.evaluator;
+
+import java.time.Duration;
+
+/**
+ * How an evaluator's parallel work has fared on its {@link ExecutionStrategy}, since the
+ * evaluator was created.
+ *
+ * <p>Each time an evaluation fans out — one dependency level of a document, or one
+ * {@link SpecificationEvaluator#evaluateAll(Iterable) batch} — the calling thread runs one task
+ * and hands the rest to the strategy. Queue time is how long a handed-off task waited between
+ * submission and a worker starting it. Tasks no worker had started when the calling thread got
+ * to them are <em>reclaimed</em> and run by the caller; a high share of reclaimed tasks, or
+ * queue times approaching evaluation times, means the strategy's workers are oversubscribed.
+ *
+ * <p>Evaluators derived with {@link SpecificationEvaluator#forTargets(java.util.Set) forTargets}
+ * or {@link SpecificationEvaluator#bindContext(Object) bindContext} add to the metrics of the
+ * evaluator they came from. Counters only grow; subtract two snapshots with {@link #since}
+ * to measure an interval.
+ *
+ * @param forks          number of times work was split across the strategy
+ * @param tasks          tasks handed to the strategy
+ * @param reclaimed      of those, tasks run by the calling thread because no worker had started them
+ * @param totalQueueTime summed queue time of the tasks workers ran
+ * @param maxQueueTime   longest queue time of any task a worker ran
+ * @see SpecificationEvaluator#executionMetrics()
+ * @since 0.8.0
+ */
+public record ExecutionMetrics(long forks, long tasks, long reclaimed, Duration totalQueueTime,
+                               Duration maxQueueTime) {
+
+    /** Metrics of an evaluator that has not yet split any work. */
+    public static final ExecutionMetrics EMPTY = new ExecutionMetrics(0, 0, 0, Duration.ZERO, Duration.ZERO);
+
+    /**
+     * Validates the counts.
+     *
+     * @throws IllegalArgumentException if a count is negative, more tasks were reclaimed than
+     *                                  handed off, or a duration is null
+     */
+    public ExecutionMetrics {
+        if (forks < 0 || tasks < 0 || reclaimed < 0 || reclaimed > tasks) {
+            throw new IllegalArgumentException("Invalid counts: forks=%d, tasks=%d, reclaimed=%d"
+                    .formatted(forks, tasks, reclaimed));
+        }
+        if (totalQueueTime == null || maxQueueTime == null) {
+            throw new IllegalArgumentException("Queue times cannot be null");
+        }
+    }
+
+    /**
+     * Returns the number of handed-off tasks a worker ran.
+     *
+     * @return {@code tasks - reclaimed}
+     */
+    public long workerTasks() {
+        return tasks - reclaimed;
+    }
+
+    /**
+     * Returns the mean queue time of the tasks workers ran.
+     *
+     * @return the mean queue time, or {@link Duration#ZERO} if workers ran no tasks
+     */
+    public Duration meanQueueTime() {
+        long ran = workerTasks();
+        return ran == 0 ? Duration.ZERO : totalQueueTime.dividedBy(ran);
+    }
+
+    /**
+     * Returns the activity between {@code earlier} and this snapshot. The maximum queue time
+     * cannot be split, so it is this snapshot's.
+     *
+     * @param earlier an earlier snapshot of the same evaluator's metrics
+     * @return the difference
+     */
+    public ExecutionMetrics since(ExecutionMetrics earlier) {
+        return new ExecutionMetrics(forks - earlier.forks, tasks - earlier.tasks, reclaimed - earlier.reclaimed,
+                totalQueueTime.minus(earlier.totalQueueTime), maxQueueTime);
+    }
+}
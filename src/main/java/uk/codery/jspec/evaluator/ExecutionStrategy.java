@@ -0,0 +1,125 @@
+package uk.codery.jspec.evaluator;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Where a {@link SpecificationEvaluator} runs the work it parallelises: the criteria of one
+ * dependency level within an evaluation, the chunks of an {@link SpecificationEvaluator#evaluateAll(Iterable)
+ * evaluateAll} batch, and the windows of a {@link StreamingEvaluator}.
+ *
+ * <p>The default, {@link #commonPool()}, shares {@link ForkJoinPool#commonPool()} with every
+ * other parallel stream in the JVM. Where many request threads evaluate at once, that small
+ * shared pool is oversubscribed; choose instead to stay on the calling thread, to use a pool of
+ * your own, or to start a virtual thread per task:
+ * <pre>{@code
+ * EvaluationOptions options = EvaluationOptions.defaults()
+ *     .withExecutionStrategy(ExecutionStrategy.callerThread());
+ *
+ * SpecificationEvaluator evaluator = new SpecificationEvaluator(spec, new CriterionEvaluator(), options);
+ * }</pre>
+ *
+ * <p>The calling thread always takes part: it runs one task itself and, rather than wait, any
+ * task no worker has started yet. An evaluation therefore completes even if the executor is
+ * saturated or rejects tasks, and an executor may safely be shared with the code calling the
+ * evaluator. How long tasks wait for a worker is reported by
+ * {@link SpecificationEvaluator#executionMetrics()}.
+ *
+ * <p>The strategy never changes results, only which threads compute them.
+ *
+ * @see EvaluationOptions#withExecutionStrategy(ExecutionStrategy)
+ * @see ExecutionMetrics
+ * @since 0.8.0
+ */
+public interface ExecutionStrategy extends Executor {
+
+    /**
+     * Returns how many tasks this strategy can usefully run at once; work is split into about
+     * this many parts. {@code 1} keeps all work on the calling thread.
+     *
+     * @return the parallelism, at least {@code 1}
+     */
+    int parallelism();
+
+    /**
+     * Runs all work sequentially on the thread that calls the evaluator: no hand-off, no
+     * queueing and no thread-safe bookkeeping within an evaluation. Usually the best choice
+     * where callers are already concurrent, such as request threads in a server.
+     *
+     * @return the caller-thread strategy
+     */
+    static ExecutionStrategy callerThread() {
+        return ExecutorStrategy.CALLER_THREAD;
+    }
+
+    /**
+     * Runs parallel work on {@link ForkJoinPool#commonPool()}, as parallel streams do. This is
+     * the default.
+     *
+     * @return the common-pool strategy
+     */
+    static ExecutionStrategy commonPool() {
+        return ExecutorStrategy.COMMON_POOL;
+    }
+
+    /**
+     * Runs parallel work on a new {@link ForkJoinPool} of its own. Its worker threads are
+     * daemons and time out when idle, so the pool needs no shutdown.
+     *
+     * @param parallelism the pool's parallelism
+     * @return a strategy over a dedicated pool
+     * @throws IllegalArgumentException if parallelism is less than 1
+     */
+    static ExecutionStrategy forkJoinPool(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        return new ExecutorStrategy(new ForkJoinPool(parallelism), parallelism,
+                "ExecutionStrategy.forkJoinPool(" + parallelism + ")");
+    }
+
+    /**
+     * Runs parallel work on {@code pool}, with the pool's own parallelism.
+     *
+     * @param pool the pool to use; its lifecycle stays with the caller
+     * @return a strategy over the pool
+     * @throws IllegalArgumentException if pool is null
+     */
+    static ExecutionStrategy forkJoinPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool cannot be null");
+        }
+        return new ExecutorStrategy(pool, pool.getParallelism(), "ExecutionStrategy.forkJoinPool(" + pool + ")");
+    }
+
+    /**
+     * Runs parallel work on {@code executor}, split into at most {@code parallelism} tasks.
+     *
+     * @param executor    the executor to hand tasks to; its lifecycle stays with the caller
+     * @param parallelism how many tasks to split work into
+     * @return a strategy over the executor
+     * @throws IllegalArgumentException if executor is null or parallelism is less than 1
+     */
+    static ExecutionStrategy executor(Executor executor, int parallelism) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        return new ExecutorStrategy(executor, parallelism,
+                "ExecutionStrategy.executor(" + executor + ", " + parallelism + ")");
+    }
+
+    /**
+     * Runs each parallel task on a new virtual thread, from one shared
+     * {@link Executors#newVirtualThreadPerTaskExecutor()}. Work is split as for a pool with
+     * one worker per available processor, which is what the virtual-thread scheduler runs on.
+     *
+     * @return the virtual-thread strategy
+     */
+    static ExecutionStrategy virtualThreads() {
+        return ExecutorStrategy.VirtualThreads.STRATEGY;
+    }
+}
@@ -0,0 +1,37 @@
+package uk.codery.jspec.evaluator;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/** An {@link ExecutionStrategy} over a plain {@link Executor}. */
+record ExecutorStrategy(Executor executor, int parallelism, String description) implements ExecutionStrategy {
+
+    static final ExecutorStrategy CALLER_THREAD = new ExecutorStrategy(Runnable::run, 1,
+            "ExecutionStrategy.callerThread()");
+
+    static final ExecutorStrategy COMMON_POOL = new ExecutorStrategy(ForkJoinPool.commonPool(),
+            ForkJoinPool.getCommonPoolParallelism(), "ExecutionStrategy.commonPool()");
+
+    /** Holds the shared executor, created on first use. */
+    static final class VirtualThreads {
+        private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+        static final ExecutorStrategy STRATEGY = new ExecutorStrategy(EXECUTOR,
+                Runtime.getRuntime().availableProcessors(), "ExecutionStrategy.virtualThreads()");
+
+        private VirtualThreads() {
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -0,0 +1,117 @@
+package uk.codery.jspec.evaluator;
+
+import uk.codery.jspec.accessor.DocumentAccessor;
+import uk.codery.jspec.accessor.MapDocumentAccessor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A dot-notation path ({@code "address.city"}) split into its segments once.
+ *
+ * <p>Query field keys and {@code $contextPath} references are fixed by the specification,
+ * but used to be re-split with {@code String.split} on every lookup of every document.
+ * {@link #of(String)} parses a path once and interns the result, so repeated lookups of the
+ * same key share one instance and {@link #navigate(Map)} walks the pre-split segments
+ * without allocating.
+ *
+ * <p>Segments follow {@code String.split("\\.")} exactly (trailing empty segments are
+ * dropped, inner and leading ones kept), so navigation is unchanged from the split-based
+ * implementation. Instances are immutable and safe to share across threads.
+ */
+final class FieldPath {
+
+    /**
+     * Upper bound on interned paths. Keys come from specifications, so real workloads stay far
+     * below it; past the bound paths are still parsed, just not cached.
+     */
+    private static final int INTERN_LIMIT = 4096;
+
+    private static final Map<String, FieldPath> INTERNED = new ConcurrentHashMap<>();
+
+    private static final String[] NO_SEGMENTS = new String[0];
+
+    private final String path;
+    private final String[] segments;
+
+    private FieldPath(String path) {
+        this.path = path;
+        this.segments = path.isEmpty() ? NO_SEGMENTS : path.split("\\.");
+    }
+
+    /**
+     * Returns the (interned) parsed form of {@code path}.
+     *
+     * @param path a dot-notation path; the empty path addresses the root itself
+     * @return the parsed path
+     */
+    static FieldPath of(String path) {
+        FieldPath interned = INTERNED.get(path);
+        if (interned != null) return interned;
+        FieldPath parsed = new FieldPath(path);
+        if (INTERNED.size() >= INTERN_LIMIT) return parsed;
+        FieldPath raced = INTERNED.putIfAbsent(path, parsed);
+        return raced != null ? raced : parsed;
+    }
+
+    /**
+     * Returns the original dot-notation path.
+     */
+    String path() {
+        return path;
+    }
+
+    /**
+     * Returns the number of segments.
+     */
+    int size() {
+        return segments.length;
+    }
+
+    /**
+     * Returns the segment at {@code index}.
+     */
+    String segment(int index) {
+        return segments[index];
+    }
+
+    /**
+     * Navigates through nested maps, one segment at a time. For example, {@code "address.city"}
+     * navigates to {@code map.get("address").get("city")}.
+     *
+     * @param map the map to navigate
+     * @return the value at the path, or {@code null} if any segment is absent, null or
+     *         reached through a non-map value
+     */
+    Object navigate(Map<?, ?> map) {
+        return navigate(map, MapDocumentAccessor.INSTANCE);
+    }
+
+    /**
+     * Navigates through nested objects of any representation, one segment at a time, as
+     * {@link #navigate(Map)} does through maps.
+     *
+     * @param value    the document or value to navigate
+     * @param accessor reads the objects on the way
+     * @return the value at the path, or {@code null} if any segment is absent, null or
+     *         reached through a non-object value
+     */
+    Object navigate(Object value, DocumentAccessor accessor) {
+        Object current = value;
+        for (String segment : segments) {
+            if (!accessor.isObject(current)) {
+                return null;
+            }
+            current = accessor.field(current, segment);
+            if (current == null) {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
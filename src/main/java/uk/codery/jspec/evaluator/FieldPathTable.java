@@ -0,0 +1,46 @@
+package uk.codery.jspec.evaluator;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The distinct field paths a bound specification's compiled queries look up from the root of
+ * the document, each numbered with a dense <em>slot</em>.
+ *
+ * <p>Many criteria of one specification test the same fields ({@code customer.verified},
+ * {@code order.total}, …), and each used to navigate the document for them separately.
+ * Compiled queries record the slot of each root-level field they read instead, so one
+ * evaluation can navigate every path once and share the value through its
+ * {@link PathValues} — common-subexpression elimination for document access.
+ *
+ * <p>Slots are assigned as queries are compiled and never change. The table only grows:
+ * binding a context compiles further queries into the same table, so an evaluation sizes its
+ * {@code PathValues} from {@link #size()} when it starts. Instances are thread-safe.
+ */
+final class FieldPathTable {
+
+    private final Map<String, Integer> slots = new HashMap<>();
+    /** Written under the lock, read without it by each evaluation as it starts. */
+    private volatile int size;
+
+    /**
+     * Returns the slot of {@code path}, assigning the next free one on first use.
+     *
+     * @param path a root-level field path
+     * @return its slot
+     */
+    synchronized int slot(FieldPath path) {
+        Integer slot = slots.get(path.path());
+        if (slot == null) {
+            slot = size;
+            slots.put(path.path(), slot);
+            size = slot + 1;
+        }
+        return slot;
+    }
+
+    /** Number of slots assigned so far. */
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,146 @@
+package uk.codery.jspec.evaluator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * The list operand of {@code $in}, {@code $nin} or {@code $all}, hashed once by canonical value.
+ *
+ * <p>Membership used to be {@code List.contains} — a linear scan per document value — and
+ * {@code $all} copied the document's list into a fresh {@code HashSet} on every call. An
+ * {@code OperandSet} is built when a query is compiled, so each lookup is a single hash probe.
+ *
+ * <p>Members and probes are compared by {@linkplain #canonical(Object) canonical key}, under
+ * which numbers that denote the same value are equal regardless of their boxed type: Jackson
+ * reads {@code 1} as an {@code Integer} from one document and a {@code Long} or {@code Double}
+ * from another, and all three match an operand of {@code 1}. Non-numeric values keep their own
+ * {@code equals}/{@code hashCode}.
+ *
+ * <p>Instances are immutable and safe to share across threads.
+ */
+final class OperandSet {
+
+    /** Canonical key → distinct member ordinal (the ordinal tracks coverage for {@code $all}). */
+    private final Map<Object, Integer> members;
+
+    private OperandSet(Map<Object, Integer> members) {
+        this.members = members;
+    }
+
+    /**
+     * Builds the set of canonical keys of {@code operand}.
+     *
+     * @param operand the operator's list operand
+     * @return the operand set
+     */
+    static OperandSet of(List<?> operand) {
+        Map<Object, Integer> members = new HashMap<>();
+        for (Object item : operand) {
+            members.putIfAbsent(canonical(item), members.size());
+        }
+        return new OperandSet(members);
+    }
+
+    /**
+     * Returns whether {@code value} is a member.
+     */
+    boolean contains(Object value) {
+        return members.containsKey(canonical(value));
+    }
+
+    /**
+     * Returns whether any element of {@code values} is a member.
+     */
+    boolean containsAny(List<?> values) {
+        // Random-access lists (what JSON parsers produce) are scanned by index: no iterator.
+        boolean indexed = values instanceof RandomAccess;
+        Iterator<?> items = indexed ? null : values.iterator();
+        for (int i = 0, n = values.size(); i < n; i++) {
+            if (contains(indexed ? values.get(i) : items.next())) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether every member occurs in {@code values} ({@code $all}). Coverage is tracked
+     * in a {@code long} bit mask, so operands of up to 64 distinct values allocate nothing — nor
+     * does the scan of a random-access list.
+     */
+    boolean isCoveredBy(List<?> values) {
+        int required = members.size();
+        if (required == 0) return true;
+        if (required > Long.SIZE) return isCoveredByLarge(values);
+        long seen = 0L;
+        long all = required == Long.SIZE ? -1L : (1L << required) - 1;
+        boolean indexed = values instanceof RandomAccess;
+        Iterator<?> items = indexed ? null : values.iterator();
+        for (int i = 0, n = values.size(); i < n; i++) {
+            Integer ordinal = members.get(canonical(indexed ? values.get(i) : items.next()));
+            if (ordinal != null) {
+                seen |= 1L << ordinal;
+                if (seen == all) return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isCoveredByLarge(List<?> values) {
+        BitSet seen = new BitSet(members.size());
+        int matched = 0;
+        for (Object item : values) {
+            Integer ordinal = members.get(canonical(item));
+            if (ordinal != null && !seen.get(ordinal)) {
+                seen.set(ordinal);
+                if (++matched == members.size()) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether {@code value} is equal, by canonical key, to some element of {@code list}.
+     * Used where the operand is only known per evaluation (a resolved {@code $contextPath}), so
+     * hashing it first would cost more than one scan.
+     */
+    static boolean containsCanonical(List<?> list, Object value) {
+        Object key = canonical(value);
+        for (Object item : list) {
+            if (key == null ? item == null : key.equals(canonical(item))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the canonical key of a value: integral numbers (including integral floating-point
+     * values within {@code long} range) become {@code Long}, other numbers {@code Double};
+     * non-numbers are returned unchanged.
+     */
+    static Object canonical(Object value) {
+        if (!(value instanceof Number number)) return value;
+        if (number instanceof Long) return number;
+        if (number instanceof Integer || number instanceof Short || number instanceof Byte) {
+            return number.longValue();
+        }
+        if (number instanceof BigInteger big) {
+            return big.bitLength() < Long.SIZE ? (Object) big.longValue() : big;
+        }
+        if (number instanceof BigDecimal decimal) {
+            try {
+                return decimal.longValueExact();
+            } catch (ArithmeticException notIntegral) {
+                return decimal.doubleValue();
+            }
+        }
+        double d = number.doubleValue();
+        if (d == Math.rint(d) && d >= Long.MIN_VALUE && d < 0x1p63) {
+            return (long) d;
+        }
+        return d;
+    }
+}
@@ -0,0 +1,190 @@
+package uk.codery.jspec.evaluator;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs an evaluator's parallel work on its {@link ExecutionStrategy} and records how long that
+ * work queued (see {@link ExecutionMetrics}). Shared by every evaluator derived from the one that
+ * created it.
+ *
+ * <p>{@link #invokeAll} hands all but the first task to the strategy, runs the first on the
+ * calling thread, then runs every task no worker has claimed yet before waiting for the rest.
+ * The caller never waits for a task that has not started, so work completes even on a saturated,
+ * single-threaded or rejecting executor, including one the caller itself runs on.
+ */
+final class ParallelExecution {
+
+    /** Assumed hand-off time until tasks have been observed: roughly waking an idle pool worker. */
+    static final long INITIAL_HANDOFF_NANOS = 10_000;
+
+    /** The least hand-off time assumed, however quickly workers have been starting tasks. */
+    static final long MIN_HANDOFF_NANOS = 1_000;
+
+    private final ExecutionStrategy strategy;
+    private final LongAdder forks = new LongAdder();
+    private final LongAdder tasks = new LongAdder();
+    private final LongAdder reclaimed = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAccumulator maxQueueNanos = new LongAccumulator(Math::max, 0);
+    /** Moving average of queue times, updated atomically by every worker; see {@link #handoffNanos()}. */
+    private final AtomicLong handoffNanos = new AtomicLong(INITIAL_HANDOFF_NANOS);
+
+    ParallelExecution(ExecutionStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /** Whether work is ever handed off, i.e. whether evaluation state must be thread-safe. */
+    boolean parallel() {
+        return strategy.parallelism() > 1;
+    }
+
+    int parallelism() {
+        return strategy.parallelism();
+    }
+
+    ExecutionStrategy strategy() {
+        return strategy;
+    }
+
+    /**
+     * Runs {@code task} for each index from {@code 0} to {@code count - 1}, returning when all
+     * have completed. The first failure is rethrown once every task has finished.
+     */
+    void invokeAll(int count, IntConsumer task) {
+        if (count <= 1 || !parallel()) {
+            for (int i = 0; i < count; i++) {
+                task.accept(i);
+            }
+            return;
+        }
+        Fork fork = new Fork(count, task);
+        forks.increment();
+        tasks.add(count - 1);
+        for (int i = 1; i < count; i++) {
+            try {
+                strategy.execute(fork.tasks[i]);
+            } catch (RejectedExecutionException e) {
+                // Left unclaimed: the caller runs it below
+            }
+        }
+        fork.tasks[0].run(false);
+        for (int i = 1; i < count; i++) {
+            if (fork.tasks[i].run(true)) {
+                reclaimed.increment();
+            }
+        }
+        fork.await();
+    }
+
+    /**
+     * Returns the recent time from handing a task to the strategy to a worker starting it, as
+     * a moving average (no less than {@value #MIN_HANDOFF_NANOS}ns): the overhead a parallel
+     * task must outweigh.
+     */
+    long handoffNanos() {
+        return Math.max(MIN_HANDOFF_NANOS, handoffNanos.get());
+    }
+
+    ExecutionMetrics metrics() {
+        return new ExecutionMetrics(forks.sum(), tasks.sum(), reclaimed.sum(),
+                Duration.ofNanos(queueNanos.sum()), Duration.ofNanos(maxQueueNanos.get()));
+    }
+
+    @Override
+    public String toString() {
+        return strategy.toString();
+    }
+
+    /** One fan-out: its tasks, the latch they count down and the first failure. */
+    private final class Fork {
+        private final Task[] tasks;
+        private final IntConsumer body;
+        private final CountDownLatch done;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final long submitted = System.nanoTime();
+
+        Fork(int count, IntConsumer body) {
+            this.body = body;
+            this.done = new CountDownLatch(count);
+            this.tasks = new Task[count];
+            for (int i = 0; i < count; i++) {
+                tasks[i] = new Task(this, i);
+            }
+        }
+
+        void await() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    done.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            Throwable thrown = failure.get();
+            if (thrown instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (thrown instanceof Error error) {
+                throw error;
+            }
+            if (thrown != null) {
+                throw new IllegalStateException(thrown);
+            }
+        }
+    }
+
+    /** A task that runs once, on whichever thread claims it first. */
+    private final class Task extends AtomicBoolean implements Runnable {
+        private final Fork fork;
+        private final int index;
+
+        Task(Fork fork, int index) {
+            this.fork = fork;
+            this.index = index;
+        }
+
+        /** Run by a worker of the strategy. */
+        @Override
+        public void run() {
+            if (compareAndSet(false, true)) {
+                long queued = System.nanoTime() - fork.submitted;
+                queueNanos.add(queued);
+                maxQueueNanos.accumulate(queued);
+                handoffNanos.accumulateAndGet(queued, (average, sample) -> average + (sample - average) / 8);
+                execute();
+            }
+        }
+
+        /** Run by the caller; returns whether the caller claimed the task. */
+        boolean run(boolean reclaim) {
+            if (!compareAndSet(false, true)) {
+                return false;
+            }
+            execute();
+            return reclaim;
+        }
+
+        private void execute() {
+            try {
+                fork.body.accept(index);
+            } catch (Throwable e) {
+                fork.failure.compareAndSet(null, e);
+            } finally {
+                fork.done.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package uk.codery.jspec.evaluator;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides, per dependency level and per batch, how many parallel tasks a specification's work
+ * is worth: none (sequential), a few (chunked) or one per worker (fully parallel).
+ *
+ * <p>The work of a level is its criteria's {@link CostModel} units times the learned cost of a
+ * unit; the overhead of a task is the {@link ParallelExecution#handoffNanos() hand-off time}
+ * recently observed on the execution strategy. Work is split so that each task carries at least
+ * {@value #TASK_HANDOFFS} hand-offs' worth of it: a five-query specification stays on the
+ * calling thread, while thousands of regular expressions fan out across every worker.
+ *
+ * <p>The unit cost starts at {@value #INITIAL_NANOS_PER_UNIT}ns and is refined from
+ * evaluations sampled at random (one in {@value #SAMPLE_EVERY}) as an exponentially weighted
+ * moving average. Later samples outweigh earlier ones, so decisions follow the workload as
+ * documents or the JIT's work change. Shared by every evaluator derived from the one that
+ * created it; updates race benignly, since any recent estimate will do.
+ */
+final class ParallelismTuner {
+
+    /** One evaluation in this many is timed. */
+    static final int SAMPLE_EVERY = 16;
+
+    /** How many hand-offs of work a parallel task must carry to be worth starting. */
+    static final int TASK_HANDOFFS = 2;
+
+    static final double INITIAL_NANOS_PER_UNIT = 25;
+
+    /** Weight of each new sample in the moving average. */
+    private static final double WEIGHT = 0.1;
+
+    private final ParallelExecution execution;
+    private volatile double nanosPerUnit = INITIAL_NANOS_PER_UNIT;
+
+    ParallelismTuner(ParallelExecution execution) {
+        this.execution = execution;
+    }
+
+    /** Returns the estimated units of each level of {@code schedule}. */
+    static double[] levelUnits(EvaluationPlan plan, EvaluationPlan.Schedule schedule) {
+        int[][] levels = schedule.levels();
+        double[] units = new double[levels.length];
+        for (int level = 0; level < levels.length; level++) {
+            for (int ordinal : levels[level]) {
+                units[level] += CostModel.units(plan.criterion(ordinal));
+            }
+        }
+        return units;
+    }
+
+    /**
+     * Returns how many tasks to split {@code units} of work into, from {@code 1} (run it on the
+     * calling thread) to {@code max}.
+     */
+    int tasks(double units, int max) {
+        if (max <= 1) {
+            return 1;
+        }
+        double worth = units * nanosPerUnit / ((double) TASK_HANDOFFS * execution.handoffNanos());
+        return (int) Math.max(1, Math.min(max, worth));
+    }
+
+    /** Returns whether the current evaluation should be timed. */
+    boolean sample() {
+        return ThreadLocalRandom.current().nextInt(SAMPLE_EVERY) == 0;
+    }
+
+    /** Folds the measured cost of {@code units} of work into the unit cost. */
+    void record(double units, long nanos) {
+        if (units > 0 && nanos >= 0) {
+            double current = nanosPerUnit;
+            nanosPerUnit = current + WEIGHT * (nanos / units - current);
+        }
+    }
+
+    double nanosPerUnit() {
+        return nanosPerUnit;
+    }
+}
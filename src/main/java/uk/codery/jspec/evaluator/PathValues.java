@@ -0,0 +1,86 @@
+package uk.codery.jspec.evaluator;
+
+import uk.codery.jspec.accessor.DocumentAccessor;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * One evaluation's values of the {@link FieldPathTable} paths: each path is navigated in the
+ * document the first time a compiled query needs it, and every later query reads the stored
+ * value instead of navigating again.
+ *
+ * <p>Slots start empty ({@code null}) and are filled lazily, so an evaluation only pays for
+ * the paths its criteria actually reach. A value that is itself absent is stored as a marker,
+ * keeping "not yet navigated" and "navigated to nothing" apart. When criteria run on several
+ * threads, slots are published with release/acquire semantics; two threads that need the same
+ * path at the same moment may both navigate it, and the first value stored is the one every
+ * query sees. Navigation has no side effects, so the race costs only the duplicate lookup.
+ *
+ * <p>Values are only shared for the evaluation's own document. A slot beyond the table size
+ * this evaluation started with, or a lookup against any other object, navigates directly. A
+ * single-threaded instance can be {@linkplain #reset(Object) reset} for the next document of a
+ * batch instead of being reallocated.
+ */
+final class PathValues {
+
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    /** Stored for a path that navigates to nothing, since {@code null} marks an empty slot. */
+    private static final Object ABSENT = new Object();
+
+    private Object document;
+    private final Object[] values;
+    private final boolean concurrent;
+
+    /**
+     * @param document   the document being evaluated
+     * @param size       the number of slots (see {@link FieldPathTable#size()})
+     * @param concurrent whether slots may be filled by several threads at once
+     */
+    PathValues(Object document, int size, boolean concurrent) {
+        this.document = document;
+        this.values = new Object[size];
+        this.concurrent = concurrent;
+    }
+
+    /**
+     * Empties every slot and starts sharing values for {@code document} instead. Only for an
+     * instance filled by one thread, between evaluations.
+     *
+     * @param document the next document to evaluate
+     */
+    void reset(Object document) {
+        this.document = document;
+        Arrays.fill(values, null);
+    }
+
+    /**
+     * Returns the value at {@code path} in {@code object}, navigating at most once per slot for
+     * the evaluation's document.
+     *
+     * @param slot     the path's slot in the table
+     * @param path     the path, navigated on first use
+     * @param object   the object to navigate
+     * @param accessor reads {@code object}
+     * @return the value at the path, or {@code null} if absent (as {@link FieldPath#navigate})
+     */
+    Object get(int slot, FieldPath path, Object object, DocumentAccessor accessor) {
+        if (object != document || slot >= values.length) {
+            return path.navigate(object, accessor);
+        }
+        Object value = concurrent ? VALUES.getAcquire(values, slot) : values[slot];
+        if (value == null) {
+            Object navigated = path.navigate(object, accessor);
+            value = navigated == null ? ABSENT : navigated;
+            if (concurrent) {
+                Object witness = VALUES.compareAndExchangeRelease(values, slot, null, value);
+                if (witness != null) value = witness;
+            } else {
+                values[slot] = value;
+            }
+        }
+        return value == ABSENT ? null : value;
+    }
+}
@@ -0,0 +1,170 @@
+package uk.codery.jspec.evaluator;
+
+import lombok.extern.slf4j.Slf4j;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.result.EvaluationOutcome;
+import uk.codery.jspec.result.EvaluationState;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds which of many specifications a document matches, evaluating only those that could.
+ *
+ * <p>Alerting, routing and subscription services hold thousands of specifications and ask,
+ * for each incoming document, which of them it satisfies. Evaluating every one costs the same
+ * whether one matches or none do. A percolator instead indexes the specifications by the values
+ * their queries require — the reverse of a document index, which finds documents for a query:
+ * <ul>
+ *   <li>equality and {@code $in} values in hash tables;</li>
+ *   <li>numeric {@code $gt}/{@code $gte}/{@code $lt}/{@code $lte}/{@code $between} ranges in
+ *       an interval tree;</li>
+ *   <li>{@code $exists} and every other tested field in field presence and absence lists.</li>
+ * </ul>
+ * One probe per indexed field rules out every specification with a query the document cannot
+ * satisfy; the remaining <em>candidates</em> are evaluated as a {@link SpecificationSet} would,
+ * sharing their common queries, and the ones whose overall state is
+ * {@link EvaluationState#MATCHED MATCHED} are returned.
+ *
+ * <pre>{@code
+ * Percolator alerts = new Percolator(subscriptions);
+ *
+ * for (Map<String, Object> event : events) {
+ *     alerts.percolate(event).keySet().forEach(id -> notify(id, event));
+ * }
+ * }</pre>
+ *
+ * <p>The result is exactly the specifications that evaluating all of them would report as
+ * MATCHED, each with the same outcome: the index only rules out specifications that cannot be,
+ * since a query whose field is missing is UNDETERMINED (unless it tests {@code $exists}) and a
+ * specification with an UNDETERMINED result is never MATCHED. Only top-level queries are
+ * indexed; specifications without one — composites alone, custom operators, {@code $contextPath}
+ * operands — are always candidates, as are all specifications when {@code criterionEvaluator} is
+ * a subclass, whose evaluation the index cannot anticipate.
+ *
+ * <p>Instances are immutable and thread-safe.
+ *
+ * @see SpecificationSet
+ * @since 0.8.0
+ */
+@Slf4j
+public final class Percolator {
+
+    private final SpecificationSet set;
+    private final CriterionEvaluator criterionEvaluator;
+    private final PercolatorIndex index;
+
+    /**
+     * Creates a percolator evaluating with default built-in operators and
+     * {@linkplain EvaluationOptions#defaults() default options}.
+     *
+     * @param specifications the specifications to match documents against, with distinct ids
+     * @throws IllegalArgumentException if specifications is or contains null, or two share an id
+     */
+    public Percolator(Collection<Specification> specifications) {
+        this(specifications, new CriterionEvaluator());
+    }
+
+    /**
+     * Creates a percolator evaluating with {@code criterionEvaluator} and
+     * {@linkplain EvaluationOptions#defaults() default options}.
+     *
+     * @param specifications     the specifications to match documents against, with distinct ids
+     * @param criterionEvaluator the criterion evaluator to use for query evaluation
+     * @throws IllegalArgumentException if specifications is or contains null, two share an id,
+     *                                  or criterionEvaluator is null
+     */
+    public Percolator(Collection<Specification> specifications, CriterionEvaluator criterionEvaluator) {
+        this(specifications, criterionEvaluator, EvaluationOptions.defaults());
+    }
+
+    /**
+     * Creates a percolator evaluating with {@code criterionEvaluator} and {@code options}.
+     *
+     * @param specifications     the specifications to match documents against, with distinct ids
+     * @param criterionEvaluator the criterion evaluator to use for query evaluation
+     * @param options            the evaluation options, applied to every specification
+     * @throws IllegalArgumentException if specifications is or contains null, two share an id,
+     *                                  or criterionEvaluator or options is null
+     */
+    public Percolator(Collection<Specification> specifications, CriterionEvaluator criterionEvaluator,
+                      EvaluationOptions options) {
+        if (criterionEvaluator == null) {
+            throw new IllegalArgumentException("CriterionEvaluator cannot be null");
+        }
+        this.set = new SpecificationSet(specifications, criterionEvaluator, options);
+        this.criterionEvaluator = criterionEvaluator;
+        this.index = new PercolatorIndex(set, criterionEvaluator);
+        log.debug("Built percolator of {} specifications - {} index anchors",
+                set.specifications().size(), index.anchors());
+    }
+
+    /**
+     * Returns the specifications of this percolator, in the order given.
+     *
+     * @return the specifications, as passed to the constructor
+     */
+    public List<Specification> specifications() {
+        return set.specifications();
+    }
+
+    /**
+     * Returns the ids of the specifications {@code document} could match, without evaluating
+     * any: every specification it matches, and possibly others.
+     *
+     * @param document the document to match (typically a Map, but can be any Object)
+     * @return the candidate specification ids, in the percolator's order
+     */
+    public List<String> candidates(Object document) {
+        int[] members = index.candidates(criterionEvaluator.document(document));
+        List<String> ids = new ArrayList<>(members.length);
+        List<Specification> specifications = set.specifications();
+        for (int member : members) {
+            ids.add(specifications.get(member).id());
+        }
+        return Collections.unmodifiableList(ids);
+    }
+
+    /**
+     * Returns the specifications {@code document} matches, with an empty context document.
+     *
+     * @param document the document to match (typically a Map, but can be any Object)
+     * @return each matched specification's outcome by specification id, in the percolator's order
+     * @see #percolate(Object, Object)
+     */
+    public Map<String, EvaluationOutcome> percolate(Object document) {
+        return percolate(document, Map.of());
+    }
+
+    /**
+     * Returns the specifications {@code document} matches — those whose
+     * {@linkplain EvaluationOutcome#overallState() overall state} is MATCHED — resolving
+     * {@code $contextPath} operands against {@code contextDoc}.
+     *
+     * @param document   the document to match (typically a Map, but can be any Object)
+     * @param contextDoc the context document; {@code null} is treated as empty
+     * @return each matched specification's outcome by specification id, in the percolator's order
+     */
+    public Map<String, EvaluationOutcome> percolate(Object document, Object contextDoc) {
+        int[] members = index.candidates(criterionEvaluator.document(document));
+        log.info("Starting percolation - {} of {} specifications are candidates",
+                members.length, set.specifications().size());
+        Map<String, EvaluationOutcome> matched = new LinkedHashMap<>();
+        set.evaluate(document, contextDoc, members).forEach((id, outcome) -> {
+            if (outcome.overallState() == EvaluationState.MATCHED) {
+                matched.put(id, outcome);
+            }
+        });
+        log.info("Completed percolation - {} specifications matched", matched.size());
+        return Collections.unmodifiableMap(matched);
+    }
+
+    @Override
+    public String toString() {
+        return "Percolator" + set.specifications().stream().map(Specification::id).toList();
+    }
+}
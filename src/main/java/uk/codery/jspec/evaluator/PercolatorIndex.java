@@ -0,0 +1,451 @@
+package uk.codery.jspec.evaluator;
+
+import uk.codery.jspec.accessor.DocumentAccessor;
+import uk.codery.jspec.model.QueryCriterion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A reverse index from document values to the specifications that could match them, built
+ * from the top-level queries each specification's {@link EvaluationPlan} evaluates: the first
+ * definition of a repeated id, and the targets of top-level references.
+ *
+ * <p>A specification matches only if every result it reports is MATCHED, and its top-level
+ * queries always report one. Each top-level query is therefore broken into <em>anchors</em>:
+ * conditions on one field path that the query cannot match without. Missing data never
+ * matches — a query on an absent field is UNDETERMINED unless it tests {@code $exists} — so
+ * every field a query tests without {@code $exists} must be present, and more precisely:
+ * <ul>
+ *   <li>an implicit or {@code $eq} equality needs the value itself: a hash lookup;</li>
+ *   <li>{@code $in} needs one of its operands, by {@link OperandSet#canonical canonical key}
+ *       and element-wise for arrays, as the operator compares them: a hash lookup per key;</li>
+ *   <li>numeric {@code $gt}/{@code $gte}/{@code $lt}/{@code $lte}/{@code $between} bounds on a
+ *       field need a number within their (closed) intersection: an {@link Intervals interval
+ *       stabbing} query — or, with {@code $between}, a value that has no ordering at all;</li>
+ *   <li>{@code $exists} needs the field present, or absent: a presence or absence list;</li>
+ *   <li>anything else needs the field present.</li>
+ * </ul>
+ * Anchors over-approximate — a closed interval also admits its open bounds — but never
+ * exclude a document the query matches. A specification is a candidate when all of its anchors
+ * hold; one without anchors (no indexable top-level query) always is.
+ *
+ * <p>Only operators bound to their built-in implementations are indexed, and none at all for a
+ * {@link CriterionEvaluator} subclass, whose evaluation may differ. Operands with
+ * {@code $contextPath} references are skipped. Instances are immutable once built.
+ */
+final class PercolatorIndex {
+
+    private final DocumentAccessor accessor;
+    private final PathIndex[] paths;
+    /** Per member: its first anchor; anchors are numbered member by member. */
+    private final int[] firstAnchor;
+    /** Per anchor: its member. */
+    private final int[] owners;
+    /** The members without anchors, ascending. */
+    private final int[] unanchored;
+
+    /**
+     * @param set                the specification set whose members are indexed, by member index
+     * @param criterionEvaluator the evaluator the members are verified with
+     */
+    PercolatorIndex(SpecificationSet set, CriterionEvaluator criterionEvaluator) {
+        this.accessor = criterionEvaluator.documentAccessor();
+        boolean indexable = criterionEvaluator.getClass() == CriterionEvaluator.class;
+        int members = set.specifications().size();
+        Map<String, PathIndex.Builder> builders = new LinkedHashMap<>();
+        List<Integer> owners = new ArrayList<>();
+        List<Integer> unanchored = new ArrayList<>();
+        this.firstAnchor = new int[members + 1];
+        for (int member = 0; member < members; member++) {
+            firstAnchor[member] = owners.size();
+            if (indexable) {
+                Anchors anchors = new Anchors(criterionEvaluator, builders, owners, member);
+                // The plan's definitions, not the raw criteria: a repeated id evaluates only its first.
+                EvaluationPlan plan = set.member(member).plan();
+                for (int root : plan.roots()) {
+                    if (plan.criterion(root) instanceof QueryCriterion query && query.query() != null) {
+                        anchors.query(query.query());
+                    }
+                }
+            }
+            if (owners.size() == firstAnchor[member]) {
+                unanchored.add(member);
+            }
+        }
+        firstAnchor[members] = owners.size();
+        this.paths = builders.values().stream().map(PathIndex.Builder::build).toArray(PathIndex[]::new);
+        this.owners = owners.stream().mapToInt(Integer::intValue).toArray();
+        this.unanchored = unanchored.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /** Number of anchors indexed. */
+    int anchors() {
+        return owners.length;
+    }
+
+    /**
+     * Returns the members that could match {@code document}, ascending: those whose anchors
+     * all hold, and those without anchors.
+     */
+    int[] candidates(Object document) {
+        BitSet satisfied = new BitSet(owners.length);
+        for (PathIndex path : paths) {
+            path.probe(path.path.navigate(document, accessor), accessor, satisfied);
+        }
+        int[] candidates = new int[unanchored.length + Math.min(satisfied.cardinality(), firstAnchor.length - 1)];
+        int count = 0;
+        int next = 0;
+        for (int anchor = satisfied.nextSetBit(0); anchor >= 0; ) {
+            int member = owners[anchor];
+            int end = firstAnchor[member + 1];
+            if (satisfied.nextClearBit(firstAnchor[member]) >= end) {
+                while (next < unanchored.length && unanchored[next] < member) {
+                    candidates[count++] = unanchored[next++];
+                }
+                candidates[count++] = member;
+            }
+            anchor = end < owners.length ? satisfied.nextSetBit(end) : -1;
+        }
+        while (next < unanchored.length) {
+            candidates[count++] = unanchored[next++];
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    /** Breaks one member's top-level queries into anchors. */
+    private record Anchors(CriterionEvaluator evaluator, Map<String, PathIndex.Builder> builders,
+                           List<Integer> owners, int member) {
+
+        void query(Map<String, Object> query) {
+            // A query map with any operator is evaluated as operators on the whole document.
+            if (!isOperatorMap(query)) {
+                fields("", query);
+            }
+        }
+
+        private void fields(String prefix, Map<String, Object> fields) {
+            for (Map.Entry<String, Object> entry : fields.entrySet()) {
+                String path = prefix.isEmpty() ? entry.getKey() : prefix + "." + entry.getKey();
+                field(path, entry.getValue());
+            }
+        }
+
+        private void field(String path, Object query) {
+            if (query instanceof Map<?, ?> map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> nested = (Map<String, Object>) map;
+                if (!isOperatorMap(nested)) {
+                    // Nested fields navigate on from this one, exactly as a dotted key would.
+                    fields(path, nested);
+                } else {
+                    operators(path, nested);
+                }
+            } else if (query != null && !(query instanceof List<?>)) {
+                builder(path).equal(query, add());
+            } else {
+                builder(path).present(add());
+            }
+        }
+
+        private void operators(String path, Map<String, Object> operators) {
+            if (operators.containsKey("$exists")) {
+                // $exists is the only operator that sees an absent value, so only it is trusted.
+                if (operators.get("$exists") instanceof Boolean exists) {
+                    if (exists) {
+                        builder(path).present(add());
+                    } else {
+                        builder(path).absent(add());
+                    }
+                }
+                return;
+            }
+            boolean anchored = false;
+            double low = Double.NEGATIVE_INFINITY;
+            double high = Double.POSITIVE_INFINITY;
+            boolean ranged = false;
+            boolean unordered = false;
+            for (Map.Entry<String, Object> entry : operators.entrySet()) {
+                String op = entry.getKey();
+                Object operand = entry.getValue();
+                if (!evaluator.isBuiltIn(op) || ContextPathResolver.containsReference(operand)) {
+                    continue;
+                }
+                switch (op) {
+                    case "$eq" -> {
+                        if (operand != null) {
+                            builder(path).equal(operand, add());
+                            anchored = true;
+                        }
+                    }
+                    case "$in" -> {
+                        if (operand instanceof List<?> keys) {
+                            builder(path).in(keys, add());
+                            anchored = true;
+                        }
+                    }
+                    case "$gt", "$gte" -> {
+                        if (number(operand)) {
+                            low = Math.max(low, ((Number) operand).doubleValue());
+                            ranged = true;
+                        }
+                    }
+                    case "$lt", "$lte" -> {
+                        if (number(operand)) {
+                            high = Math.min(high, ((Number) operand).doubleValue());
+                            ranged = true;
+                        }
+                    }
+                    case "$between" -> {
+                        if (operand instanceof List<?> range && range.size() == 2
+                                && number(range.get(0)) && number(range.get(1))) {
+                            low = Math.max(low, ((Number) range.get(0)).doubleValue());
+                            high = Math.min(high, ((Number) range.get(1)).doubleValue());
+                            ranged = true;
+                            // $between finds no order between a value and its bounds equal to both.
+                            unordered = true;
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+            if (ranged) {
+                builder(path).range(low, high, unordered, add());
+            } else if (!anchored) {
+                builder(path).present(add());
+            }
+        }
+
+        private static boolean isOperatorMap(Map<String, Object> map) {
+            for (String key : map.keySet()) {
+                if (key.startsWith("$")) return true;
+            }
+            return false;
+        }
+
+        private static boolean number(Object operand) {
+            return operand instanceof Number number && !Double.isNaN(number.doubleValue());
+        }
+
+        private PathIndex.Builder builder(String path) {
+            return builders.computeIfAbsent(path, PathIndex.Builder::new);
+        }
+
+        /** Numbers the next anchor, owned by this member. */
+        private int add() {
+            owners.add(member);
+            return owners.size() - 1;
+        }
+    }
+
+    /** The anchors on one field path. */
+    private static final class PathIndex {
+
+        private static final int[] NONE = new int[0];
+
+        private final FieldPath path;
+        /** Exact value (as {@link DocumentAccessor#toJava} gives it) → anchors. */
+        private final Map<Object, int[]> equal;
+        /** Canonical key → {@code $in} anchors. */
+        private final Map<Object, int[]> in;
+        private final Intervals ranges;
+        /** Range anchors that also hold for values with no ordering at all. */
+        private final int[] unordered;
+        private final int[] present;
+        private final int[] absent;
+
+        private PathIndex(Builder builder) {
+            this.path = FieldPath.of(builder.path);
+            this.equal = freeze(builder.equal);
+            this.in = freeze(builder.in);
+            this.ranges = new Intervals(builder.lows, builder.highs, builder.ranged);
+            this.unordered = toArray(builder.unordered);
+            this.present = toArray(builder.present);
+            this.absent = toArray(builder.absent);
+        }
+
+        /** Marks the anchors {@code value} (this path's value in a document) satisfies. */
+        void probe(Object value, DocumentAccessor accessor, BitSet satisfied) {
+            if (value == null) {
+                mark(absent, satisfied);
+                return;
+            }
+            mark(present, satisfied);
+            if (equal.isEmpty() && in.isEmpty() && ranges.isEmpty()) {
+                return;
+            }
+            Object java = accessor.toJava(value);
+            mark(equal.getOrDefault(java, NONE), satisfied);
+            if (!in.isEmpty()) {
+                if (java instanceof List<?> elements) {
+                    for (Object element : elements) {
+                        mark(in.getOrDefault(OperandSet.canonical(element), NONE), satisfied);
+                    }
+                } else {
+                    mark(in.getOrDefault(OperandSet.canonical(java), NONE), satisfied);
+                }
+            }
+            if (java instanceof Number number) {
+                ranges.stab(number.doubleValue(), satisfied);
+            } else if (!(java instanceof Comparable<?>)) {
+                mark(unordered, satisfied);
+            }
+        }
+
+        private static void mark(int[] anchors, BitSet satisfied) {
+            for (int anchor : anchors) {
+                satisfied.set(anchor);
+            }
+        }
+
+        private static Map<Object, int[]> freeze(Map<Object, List<Integer>> postings) {
+            Map<Object, int[]> frozen = new HashMap<>();
+            postings.forEach((key, anchors) -> frozen.put(key, toArray(anchors)));
+            return frozen;
+        }
+
+        private static int[] toArray(List<Integer> anchors) {
+            return anchors.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        static final class Builder {
+
+            private final String path;
+            private final Map<Object, List<Integer>> equal = new HashMap<>();
+            private final Map<Object, List<Integer>> in = new HashMap<>();
+            private final List<Double> lows = new ArrayList<>();
+            private final List<Double> highs = new ArrayList<>();
+            private final List<Integer> ranged = new ArrayList<>();
+            private final List<Integer> unordered = new ArrayList<>();
+            private final List<Integer> present = new ArrayList<>();
+            private final List<Integer> absent = new ArrayList<>();
+
+            Builder(String path) {
+                this.path = path;
+            }
+
+            void equal(Object value, int anchor) {
+                equal.computeIfAbsent(value, key -> new ArrayList<>()).add(anchor);
+            }
+
+            void in(List<?> keys, int anchor) {
+                for (Object key : keys) {
+                    // A null operand still matches a null element of an array value.
+                    List<Integer> anchors = in.computeIfAbsent(OperandSet.canonical(key), k -> new ArrayList<>());
+                    if (anchors.isEmpty() || anchors.get(anchors.size() - 1) != anchor) {
+                        anchors.add(anchor);
+                    }
+                }
+            }
+
+            void range(double low, double high, boolean unordered, int anchor) {
+                lows.add(low);
+                highs.add(high);
+                ranged.add(anchor);
+                if (unordered) {
+                    this.unordered.add(anchor);
+                }
+            }
+
+            void present(int anchor) {
+                present.add(anchor);
+            }
+
+            void absent(int anchor) {
+                absent.add(anchor);
+            }
+
+            PathIndex build() {
+                return new PathIndex(this);
+            }
+        }
+    }
+
+    /**
+     * Closed intervals, answering which contain a point. Intervals are sorted by lower bound,
+     * so those starting at or below the point are a prefix; a segment tree of the greatest
+     * upper bound over that prefix finds the ones still open at the point without visiting the
+     * rest, in time logarithmic in the number of intervals per interval reported.
+     */
+    static final class Intervals {
+
+        private final double[] lows;
+        private final double[] highs;
+        private final int[] anchors;
+        /** Segment tree: greatest upper bound of each node's range, node 1 the root. */
+        private final double[] maxHigh;
+
+        Intervals(List<Double> lows, List<Double> highs, List<Integer> anchors) {
+            int size = lows.size();
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(lows.get(a), lows.get(b)));
+            this.lows = new double[size];
+            this.highs = new double[size];
+            this.anchors = new int[size];
+            for (int i = 0; i < size; i++) {
+                this.lows[i] = lows.get(order[i]);
+                this.highs[i] = highs.get(order[i]);
+                this.anchors[i] = anchors.get(order[i]);
+            }
+            this.maxHigh = new double[Math.max(1, 4 * size)];
+            if (size > 0) {
+                build(1, 0, size - 1);
+            }
+        }
+
+        boolean isEmpty() {
+            return lows.length == 0;
+        }
+
+        /** Marks the anchors of every interval containing {@code point}. */
+        void stab(double point, BitSet satisfied) {
+            if (isEmpty() || Double.isNaN(point)) {
+                return;
+            }
+            // The intervals starting at or below the point: [0, prefix)
+            int low = 0;
+            int high = lows.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (lows[mid] <= point) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low > 0) {
+                report(1, 0, lows.length - 1, low - 1, point, satisfied);
+            }
+        }
+
+        private double build(int node, int from, int to) {
+            if (from == to) {
+                return maxHigh[node] = highs[from];
+            }
+            int mid = (from + to) >>> 1;
+            return maxHigh[node] = Math.max(build(2 * node, from, mid), build(2 * node + 1, mid + 1, to));
+        }
+
+        private void report(int node, int from, int to, int last, double point, BitSet satisfied) {
+            if (from > last || maxHigh[node] < point) {
+                return;
+            }
+            if (from == to) {
+                satisfied.set(anchors[from]);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            report(2 * node, from, mid, last, point, satisfied);
+            report(2 * node + 1, mid + 1, to, last, point, satisfied);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package uk.codery.jspec.evaluator;
+
+import uk.codery.jspec.model.Criterion;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.result.QueryResult;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The queries shared by the specifications of a {@link SpecificationSet}: every structurally
+ * identical normalised query, wherever it is declared, is one <em>node</em>, evaluated at most
+ * once per document and its result handed to every specification that declares it — the
+ * alpha network of a Rete matcher, with queries for its tests.
+ *
+ * <p>Queries are identical when their normalised query maps are {@linkplain Map#equals equal}
+ * <em>and</em> list their keys in the same order, at every level, whatever their ids: evaluation
+ * reports missing paths and the failure reason in key order, so two queries differing only in
+ * key order may not share a result. Queries with {@code $contextPath} operands are never shared, since their
+ * meaning depends on the context document. Nodes are assigned while the set is built and never
+ * change afterwards, so instances are safe to share between threads once built.
+ */
+final class QueryNetwork {
+
+    /** Node of an ordinal whose result is not shared. */
+    static final int UNSHARED = -1;
+
+    /** Nodes by {@link #key order-sensitive key}. */
+    private final Map<Object, Integer> nodes = new HashMap<>();
+    /** Cost units of the distinct nodes, and of the criteria no node stands for. */
+    private double units;
+
+    /**
+     * Assigns every shareable query of {@code plan} a node, reusing the node of an identical
+     * query joined earlier.
+     *
+     * @param plan a member specification's plan
+     * @return each ordinal's node, or {@link #UNSHARED}
+     */
+    int[] join(EvaluationPlan plan) {
+        int[] joined = new int[plan.size()];
+        Arrays.fill(joined, UNSHARED);
+        for (int ordinal = 0; ordinal < joined.length; ordinal++) {
+            Criterion criterion = plan.criterion(ordinal);
+            if (criterion instanceof QueryCriterion query && !ContextPathResolver.containsReference(query.query())) {
+                Object key = key(query.query());
+                Integer node = nodes.get(key);
+                if (node == null) {
+                    node = nodes.size();
+                    nodes.put(key, node);
+                    units += CostModel.units(query);
+                }
+                joined[ordinal] = node;
+            } else {
+                units += CostModel.units(criterion);
+            }
+        }
+        return joined;
+    }
+
+    /**
+     * Returns a key for {@code value} that is equal to another's exactly when the two are equal
+     * and their maps, at every level, iterate their keys in the same order.
+     */
+    static Object key(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            List<Object> entries = new ArrayList<>(map.size() * 2);
+            map.forEach((field, nested) -> {
+                entries.add(field);
+                entries.add(key(nested));
+            });
+            return new OrderedMap(entries);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> elements = new ArrayList<>(list.size());
+            for (Object element : list) {
+                elements.add(key(element));
+            }
+            return elements;
+        }
+        return value;
+    }
+
+    /** A map's keys and values' keys, alternating in iteration order; never equal to a list. */
+    private record OrderedMap(List<Object> entries) {}
+
+    /** Number of distinct shared queries. */
+    int size() {
+        return nodes.size();
+    }
+
+    /** Estimated cost of evaluating every member against one document, shared queries once. */
+    double units() {
+        return units;
+    }
+
+    /**
+     * Returns empty node results for one document.
+     *
+     * @param concurrent whether members will be evaluated on several threads at once
+     */
+    Results results(boolean concurrent) {
+        return new Results(nodes.size(), concurrent);
+    }
+
+    /**
+     * One document's node results. A result is stored with the criterion of the member that
+     * evaluated it first and re-issued under each other member's own criterion, so every
+     * member's outcome is exactly what evaluating it alone would give. Two threads reaching the
+     * same node at once may both evaluate it; the first result stored is the one kept.
+     */
+    static final class Results {
+
+        private static final VarHandle RESULTS = MethodHandles.arrayElementVarHandle(QueryResult[].class);
+
+        private final QueryResult[] results;
+        private final boolean concurrent;
+
+        private Results(int size, boolean concurrent) {
+            this.results = new QueryResult[size];
+            this.concurrent = concurrent;
+        }
+
+        /** Returns the node's result for {@code criterion}, or {@code null} if not evaluated yet. */
+        QueryResult get(int node, QueryCriterion criterion) {
+            QueryResult result = concurrent ? (QueryResult) RESULTS.getAcquire(results, node) : results[node];
+            if (result == null || result.criterion() == criterion) {
+                return result;
+            }
+            return new QueryResult(criterion, result.state(), result.missingPaths(), result.failureReason());
+        }
+
+        /** Stores the node's result, unless another member's is already in place. */
+        void store(int node, QueryResult result) {
+            if (concurrent) {
+                RESULTS.compareAndExchangeRelease(results, node, null, result);
+            } else if (results[node] == null) {
+                results[node] = result;
+            }
+        }
+    }
+}
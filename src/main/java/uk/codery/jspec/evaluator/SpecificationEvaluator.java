@@ -7,15 +7,26 @@ import uk.codery.jspec.model.Criterion;
 import uk.codery.jspec.model.QueryCriterion;
 import uk.codery.jspec.model.Specification;
 import uk.codery.jspec.model.SpecificationNormaliser;
+import uk.codery.jspec.result.BatchOutcome;
+import uk.codery.jspec.result.BatchSummary;
 import uk.codery.jspec.result.EvaluationOutcome;
 import uk.codery.jspec.result.EvaluationResult;
 import uk.codery.jspec.result.EvaluationSummary;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Stream;
 
-import static java.util.function.Predicate.not;
 
 /**
  * Orchestrates the evaluation of a {@link Specification} against documents.
@@ -27,8 +38,13 @@ import static java.util.function.Predicate.not;
  * <h2>Key Features</h2>
  * <ul>
  *   <li><b>Specification Binding:</b> Each evaluator is bound to a single specification</li>
- *   <li><b>Parallel Query Evaluation:</b> Query criteria are evaluated concurrently using
- *       parallel streams; composite/reference evaluation runs sequentially for cycle-safety</li>
+ *   <li><b>Parallel Evaluation:</b> Query criteria, then composites level by level through
+ *       the dependency graph, are evaluated concurrently on a configurable
+ *       {@link ExecutionStrategy}</li>
+ *   <li><b>Batch Evaluation:</b> {@link #evaluateAll(Iterable)} evaluates many documents in
+ *       parallel chunks, returning their outcomes in input order with a batch summary</li>
+ *   <li><b>Context Binding:</b> {@link #bindContext(Object)} resolves {@code $contextPath}
+ *       operands once per context document instead of once per evaluation</li>
  *   <li><b>Result Caching:</b> Individual criterion results are cached for efficient reference reuse</li>
  *   <li><b>Graceful Degradation:</b> One failed criterion never stops the overall evaluation</li>
  *   <li><b>Comprehensive Results:</b> Returns detailed outcomes with summary statistics</li>
@@ -134,25 +150,28 @@ import static java.util.function.Predicate.not;
  * <ul>
  *   <li>Final class with final fields</li>
  *   <li>Specification is immutable and bound at construction</li>
- *   <li>Uses parallel streams (thread-safe operations)</li>
- *   <li>EvaluationContext uses ConcurrentHashMap</li>
+ *   <li>Parallel work runs on the {@link ExecutionStrategy} (thread-safe operations)</li>
+ *   <li>EvaluationContext publishes results through atomic array slots</li>
  *   <li>No mutable shared state</li>
  *   <li>Safe to share across threads and evaluate multiple documents concurrently</li>
  * </ul>
  *
  * <h2>Equality</h2>
  *
- * <p>{@code equals}/{@code hashCode} are based on the (normalised) {@link Specification} only —
- * the immutable, value-typed part. The bound {@link CriterionEvaluator} is deliberately
- * excluded: it is a behavioural collaborator with identity equality, so including it would make
- * two evaluators over the same spec compare unequal merely because they hold different evaluator
- * instances. Two evaluators over equal specifications are therefore equal:
+ * <p>{@code equals}/{@code hashCode} are based on the (normalised) {@link Specification}, the
+ * targets and the bound context document only — the immutable, value-typed part. The bound
+ * {@link CriterionEvaluator} is deliberately excluded: it is a behavioural collaborator with
+ * identity equality, so including it would make two evaluators over the same spec compare
+ * unequal merely because they hold different evaluator instances. Two evaluators over equal
+ * specifications are therefore equal:
  * <pre>{@code
  * new SpecificationEvaluator(spec).equals(new SpecificationEvaluator(spec)); // true
  * }</pre>
  * Caveat: if you bind a custom {@code CriterionEvaluator} (e.g. with extra operators), equality
  * still ignores it — two evaluators over the same spec but with different operator sets compare
- * equal. Equality reflects <em>what</em> is evaluated (the specification), not <em>how</em>.
+ * equal. Equality reflects <em>what</em> is evaluated (the specification, the
+ * {@linkplain #forTargets(Set) targets} if restricted and the
+ * {@linkplain #bindContext(Object) context} if bound), not <em>how</em>.
  *
  * @see Specification
  * @see CriterionEvaluator
@@ -163,9 +182,39 @@ import static java.util.function.Predicate.not;
 @Slf4j
 public final class SpecificationEvaluator {
 
+    /** The most documents one {@link #evaluateAll(Iterable) batch} chunk takes. */
+    static final int MAX_BATCH_CHUNK = 1_024;
+
     private final Specification specification;
     private final CriterionEvaluator criterionEvaluator;
     private final Map<String, Criterion> criterionIndex;
+    private final EvaluationPlan plan;
+    private final EvaluationOptions options;
+    /** The criterion ids to evaluate, or {@code null} for the whole specification. */
+    private final Set<String> targets;
+    /** Ordinals of {@link #targets}, ascending; {@code null} for the whole specification. */
+    private final int[] targetOrdinals;
+    private final EvaluationPlan.Schedule schedule;
+    /** Learned child orders by composite ordinal, shared by every evaluation; {@code null} unless adaptive. */
+    private final BranchProfile[] compositeProfiles;
+    /** The context document whose values are substituted into the plan's queries, or {@code null} if unbound. */
+    private final Object boundContext;
+    /** Evaluators bound to context documents, shared with every evaluator derived from this one. */
+    private final ContextBindings contextBindings;
+    /** Root-level field paths of the compiled queries, shared with every evaluator derived from this one. */
+    private final FieldPathTable pathTable;
+    /** Runs parallel work on the options' strategy and records its queueing, shared with every derived evaluator. */
+    private final ParallelExecution execution;
+    /**
+     * Sizes parallel work by its estimated cost, shared with every derived evaluator; {@code null}
+     * unless cost-based.
+     */
+    private final ParallelismTuner tuner;
+    /** Estimated cost units of each level of {@link #schedule}. */
+    private final double[] levelUnits;
+    /** The cost of the dearest level worth parallelising, and of a whole document, in units. */
+    private final double parallelUnits;
+    private final double documentUnits;
 
     /**
      * Canonical constructor that normalises the bound specification's query
@@ -176,13 +225,153 @@ public final class SpecificationEvaluator {
      * here, since the bound specification is immutable and the index never changes
      * between {@code evaluate} calls.
      *
+     * <p>Finally every indexed query criterion without {@code $contextPath} operands is
+     * compiled into a {@link CompiledQuery} — an immutable node tree with operators,
+     * handlers and field paths resolved up front — so evaluation no longer re-interprets
+     * the raw query maps for each document. Queries that reference the context document
+     * stay on the {@link CriterionEvaluator} interpreter path. The distinct root-level fields
+     * the compiled queries read are numbered in a {@link FieldPathTable}, so each evaluation
+     * navigates a shared field once, however many criteria test it. The resulting
+     * {@link EvaluationPlan} also fixes each criterion's result slot and detects reference
+     * cycles, so evaluation needs neither id lookups nor a runtime cycle guard.
+     *
+     * <p>{@code options} tune how that work is done (see {@link EvaluationOptions}); they
+     * never change the results.
+     *
      * @param specification the specification to bind (normalised before storing)
      * @param criterionEvaluator the criterion evaluator to use for query evaluation
+     * @param options the evaluation options
+     * @throws IllegalArgumentException if options is null
+     * @since 0.8.0
      */
-    public SpecificationEvaluator(Specification specification, CriterionEvaluator criterionEvaluator) {
+    public SpecificationEvaluator(Specification specification, CriterionEvaluator criterionEvaluator,
+                                  EvaluationOptions options) {
+        this(specification, criterionEvaluator, options, new FieldPathTable());
+    }
+
+    /**
+     * The canonical constructor, numbering root-level field paths in {@code pathTable}: a table
+     * of its own, or one shared by the members of a {@link SpecificationSet}.
+     */
+    SpecificationEvaluator(Specification specification, CriterionEvaluator criterionEvaluator,
+                           EvaluationOptions options, FieldPathTable pathTable) {
+        if (options == null) {
+            throw new IllegalArgumentException("EvaluationOptions cannot be null");
+        }
         this.specification = normalise(specification);
         this.criterionEvaluator = criterionEvaluator;
+        this.options = options;
         this.criterionIndex = buildCriterionIndex(this.specification.criteria());
+        this.pathTable = pathTable;
+        this.plan = new EvaluationPlan(this.specification.criteria(), criterionIndex,
+                compileQueries(criterionIndex, criterionEvaluator, options, pathTable));
+        this.targets = null;
+        this.targetOrdinals = null;
+        this.schedule = options.shortCircuit() ? plan.demandSchedule(plan.roots()) : plan.schedule();
+        this.compositeProfiles = options.shortCircuit() && options.adaptiveOrdering() ? compositeProfiles(plan) : null;
+        this.boundContext = null;
+        this.contextBindings = new ContextBindings(options.contextCacheSize(), options.contextCacheTtl(),
+                System::nanoTime, this::bind);
+        this.execution = new ParallelExecution(options.executionStrategy());
+        this.tuner = options.costBasedParallelism() ? new ParallelismTuner(execution) : null;
+        this.levelUnits = ParallelismTuner.levelUnits(plan, schedule);
+        this.parallelUnits = parallelUnits(schedule, levelUnits);
+        this.documentUnits = Arrays.stream(levelUnits).sum();
+    }
+
+    /** The units of the dearest level with more than one criterion: the best case for going parallel. */
+    private static double parallelUnits(EvaluationPlan.Schedule schedule, double[] levelUnits) {
+        double units = 0;
+        int[][] levels = schedule.levels();
+        for (int level = 0; level < levels.length; level++) {
+            if (levels[level].length > 1) {
+                units = Math.max(units, levelUnits[level]);
+            }
+        }
+        return units;
+    }
+
+    /** A profile for each composite with more than one child; composite children only reorder when short-circuiting. */
+    private static BranchProfile[] compositeProfiles(EvaluationPlan plan) {
+        BranchProfile[] profiles = new BranchProfile[plan.size()];
+        for (int ordinal = 0; ordinal < profiles.length; ordinal++) {
+            int[] children = plan.children(ordinal);
+            if (children != null && children.length > 1) {
+                profiles[ordinal] = new BranchProfile(children.length);
+            }
+        }
+        return profiles;
+    }
+
+    /** Shares everything bound by {@code base}, restricted to {@code targets}. */
+    private SpecificationEvaluator(SpecificationEvaluator base, Set<String> targets, int[] targetOrdinals) {
+        this.specification = base.specification;
+        this.criterionEvaluator = base.criterionEvaluator;
+        this.options = base.options;
+        this.criterionIndex = base.criterionIndex;
+        this.plan = base.plan;
+        this.targets = targets;
+        this.targetOrdinals = targetOrdinals;
+        this.schedule = options.shortCircuit() ? plan.demandSchedule(targetOrdinals) : plan.schedule(targetOrdinals);
+        this.compositeProfiles = base.compositeProfiles;
+        this.boundContext = base.boundContext;
+        this.contextBindings = base.contextBindings;
+        this.pathTable = base.pathTable;
+        this.execution = base.execution;
+        this.tuner = base.tuner;
+        this.levelUnits = ParallelismTuner.levelUnits(plan, schedule);
+        this.parallelUnits = parallelUnits(schedule, levelUnits);
+        this.documentUnits = Arrays.stream(levelUnits).sum();
+    }
+
+    /** Shares everything bound by the whole-specification evaluator {@code base}, bound to {@code contextDoc}. */
+    private SpecificationEvaluator(SpecificationEvaluator base, Object contextDoc, EvaluationPlan plan) {
+        this.specification = base.specification;
+        this.criterionEvaluator = base.criterionEvaluator;
+        this.options = base.options;
+        this.criterionIndex = base.criterionIndex;
+        this.plan = plan;
+        this.targets = null;
+        this.targetOrdinals = null;
+        this.schedule = base.schedule;
+        this.compositeProfiles = base.compositeProfiles;
+        this.boundContext = contextDoc;
+        this.contextBindings = base.contextBindings;
+        this.pathTable = base.pathTable;
+        this.execution = base.execution;
+        this.tuner = base.tuner;
+        this.levelUnits = base.levelUnits;
+        this.parallelUnits = base.parallelUnits;
+        this.documentUnits = base.documentUnits;
+    }
+
+    /**
+     * Binds this (unbound, whole-specification) evaluator to {@code contextDoc}: every query
+     * with {@code $contextPath} operands is resolved against it once and compiled like any
+     * other query. Queries without context references keep their compiled form.
+     */
+    private SpecificationEvaluator bind(Object contextDoc) {
+        boolean compile = criterionEvaluator != null && criterionEvaluator.getClass() == CriterionEvaluator.class;
+        EvaluationPlan bound = plan.withQueries(
+                query -> {
+                    Map<String, Object> resolved = ContextPathResolver.resolve(query.query(), contextDoc);
+                    return resolved == query.query() ? query : new QueryCriterion(query.id(), resolved);
+                },
+                query -> compile ? criterionEvaluator.compile(query, options, pathTable) : null);
+        log.debug("Bound specification '{}' to a context document", specification.id());
+        return new SpecificationEvaluator(this, contextDoc, bound);
+    }
+
+    /**
+     * Creates a SpecificationEvaluator with the given criterion evaluator and
+     * {@linkplain EvaluationOptions#defaults() default options}.
+     *
+     * @param specification the specification to bind (normalised before storing)
+     * @param criterionEvaluator the criterion evaluator to use for query evaluation
+     * @see #SpecificationEvaluator(Specification, CriterionEvaluator, EvaluationOptions)
+     */
+    public SpecificationEvaluator(Specification specification, CriterionEvaluator criterionEvaluator) {
+        this(specification, criterionEvaluator, EvaluationOptions.defaults());
     }
 
     /**
@@ -230,26 +419,160 @@ public final class SpecificationEvaluator {
     }
 
     /**
-     * Value equality over the (normalised) {@link Specification} only. The bound
-     * {@link CriterionEvaluator} (identity equality) and the derived criterion index are
-     * excluded — see the class-level "Equality" note for the rationale and caveats.
+     * Returns the evaluation options this evaluator was created with.
+     *
+     * @return the evaluation options
+     * @since 0.8.0
+     */
+    public EvaluationOptions options() {
+        return options;
+    }
+
+    /**
+     * Returns how this evaluator's parallel work has queued on its
+     * {@linkplain EvaluationOptions#executionStrategy() execution strategy} so far, including
+     * the work of evaluators derived from it.
+     *
+     * @return a snapshot of the execution metrics
+     * @since 0.8.0
+     */
+    public ExecutionMetrics executionMetrics() {
+        return execution.metrics();
+    }
+
+    /**
+     * Returns the criterion ids this evaluator is restricted to (see {@link #forTargets(Set)}),
+     * or an empty set if it evaluates the whole specification.
+     *
+     * @return the target criterion ids
+     * @since 0.8.0
+     */
+    public Set<String> targets() {
+        return targets == null ? Set.of() : targets;
+    }
+
+    /**
+     * Returns the parts of a document the bound specification's queries read, for parsing
+     * documents sparsely before they are evaluated. Evaluating a projected document gives the
+     * same outcome as evaluating the full document, provided the criterion evaluator does not
+     * override {@link CriterionEvaluator#evaluateQuery}.
+     *
+     * @return the projection of every query in the specification
+     * @see DocumentProjection
+     * @since 0.8.0
+     */
+    public DocumentProjection projection() {
+        return DocumentProjection.of(specification);
+    }
+
+    /**
+     * Returns an evaluator for just the given criteria: each {@code evaluate} call runs the
+     * targets and their transitive dependencies (composite children and reference targets) and
+     * nothing else, and the outcome holds only the targets' results.
+     *
+     * <p>The dependency closure is computed once, here, so a caller that needs one decision
+     * from a large shared specification can bind it once and pay only for that decision on
+     * every document:
+     * <pre>{@code
+     * SpecificationEvaluator loanEligibility = evaluator.forTargets(Set.of("loan-eligibility"));
+     * EvaluationOutcome outcome = loanEligibility.evaluate(applicant);
+     * }</pre>
+     *
+     * <p>Results are identical to the same criteria's results from a full evaluation,
+     * including reference-cycle reporting. The returned evaluator shares this one's
+     * specification, compiled queries and options; it is {@linkplain #equals(Object) equal} to
+     * another evaluator only if their targets match as well.
+     *
+     * @param targets ids of criteria in the bound specification (queries or composites,
+     *                nested or top-level)
+     * @return an evaluator restricted to {@code targets}
+     * @throws IllegalArgumentException if targets is null or names an id not in the specification
+     * @since 0.8.0
+     */
+    public SpecificationEvaluator forTargets(Set<String> targets) {
+        if (targets == null) {
+            throw new IllegalArgumentException("Targets cannot be null");
+        }
+        int[] ordinals = new int[targets.size()];
+        int i = 0;
+        for (String id : targets) {
+            int ordinal = plan.ordinal(id);
+            if (ordinal == EvaluationPlan.UNKNOWN) {
+                throw new IllegalArgumentException("Unknown criterion id '" + id + "' in specification '"
+                        + specification.id() + "'");
+            }
+            ordinals[i++] = ordinal;
+        }
+        Arrays.sort(ordinals);
+        return new SpecificationEvaluator(this, Set.copyOf(targets), ordinals);
+    }
+
+    /**
+     * Returns an evaluator bound to {@code contextDoc}: every {@code $contextPath} operand in
+     * the specification is resolved against it once, here, and the resolved queries are
+     * compiled, so evaluating a document pays nothing for context resolution.
+     * {@link #evaluate(Object)} on the returned evaluator evaluates against {@code contextDoc}:
+     * <pre>{@code
+     * SpecificationEvaluator tenantRules = evaluator.bindContext(tenantConfig);
+     * for (Object order : orders) {
+     *     EvaluationOutcome outcome = tenantRules.evaluate(order);
+     * }
+     * }</pre>
+     *
+     * <p>Results are identical to {@code evaluate(document, contextDoc)} on this evaluator.
+     * Binding is cheap but not free, so bound evaluators are cached per specification — shared
+     * by this evaluator and every evaluator derived from it — keyed by context document
+     * {@code equals}. The cache is bounded by {@link EvaluationOptions#contextCacheSize()}
+     * (least recently bound evicted first) and {@link EvaluationOptions#contextCacheTtl()}
+     * (elapsed time measured with the monotonic {@link System#nanoTime()}, independent of the
+     * {@linkplain CriterionEvaluator#clock() evaluator's clock}). A context document must not be
+     * mutated once bound; bind the changed copy instead.
+     *
+     * <p>Binding keeps any {@linkplain #forTargets(Set) targets}. Calling
+     * {@code evaluate(document, otherContext)} on a bound evaluator evaluates against
+     * {@code otherContext}, through the cache, as an unbound one would. A bound evaluator is
+     * {@linkplain #equals(Object) equal} to another only if their context documents are equal.
+     *
+     * @param contextDoc the context document to resolve {@code $contextPath} operands against;
+     *                   {@code null} is treated as an empty document
+     * @return an evaluator bound to {@code contextDoc}
+     * @since 0.8.0
+     */
+    public SpecificationEvaluator bindContext(Object contextDoc) {
+        Object context = contextDoc == null ? Map.of() : contextDoc;
+        if (boundContext != null && (boundContext == context || boundContext.equals(context))) {
+            return this;
+        }
+        SpecificationEvaluator bound = contextBindings.get(context);
+        return targets == null ? bound : new SpecificationEvaluator(bound, targets, targetOrdinals);
+    }
+
+    /**
+     * Value equality over the (normalised) {@link Specification}, the
+     * {@linkplain #targets() targets} and the {@linkplain #bindContext(Object) bound context}.
+     * The bound {@link CriterionEvaluator} (identity equality), the {@link EvaluationOptions}
+     * and the derived criterion index are excluded — see the class-level "Equality" note for
+     * the rationale and caveats.
      */
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof SpecificationEvaluator that)) return false;
-        return specification.equals(that.specification);
+        return specification.equals(that.specification) && Objects.equals(targets, that.targets)
+                && Objects.equals(boundContext, that.boundContext);
     }
 
     @Override
     public int hashCode() {
-        return specification.hashCode();
+        return Objects.hash(specification, targets, boundContext);
     }
 
     @Override
     public String toString() {
         return "SpecificationEvaluator[specification=" + specification
-                + ", criterionEvaluator=" + criterionEvaluator + "]";
+                + ", criterionEvaluator=" + criterionEvaluator
+                + (targets == null ? "" : ", targets=" + targets)
+                + (boundContext == null ? "" : ", boundContext=" + boundContext) + "]";
     }
 
     private static Specification normalise(Specification spec) {
@@ -312,24 +635,49 @@ public final class SpecificationEvaluator {
         }
     }
 
+    /**
+     * Compiles every indexed query criterion that carries no {@code $contextPath} operand.
+     * Compilation is skipped for {@link CriterionEvaluator} subclasses, which may override
+     * {@link CriterionEvaluator#evaluateQuery} and must keep seeing every query.
+     */
+    private static Map<String, CompiledQuery> compileQueries(Map<String, Criterion> index,
+                                                             CriterionEvaluator criterionEvaluator,
+                                                             EvaluationOptions options,
+                                                             FieldPathTable pathTable) {
+        if (criterionEvaluator == null || criterionEvaluator.getClass() != CriterionEvaluator.class) {
+            return Map.of();
+        }
+        Map<String, CompiledQuery> compiled = new HashMap<>();
+        for (Criterion c : index.values()) {
+            if (c instanceof QueryCriterion q && !ContextPathResolver.containsReference(q.query())) {
+                compiled.put(q.id(), criterionEvaluator.compile(q, options, pathTable));
+            }
+        }
+        log.debug("Compiled {} of {} indexed criteria, reading {} distinct root fields",
+                compiled.size(), index.size(), pathTable.size());
+        return compiled;
+    }
+
     /**
      * Evaluates the bound specification against a document.
      *
      * <p>This method:
      * <ol>
      *   <li>Creates an {@link EvaluationContext} for result caching</li>
-     *   <li>Evaluates query criteria in parallel, then composites/references sequentially
-     *       (uses cache for references)</li>
-     *   <li>Collects all results from the cache</li>
+     *   <li>Evaluates criteria level by level through the dependency graph: queries first,
+     *       then each composite once its children are done (uses cache for references)</li>
+     *   <li>Collects all results in declaration order</li>
      *   <li>Generates summary statistics</li>
      *   <li>Returns comprehensive evaluation outcome</li>
      * </ol>
      *
      * <h3>Evaluation Process:</h3>
      * <ul>
-     *   <li><b>Parallel Query Evaluation:</b> Query criteria evaluated concurrently;
-     *       composites/references evaluated sequentially for reference-cycle safety</li>
-     *   <li><b>Result Caching:</b> Results stored in context by criterion ID</li>
+     *   <li><b>Parallel Evaluation:</b> Criteria of the same level (queries, then composites
+     *       of equal depth) evaluated concurrently</li>
+     *   <li><b>Reference Cycles:</b> Detected once at construction; a reference closing a
+     *       cycle evaluates to UNDETERMINED</li>
+     *   <li><b>Result Caching:</b> Results stored in context by criterion ordinal</li>
      *   <li><b>Reference Reuse:</b> References use cached results (no re-evaluation)</li>
      *   <li><b>Summary Generation:</b> Statistics computed from all results</li>
      * </ul>
@@ -363,7 +711,7 @@ public final class SpecificationEvaluator {
      * @see EvaluationContext
      */
     public EvaluationOutcome evaluate(Object document) {
-        return evaluate(document, Map.of());
+        return evaluate(document, boundContext == null ? Map.of() : boundContext);
     }
 
     /**
@@ -371,7 +719,9 @@ public final class SpecificationEvaluator {
      * context document supplied for resolving {@code $contextPath} operand references.
      *
      * <p>This is the two-arg form of {@link #evaluate(Object)}. The single-arg form
-     * delegates to this method with an empty context document ({@code Map.of()}).
+     * delegates to this method with an empty context document ({@code Map.of()}), or the
+     * bound one if this evaluator was returned by {@link #bindContext(Object)}. Callers that
+     * evaluate many documents against the same context document should bind it once instead.
      *
      * <h3>Context References</h3>
      * <p>When a criterion's operand contains a {@code { "$contextPath": "a.b.c" }}
@@ -407,36 +757,261 @@ public final class SpecificationEvaluator {
      * @see uk.codery.jspec.model.ContextPathReference
      */
     public EvaluationOutcome evaluate(Object document, Object contextDoc) {
-        log.info("Starting evaluation of specification '{}'", specification.id());
-
-        List<EvaluationResult> results;
-        // try-with-resources clears the context's per-thread cycle guard on close so it does
-        // not linger on pooled threads (only phase 2, on the calling thread, touches it).
-        try (EvaluationContext context =
-                     new EvaluationContext(criterionEvaluator, contextDoc, criterionIndex)) {
-            // Phase 1 (queries) carries the parallel workload — queries never trigger
-            // on-demand reference resolution, so there is no cross-thread cycle hazard here.
-            specification.criteria().parallelStream().filter(QueryCriterion.class::isInstance)
-                    .forEach(criterion -> context.getOrEvaluate(criterion, document));
-            // Phase 2 is intentionally SEQUENTIAL: composite/reference evaluation can trigger
-            // on-demand resolution of referenced criteria, and the reference-cycle guard is
-            // per-thread. Running it in parallel could deadlock two mutually-referencing
-            // top-level composites on ConcurrentHashMap.computeIfAbsent bin locks.
-            specification.criteria().stream().filter(not(QueryCriterion.class::isInstance))
-                    .forEach(criterion -> context.getOrEvaluate(criterion, document));
-
-            log.debug("Evaluated {} criteria for specification '{}'",
-                    context.cacheSize(), specification.id());
-            results = List.copyOf(context.getAllResults());
+        if (boundContext != null && contextDoc != boundContext
+                && !boundContext.equals(contextDoc == null ? Map.of() : contextDoc)) {
+            return bindContext(contextDoc).evaluate(document);
         }
+        log.info("Starting evaluation of specification '{}'", specification.id());
 
-        // Generate summary from results
-        EvaluationSummary summary = EvaluationSummary.from(results);
+        boolean parallel = schedule.parallelisable() && execution.parallel()
+                && tasks(parallelUnits, execution.parallelism()) > 1;
+        EvaluationOutcome outcome = evaluate(document, newContext(document, contextDoc, parallel), parallel);
+        EvaluationSummary summary = outcome.summary();
 
-        log.info("Completed evaluation of specification '{}' - Total: {}, Matched: {}, Not Matched: {}, Undetermined: {}, Fully Determined: {}",
+        log.info("Completed evaluation of specification '{}' - Total: {}, Matched: {}, Not Matched: {}, "
+                        + "Undetermined: {}, Fully Determined: {}",
                 specification.id(), summary.total(), summary.matched(),
                 summary.notMatched(), summary.undetermined(), summary.fullyDetermined());
 
-        return new EvaluationOutcome(specification.id(), results, summary);
+        return outcome;
+    }
+
+    /**
+     * Evaluates {@code document} as one member of a {@link SpecificationSet}, without logging
+     * and on the calling thread: field values come from the set's shared {@code pathValues}
+     * (this evaluator's path table being the set's), and queries with a node in {@code nodes}
+     * share their results through {@code shared}.
+     */
+    EvaluationOutcome evaluateShared(Object document, Object contextDoc, PathValues pathValues,
+                                     int[] nodes, QueryNetwork.Results shared) {
+        EvaluationContext context = new EvaluationContext(criterionEvaluator, contextDoc, plan, false,
+                options.shortCircuit(), compositeProfiles, pathValues, nodes, shared);
+        return evaluate(document, context, false);
+    }
+
+    /** The plan this evaluator evaluates. */
+    EvaluationPlan plan() {
+        return plan;
+    }
+
+    /** The table numbering this evaluator's root-level field paths. */
+    FieldPathTable pathTable() {
+        return pathTable;
+    }
+
+    /** A planned context for one evaluation of {@code document}. */
+    private EvaluationContext newContext(Object document, Object contextDoc, boolean concurrent) {
+        int paths = pathTable.size();
+        return new EvaluationContext(criterionEvaluator, contextDoc, plan, concurrent, options.shortCircuit(),
+                compositeProfiles, paths == 0 ? null : new PathValues(document, paths, concurrent));
+    }
+
+    /** Runs the schedule against {@code document} in a fresh (or freshly reset) {@code context}. */
+    private EvaluationOutcome evaluate(Object document, EvaluationContext context, boolean parallel) {
+        // Level by level: level 0 holds the queries (and childless composites), and every
+        // composite sits above all of its children, so it only combines results already in
+        // place. Reference cycles were cut when the plan was built, so nothing within a level
+        // waits on anything else and each level can run in parallel. When short-circuiting,
+        // only the roots are scheduled — top-level queries, then each composite on its own —
+        // and composites evaluate just the children they need.
+        int[][] levels = schedule.levels();
+        boolean sample = tuner != null && tuner.sample();
+        for (int l = 0; l < levels.length; l++) {
+            int[] level = levels[l];
+            int slices = parallel && level.length > 1
+                    ? tasks(levelUnits[l], Math.min(level.length, execution.parallelism()))
+                    : 1;
+            long start = sample ? System.nanoTime() : 0;
+            if (slices > 1) {
+                // Each task takes every slices-th criterion of the level; timed on the tasks
+                // themselves when sampled, since the level's wall time hides its work
+                LongAdder work = sample ? new LongAdder() : null;
+                execution.invokeAll(slices, slice -> {
+                    long sliceStart = work != null ? System.nanoTime() : 0;
+                    for (int i = slice; i < level.length; i += slices) {
+                        context.evaluate(level[i], document);
+                    }
+                    if (work != null) {
+                        work.add(System.nanoTime() - sliceStart);
+                    }
+                });
+                if (sample) {
+                    tuner.record(levelUnits[l], work.sum());
+                }
+            } else {
+                for (int ordinal : level) {
+                    context.evaluate(ordinal, document);
+                }
+                if (sample && level.length > 1) {
+                    tuner.record(levelUnits[l], System.nanoTime() - start);
+                }
+            }
+        }
+
+        // Every indexed criterion is reachable from the top level, so a full evaluation yields
+        // one result per criterion id (short-circuiting: per criterion evaluated), in
+        // declaration order; a targeted one just the targets'.
+        List<EvaluationResult> results = targetOrdinals == null
+                ? List.copyOf(context.getAllResults())
+                : context.results(targetOrdinals);
+        log.debug("Evaluated {} criteria for specification '{}'", results.size(), specification.id());
+
+        return new EvaluationOutcome(specification.id(), results, EvaluationSummary.from(results));
+    }
+
+    /**
+     * Evaluates only the given criteria, and their transitive dependencies, against a document.
+     *
+     * <p>Equivalent to {@code forTargets(targets).evaluate(document, contextDoc)}. Callers that
+     * evaluate the same targets repeatedly should bind them once with {@link #forTargets(Set)}
+     * instead of computing the dependency closure on every call.
+     *
+     * @param document the target document to evaluate (typically a Map, but can be any Object)
+     * @param contextDoc the context document used to resolve {@code $contextPath} operand
+     *                   references; pass {@code Map.of()} when no context references are used
+     * @param targets ids of the criteria to evaluate
+     * @return evaluation outcome with the targets' results and their summary
+     * @throws IllegalArgumentException if targets is null or names an id not in the specification
+     * @see #forTargets(Set)
+     * @since 0.8.0
+     */
+    public EvaluationOutcome evaluate(Object document, Object contextDoc, Set<String> targets) {
+        return forTargets(targets).evaluate(document, contextDoc);
+    }
+
+    /**
+     * Evaluates the bound specification against each of {@code documents}, returning their
+     * outcomes in input order together with a summary of the whole batch.
+     *
+     * <p>Each outcome is identical to {@link #evaluate(Object)} on the same document, but a
+     * batch is parallelised across documents rather than within one: documents are split into
+     * contiguous chunks that run concurrently on the
+     * {@linkplain EvaluationOptions#executionStrategy() execution strategy}, and each chunk
+     * evaluates its documents one at a time, reusing a single evaluation context (result slots
+     * and shared field values) from one document to the next. Progress is logged once per
+     * batch rather than once per document. This is the efficient way to run one specification
+     * over a large number of documents:
+     * <pre>{@code
+     * BatchOutcome batch = evaluator.evaluateAll(documents);
+     * batch.outcomes().forEach(outcome -> store(outcome));
+     * log.info("{} of {} documents fully determined",
+     *         batch.summary().fullyDeterminedDocuments(), batch.summary().documents());
+     * }</pre>
+     *
+     * <p>{@code $contextPath} operands are resolved against the
+     * {@linkplain #bindContext(Object) bound context}, if any — bind the context once and call
+     * {@code evaluateAll} on the bound evaluator. {@linkplain #forTargets(Set) Targets} are
+     * honoured as in {@link #evaluate(Object)}. Documents are read once, in order; a
+     * {@link RandomAccess} list is used as is, any other {@code Iterable} is copied first.
+     *
+     * @param documents the documents to evaluate (typically Maps, but can be any Objects)
+     * @return the outcome of each document, in input order, and their summary
+     * @throws IllegalArgumentException if documents is null
+     * @see BatchOutcome
+     * @since 0.8.0
+     */
+    public BatchOutcome evaluateAll(Iterable<?> documents) {
+        if (documents == null) {
+            throw new IllegalArgumentException("Documents cannot be null");
+        }
+        if (documents instanceof List<?> list && list instanceof RandomAccess) {
+            return evaluateBatch(list);
+        }
+        if (documents instanceof Collection<?> collection) {
+            return evaluateBatch(new ArrayList<>(collection));
+        }
+        List<Object> copy = new ArrayList<>();
+        documents.forEach(copy::add);
+        return evaluateBatch(copy);
+    }
+
+    /**
+     * Evaluates the bound specification against each document of {@code documents}, in
+     * encounter order. The stream is drained into a list first; see
+     * {@link #evaluateAll(Iterable)}.
+     *
+     * @param documents the documents to evaluate (typically Maps, but can be any Objects)
+     * @return the outcome of each document, in encounter order, and their summary
+     * @throws IllegalArgumentException if documents is null
+     * @see #evaluateAll(Iterable)
+     * @since 0.8.0
+     */
+    public BatchOutcome evaluateAll(Stream<?> documents) {
+        if (documents == null) {
+            throw new IllegalArgumentException("Documents cannot be null");
+        }
+        return evaluateBatch(documents.toList());
+    }
+
+    private BatchOutcome evaluateBatch(List<?> documents) {
+        log.info("Starting batch evaluation of specification '{}' over {} documents",
+                specification.id(), documents.size());
+
+        // Handed to BatchOutcome as is: the outcome array is the only copy of the references.
+        List<EvaluationOutcome> ordered = Collections.unmodifiableList(Arrays.asList(evaluateChunks(documents)));
+        BatchSummary summary = BatchSummary.from(ordered);
+        log.info("Completed batch evaluation of specification '{}' - Documents: {}, "
+                        + "Fully Determined: {}, Undetermined results: {}",
+                specification.id(), summary.documents(), summary.fullyDeterminedDocuments(), summary.undetermined());
+
+        return new BatchOutcome(specification.id(), ordered, summary);
+    }
+
+    /**
+     * Evaluates {@code documents} in parallel chunks without logging, returning their outcomes
+     * in input order; the work behind {@link #evaluateAll(Iterable)} and the
+     * {@link StreamingEvaluator}'s windows.
+     */
+    EvaluationOutcome[] evaluateChunks(List<?> documents) {
+        EvaluationOutcome[] outcomes = new EvaluationOutcome[documents.size()];
+        evaluateChunks(documents, 0, documents.size(), (outcome, i) -> outcomes[i] = outcome);
+        return outcomes;
+    }
+
+    /**
+     * Evaluates the documents at {@code [from, to)} of {@code documents} in parallel chunks
+     * without logging, handing each outcome to {@code sink} with its index. Chunks call the sink
+     * concurrently, each for a different index; all calls have returned when this does.
+     */
+    void evaluateChunks(List<?> documents, int from, int to, ObjIntConsumer<EvaluationOutcome> sink) {
+        int size = to - from;
+        if (size <= 0) {
+            return;
+        }
+        int defaultChunkSize = batchChunkSize(size, execution.parallelism());
+        int defaultChunks = (size + defaultChunkSize - 1) / defaultChunkSize;
+        // With too little work to split this far, take fewer, larger chunks
+        int worth = Math.max(1, tasks(documentUnits * size, defaultChunks));
+        int chunkSize = worth < defaultChunks ? (size + worth - 1) / worth : defaultChunkSize;
+        int chunks = (size + chunkSize - 1) / chunkSize;
+
+        Object contextDoc = boundContext == null ? Map.of() : boundContext;
+        execution.invokeAll(chunks, chunk -> {
+            int first = from + chunk * chunkSize;
+            int last = Math.min(to, first + chunkSize);
+            // One single-threaded context per chunk, reset between its documents.
+            EvaluationContext context = newContext(documents.get(first), contextDoc, false);
+            for (int i = first; i < last; i++) {
+                Object document = documents.get(i);
+                if (i > first) {
+                    context.reset(document);
+                }
+                sink.accept(evaluate(document, context, false), i);
+            }
+        });
+    }
+
+    /** How many tasks {@code units} of work is worth splitting into, at most {@code max}. */
+    private int tasks(double units, int max) {
+        return tuner == null ? max : tuner.tasks(units, max);
+    }
+
+    /**
+     * The number of documents each batch chunk takes: about four chunks per worker, so workers
+     * that draw cheap documents take more chunks, capped at {@link #MAX_BATCH_CHUNK}.
+     */
+    static int batchChunkSize(int documents, int parallelism) {
+        int chunks = Math.max(1, parallelism) * 4;
+        return Math.max(1, Math.min(MAX_BATCH_CHUNK, (documents + chunks - 1) / chunks));
     }
 }
@@ -0,0 +1,251 @@
+package uk.codery.jspec.evaluator;
+
+import lombok.extern.slf4j.Slf4j;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.result.EvaluationOutcome;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluates one document against many specifications at once, evaluating each query the
+ * specifications have in common only once.
+ *
+ * <p>Gateways and rule engines often hold hundreds of specifications that test the same
+ * things — {@code {customer.verified: true}}, {@code {order.total: {$gt: 100}}} — under
+ * different ids. Evaluating a {@link SpecificationEvaluator} per specification repeats that
+ * work for every specification. A set instead merges the specifications into one network:
+ * <ul>
+ *   <li>structurally identical normalised queries, whatever their ids, are one shared node,
+ *       evaluated the first time any specification needs it and reused by the rest — identical
+ *       down to the order of their keys, which decides the order of reported missing paths;</li>
+ *   <li>root-level field paths are numbered across all specifications, so each is navigated
+ *       in the document once per evaluation, however many specifications read it.</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * SpecificationSet rules = new SpecificationSet(specifications);
+ *
+ * Map<String, EvaluationOutcome> outcomes = rules.evaluate(request);
+ * EvaluationOutcome fraud = outcomes.get("fraud-screening");
+ * }</pre>
+ *
+ * <p>Each outcome is identical to evaluating its specification alone with
+ * {@link SpecificationEvaluator#evaluate(Object, Object)}: shared results are re-issued under
+ * each specification's own criterion ids, and composites and references still resolve within
+ * their own specification. Queries with {@code $contextPath} operands are evaluated per
+ * specification, since their meaning depends on the context document.
+ *
+ * <p>Every specification is evaluated with the same {@link CriterionEvaluator} and
+ * {@link EvaluationOptions}. The specifications are split across the options'
+ * {@linkplain EvaluationOptions#executionStrategy() execution strategy} as far as their
+ * estimated cost justifies; each specification is evaluated on one thread.
+ *
+ * <p>Instances are immutable and thread-safe.
+ *
+ * @see SpecificationEvaluator
+ * @since 0.8.0
+ */
+@Slf4j
+public final class SpecificationSet {
+
+    private final List<Specification> specifications;
+    private final List<String> ids;
+    private final SpecificationEvaluator[] evaluators;
+    /** Per member: the {@link QueryNetwork} node of each ordinal. */
+    private final int[][] nodes;
+    private final QueryNetwork network;
+    private final FieldPathTable pathTable;
+    private final ParallelExecution execution;
+    /** Sizes the split across members; {@code null} unless cost-based. */
+    private final ParallelismTuner tuner;
+
+    /**
+     * Creates a set evaluating with default built-in operators and
+     * {@linkplain EvaluationOptions#defaults() default options}.
+     *
+     * @param specifications the specifications to evaluate, with distinct ids
+     * @throws IllegalArgumentException if specifications is or contains null, or two share an id
+     */
+    public SpecificationSet(Collection<Specification> specifications) {
+        this(specifications, new CriterionEvaluator());
+    }
+
+    /**
+     * Creates a set evaluating with {@code criterionEvaluator} and
+     * {@linkplain EvaluationOptions#defaults() default options}.
+     *
+     * @param specifications     the specifications to evaluate, with distinct ids
+     * @param criterionEvaluator the criterion evaluator to use for query evaluation
+     * @throws IllegalArgumentException if specifications is or contains null, or two share an id
+     */
+    public SpecificationSet(Collection<Specification> specifications, CriterionEvaluator criterionEvaluator) {
+        this(specifications, criterionEvaluator, EvaluationOptions.defaults());
+    }
+
+    /**
+     * Creates a set evaluating with {@code criterionEvaluator} and {@code options}.
+     *
+     * @param specifications     the specifications to evaluate, with distinct ids
+     * @param criterionEvaluator the criterion evaluator to use for query evaluation
+     * @param options            the evaluation options, applied to every specification
+     * @throws IllegalArgumentException if specifications is or contains null, two share an id,
+     *                                  or options is null
+     */
+    public SpecificationSet(Collection<Specification> specifications, CriterionEvaluator criterionEvaluator,
+                            EvaluationOptions options) {
+        if (specifications == null) {
+            throw new IllegalArgumentException("Specifications cannot be null");
+        }
+        if (options == null) {
+            throw new IllegalArgumentException("EvaluationOptions cannot be null");
+        }
+        this.pathTable = new FieldPathTable();
+        this.network = new QueryNetwork();
+        this.evaluators = new SpecificationEvaluator[specifications.size()];
+        this.nodes = new int[specifications.size()][];
+        Set<String> distinct = new LinkedHashSet<>();
+        int member = 0;
+        for (Specification specification : specifications) {
+            if (specification == null) {
+                throw new IllegalArgumentException("Specification cannot be null");
+            }
+            if (!distinct.add(specification.id())) {
+                throw new IllegalArgumentException("Duplicate specification id: " + specification.id());
+            }
+            evaluators[member] = new SpecificationEvaluator(specification, criterionEvaluator, options, pathTable);
+            nodes[member] = network.join(evaluators[member].plan());
+            member++;
+        }
+        this.ids = List.copyOf(distinct);
+        this.specifications = List.copyOf(specifications);
+        this.execution = new ParallelExecution(options.executionStrategy());
+        this.tuner = options.costBasedParallelism() ? new ParallelismTuner(execution) : null;
+        log.debug("Built specification set of {} specifications - {} distinct shared queries, {} field paths",
+                evaluators.length, network.size(), pathTable.size());
+    }
+
+    /**
+     * Returns the specifications of this set, in the order given.
+     *
+     * @return the specifications, as passed to the constructor
+     */
+    public List<Specification> specifications() {
+        return specifications;
+    }
+
+    /**
+     * Returns the number of distinct queries shared across the set: each is evaluated at most
+     * once per document, however many specifications declare it.
+     *
+     * @return the number of shared queries
+     */
+    public int sharedQueries() {
+        return network.size();
+    }
+
+    /**
+     * Evaluates every specification against {@code document}, with an empty context document.
+     *
+     * @param document the document to evaluate (typically a Map, but can be any Object)
+     * @return each specification's outcome by specification id, in the set's order
+     * @see #evaluate(Object, Object)
+     */
+    public Map<String, EvaluationOutcome> evaluate(Object document) {
+        return evaluate(document, Map.of());
+    }
+
+    /**
+     * Evaluates every specification against {@code document}, resolving {@code $contextPath}
+     * operands against {@code contextDoc}.
+     *
+     * @param document   the document to evaluate (typically a Map, but can be any Object)
+     * @param contextDoc the context document; {@code null} is treated as empty
+     * @return each specification's outcome by specification id, in the set's order
+     */
+    public Map<String, EvaluationOutcome> evaluate(Object document, Object contextDoc) {
+        log.info("Starting evaluation of {} specifications", evaluators.length);
+        Map<String, EvaluationOutcome> outcomes = evaluate(document, contextDoc, null);
+        log.info("Completed evaluation of {} specifications", evaluators.length);
+        return outcomes;
+    }
+
+    /**
+     * Evaluates the members at {@code members} (ascending indexes into {@link #specifications()},
+     * or {@code null} for all) without logging, sharing queries between them as
+     * {@link #evaluate(Object, Object)} does.
+     */
+    Map<String, EvaluationOutcome> evaluate(Object document, Object contextDoc, int[] members) {
+        Object context = contextDoc == null ? Map.of() : contextDoc;
+        int count = members == null ? evaluators.length : members.length;
+        double units = network.units() * count / Math.max(1, evaluators.length);
+
+        int slices = count > 1 && execution.parallel()
+                ? tasks(units, Math.min(count, execution.parallelism()))
+                : 1;
+        boolean concurrent = slices > 1;
+        int paths = pathTable.size();
+        PathValues pathValues = paths == 0 ? null : new PathValues(document, paths, concurrent);
+        QueryNetwork.Results shared = network.results(concurrent);
+        EvaluationOutcome[] outcomes = new EvaluationOutcome[count];
+
+        boolean sample = tuner != null && tuner.sample();
+        long start = sample ? System.nanoTime() : 0;
+        if (concurrent) {
+            // Each task takes every slices-th member; timed on the tasks themselves when sampled
+            LongAdder work = sample ? new LongAdder() : null;
+            execution.invokeAll(slices, slice -> {
+                long sliceStart = work != null ? System.nanoTime() : 0;
+                for (int i = slice; i < count; i += slices) {
+                    int member = members == null ? i : members[i];
+                    outcomes[i] = evaluateMember(member, document, context, pathValues, shared);
+                }
+                if (work != null) {
+                    work.add(System.nanoTime() - sliceStart);
+                }
+            });
+            if (sample) {
+                tuner.record(units, work.sum());
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                outcomes[i] = evaluateMember(members == null ? i : members[i], document, context, pathValues, shared);
+            }
+            if (sample) {
+                tuner.record(units, System.nanoTime() - start);
+            }
+        }
+
+        Map<String, EvaluationOutcome> byId = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            byId.put(ids.get(members == null ? i : members[i]), outcomes[i]);
+        }
+        return Collections.unmodifiableMap(byId);
+    }
+
+    private EvaluationOutcome evaluateMember(int member, Object document, Object context, PathValues pathValues,
+                                             QueryNetwork.Results shared) {
+        return evaluators[member].evaluateShared(document, context, pathValues, nodes[member], shared);
+    }
+
+    /** How many tasks {@code units} of the set's work is worth splitting into, at most {@code max}. */
+    private int tasks(double units, int max) {
+        return tuner == null ? max : tuner.tasks(units, max);
+    }
+
+    /** The evaluator of the member at {@code member}, bound to its normalised specification. */
+    SpecificationEvaluator member(int member) {
+        return evaluators[member];
+    }
+
+    @Override
+    public String toString() {
+        return "SpecificationSet" + ids;
+    }
+}
@@ -0,0 +1,377 @@
+package uk.codery.jspec.evaluator;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import uk.codery.jspec.result.BatchSummary;
+import uk.codery.jspec.result.EvaluationOutcome;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Evaluates a specification against every record of a JSON stream as it is parsed, without
+ * ever holding the whole input in memory.
+ *
+ * <p>The input is either newline-delimited JSON (NDJSON — or any sequence of root-level
+ * values) or a single top-level JSON array of records; the format is recognised from the
+ * first token. Records are parsed with Jackson's streaming parser in windows of
+ * {@code windowSize}; each full window is {@linkplain SpecificationEvaluator#evaluateAll(Iterable)
+ * evaluated in parallel chunks}, on the evaluator's {@link ExecutionStrategy}, while the next
+ * window is parsed, and its outcomes are handed to the sink, in input order, on the calling
+ * thread. At most three windows are alive at once — one being parsed, one being evaluated and
+ * one being delivered — so memory is bounded by the window size, not the input size. A
+ * window no worker has started by the time its outcomes are due is evaluated on the calling
+ * thread instead, so the strategy's executor may be saturated, or shared with the caller:
+ * <pre>{@code
+ * StreamingEvaluator streaming = new StreamingEvaluator(evaluator);
+ * JsonResultFormatter json = new JsonResultFormatter(false);
+ *
+ * try (BufferedWriter out = Files.newBufferedWriter(outcomesPath)) {
+ *     BatchSummary summary = streaming.evaluate(exportPath, outcome -> {
+ *         try {
+ *             out.write(json.format(outcome));
+ *             out.newLine();
+ *         } catch (IOException e) {
+ *             throw new UncheckedIOException(e);
+ *         }
+ *     });
+ * }
+ * }</pre>
+ *
+ * <p>Each outcome is identical to {@link SpecificationEvaluator#evaluate(Object)} on the parsed
+ * record; {@code $contextPath} operands resolve against the evaluator's
+ * {@linkplain SpecificationEvaluator#bindContext(Object) bound context}. Supplying a YAML
+ * {@link ObjectMapper} reads a multi-document YAML stream instead.
+ *
+ * <p>Records are usually far wider than what the specification tests. {@link #withProjection()}
+ * returns a streaming evaluator that parses only the fields the specification's queries read
+ * (see {@link DocumentProjection}) and skips the rest unbuilt, with the same outcomes.
+ *
+ * <h2>Errors</h2>
+ *
+ * <p>Malformed input fails with the parser's {@link IOException} once it is reached. Outcomes
+ * already handed to the sink stay delivered; the records parsed since (at most two windows)
+ * are dropped. An exception thrown by the sink, or by evaluation, stops the evaluation and
+ * propagates unchanged.
+ *
+ * <p>Instances are immutable and thread-safe; each {@code evaluate} call reads its own input.
+ *
+ * @see SpecificationEvaluator#evaluateAll(Iterable)
+ * @see BatchSummary
+ * @since 0.8.0
+ */
+@Slf4j
+public final class StreamingEvaluator {
+
+    /** The number of records parsed per window unless another is given. */
+    public static final int DEFAULT_WINDOW_SIZE = 4_096;
+
+    private final SpecificationEvaluator evaluator;
+    private final ObjectReader reader;
+    private final int windowSize;
+    /** Reads each record sparsely; {@code null} to read records whole. */
+    private final DocumentProjection projection;
+
+    /**
+     * Creates a streaming evaluator reading JSON with windows of {@link #DEFAULT_WINDOW_SIZE}
+     * records.
+     *
+     * @param evaluator the evaluator to apply to each record
+     * @throws IllegalArgumentException if evaluator is null
+     */
+    public StreamingEvaluator(SpecificationEvaluator evaluator) {
+        this(evaluator, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates a streaming evaluator reading JSON with windows of {@code windowSize} records.
+     *
+     * @param evaluator  the evaluator to apply to each record
+     * @param windowSize the number of records parsed, and evaluated, together
+     * @throws IllegalArgumentException if evaluator is null or windowSize is not positive
+     */
+    public StreamingEvaluator(SpecificationEvaluator evaluator, int windowSize) {
+        this(evaluator, windowSize, new ObjectMapper());
+    }
+
+    /**
+     * Creates a streaming evaluator reading records with {@code mapper}'s parser — for example
+     * a {@code YAMLFactory} mapper for multi-document YAML.
+     *
+     * @param evaluator  the evaluator to apply to each record
+     * @param windowSize the number of records parsed, and evaluated, together
+     * @param mapper     the mapper whose parser reads, and binds, the records
+     * @throws IllegalArgumentException if evaluator or mapper is null or windowSize is not positive
+     */
+    public StreamingEvaluator(SpecificationEvaluator evaluator, int windowSize, ObjectMapper mapper) {
+        if (evaluator == null) {
+            throw new IllegalArgumentException("SpecificationEvaluator cannot be null");
+        }
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be positive, got " + windowSize);
+        }
+        if (mapper == null) {
+            throw new IllegalArgumentException("ObjectMapper cannot be null");
+        }
+        this.evaluator = evaluator;
+        this.reader = mapper.readerFor(Object.class);
+        this.windowSize = windowSize;
+        this.projection = null;
+    }
+
+    private StreamingEvaluator(StreamingEvaluator base, DocumentProjection projection) {
+        this.evaluator = base.evaluator;
+        this.reader = base.reader;
+        this.windowSize = base.windowSize;
+        this.projection = projection;
+    }
+
+    /**
+     * Returns a streaming evaluator like this one that parses only the parts of each record
+     * the specification's queries read, skipping everything else without binding it. Outcomes
+     * are unchanged, provided the evaluator's criterion evaluator does not override
+     * {@link CriterionEvaluator#evaluateQuery}.
+     *
+     * @return a projecting streaming evaluator
+     * @see SpecificationEvaluator#projection()
+     * @since 0.8.0
+     */
+    public StreamingEvaluator withProjection() {
+        return new StreamingEvaluator(this, evaluator.projection());
+    }
+
+    /**
+     * Returns the evaluator applied to each record.
+     *
+     * @return the specification evaluator
+     */
+    public SpecificationEvaluator evaluator() {
+        return evaluator;
+    }
+
+    /**
+     * Returns the number of records parsed, and evaluated, together.
+     *
+     * @return the window size
+     */
+    public int windowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Returns whether records are parsed sparsely (see {@link #withProjection()}).
+     *
+     * @return {@code true} if only the fields the specification reads are parsed
+     */
+    public boolean projecting() {
+        return projection != null;
+    }
+
+    /**
+     * Evaluates every record of the file at {@code path}.
+     *
+     * @param path the NDJSON or JSON-array file to read
+     * @param sink receives each record's outcome, in input order, on the calling thread
+     * @return the summary of every record evaluated
+     * @throws IOException if the file cannot be read or is malformed
+     * @throws IllegalArgumentException if path or sink is null
+     * @see #evaluate(InputStream, Consumer)
+     */
+    public BatchSummary evaluate(Path path, Consumer<? super EvaluationOutcome> sink) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+        try (InputStream input = Files.newInputStream(path)) {
+            return evaluate(input, sink);
+        }
+    }
+
+    /**
+     * Evaluates every record read from {@code input}. The stream is read to its end but not
+     * closed.
+     *
+     * @param input the NDJSON or JSON-array input
+     * @param sink  receives each record's outcome, in input order, on the calling thread
+     * @return the summary of every record evaluated
+     * @throws IOException if the input cannot be read or is malformed
+     * @throws IllegalArgumentException if input or sink is null
+     */
+    public BatchSummary evaluate(InputStream input, Consumer<? super EvaluationOutcome> sink) throws IOException {
+        if (input == null) {
+            throw new IllegalArgumentException("InputStream cannot be null");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+        String id = evaluator.specification().id();
+        log.info("Starting streaming evaluation of specification '{}' in windows of {}", id, windowSize);
+
+        BatchSummary summary = BatchSummary.from(List.of());
+        Window inFlight = null;
+        // The caller owns the stream, so the parser must not close it.
+        try (JsonParser parser = reader.createParser(input)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            JsonToken token = parser.nextToken();
+            // A top-level array holds the records; otherwise each root-level value is one.
+            JsonToken end = null;
+            if (token == JsonToken.START_ARRAY) {
+                end = JsonToken.END_ARRAY;
+                token = parser.nextToken();
+            }
+            List<Object> window = new ArrayList<>(windowSize);
+            while (token != end) {
+                if (token == null) {
+                    throw new EOFException("Unexpected end of input inside the top-level array");
+                }
+                window.add(read(parser));
+                if (window.size() == windowSize) {
+                    Window next = submit(window);
+                    summary = summary.plus(deliver(inFlight, sink));
+                    inFlight = next;
+                    window = new ArrayList<>(windowSize);
+                }
+                token = parser.nextToken();
+            }
+            summary = summary.plus(deliver(inFlight, sink));
+            inFlight = null;
+            if (!window.isEmpty()) {
+                summary = summary.plus(deliver(submit(window), sink));
+            }
+        } finally {
+            if (inFlight != null) {
+                inFlight.cancel();
+            }
+        }
+
+        log.info("Completed streaming evaluation of specification '{}' - Documents: {}, "
+                        + "Fully Determined: {}, Undetermined results: {}",
+                id, summary.documents(), summary.fullyDeterminedDocuments(), summary.undetermined());
+        return summary;
+    }
+
+    /** Reads the record starting at the parser's current token. */
+    private Object read(JsonParser parser) throws IOException {
+        return projection != null ? projection.read(parser) : reader.readValue(parser);
+    }
+
+    /**
+     * Hands {@code records} to the evaluator's execution strategy. A strategy that rejects the
+     * window leaves it to be evaluated on the caller when it is delivered.
+     */
+    private Window submit(List<Object> records) {
+        Window window = new Window(evaluator, records);
+        try {
+            evaluator.options().executionStrategy().execute(window);
+        } catch (RejectedExecutionException e) {
+            // Left unclaimed: the caller evaluates it on delivery
+        }
+        return window;
+    }
+
+    /**
+     * Hands {@code window}'s outcomes to the sink in order, evaluating it first if no worker has
+     * started it. A {@code null} window delivers nothing.
+     */
+    private static BatchSummary deliver(Window window, Consumer<? super EvaluationOutcome> sink) {
+        if (window == null) {
+            return BatchSummary.from(List.of());
+        }
+        EvaluationOutcome[] outcomes = window.join();
+        for (EvaluationOutcome outcome : outcomes) {
+            sink.accept(outcome);
+        }
+        return BatchSummary.from(Arrays.asList(outcomes));
+    }
+
+    /**
+     * One window's evaluation, run once by whichever thread claims it first: a worker of the
+     * execution strategy or, on delivery, the caller. The caller only waits for a window a
+     * worker has already started.
+     */
+    private static final class Window extends AtomicBoolean implements Runnable {
+        private final SpecificationEvaluator evaluator;
+        private final List<Object> records;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private EvaluationOutcome[] outcomes;
+        private Throwable failure;
+
+        Window(SpecificationEvaluator evaluator, List<Object> records) {
+            this.evaluator = evaluator;
+            this.records = records;
+        }
+
+        /** Run by a worker of the strategy. */
+        @Override
+        public void run() {
+            if (compareAndSet(false, true)) {
+                evaluate();
+            }
+        }
+
+        /** Claims the window so that no worker evaluates it; used when it will not be delivered. */
+        void cancel() {
+            compareAndSet(false, true);
+        }
+
+        /** Returns the outcomes, evaluating the window on the caller if no worker has claimed it. */
+        EvaluationOutcome[] join() {
+            if (compareAndSet(false, true)) {
+                evaluate();
+            } else {
+                await();
+            }
+            if (failure instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (failure instanceof Error error) {
+                throw error;
+            }
+            if (failure != null) {
+                throw new IllegalStateException(failure);
+            }
+            return outcomes;
+        }
+
+        private void evaluate() {
+            try {
+                outcomes = evaluator.evaluateChunks(records);
+            } catch (Throwable e) {
+                failure = e;
+            } finally {
+                // Publishes outcomes and failure to the delivering thread
+                done.countDown();
+            }
+        }
+
+        private void await() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    done.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -20,6 +20,18 @@
  * }
  * }</pre>
  *
+ * <h3>{@link uk.codery.jspec.evaluator.SpecificationSet}</h3>
+ * <p>Evaluates one document against many specifications, evaluating the queries they have in
+ * common once and sharing the results.
+ *
+ * <h3>{@link uk.codery.jspec.evaluator.Percolator}</h3>
+ * <p>Finds the specifications a document matches, indexing them by the values their queries
+ * require so that only the candidates are evaluated.
+ *
+ * <h3>{@link uk.codery.jspec.evaluator.DocumentCollection}</h3>
+ * <p>Queries an in-memory collection of documents, returning the matches as a lazy stream from
+ * a parallel, chunked scan.
+ *
  * <h3>{@link uk.codery.jspec.evaluator.CriterionEvaluator}</h3>
  * <p>Evaluates individual criteria using query operators. Supports 23 built-in
  * operators and can be extended with custom operators via {@link uk.codery.jspec.operator.OperatorRegistry}.
@@ -54,7 +66,8 @@
  *
  * <h3>Performance Optimizations</h3>
  * <ul>
- *   <li><b>Parallel evaluation</b> - Criteria evaluated concurrently using parallel streams</li>
+ *   <li><b>Parallel evaluation</b> - Criteria evaluated concurrently on a configurable
+ *       {@link uk.codery.jspec.evaluator.ExecutionStrategy}</li>
  *   <li><b>Result caching</b> - Criterion results cached for efficient group evaluation</li>
  *   <li><b>Regex pattern caching</b> - Thread-safe LRU cache (~10-100x faster for repeated patterns)</li>
  *   <li><b>Optimized algorithms</b> - HashSet-based $all operator for O(n) performance</li>
@@ -64,7 +77,7 @@
  * <p>Both evaluators are fully thread-safe:
  * <ul>
  *   <li>No mutable shared state</li>
- *   <li>Uses parallel streams (thread-safe operations)</li>
+ *   <li>Parallel work runs on the {@link uk.codery.jspec.evaluator.ExecutionStrategy} (thread-safe operations)</li>
  *   <li>Synchronized regex pattern cache</li>
  *   <li>Safe to use from multiple threads concurrently</li>
  * </ul>
@@ -149,6 +149,19 @@ public record CompositeCriterion(
                 .map(criterion -> context.getOrEvaluate(criterion, document))
                 .toList();
 
+        return combine(childResults);
+    }
+
+    /**
+     * Combines already-evaluated child results into this composite's result, applying the
+     * junction logic of {@link #evaluate(Object, EvaluationContext)}. Lets an evaluator that
+     * schedules the children itself build an identical result.
+     *
+     * @param childResults the results of {@link #criteria()}, in order
+     * @return the composite result
+     * @since 0.8.0
+     */
+    public CompositeResult combine(List<EvaluationResult> childResults) {
         // Calculate composite state based on junction logic
         EvaluationState compositeState = calculateCompositeState(childResults);
 
@@ -156,6 +169,37 @@ public record CompositeCriterion(
         return new CompositeResult(this, compositeState, childResults);
     }
 
+    /**
+     * Combines the results of the children evaluated before the junction was decided, as
+     * short-circuit evaluation does. Strong Kleene logic makes the state the same as if every
+     * child had been evaluated: an AND with a {@code NOT_MATCHED} child is {@code NOT_MATCHED},
+     * an OR with a {@code MATCHED} child is {@code MATCHED}, whatever the rest would have been.
+     *
+     * @param childResults the results of the evaluated children, in order
+     * @param notEvaluated the children that were skipped
+     * @return the composite result, recording {@code notEvaluated}
+     * @since 0.8.0
+     */
+    public CompositeResult combine(List<EvaluationResult> childResults, List<Criterion> notEvaluated) {
+        return new CompositeResult(this, calculateCompositeState(childResults), childResults, notEvaluated);
+    }
+
+    /**
+     * Returns whether a child in {@code state} decides this composite's state on its own
+     * ({@code NOT_MATCHED} for AND, {@code MATCHED} for OR), so the remaining children need
+     * not be evaluated.
+     *
+     * @param state a child's state
+     * @return true if no other child can change the composite's state
+     * @since 0.8.0
+     */
+    public boolean isDecidedBy(EvaluationState state) {
+        return switch (junction) {
+            case AND -> state == EvaluationState.NOT_MATCHED;
+            case OR -> state == EvaluationState.MATCHED;
+        };
+    }
+
     /**
      * Calculates the composite state based on junction logic and child states.
      *
@@ -139,6 +139,18 @@ public class OperatorRegistry {
      */
     private final Map<String, OperatorHandler> operators = new ConcurrentHashMap<>();
 
+    /**
+     * The default comparison handlers seeded by {@link #withDefaults()}. Shared, stateless
+     * instances, so {@link #isDefault(String)} can tell a default from an override by identity.
+     */
+    private static final Map<String, OperatorHandler> DEFAULTS = Map.of(
+            "$eq", Objects::equals,
+            "$ne", (val, operand) -> !Objects.equals(val, operand),
+            "$gt", OperatorRegistry::greaterThan,
+            "$gte", OperatorRegistry::greaterThanOrEqual,
+            "$lt", OperatorRegistry::lessThan,
+            "$lte", OperatorRegistry::lessThanOrEqual);
+
     /**
      * Creates an empty operator registry with no operators registered.
      *
@@ -300,6 +312,23 @@ public class OperatorRegistry {
         return operators.containsKey(name);
     }
 
+    /**
+     * Checks whether {@code name} is currently bound to the default handler seeded by
+     * {@link #withDefaults()} — i.e. registered and not overridden.
+     *
+     * <p>Evaluators use this to decide whether the well-known semantics of a default
+     * comparison operator can be relied upon (for example to specialise it at compile time);
+     * a custom handler registered under the same name always returns {@code false}.
+     *
+     * @param name the operator name (e.g., "$gt")
+     * @return true if the operator is bound to its default handler
+     * @since 0.8.0
+     */
+    public boolean isDefault(String name) {
+        OperatorHandler handler = DEFAULTS.get(name);
+        return handler != null && operators.get(name) == handler;
+    }
+
     /**
      * Returns the names of all registered operators.
      *
@@ -395,12 +424,9 @@ public class OperatorRegistry {
      * </ul>
      */
     private void registerDefaultOperators() {
-        register("$eq", Objects::equals);
-        register("$ne", (val, operand) -> !Objects.equals(val, operand));
-        register("$gt", this::greaterThan);
-        register("$gte", this::greaterThanOrEqual);
-        register("$lt", this::lessThan);
-        register("$lte", this::lessThanOrEqual);
+        for (String name : List.of("$eq", "$ne", "$gt", "$gte", "$lt", "$lte")) {
+            register(name, DEFAULTS.get(name));
+        }
 
         log.debug("Registered {} default comparison operators", operators.size());
     }
@@ -408,7 +434,7 @@ public class OperatorRegistry {
     // Comparison operator implementations
 
     @SuppressWarnings({"rawtypes", "unchecked"})
-    private boolean greaterThan(Object a, Object b) {
+    private static boolean greaterThan(Object a, Object b) {
         if (a instanceof Number && b instanceof Number) {
             double aNum = ((Number) a).doubleValue();
             double bNum = ((Number) b).doubleValue();
@@ -425,7 +451,7 @@ public class OperatorRegistry {
     }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
-    private boolean greaterThanOrEqual(Object a, Object b) {
+    private static boolean greaterThanOrEqual(Object a, Object b) {
         if (a instanceof Number && b instanceof Number) {
             double aNum = ((Number) a).doubleValue();
             double bNum = ((Number) b).doubleValue();
@@ -442,7 +468,7 @@ public class OperatorRegistry {
     }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
-    private boolean lessThan(Object a, Object b) {
+    private static boolean lessThan(Object a, Object b) {
         if (a instanceof Number && b instanceof Number) {
             double aNum = ((Number) a).doubleValue();
             double bNum = ((Number) b).doubleValue();
@@ -459,7 +485,7 @@ public class OperatorRegistry {
     }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
-    private boolean lessThanOrEqual(Object a, Object b) {
+    private static boolean lessThanOrEqual(Object a, Object b) {
         if (a instanceof Number && b instanceof Number) {
             double aNum = ((Number) a).doubleValue();
             double bNum = ((Number) b).doubleValue();
@@ -0,0 +1,68 @@
+package uk.codery.jspec.result;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The outcome of evaluating a specification against a batch of documents.
+ *
+ * <p>Holds one {@link EvaluationOutcome} per document, in the order the documents were
+ * supplied, and a {@link BatchSummary} over all of them:
+ * <pre>{@code
+ * BatchOutcome batch = evaluator.evaluateAll(documents);
+ *
+ * EvaluationOutcome third = batch.get(2);           // the third document's outcome
+ * long undetermined = batch.summary().undetermined(); // across the whole batch
+ * }</pre>
+ *
+ * @param specificationId the ID of the specification that was evaluated
+ * @param outcomes        the outcome of each document, in input order; wrapped, not copied
+ * @param summary         statistical summary of the whole batch
+ * @see uk.codery.jspec.evaluator.SpecificationEvaluator#evaluateAll(Iterable)
+ * @see BatchSummary
+ * @since 0.8.0
+ */
+public record BatchOutcome(
+        String specificationId,
+        List<EvaluationOutcome> outcomes,
+        BatchSummary summary) {
+
+    /**
+     * Ensures the outcomes list is unmodifiable. A batch can hold tens of millions of outcomes,
+     * so the list is wrapped rather than copied — an already unmodifiable list is kept as is —
+     * and must not be modified once handed over.
+     */
+    public BatchOutcome {
+        outcomes = outcomes != null ? Collections.unmodifiableList(outcomes) : Collections.emptyList();
+    }
+
+    /**
+     * Returns the number of documents in the batch.
+     *
+     * @return the number of outcomes
+     */
+    public int size() {
+        return outcomes.size();
+    }
+
+    /**
+     * Returns the outcome of the document at {@code index} in the input.
+     *
+     * @param index the document's position in the batch
+     * @return that document's outcome
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public EvaluationOutcome get(int index) {
+        return outcomes.get(index);
+    }
+
+    /**
+     * Returns a stream of the outcomes, in input order.
+     *
+     * @return stream of evaluation outcomes
+     */
+    public Stream<EvaluationOutcome> stream() {
+        return outcomes.stream();
+    }
+}
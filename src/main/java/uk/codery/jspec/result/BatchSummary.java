@@ -0,0 +1,100 @@
+package uk.codery.jspec.result;
+
+/**
+ * Summary statistics for a batch of documents evaluated against one specification.
+ *
+ * <p>Counts documents, and adds up each document's {@link EvaluationSummary}: {@code total}
+ * is the number of criterion results across the whole batch, split into matched, not matched
+ * and undetermined. Criterion counts are {@code long}, since a large batch multiplies the
+ * specification's size by the number of documents.
+ *
+ * @param documents                number of documents evaluated
+ * @param fullyDeterminedDocuments number of documents with no UNDETERMINED result
+ * @param total                    criterion results across all documents
+ * @param matched                  MATCHED results across all documents
+ * @param notMatched               NOT_MATCHED results across all documents
+ * @param undetermined             UNDETERMINED results across all documents
+ * @see BatchOutcome
+ * @see EvaluationSummary
+ * @since 0.8.0
+ */
+public record BatchSummary(
+        int documents,
+        int fullyDeterminedDocuments,
+        long total,
+        long matched,
+        long notMatched,
+        long undetermined) {
+
+    /**
+     * Validates that the state counts add up to the total and that no more documents are fully
+     * determined than were evaluated.
+     */
+    public BatchSummary {
+        if (matched + notMatched + undetermined != total) {
+            throw new IllegalArgumentException(
+                    "Sum of matched (%d), notMatched (%d), and undetermined (%d) must equal total (%d)"
+                            .formatted(matched, notMatched, undetermined, total));
+        }
+        if (fullyDeterminedDocuments < 0 || fullyDeterminedDocuments > documents) {
+            throw new IllegalArgumentException(
+                    "fullyDeterminedDocuments (%d) must be between 0 and documents (%d)"
+                            .formatted(fullyDeterminedDocuments, documents));
+        }
+    }
+
+    /**
+     * Creates a summary from the given evaluation outcomes.
+     *
+     * @param outcomes the outcomes to summarize, one per document
+     * @return a summary with the document count and the criterion counts for each state
+     */
+    public static BatchSummary from(Iterable<EvaluationOutcome> outcomes) {
+        int documents = 0;
+        int fullyDetermined = 0;
+        long total = 0;
+        long matched = 0;
+        long notMatched = 0;
+        long undetermined = 0;
+
+        for (EvaluationOutcome outcome : outcomes) {
+            EvaluationSummary summary = outcome.summary();
+            documents++;
+            if (summary.fullyDetermined()) fullyDetermined++;
+            total += summary.total();
+            matched += summary.matched();
+            notMatched += summary.notMatched();
+            undetermined += summary.undetermined();
+        }
+
+        return new BatchSummary(documents, fullyDetermined, total, matched, notMatched, undetermined);
+    }
+
+    /**
+     * Returns the summary of this batch and {@code other} together, as if their documents had
+     * been evaluated as one batch. Useful when documents are evaluated in windows, as by
+     * {@link uk.codery.jspec.evaluator.StreamingEvaluator}.
+     *
+     * @param other the summary of another batch of the same specification
+     * @return the combined summary
+     */
+    public BatchSummary plus(BatchSummary other) {
+        return new BatchSummary(
+                documents + other.documents,
+                fullyDeterminedDocuments + other.fullyDeterminedDocuments,
+                total + other.total,
+                matched + other.matched,
+                notMatched + other.notMatched,
+                undetermined + other.undetermined);
+    }
+
+    /**
+     * Returns whether every document was fully determined (no UNDETERMINED result anywhere in
+     * the batch).
+     *
+     * @return {@code true} if no criterion of any document was UNDETERMINED
+     */
+    public boolean fullyDetermined() {
+        return undetermined == 0;
+    }
+}
@@ -1,6 +1,8 @@
 package uk.codery.jspec.result;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import uk.codery.jspec.model.CompositeCriterion;
+import uk.codery.jspec.model.Criterion;
 import uk.codery.jspec.model.Junction;
 
 import java.util.Collections;
@@ -15,6 +17,7 @@ import java.util.stream.Collectors;
  *   <li>The composite criterion that was evaluated</li>
  *   <li>The tri-state evaluation result</li>
  *   <li>Individual results for each child criterion (can include queries, composites, references)</li>
+ *   <li>The children left unevaluated by short-circuit evaluation, if any</li>
  * </ul>
  *
  * <h2>State Calculation</h2>
@@ -77,7 +80,10 @@ import java.util.stream.Collectors;
  *
  * @param criterion the composite criterion that was evaluated
  * @param state the tri-state evaluation result (calculated from child states)
- * @param childResults the individual results for each child criterion
+ * @param childResults the individual results for each evaluated child criterion, in order
+ * @param notEvaluated the child criteria skipped because an earlier child already decided the
+ *                     junction (see {@code EvaluationOptions.shortCircuit}); empty unless
+ *                     short-circuit evaluation is enabled. Absent from JSON output when empty.
  * @see CompositeCriterion
  * @see EvaluationState
  * @see Junction
@@ -86,13 +92,26 @@ import java.util.stream.Collectors;
 public record CompositeResult(
         CompositeCriterion criterion,
         EvaluationState state,
-        List<EvaluationResult> childResults) implements EvaluationResult {
+        List<EvaluationResult> childResults,
+        @JsonInclude(JsonInclude.Include.NON_EMPTY) List<Criterion> notEvaluated) implements EvaluationResult {
 
     /**
-     * Ensures the child results list is immutable.
+     * Ensures the child result lists are immutable.
      */
     public CompositeResult {
         childResults = childResults != null ? List.copyOf(childResults) : Collections.emptyList();
+        notEvaluated = notEvaluated != null ? List.copyOf(notEvaluated) : Collections.emptyList();
+    }
+
+    /**
+     * Creates a composite result in which every child was evaluated.
+     *
+     * @param criterion the composite criterion that was evaluated
+     * @param state the tri-state evaluation result
+     * @param childResults the results of every child criterion, in order
+     */
+    public CompositeResult(CompositeCriterion criterion, EvaluationState state, List<EvaluationResult> childResults) {
+        this(criterion, state, childResults, List.of());
     }
 
     @Override
@@ -150,6 +169,9 @@ public record CompositeResult(
                     "OR composite failed: all children failed (%d not matched, %d undetermined)",
                     notMatchedCount, undeterminedCount);
         };
+        if (!notEvaluated.isEmpty()) {
+            summary += ", " + notEvaluated.size() + " not evaluated";
+        }
 
         // Include child reasons for failed/undetermined children
         String childReasons = childResults.stream()
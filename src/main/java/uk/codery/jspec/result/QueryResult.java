@@ -34,9 +34,9 @@ public record QueryResult(
         String failureReason) implements EvaluationResult {
 
     public QueryResult {
-        missingPaths = Optional.ofNullable(missingPaths)
-                .map(Collections::unmodifiableList)
-                .orElseGet(Collections::emptyList);
+        missingPaths = missingPaths == null || missingPaths.isEmpty()
+                ? List.of()
+                : Collections.unmodifiableList(missingPaths);
     }
 
     /**
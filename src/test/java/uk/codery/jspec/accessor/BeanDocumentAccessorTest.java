@@ -0,0 +1,197 @@
+package uk.codery.jspec.accessor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.evaluator.CriterionEvaluator;
+import uk.codery.jspec.evaluator.EvaluationOptions;
+import uk.codery.jspec.evaluator.SpecificationEvaluator;
+import uk.codery.jspec.model.Criterion;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.operator.OperatorRegistry;
+import uk.codery.jspec.result.EvaluationOutcome;
+import uk.codery.jspec.result.EvaluationState;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BeanDocumentAccessorTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    enum Status { ACTIVE, SUSPENDED }
+
+    record Address(String city, String postcode) {
+    }
+
+    record Line(String sku, int quantity, double price) {
+    }
+
+    record Order(String id, Status status, Customer customer, List<Line> lines, Set<String> tags,
+                 int[] scores, Map<String, Object> attributes, Address shipping) {
+    }
+
+    public static class Customer {
+        private final String name;
+        private final boolean vip;
+        private final Address address;
+        public final String region;
+
+        public Customer(String name, boolean vip, Address address, String region) {
+            this.name = name;
+            this.vip = vip;
+            this.address = address;
+            this.region = region;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isVip() {
+            return vip;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+    }
+
+    private static final Order ORDER = new Order("o-1", Status.ACTIVE,
+            new Customer("Ada", true, new Address("London", "N1"), "EU"),
+            List.of(new Line("a", 2, 9.5), new Line("b", 0, 120.0)),
+            new LinkedHashSet<>(List.of("gift", "priority")),
+            new int[]{3, 7},
+            Map.of("channel", "web"),
+            null);
+
+    private static final DocumentAccessor ACCESSOR = DocumentAccessor.of(
+            BeanDocumentAccessor.forTypes(Customer.class::equals), DocumentAccessor.defaults());
+
+    private static CriterionEvaluator evaluator() {
+        return new CriterionEvaluator(OperatorRegistry.withDefaults(), Clock.systemUTC(), ACCESSOR);
+    }
+
+    private static Map<String, Object> q(String field, Object query) {
+        return Map.of(field, query);
+    }
+
+    private static final List<Map<String, Object>> QUERIES = List.of(
+            q("id", "o-1"), q("status", "ACTIVE"), q("status", Map.of("$in", List.of("ACTIVE", "NEW"))),
+            q("customer.name", "Ada"), q("customer.vip", true), q("customer.region", "EU"),
+            q("customer.address.city", "London"), q("customer", Map.of("address", Map.of("postcode", "N1"))),
+            q("customer.missing", "x"), q("shipping.city", "London"), q("shipping", Map.of("$exists", false)),
+            q("lines", Map.of("$size", 2)), q("lines", Map.of("$elemMatch", Map.of("quantity", 0, "price", Map.of("$gt", 100)))),
+            q("lines", Map.of("$elemMatch", Map.of("sku", "z"))),
+            q("tags", Map.of("$all", List.of("gift"))), q("tags", List.of("gift", "priority")), q("tags", Map.of("$type", "array")),
+            q("scores", Map.of("$size", 2)), q("scores", List.of(3, 7)), q("scores", Map.of("$elemMatch", Map.of("$gt", 5))),
+            q("attributes.channel", "web"), q("customer", Map.of("$type", "object")),
+            q("customer", Map.of("$eq", Map.of("name", "Ada", "vip", true, "region", "EU",
+                    "address", Map.of("city", "London", "postcode", "N1")))),
+            q("lines", Map.of("$eq", List.of(Map.of("sku", "a", "quantity", 2, "price", 9.5),
+                    Map.of("sku", "b", "quantity", 0, "price", 120.0)))));
+
+    private static Specification specification() {
+        List<Criterion> criteria = new ArrayList<>();
+        for (int i = 0; i < QUERIES.size(); i++) {
+            criteria.add(new QueryCriterion("q" + i, QUERIES.get(i)));
+        }
+        return new Specification("orders", criteria);
+    }
+
+    @Test
+    void typedDocumentsEvaluateLikeTheirConvertedMaps() {
+        Object converted = JSON.convertValue(ORDER, Object.class);
+
+        for (EvaluationOptions options : List.of(EvaluationOptions.defaults(),
+                EvaluationOptions.defaults().withSpecialisedOperators(true))) {
+            SpecificationEvaluator evaluator = new SpecificationEvaluator(specification(), evaluator(), options);
+
+            EvaluationOutcome typed = evaluator.evaluate(ORDER);
+            EvaluationOutcome maps = evaluator.evaluate(converted);
+
+            assertThat(typed.results()).as("%s", options).isEqualTo(maps.results());
+        }
+        for (int i = 0; i < QUERIES.size(); i++) {
+            QueryCriterion criterion = new QueryCriterion("q" + i, QUERIES.get(i));
+            assertThat(evaluator().evaluateQuery(ORDER, criterion)).as("%s", QUERIES.get(i))
+                    .isEqualTo(evaluator().evaluateQuery(converted, criterion));
+        }
+    }
+
+    @Test
+    void missingPropertiesAreUndetermined() {
+        EvaluationOutcome outcome = new SpecificationEvaluator(specification(), evaluator()).evaluate(ORDER);
+
+        assertThat(outcome.results()).filteredOn(result -> result.state() == EvaluationState.UNDETERMINED)
+                .extracting(result -> result.id())
+                .containsExactlyInAnyOrder("q8", "q9");
+    }
+
+    @Test
+    void toJavaMatchesJacksonConversion() {
+        assertThat(ACCESSOR.toJava(ORDER)).isEqualTo(JSON.convertValue(ORDER, Object.class));
+    }
+
+    @Test
+    void recordsAccessorReadsRecordsButNotBeans() {
+        BeanDocumentAccessor accessor = BeanDocumentAccessor.records();
+        Customer customer = new Customer("Ada", false, null, null);
+
+        assertThat(accessor.isObject(new Address("Leeds", "LS1"))).isTrue();
+        assertThat(accessor.field(new Address("Leeds", "LS1"), "city")).isEqualTo("Leeds");
+        assertThat(accessor.field(new Address("Leeds", "LS1"), "county")).isNull();
+        assertThat(accessor.isObject(customer)).isFalse();
+        assertThat(accessor.supports(customer)).isFalse();
+        assertThat(accessor.isObject("text")).isFalse();
+        assertThat(accessor.isObject(List.of())).isFalse();
+        assertThat(accessor.isArray(List.of())).isTrue();
+        assertThat(accessor.isObject(Map.of())).isTrue();
+        assertThat(accessor.isArray(new String[0])).isTrue();
+    }
+
+    @Test
+    void valuesAreConvertedAsJacksonWould() {
+        BeanDocumentAccessor accessor = BeanDocumentAccessor.records();
+
+        assertThat(accessor.field(ORDER, "status")).isEqualTo("ACTIVE");
+        assertThat(accessor.field(ORDER, "tags")).isEqualTo(List.of("gift", "priority"));
+        assertThat(accessor.size(ORDER.scores())).isEqualTo(2);
+        assertThat(accessor.element(ORDER.scores(), 1)).isEqualTo(7);
+        assertThat(accessor.field(ORDER, "lines")).isSameAs(ORDER.lines());
+    }
+
+    @Test
+    void plainMapsAndListsAreNotCopied() {
+        BeanDocumentAccessor accessor = BeanDocumentAccessor.records();
+        Map<String, Object> plain = Map.of("a", List.of(1, Map.of("b", "c")));
+
+        assertThat(accessor.toJava(plain)).isSameAs(plain);
+        assertThat(accessor.toJava(List.of(new Address("Leeds", "LS1"))))
+                .isEqualTo(List.of(Map.of("city", "Leeds", "postcode", "LS1")));
+        assertThat(accessor.toJava(Set.of(Status.ACTIVE))).isEqualTo(List.of("ACTIVE"));
+    }
+
+    @Test
+    void gettersAreResolvedOncePerClass() {
+        BeanDocumentAccessor accessor = BeanDocumentAccessor.records();
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(accessor.field(new Line("s" + i, i, i), "quantity")).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void forTypesRejectsNull() {
+        assertThatThrownBy(() -> BeanDocumentAccessor.forTypes(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Type predicate cannot be null");
+    }
+}
@@ -0,0 +1,149 @@
+package uk.codery.jspec.accessor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentAccessorTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    /** A toy representation: a pair of values with fields "left" and "right". */
+    record Pair(Object left, Object right) {
+    }
+
+    static final class PairAccessor implements DocumentAccessor {
+        @Override
+        public boolean supports(Object value) {
+            return value instanceof Pair;
+        }
+
+        @Override
+        public boolean isObject(Object value) {
+            return value instanceof Pair;
+        }
+
+        @Override
+        public Object field(Object object, String name) {
+            Pair pair = (Pair) object;
+            return switch (name) {
+                case "left" -> pair.left();
+                case "right" -> pair.right();
+                default -> null;
+            };
+        }
+
+        @Override
+        public boolean isArray(Object value) {
+            return false;
+        }
+
+        @Override
+        public int size(Object array) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Object element(Object array, int index) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Object toJava(Object value) {
+            return value instanceof Pair pair ? Map.of("left", pair.left(), "right", pair.right()) : value;
+        }
+
+        @Override
+        public String toString() {
+            return "PairAccessor";
+        }
+    }
+
+    @Test
+    void jsonNodeScalarsHaveTheTypesOfParsedMaps() throws Exception {
+        String json = """
+                {"s": "x", "i": 1, "l": 12345678901, "big": 123456789012345678901234567890,
+                 "d": 1.5, "b": false, "n": null, "a": [1], "o": {}}""";
+        JsonNode tree = JSON.readTree(json);
+        Map<?, ?> maps = JSON.readValue(json, Map.class);
+        DocumentAccessor accessor = JsonNodeDocumentAccessor.INSTANCE;
+
+        for (String field : List.of("s", "i", "l", "big", "d", "b", "n")) {
+            assertThat(accessor.field(tree, field)).as(field).isEqualTo(maps.get(field));
+        }
+        assertThat(accessor.field(tree, "big")).isInstanceOf(BigInteger.class);
+        assertThat(accessor.field(tree, "absent")).isNull();
+        assertThat(accessor.isArray(accessor.field(tree, "a"))).isTrue();
+        assertThat(accessor.isObject(accessor.field(tree, "o"))).isTrue();
+        assertThat(accessor.toJava(tree)).isEqualTo(maps);
+    }
+
+    @Test
+    void jsonNodeArraysAreReadByIndex() throws Exception {
+        JsonNode array = JSON.readTree("[\"a\", null, {\"k\": 1}]");
+        DocumentAccessor accessor = JsonNodeDocumentAccessor.INSTANCE;
+
+        assertThat(accessor.size(array)).isEqualTo(3);
+        assertThat(accessor.element(array, 0)).isEqualTo("a");
+        assertThat(accessor.element(array, 1)).isNull();
+        assertThat(accessor.toJava(accessor.element(array, 2))).isEqualTo(Map.of("k", 1));
+    }
+
+    @Test
+    void classificationIsTotal() {
+        for (DocumentAccessor accessor : List.of(MapDocumentAccessor.INSTANCE, JsonNodeDocumentAccessor.INSTANCE,
+                DocumentAccessor.defaults())) {
+            assertThat(accessor.isObject(null)).isFalse();
+            assertThat(accessor.isArray(null)).isFalse();
+            assertThat(accessor.isObject("text")).isFalse();
+            assertThat(accessor.isArray(42)).isFalse();
+            assertThat(accessor.toJava("text")).isEqualTo("text");
+            assertThat(accessor.toJava(null)).isNull();
+        }
+        assertThat(JsonNodeDocumentAccessor.INSTANCE.isObject(Map.of())).isFalse();
+        assertThat(MapDocumentAccessor.INSTANCE.isArray(JsonNodeFactory.instance.arrayNode())).isFalse();
+    }
+
+    @Test
+    void defaultsReadMapsAndJsonNodes() {
+        DocumentAccessor accessor = DocumentAccessor.defaults();
+
+        assertThat(accessor.field(Map.of("a", 1), "a")).isEqualTo(1);
+        assertThat(accessor.field(JsonNodeFactory.instance.objectNode().put("a", 1), "a")).isEqualTo(1);
+        assertThat(accessor.supports(new Pair(1, 2))).isFalse();
+        assertThat(accessor).hasToString("DocumentAccessor.of(MapDocumentAccessor, JsonNodeDocumentAccessor)");
+    }
+
+    @Test
+    void chainedAccessorsAreConsultedInOrder() {
+        DocumentAccessor accessor = DocumentAccessor.of(new PairAccessor(), DocumentAccessor.defaults());
+        Pair document = new Pair(Map.of("x", 1), new Pair("a", "b"));
+
+        assertThat(accessor.isObject(document)).isTrue();
+        assertThat(accessor.field(accessor.field(document, "left"), "x")).isEqualTo(1);
+        assertThat(accessor.field(accessor.field(document, "right"), "left")).isEqualTo("a");
+        assertThat(accessor.toJava(new Pair(1, 2))).isEqualTo(Map.of("left", 1, "right", 2));
+        assertThat(accessor).hasToString("DocumentAccessor.of(PairAccessor, "
+                + "DocumentAccessor.of(MapDocumentAccessor, JsonNodeDocumentAccessor))");
+    }
+
+    @Test
+    void ofRejectsMissingAccessors() {
+        assertThatThrownBy(DocumentAccessor::of)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("At least one DocumentAccessor is required");
+        assertThatThrownBy(() -> DocumentAccessor.of((DocumentAccessor[]) null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DocumentAccessor.of(MapDocumentAccessor.INSTANCE, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("DocumentAccessor cannot be null");
+    }
+}
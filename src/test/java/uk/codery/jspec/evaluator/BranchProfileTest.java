@@ -0,0 +1,71 @@
+package uk.codery.jspec.evaluator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BranchProfileTest {
+
+    @Test
+    void startsInDeclarationOrder() {
+        assertThat(new BranchProfile(3).order()).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void movesCheapDecisiveBranchesFirst() {
+        BranchProfile profile = new BranchProfile(3, 1, 4);
+        for (int sample = 0; sample < 4; sample++) {
+            assertThat(profile.sample()).isTrue();
+            profile.record(0, false, 1_000);
+            profile.record(1, true, 2_000);
+            profile.record(2, true, 1_000);
+            profile.endSample();
+        }
+
+        assertThat(profile.order()).containsExactly(2, 1, 0);
+    }
+
+    @Test
+    void keepsDeclarationOrderForTies() {
+        BranchProfile profile = new BranchProfile(3, 1, 2);
+        for (int sample = 0; sample < 2; sample++) {
+            profile.record(0, true, 100);
+            profile.record(1, false, 100);
+            profile.record(2, false, 100);
+            profile.endSample();
+        }
+
+        assertThat(profile.order()).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void followsChangesInSelectivity() {
+        BranchProfile profile = new BranchProfile(2, 1, 4);
+        for (int sample = 0; sample < 4; sample++) {
+            profile.record(0, false, 100);
+            profile.record(1, true, 100);
+            profile.endSample();
+        }
+        assertThat(profile.order()).containsExactly(1, 0);
+
+        for (int sample = 0; sample < 8; sample++) {
+            profile.record(0, true, 100);
+            profile.record(1, false, 100);
+            profile.endSample();
+        }
+        assertThat(profile.order()).containsExactly(0, 1);
+    }
+
+    @Test
+    void orderArraysAreReplacedNotMutated() {
+        BranchProfile profile = new BranchProfile(2, 1, 1);
+        int[] before = profile.order();
+
+        profile.record(0, false, 10);
+        profile.record(1, true, 1);
+        profile.endSample();
+
+        assertThat(before).containsExactly(0, 1);
+        assertThat(profile.order()).containsExactly(1, 0);
+    }
+}
@@ -0,0 +1,96 @@
+package uk.codery.jspec.evaluator;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.result.EvaluationState;
+import uk.codery.jspec.result.QueryResult;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Decided (MATCHED / NOT_MATCHED, no missing data) compiled evaluations must not allocate:
+ * results are shared singletons and missing-path lists are only created when needed. Measured
+ * with the current thread's allocation counter, averaged over many evaluations.
+ */
+class CompiledQueryAllocationTest {
+
+    private static final int WARM_UP = 20_000;
+    private static final int MEASURED = 100_000;
+
+    private static final Map<String, Object> DOCUMENT = Map.of(
+            "age", 30,
+            "status", "active",
+            "tier", "gold",
+            "tags", List.of("a", "b"),
+            "address", Map.of("city", "London"));
+
+    private final CriterionEvaluator evaluator = new CriterionEvaluator();
+    private ThreadMXBean threads;
+
+    @BeforeEach
+    void threadAllocationCounter() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean);
+        threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    private static List<Map<String, Object>> decidedQueries() {
+        return List.of(
+                Map.of("status", "active"),
+                Map.of("status", "closed"),
+                Map.of("age", Map.of("$gte", 18, "$lt", 65)),
+                Map.of("age", Map.of("$gt", 40)),
+                Map.of("address.city", "London", "tier", Map.of("$in", List.of("gold", "silver"))),
+                Map.of("tier", Map.of("$nin", List.of("gold"))),
+                Map.of("tags", Map.of("$all", List.of("a"), "$size", 2)),
+                Map.of("age", Map.of("$or", List.of(Map.of("$lt", 18), Map.of("$gt", 25)))),
+                Map.of("age", Map.of("$and", List.of(Map.of("$gt", 18), Map.of("$lt", 25)))),
+                Map.of("status", Map.of("$not", Map.of("$eq", "closed"))),
+                Map.of("nickname", Map.of("$exists", false)));
+    }
+
+    @Test
+    void decidedEvaluationsAllocateNothing() {
+        assertNoAllocation(EvaluationOptions.defaults());
+    }
+
+    @Test
+    void decidedSpecialisedEvaluationsAllocateNothing() {
+        assertNoAllocation(EvaluationOptions.defaults().withSpecialisedOperators(true));
+    }
+
+    private void assertNoAllocation(EvaluationOptions options) {
+        EvaluationContext context = new EvaluationContext(evaluator);
+        for (Map<String, Object> query : decidedQueries()) {
+            CompiledQuery compiled = evaluator.compile(new QueryCriterion("probe", query), options);
+            assertThat(compiled.evaluate(DOCUMENT, context).state()).isNotEqualTo(EvaluationState.UNDETERMINED);
+
+            run(compiled, context, WARM_UP);
+            long before = threads.getCurrentThreadAllocatedBytes();
+            int matched = run(compiled, context, MEASURED);
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+            assertThat(matched).isIn(0, MEASURED);
+            assertThat((double) allocated / MEASURED)
+                    .as("bytes allocated per evaluation of %s", query)
+                    .isLessThan(1.0);
+        }
+    }
+
+    private static int run(CompiledQuery compiled, EvaluationContext context, int times) {
+        int matched = 0;
+        for (int i = 0; i < times; i++) {
+            QueryResult result = compiled.evaluate(DOCUMENT, context);
+            if (result.state() == EvaluationState.MATCHED) matched++;
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,280 @@
+package uk.codery.jspec.evaluator;
+
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.operator.OperatorRegistry;
+import uk.codery.jspec.result.EvaluationOutcome;
+import uk.codery.jspec.result.EvaluationState;
+import uk.codery.jspec.result.QueryResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A {@link CompiledQuery} must be result-for-result identical to the
+ * {@link CriterionEvaluator} interpreter: same state, same missing paths, same reason.
+ * Every query in the corpus is evaluated against every document both ways.
+ */
+class CompiledQueryTest {
+
+    private final CriterionEvaluator evaluator = new CriterionEvaluator();
+
+    static List<Object> documents() {
+        Map<String, Object> nullField = new HashMap<>();
+        nullField.put("name", null);
+        nullField.put("age", 30);
+        return Arrays.asList(
+                Map.of(
+                        "name", "Alice",
+                        "age", 25,
+                        "score", 87.5,
+                        "status", "active",
+                        "tags", List.of("a", "b", "c"),
+                        "address", Map.of("city", "London", "zip", "N1"),
+                        "items", List.of(
+                                Map.of("sku", "X1", "qty", 2),
+                                Map.of("sku", "Y2", "qty", 0)),
+                        "joined", "2024-03-01",
+                        "pair", List.of(1, Map.of("k", "v"))),
+                Map.of("age", 15, "tags", List.of("z"), "address", "not-a-map"),
+                nullField,
+                Map.of(),
+                List.of(1, 2, 3),
+                "scalar",
+                null);
+    }
+
+    static List<Map<String, Object>> queries() {
+        List<Map<String, Object>> queries = new ArrayList<>();
+        // implicit equality, nested field queries and dot notation
+        queries.add(Map.of());
+        queries.add(Map.of("name", "Alice"));
+        queries.add(Map.of("name", "Bob", "age", 25));
+        queries.add(Map.of("address", Map.of("city", "London")));
+        queries.add(Map.of("address", Map.of("city", "Paris", "country", "FR")));
+        queries.add(Map.of("address.city", "London"));
+        queries.add(Map.of("address.missing.deeper", 1));
+        queries.add(Map.of("tags", List.of("a", "b", "c")));
+        queries.add(Map.of("tags", List.of("a", "x", "c")));
+        queries.add(Map.of("tags", List.of("a")));
+        queries.add(Map.of("pair", List.of(1, Map.of("k", "v"))));
+        queries.add(Map.of("pair", List.of(1, Map.of("k", Map.of("$exists", true), "q", 1))));
+        queries.add(Map.of("items", List.of(Map.of("sku", "X1"), Map.of("sku", "Z9"))));
+        // comparison operators, multiple operators on one field
+        queries.add(Map.of("age", Map.of("$gte", 18, "$lt", 65)));
+        queries.add(Map.of("age", Map.of("$gt", 30)));
+        queries.add(Map.of("name", Map.of("$gt", 5)));
+        queries.add(Map.of("name", Map.of("$gte", "Alice", "$lt", "B")));
+        queries.add(Map.of("score", Map.of("$lte", 87.5, "$gt", 87L)));
+        queries.add(Map.of("age", Map.of("$lt", "thirty")));
+        queries.add(Map.of("tags", Map.of("$size", 3.0)));
+        queries.add(Map.of("name", Map.of("$size", 5)));
+        queries.add(Map.of("name", Map.of("$exists", "yes")));
+        queries.add(Map.of("age", Map.of("$eq", 25), "status", Map.of("$ne", "inactive")));
+        // collection, string, advanced, range and date operators
+        queries.add(Map.of("status", Map.of("$in", List.of("active", "pending"))));
+        queries.add(Map.of("tags", Map.of("$nin", List.of("z"))));
+        queries.add(Map.of("tags", Map.of("$all", List.of("a", "c"))));
+        queries.add(Map.of("age", Map.of("$in", List.of(25L, 30.0))));
+        queries.add(Map.of("score", Map.of("$nin", List.of(87.5, 1))));
+        queries.add(Map.of("tags", Map.of("$in", List.of("z", "q"))));
+        queries.add(Map.of("tags", Map.of("$all", List.of())));
+        queries.add(Map.of("pair", Map.of("$all", List.of(1.0, Map.of("k", "v")))));
+        queries.add(Map.of("name", Map.of("$all", List.of("Alice"))));
+        queries.add(Map.of("name", Map.of("$in", "not-a-list")));
+        queries.add(Map.of("tags", Map.of("$size", 3)));
+        queries.add(Map.of("tags", Map.of("$contains", "b")));
+        queries.add(Map.of("name", Map.of("$startsWith", "Al", "$endsWith", "ce")));
+        queries.add(Map.of("name", Map.of("$regex", "^A.*e$")));
+        queries.add(Map.of("name", Map.of("$regex", "[unclosed")));
+        queries.add(Map.of("name", Map.of("$type", "string")));
+        queries.add(Map.of("name", Map.of("$exists", false)));
+        queries.add(Map.of("nickname", Map.of("$exists", false)));
+        queries.add(Map.of("nickname", Map.of("$exists", true, "$eq", "x")));
+        queries.add(Map.of("score", Map.of("$between", List.of(80, 90))));
+        queries.add(Map.of("score", Map.of("$between", List.of(80))));
+        queries.add(Map.of("joined", Map.of("$dateAfter", "2024-01-01", "$dateBefore", "2025-01-01T00:00:00Z")));
+        queries.add(Map.of("joined", Map.of("$dateBefore", "now")));
+        queries.add(Map.of("joined", Map.of("$dateAfter", "2024-13-01")));
+        queries.add(Map.of("age", Map.of("$dateAfter", 10L)));
+        queries.add(Map.of("name", Map.of("$dateBefore", "2030-01-01T00:00+01:00[Europe/Paris]")));
+        queries.add(Map.of("items", Map.of("$elemMatch", Map.of("qty", Map.of("$gt", 1)))));
+        queries.add(Map.of("items", Map.of("$elemMatch", Map.of("missing", 1))));
+        queries.add(Map.of("items", Map.of("$elemMatch", "not-a-map")));
+        // logical operators, including Strong Kleene combinations over missing data
+        queries.add(Map.of("age", Map.of("$or", List.of(Map.of("$lt", 18), Map.of("$gt", 20)))));
+        queries.add(Map.of("age", Map.of("$and", List.of(Map.of("$gte", 18), Map.of("$unknown", 1)))));
+        queries.add(Map.of("age", Map.of("$or", List.of(Map.of("$unknown", 1), Map.of("$gt", 100)))));
+        queries.add(Map.of("age", Map.of("$or", List.of(Map.of("$gt", 100), "not-a-map", Map.of("$gt", 0)))));
+        queries.add(Map.of("age", Map.of("$or", "not-a-list")));
+        queries.add(Map.of("age", Map.of("$and", List.of())));
+        queries.add(Map.of("age", Map.of("$not", Map.of("$lt", 18))));
+        queries.add(Map.of("age", Map.of("$not", Map.of("$bogus", 18))));
+        queries.add(Map.of("age", Map.of("$not", 18)));
+        queries.add(Map.of("nickname", Map.of("$exists", false, "$not", Map.of("$eq", "x"))));
+        queries.add(Map.of("age", Map.of("$bogus", 1)));
+        Map<String, Object> mixed = new LinkedHashMap<>();
+        mixed.put("$gte", 18);
+        mixed.put("ignored", "plain key beside an operator");
+        queries.add(Map.of("age", mixed));
+        Map<String, Object> nullLiteral = new HashMap<>();
+        nullLiteral.put("name", null);
+        queries.add(nullLiteral);
+        return queries;
+    }
+
+    @Test
+    void compiledQueriesMatchTheInterpreterExactly() {
+        for (Map<String, Object> query : queries()) {
+            QueryCriterion criterion = new QueryCriterion("probe", query);
+            CompiledQuery compiled = evaluator.compile(criterion);
+            for (Object document : documents()) {
+                QueryResult interpreted = evaluator.evaluateQuery(document, criterion);
+                assertThat(compiled.evaluate(document))
+                        .as("query %s against %s", query, document)
+                        .isEqualTo(interpreted);
+            }
+        }
+    }
+
+    @Test
+    void specialisedQueriesMatchTheInterpreterExactly() {
+        EvaluationOptions specialised = EvaluationOptions.defaults().withSpecialisedOperators(true);
+        List<Object> docs = new ArrayList<>(documents());
+        docs.add(Map.of("age", Double.NaN, "score", 87L, "name", 42, "tags", "abc"));
+        for (Map<String, Object> query : queries()) {
+            QueryCriterion criterion = new QueryCriterion("probe", query);
+            CompiledQuery compiled = evaluator.compile(criterion, specialised);
+            for (Object document : docs) {
+                QueryResult interpreted = evaluator.evaluateQuery(document, criterion);
+                assertThat(compiled.evaluate(document))
+                        .as("query %s against %s", query, document)
+                        .isEqualTo(interpreted);
+            }
+        }
+    }
+
+    @Test
+    void adaptiveQueriesMatchTheInterpreterExactlyWhileReordering() {
+        EvaluationOptions adaptive = EvaluationOptions.defaults().withAdaptiveOrdering(true);
+        for (Map<String, Object> query : queries()) {
+            QueryCriterion criterion = new QueryCriterion("probe", query);
+            CompiledQuery compiled = evaluator.compile(criterion, adaptive);
+            // Enough evaluations for each profile to be sampled and reordered several times.
+            for (int round = 0; round < 1_000; round++) {
+                for (Object document : documents()) {
+                    assertThat(compiled.evaluate(document))
+                            .as("query %s against %s", query, document)
+                            .isEqualTo(evaluator.evaluateQuery(document, criterion));
+                }
+            }
+        }
+    }
+
+    @Test
+    void unresolvedContextOperandsMatchTheInterpreterExactly() {
+        UnresolvedReference limit = new UnresolvedReference("context.tenant.limit");
+        UnresolvedReference region = new UnresolvedReference("context.tenant.region");
+        List<Map<String, Object>> unresolved = List.of(
+                Map.of("age", Map.of("$lte", limit)),
+                Map.of("age", Map.of("$gte", 18, "$lte", limit)),
+                Map.of("status", Map.of("$in", List.of("active", region))),
+                Map.of("age", Map.of("$or", List.of(Map.of("$gt", 20), Map.of("$lt", limit)))),
+                Map.of("age", Map.of("$not", Map.of("$eq", limit))),
+                Map.of("tags", Map.of("$elemMatch", Map.of("$eq", region))),
+                Map.of("age", Map.of("$unknown", limit)),
+                Map.of("status", limit));
+        for (Map<String, Object> query : unresolved) {
+            QueryCriterion criterion = new QueryCriterion("probe", query);
+            CompiledQuery compiled = evaluator.compile(criterion);
+            for (Object document : documents()) {
+                assertThat(compiled.evaluate(document))
+                        .as("query %s against %s", query, document)
+                        .isEqualTo(evaluator.evaluateQuery(document, criterion));
+            }
+        }
+    }
+
+    @Test
+    void overriddenOperatorsAreNotSpecialised() {
+        OperatorRegistry registry = OperatorRegistry.withDefaults();
+        registry.register("$gt", (val, operand) -> true);
+        CriterionEvaluator custom = new CriterionEvaluator(registry);
+        EvaluationOptions specialised = EvaluationOptions.defaults().withSpecialisedOperators(true);
+
+        CompiledQuery compiled = custom.compile(new QueryCriterion("gt", Map.of("age", Map.of("$gt", 100))), specialised);
+
+        assertThat(custom.isBuiltIn("$gt")).isFalse();
+        assertThat(custom.isBuiltIn("$lt")).isTrue();
+        assertThat(compiled.evaluate(Map.of("age", 1)).state()).isEqualTo(EvaluationState.MATCHED);
+    }
+
+    @Test
+    void specialisedSpecificationEvaluatorKeepsItsOptions() {
+        EvaluationOptions specialised = EvaluationOptions.defaults().withSpecialisedOperators(true);
+        SpecificationEvaluator specEvaluator = new SpecificationEvaluator(
+                new Specification("s", List.of(new QueryCriterion("adult", Map.of("age", Map.of("$gte", 18))))),
+                new CriterionEvaluator(), specialised);
+
+        assertThat(specEvaluator.options()).isEqualTo(specialised);
+        assertThat(specEvaluator.evaluate(Map.of("age", 25)).find("adult").orElseThrow().state())
+                .isEqualTo(EvaluationState.MATCHED);
+        assertThat(new SpecificationEvaluator(specEvaluator.specification()).options())
+                .isEqualTo(EvaluationOptions.defaults());
+    }
+
+    @Test
+    void compiledQueriesUseCustomRegistryHandlers() {
+        OperatorRegistry registry = OperatorRegistry.withDefaults();
+        registry.register("$eq", (val, operand) -> String.valueOf(val).equalsIgnoreCase(String.valueOf(operand)));
+        CriterionEvaluator custom = new CriterionEvaluator(registry);
+
+        CompiledQuery compiled = custom.compile(new QueryCriterion("ci", Map.of("name", Map.of("$eq", "ALICE"))));
+
+        assertThat(compiled.evaluate(Map.of("name", "alice")).state()).isEqualTo(EvaluationState.MATCHED);
+    }
+
+    @Test
+    void handlerExceptionsBecomeUndeterminedOnTheCompiledPath() {
+        OperatorRegistry registry = OperatorRegistry.withDefaults();
+        registry.register("$boom", (val, operand) -> {
+            throw new IllegalStateException("boom");
+        });
+        CriterionEvaluator custom = new CriterionEvaluator(registry);
+        QueryCriterion criterion = new QueryCriterion("boom", Map.of("name", Map.of("$boom", 1)));
+
+        QueryResult result = custom.compile(criterion).evaluate(Map.of("name", "x"));
+
+        assertThat(result).isEqualTo(custom.evaluateQuery(Map.of("name", "x"), criterion));
+        assertThat(result.state()).isEqualTo(EvaluationState.UNDETERMINED);
+    }
+
+    @Test
+    void specificationEvaluatorResultsAreUnchangedByCompilation() {
+        List<Object> docs = documents();
+        List<QueryCriterion> criteria = new ArrayList<>();
+        List<Map<String, Object>> queries = queries();
+        for (int i = 0; i < queries.size(); i++) {
+            criteria.add(new QueryCriterion("q" + i, queries.get(i)));
+        }
+        SpecificationEvaluator specEvaluator =
+                new SpecificationEvaluator(new Specification("corpus", List.copyOf(criteria)));
+
+        for (Object document : docs) {
+            EvaluationOutcome outcome = specEvaluator.evaluate(document);
+            for (int i = 0; i < criteria.size(); i++) {
+                String id = "q" + i;
+                assertThat(outcome.find(id).orElseThrow())
+                        .as("criterion %s against %s", id, document)
+                        .isEqualTo(evaluator.evaluateQuery(document, criteria.get(i)));
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@ import uk.codery.jspec.operator.OperatorRegistry;
 import uk.codery.jspec.result.EvaluationResult;
 import uk.codery.jspec.result.EvaluationState;
 
+import java.time.Clock;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.*;
@@ -45,6 +46,13 @@ class CriterionEvaluatorCustomOperatorTest {
                 .hasMessageContaining("OperatorRegistry cannot be null");
     }
 
+    @Test
+    void testConstructorWithAccessor_nullAccessor_shouldThrowException() {
+        assertThatThrownBy(() -> new CriterionEvaluator(OperatorRegistry.withDefaults(), Clock.systemUTC(), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("DocumentAccessor cannot be null");
+    }
+
     @Test
     void testConstructorWithRegistry_withDefaults_shouldWorkAsExpected() {
         OperatorRegistry registry = OperatorRegistry.withDefaults();
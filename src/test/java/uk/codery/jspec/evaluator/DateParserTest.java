@@ -0,0 +1,159 @@
+package uk.codery.jspec.evaluator;
+
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.evaluator.DateParser.Shape;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.operator.OperatorRegistry;
+import uk.codery.jspec.result.EvaluationOutcome;
+import uk.codery.jspec.result.EvaluationState;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DateParserTest {
+
+    private static final List<String> STRINGS = List.of(
+            "2025-01-01", "2025-01-01Z", "2025-01-01+01:00", "2025-1-01", "25-01-01", "2025-02-30",
+            "2025-01-01T10:00:00Z", "2025-01-01t10:00:00z", "2025-01-01T10:00:00.123456789Z",
+            "2025-01-01T10:00:00.Z", "2025-01-01T10:00Z", "2025-01-01T10:00:00+01:00",
+            "2025-01-01T10:00:00-05:30", "2025-01-01T10:00:00+01", "2025-01-01T10:00:00+0100",
+            "2025-01-01T10:00:00+01:00:30", "2025-01-01T23:59:60Z", "2025-01-01T24:00:00Z",
+            "2025-01-01T25:00:00Z", "2025-01-01T10:00:00Z[Europe/London]",
+            "2025-01-01T10:00+01:00[Europe/Paris]", "2025-01-01T10:00:00[Europe/London]",
+            "2025-01-01T10:00:00Z[Nowhere/Special]", "2025-01-01T10:00:00", "2025-01-01T10:00",
+            "+12025-01-01T10:00:00Z", "-0001-01-01", "2025-01-01T", "2025-01-01 10:00:00Z",
+            " 2025-01-01", "2025-01-01 ", "", "not a date", "12345", "now-ish", "2025-01-01T10:00:00Zjunk");
+
+    /** The exception-driven cascade DateParser replaced. */
+    private static Instant cascade(String str) {
+        try {
+            return Instant.parse(str);
+        } catch (DateTimeParseException ignored) {
+            // next
+        }
+        try {
+            return DateTimeFormatter.ISO_DATE_TIME.parse(str, Instant::from);
+        } catch (DateTimeParseException ignored) {
+            // next
+        }
+        try {
+            return LocalDate.parse(str, DateTimeFormatter.ISO_DATE).atStartOfDay(ZoneId.of("UTC")).toInstant();
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
+    }
+
+    @Test
+    void stringsParseExactlyAsTheExceptionCascadeDid() {
+        for (String str : STRINGS) {
+            assertThat(DateParser.toInstant(str)).as(str).isEqualTo(cascade(str));
+        }
+    }
+
+    @Test
+    void shapeDetectionNeverRejectsAParseableString() {
+        for (String str : STRINGS) {
+            if (cascade(str) != null) {
+                assertThat(DateParser.shapeOf(str)).as(str).isNotEqualTo(Shape.NONE);
+            }
+        }
+    }
+
+    @Test
+    void shapesPickTheMatchingParser() {
+        assertThat(DateParser.shapeOf("2025-01-01")).isEqualTo(Shape.DATE);
+        assertThat(DateParser.shapeOf("2025-01-01+01:00")).isEqualTo(Shape.DATE);
+        assertThat(DateParser.shapeOf("2025-01-01T10:00:00Z")).isEqualTo(Shape.INSTANT);
+        assertThat(DateParser.shapeOf("2025-01-01T10:00Z")).isEqualTo(Shape.DATE_TIME);
+        assertThat(DateParser.shapeOf("2025-01-01T10:00:00Z[Europe/London]")).isEqualTo(Shape.DATE_TIME);
+        assertThat(DateParser.shapeOf("2025-01-01T10:00:00")).isEqualTo(Shape.NONE);
+        assertThat(DateParser.shapeOf("hello")).isEqualTo(Shape.NONE);
+    }
+
+    @Test
+    void nonStringValuesConvert() {
+        Instant instant = Instant.parse("2025-01-01T00:00:00Z");
+
+        assertThat(DateParser.toInstant(instant)).isSameAs(instant);
+        assertThat(DateParser.toInstant(1_735_689_600_000L)).isEqualTo(instant);
+        assertThat(DateParser.toInstant(1_735_689_600)).isEqualTo(instant);
+        assertThat(DateParser.toInstant(null)).isNull();
+        assertThat(DateParser.toInstant(true)).isNull();
+    }
+
+    @Test
+    void nowIsACaseInsensitiveKeyword() {
+        assertThat(DateParser.isNow("now")).isTrue();
+        assertThat(DateParser.isNow("NOW")).isTrue();
+        assertThat(DateParser.isNow("nowadays")).isFalse();
+        assertThat(DateParser.isNow(null)).isFalse();
+    }
+
+    @Test
+    void nowComesFromTheInjectedClock() {
+        Clock fixed = Clock.fixed(Instant.parse("2025-06-01T00:00:00Z"), ZoneOffset.UTC);
+        CriterionEvaluator evaluator = new CriterionEvaluator(OperatorRegistry.withDefaults(), fixed);
+        QueryCriterion criterion = new QueryCriterion("recent", Map.of("at", Map.of("$dateBefore", "now")));
+
+        assertThat(evaluator.clock()).isSameAs(fixed);
+        assertThat(evaluator.evaluateQuery(Map.of("at", "2025-05-31"), criterion).state())
+                .isEqualTo(EvaluationState.MATCHED);
+        assertThat(evaluator.evaluateQuery(Map.of("at", "2025-06-02"), criterion).state())
+                .isEqualTo(EvaluationState.NOT_MATCHED);
+        assertThat(evaluator.compile(criterion).evaluate(Map.of("at", "2025-05-31")).state())
+                .isEqualTo(EvaluationState.MATCHED);
+    }
+
+    @Test
+    void nowIsReadOncePerEvaluation() {
+        AtomicInteger reads = new AtomicInteger();
+        Clock ticking = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                // every read is one second later than the last
+                return Instant.parse("2025-06-01T00:00:00Z").plusSeconds(reads.getAndIncrement());
+            }
+        };
+        CriterionEvaluator criterionEvaluator = new CriterionEvaluator(OperatorRegistry.withDefaults(), ticking);
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(new Specification("dates", List.of(
+                new QueryCriterion("before-now", Map.of("at", Map.of("$dateBefore", "now"))),
+                new QueryCriterion("after-now", Map.of("at", Map.of("$dateAfter", "now"))),
+                new QueryCriterion("not-after-now", Map.of("other", Map.of("$dateAfter", "now"))))),
+                criterionEvaluator);
+
+        EvaluationOutcome outcome = evaluator.evaluate(Map.of("at", "2025-06-01T00:00:00Z", "other", "2025-06-01T00:00:00Z"));
+
+        assertThat(reads.get()).isEqualTo(1);
+        assertThat(outcome.find("before-now").orElseThrow().state()).isEqualTo(EvaluationState.NOT_MATCHED);
+        assertThat(outcome.find("after-now").orElseThrow().state()).isEqualTo(EvaluationState.NOT_MATCHED);
+        assertThat(outcome.find("not-after-now").orElseThrow().state()).isEqualTo(EvaluationState.NOT_MATCHED);
+    }
+
+    @Test
+    void evaluationContextNowIsStable() {
+        EvaluationContext context = new EvaluationContext(new CriterionEvaluator());
+
+        assertThat(context.now()).isSameAs(context.now());
+    }
+}
@@ -0,0 +1,179 @@
+package uk.codery.jspec.evaluator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.model.Criterion;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.operator.OperatorRegistry;
+import uk.codery.jspec.result.EvaluationOutcome;
+import uk.codery.jspec.result.EvaluationState;
+import uk.codery.jspec.result.QueryResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A document read into maps and lists and the same document as a Jackson {@code JsonNode}
+ * tree must give the SAME result for every operator — state, missing paths and reason — on
+ * the interpreted, compiled and specialised paths alike.
+ */
+class DocumentAccessorParityTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final String DOCUMENT = """
+            {"v": "hello", "n": 5, "d": 2.5, "big": 12345678901, "huge": 123456789012345678901234567890,
+             "b": true, "nul": null, "date": "2024-06-01", "empty": [], "obj": {},
+             "tags": ["a", "b", null], "nums": [1, 2, 3],
+             "items": [{"sku": "a", "qty": 2}, {"sku": "b", "qty": 0}, "loose"],
+             "nested": {"city": "London", "geo": {"lat": 51.5}, "list": [{"x": 1}]}}
+            """;
+
+    private static Object asMaps;
+    private static JsonNode asTree;
+
+    @BeforeAll
+    static void parse() throws Exception {
+        asMaps = JSON.readValue(DOCUMENT, Object.class);
+        asTree = JSON.readTree(DOCUMENT);
+    }
+
+    private static Map<String, Object> q(String field, Object query) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put(field, query);
+        return map;
+    }
+
+    private static Map<String, Object> op(String operator, Object operand) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put(operator, operand);
+        return map;
+    }
+
+    /** Queries covering every built-in operator, literal matching and navigation. */
+    private static final List<Map<String, Object>> QUERIES = List.of(
+            // Literals, list literals and field queries
+            q("v", "hello"), q("n", 5), q("d", 2.5), q("big", 12345678901L), q("b", true),
+            q("tags", Arrays.asList("a", "b", null)), q("nums", List.of(1, 2, 3)), q("nums", List.of(1, 2)),
+            q("nested", q("city", "London")), q("nested", q("geo.lat", 51.5)), q("nested.geo", q("lat", 51.5)),
+            q("nested.missing", "x"), q("nested.city.deeper", "x"), q("tags.0", "a"), q("nul", "x"),
+            q("v", q("inner", 1)), q("obj", q("a", 1)), q("empty", List.of()),
+            // Comparison
+            q("v", op("$eq", "hello")), q("n", op("$eq", 5)), q("nums", op("$eq", List.of(1, 2, 3))),
+            q("nested", op("$eq", Map.of("city", "London"))), q("obj", op("$eq", Map.of())),
+            q("v", op("$ne", "nope")), q("nul", op("$ne", 1)),
+            q("n", op("$gt", 1)), q("d", op("$gte", 2.5)), q("big", op("$lt", 1)), q("v", op("$lte", "z")),
+            q("v", op("$gt", 5)), q("nested", op("$gt", 1)), q("huge", op("$gt", 1)),
+            // Collection
+            q("v", op("$in", List.of("hello", "x"))), q("tags", op("$in", List.of("b"))),
+            q("nums", op("$nin", List.of(4))), q("tags", op("$nin", List.of("a"))),
+            q("tags", op("$all", List.of("a", "b"))), q("nums", op("$all", List.of(1, 4))), q("v", op("$all", List.of("hello"))),
+            q("tags", op("$size", 3)), q("empty", op("$size", 0)), q("obj", op("$size", 0)), q("v", op("$size", 5)),
+            q("nums", op("$size", "3")),
+            // Advanced
+            q("v", op("$exists", true)), q("nul", op("$exists", false)), q("missing", op("$exists", false)),
+            q("nested", op("$exists", true)),
+            q("v", op("$type", "string")), q("n", op("$type", "number")), q("b", op("$type", "boolean")),
+            q("tags", op("$type", "array")), q("nested", op("$type", "object")), q("big", op("$type", "number")),
+            q("v", op("$regex", "^he")), q("n", op("$regex", "5")), q("nested", op("$regex", "London")),
+            q("items", op("$elemMatch", Map.of("sku", "b", "qty", op("$lt", 1)))),
+            q("items", op("$elemMatch", Map.of("sku", "c"))), q("nums", op("$elemMatch", op("$gt", 2))),
+            q("nested.list", op("$elemMatch", q("x", 1))), q("v", op("$elemMatch", Map.of("a", 1))),
+            // String
+            q("v", op("$contains", "ell")), q("tags", op("$contains", "a")), q("nested", op("$contains", "x")),
+            q("v", op("$startsWith", "he")), q("v", op("$endsWith", "lo")), q("n", op("$startsWith", "5")),
+            // Range and date
+            q("n", op("$between", List.of(1, 10))), q("v", op("$between", List.of("a", "z"))),
+            q("date", op("$dateBefore", "2025-01-01")), q("date", op("$dateAfter", "now")),
+            q("nested", op("$dateAfter", "2020-01-01")),
+            // Logical
+            q("n", op("$and", List.of(op("$gt", 1), op("$lt", 10)))),
+            q("tags", op("$or", List.of(op("$size", 2), op("$all", List.of("a"))))),
+            q("items", op("$not", op("$elemMatch", Map.of("sku", "z")))),
+            q("missing", op("$or", List.of(op("$eq", 1), op("$exists", false)))),
+            q("missing", op("$and", List.of(op("$eq", 1), op("$gt", 0)))),
+            // Several fields, some missing
+            new LinkedHashMap<>(Map.of("v", "hello", "absent", 1)));
+
+    private static Specification specification() {
+        List<Criterion> criteria = IntStream.range(0, QUERIES.size())
+                .<Criterion>mapToObj(i -> new QueryCriterion("q" + i, QUERIES.get(i)))
+                .toList();
+        return new Specification("parity", criteria);
+    }
+
+    @Test
+    void interpretedResultsAreIdenticalForMapsAndJsonNodes() {
+        CriterionEvaluator evaluator = new CriterionEvaluator();
+
+        for (int i = 0; i < QUERIES.size(); i++) {
+            QueryCriterion criterion = new QueryCriterion("q" + i, QUERIES.get(i));
+            QueryResult fromMaps = evaluator.evaluateQuery(asMaps, criterion);
+            QueryResult fromTree = evaluator.evaluateQuery(asTree, criterion);
+            assertThat(fromTree).as("%s", QUERIES.get(i)).isEqualTo(fromMaps);
+        }
+    }
+
+    @Test
+    void compiledResultsAreIdenticalForMapsAndJsonNodes() {
+        Specification spec = specification();
+        for (EvaluationOptions options : List.of(EvaluationOptions.defaults(),
+                EvaluationOptions.defaults().withSpecialisedOperators(true))) {
+            SpecificationEvaluator evaluator = new SpecificationEvaluator(spec, new CriterionEvaluator(), options);
+
+            EvaluationOutcome fromMaps = evaluator.evaluate(asMaps);
+            EvaluationOutcome fromTree = evaluator.evaluate(asTree);
+
+            assertThat(fromTree.results()).as("%s", options).isEqualTo(fromMaps.results());
+        }
+    }
+
+    @Test
+    void everyStateIsExercised() {
+        List<EvaluationState> states = new SpecificationEvaluator(specification()).evaluate(asTree).results().stream()
+                .map(result -> result.state()).distinct().toList();
+
+        assertThat(states).containsExactlyInAnyOrder(
+                EvaluationState.MATCHED, EvaluationState.NOT_MATCHED, EvaluationState.UNDETERMINED);
+    }
+
+    @Test
+    void customOperatorsSeePlainJavaValues() {
+        List<Object> seen = new ArrayList<>();
+        OperatorRegistry registry = OperatorRegistry.withDefaults();
+        registry.register("$capture", (value, operand) -> {
+            seen.add(value);
+            return true;
+        });
+        CriterionEvaluator evaluator = new CriterionEvaluator(registry);
+        QueryCriterion criterion = new QueryCriterion("capture", Map.of("nested", op("$capture", true)));
+
+        evaluator.evaluateQuery(asTree, criterion);
+        new SpecificationEvaluator(new Specification("capture", List.of(criterion)), evaluator).evaluate(asTree);
+
+        assertThat(seen).hasSize(2).allSatisfy(value ->
+                assertThat(value).isEqualTo(((Map<?, ?>) asMaps).get("nested")).isInstanceOf(Map.class));
+    }
+
+    @Test
+    void scalarAndNullDocumentsMatchTheirMapForms() throws Exception {
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(new Specification("scalar", List.of(
+                new QueryCriterion("equals", op("$eq", "text")),
+                new QueryCriterion("typed", op("$type", "string")),
+                new QueryCriterion("field", q("a", 1)))));
+
+        for (String json : List.of("\"text\"", "42", "[1, 2]", "{\"a\": 1}")) {
+            assertThat(evaluator.evaluate(JSON.readTree(json)).results()).as(json)
+                    .isEqualTo(evaluator.evaluate(JSON.readValue(json, Object.class)).results());
+        }
+    }
+}
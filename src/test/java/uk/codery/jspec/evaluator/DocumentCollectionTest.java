@@ -0,0 +1,157 @@
+package uk.codery.jspec.evaluator;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.model.CompositeCriterion;
+import uk.codery.jspec.model.CriterionReference;
+import uk.codery.jspec.model.Junction;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.result.EvaluationState;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentCollectionTest {
+
+    private static final QueryCriterion LARGE = new QueryCriterion("large", OrderFixtures.LARGE);
+    private static final QueryCriterion DOMESTIC = new QueryCriterion("domestic",
+            Map.of("order.country", Map.of("$in", List.of("uk", "ie"))));
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void findsExactlyTheDocumentsTheQueryMatches() {
+        List<Map<String, Object>> documents = OrderFixtures.documents(20_000, 11);
+        CriterionEvaluator criterionEvaluator = new CriterionEvaluator();
+        List<Object> expected = documents.stream()
+                .filter(document -> criterionEvaluator.evaluateQuery(document, LARGE).state() == EvaluationState.MATCHED)
+                .map(Object.class::cast)
+                .toList();
+
+        for (EvaluationOptions options : List.of(EvaluationOptions.defaults(),
+                EvaluationOptions.defaults().withExecutionStrategy(ExecutionStrategy.callerThread()),
+                EvaluationOptions.defaults().withExecutionStrategy(ExecutionStrategy.forkJoinPool(3))
+                        .withCostBasedParallelism(false))) {
+            DocumentCollection collection = new DocumentCollection(documents, criterionEvaluator, options);
+
+            assertThat(collection.find(LARGE).toList()).as("%s", options).isEqualTo(expected);
+            assertThat(collection.indices(LARGE).mapToObj(documents::get).toList()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void specificationsMatchOnTheirOverallState() {
+        List<Map<String, Object>> documents = OrderFixtures.documents(3_000, 11);
+        Specification specification = new Specification("domestic-large", List.of(LARGE, DOMESTIC,
+                new CompositeCriterion("both", Junction.AND, List.of(
+                        new CriterionReference("large"), new CriterionReference("domestic")))));
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(specification);
+        int[] expected = IntStream.range(0, documents.size())
+                .filter(i -> evaluator.evaluate(documents.get(i)).overallState() == EvaluationState.MATCHED)
+                .toArray();
+
+        DocumentCollection collection = new DocumentCollection(documents);
+
+        assertThat(collection.indices(specification).toArray()).isEqualTo(expected);
+        assertThat(collection.indices(evaluator).toArray()).isEqualTo(expected);
+        assertThat(expected).isNotEmpty();
+    }
+
+    @Test
+    void undeterminedDocumentsAreNotFound() {
+        DocumentCollection collection = new DocumentCollection(List.of(
+                Map.of("order", Map.of("total", 150)),
+                Map.of("order", Map.of()),
+                Map.of("order", Map.of("total", 50))));
+
+        assertThat(collection.indices(LARGE).toArray()).containsExactly(0);
+        assertThat(collection.find(new QueryCriterion("small", Map.of("order.total", Map.of("$lte", 100)))).toList())
+                .containsExactly(Map.of("order", Map.of("total", 50)));
+    }
+
+    @Test
+    void firstMatchAndLimitsStopTheScan() {
+        List<Map<String, Object>> documents = IntStream.range(0, 100_000)
+                .<Map<String, Object>>mapToObj(i -> Map.of("status", i % 2 == 0 ? "active" : "closed"))
+                .toList();
+        QueryCriterion active = new QueryCriterion("active", Map.of("status", Map.of("$counted", "active")));
+        DocumentCollection collection = new DocumentCollection(documents, OrderFixtures.countingEvaluator(calls));
+
+        assertThat(collection.find(active).findFirst()).contains(Map.of("status", "active"));
+        assertThat(calls.get()).isLessThanOrEqualTo(DocumentCollection.FIRST_WAVE);
+
+        calls.set(0);
+        assertThat(collection.indices(active).limit(300).toArray()).hasSize(300).endsWith(598);
+        assertThat(calls.get()).isLessThanOrEqualTo(DocumentCollection.FIRST_WAVE * 3);
+
+        calls.set(0);
+        assertThat(collection.indices(active).count()).isEqualTo(50_000);
+        assertThat(calls).hasValue(100_000);
+    }
+
+    @Test
+    void boundEvaluatorsResolveTheirContext() {
+        DocumentCollection collection = new DocumentCollection(OrderFixtures.documents(500, 11));
+        Specification promoted = new Specification("promoted", List.of(new QueryCriterion("country",
+                Map.of("order.country", Map.of("$eq", Map.of("$contextPath", "promo.country"))))));
+
+        long france = collection.find(new SpecificationEvaluator(promoted).bindContext(Map.of("promo", Map.of("country", "fr"))))
+                .count();
+
+        assertThat(france).isPositive().isEqualTo(collection.documents().stream()
+                .filter(document -> "fr".equals(((Map<?, ?>) ((Map<?, ?>) document).get("order")).get("country")))
+                .count());
+        assertThat(collection.find(promoted).count()).isZero();
+    }
+
+    @Test
+    void queriesTheSeedOrders() throws IOException {
+        List<Map<String, Object>> orders;
+        try (InputStream in = getClass().getResourceAsStream("/seed/orders.json")) {
+            orders = new ObjectMapper().readValue(in, new TypeReference<>() {
+            });
+        }
+        DocumentCollection collection = new DocumentCollection(orders);
+
+        assertThat(collection.find(new QueryCriterion("big-spenders", Map.of("order.total", Map.of("$gte", 200))))
+                .<Object>map(order -> ((Map<?, ?>) order).get("order_id"))
+                .toList())
+                .containsExactly("ORD-2024-002", "ORD-2024-004");
+        assertThat(collection.indices(new QueryCriterion("uk", Map.of("customer.location.country", "UK"))).toArray())
+                .containsExactly(0);
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        DocumentCollection collection = new DocumentCollection(List.of());
+
+        assertThatThrownBy(() -> new DocumentCollection(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Documents cannot be null");
+        assertThatThrownBy(() -> new DocumentCollection(List.of(), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("CriterionEvaluator cannot be null");
+        assertThatThrownBy(() -> new DocumentCollection(List.of(), new CriterionEvaluator(), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("EvaluationOptions cannot be null");
+        assertThatThrownBy(() -> collection.find((QueryCriterion) null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Criterion cannot be null");
+        assertThatThrownBy(() -> collection.indices((Specification) null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Specification cannot be null");
+        assertThatThrownBy(() -> collection.find((SpecificationEvaluator) null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("SpecificationEvaluator cannot be null");
+        assertThat(collection.find(LARGE)).isEmpty();
+    }
+}
@@ -0,0 +1,199 @@
+package uk.codery.jspec.evaluator;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.model.CompositeCriterion;
+import uk.codery.jspec.model.CriterionReference;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.result.EvaluationOutcome;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentProjectionTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    /** Marks a field left out of a generated document. */
+    private static final Object ABSENT = new Object();
+
+    private static final Specification SPEC = new Specification("wide", List.of(
+            new QueryCriterion("adult", Map.of("customer.age", Map.of("$gte", Map.of("$contextPath", "limits.minAge")))),
+            new QueryCriterion("london", Map.of("customer", Map.of("address.city", "London"))),
+            new QueryCriterion("in-stock", Map.of("order.items", Map.of("$elemMatch", Map.of(
+                    "sku", Map.of("$in", List.of("a", "b")),
+                    "stock.level", Map.of("$gt", 0))))),
+            new QueryCriterion("vip", Map.of("tags", Map.of("$elemMatch", Map.of("$eq", "vip")))),
+            new QueryCriterion("scored", Map.of("score", Map.of("$and", List.of(Map.of("$gt", 1), Map.of("$lt", 10))))),
+            new QueryCriterion("not-beta", Map.of("meta.flags.beta", Map.of("$not", Map.of("$eq", true)))),
+            new QueryCriterion("refunded", Map.of("history.last", "refund")),
+            new QueryCriterion("shallow", Map.of("profile.deep.missing", Map.of("$exists", false))),
+            new CompositeCriterion("eligible", List.of(
+                    new QueryCriterion("active", Map.of("status", "active")),
+                    new CriterionReference("adult")))));
+
+    private static final Map<String, Object> CONTEXT = Map.of("limits", Map.of("minAge", 18));
+
+    private static final SpecificationEvaluator EVALUATOR = new SpecificationEvaluator(SPEC);
+    private static final SpecificationEvaluator INTERPRETED = new SpecificationEvaluator(SPEC, new CriterionEvaluator() {});
+    private static final DocumentProjection PROJECTION = EVALUATOR.projection();
+
+    private static Object pick(Random random, Object... choices) {
+        return choices[random.nextInt(choices.length)];
+    }
+
+    /** A mutable map of the given key-value pairs, leaving out {@link #ABSENT} values; nulls are kept. */
+    private static Map<String, Object> map(Object... pairs) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (pairs[i + 1] != ABSENT) map.put((String) pairs[i], pairs[i + 1]);
+        }
+        return map;
+    }
+
+    /** A wide document whose referenced fields are by turns present, missing, null or of the wrong shape. */
+    private static Map<String, Object> document(Random random) {
+        List<Object> items = new ArrayList<>();
+        for (int i = random.nextInt(4); i > 0; i--) {
+            items.add(pick(random, "a",
+                    map("sku", pick(random, "a", "b", "c", ABSENT), "price", 12.5,
+                            "stock", pick(random, map("level", pick(random, 0, 3, ABSENT), "bin", "x"), 5, ABSENT))));
+        }
+        return map(
+                "customer", pick(random, ABSENT, null, "anonymous", List.of(map("age", 40)),
+                        map("age", pick(random, 17, 18, 65, "old", null, ABSENT),
+                                "address", pick(random, map("city", "London", "zip", "N1"), map("city", "Leeds"), "London", List.of(), ABSENT),
+                                "name", "someone")),
+                "order", pick(random, ABSENT, "order", List.of(map("items", items)),
+                        map("id", 7, "items", pick(random, items, "none", ABSENT))),
+                "tags", pick(random, List.of("vip", "new"), List.of("new"), "vip", ABSENT),
+                "score", pick(random, 0, 5, 5.5, 12, "5", null, ABSENT),
+                "meta", pick(random, map("flags", map("beta", pick(random, true, false, ABSENT), "gamma", true)),
+                        map("flags", "beta"), ABSENT),
+                "history", pick(random, List.of(map("last", "refund")), map("last", pick(random, "refund", "sale")), ABSENT),
+                "profile", pick(random, map("deep", pick(random, map("missing", 1), map("other", 2), "flat")), ABSENT),
+                "status", pick(random, "active", "closed", ABSENT),
+                "noise", map("blob", map("a", List.of(1, 2, map("b", "c"))), "text", "unreferenced"));
+    }
+
+    private static Object read(ObjectMapper mapper, String content) throws IOException {
+        try (JsonParser parser = mapper.createParser(content)) {
+            return PROJECTION.read(parser);
+        }
+    }
+
+    @Test
+    void projectedDocumentsEvaluateLikeFullOnes() throws IOException {
+        Random random = new Random(18);
+
+        for (int i = 0; i < 1_000; i++) {
+            Map<String, Object> document = document(random);
+            EvaluationOutcome expected = EVALUATOR.evaluate(document, CONTEXT);
+
+            assertThat(EVALUATOR.evaluate(PROJECTION.project(document), CONTEXT)).as("%s", document).isEqualTo(expected);
+            assertThat(EVALUATOR.evaluate(read(JSON, JSON.writeValueAsString(document)), CONTEXT))
+                    .as("%s", document).isEqualTo(expected);
+            assertThat(INTERPRETED.evaluate(PROJECTION.project(document), CONTEXT))
+                    .as("%s", document).isEqualTo(INTERPRETED.evaluate(document, CONTEXT));
+        }
+    }
+
+    @Test
+    void documentsThatAreNotObjectsKeepTheirShape() {
+        for (Object document : Arrays.asList(null, "text", 42, List.of(map("status", "active")))) {
+            assertThat(EVALUATOR.evaluate(PROJECTION.project(document), CONTEXT))
+                    .isEqualTo(EVALUATOR.evaluate(document, CONTEXT));
+        }
+    }
+
+    @Test
+    void readerSkipsUnreferencedValues() throws IOException {
+        String json = """
+                {"customer": {"age": 30, "name": "x", "address": {"city": "Leeds", "zip": "LS1"}},
+                 "noise": [1, {"a": [2, 3]}],
+                 "order": {"id": 5, "items": [{"sku": "a", "price": 1.5, "stock": {"level": 2, "bin": "x"}}, "b"]},
+                 "tags": ["vip", {"any": "shape"}],
+                 "history": [{"last": "refund"}],
+                 "status": "active"}
+                """;
+
+        assertThat(read(JSON, json)).isEqualTo(map(
+                "customer", map("age", 30, "address", map("city", "Leeds")),
+                "order", map("items", List.of(map("sku", "a", "stock", map("level", 2)), "b")),
+                "tags", List.of("vip", map("any", "shape")),
+                "history", List.of(),
+                "status", "active"));
+    }
+
+    @Test
+    void readerWorksWithOtherFormats() throws IOException {
+        String yaml = """
+                customer:
+                  age: 30
+                  name: x
+                status: active
+                noise: [1, 2]
+                """;
+
+        assertThat(read(new ObjectMapper(new YAMLFactory()), yaml))
+                .isEqualTo(map("customer", map("age", 30), "status", "active"));
+    }
+
+    @Test
+    void consecutiveReadsReadConsecutiveValues() throws IOException {
+        try (JsonParser parser = JSON.createParser("{\"status\": \"active\", \"x\": 1} {\"status\": \"closed\"} 7")) {
+            assertThat(PROJECTION.read(parser)).isEqualTo(map("status", "active"));
+            assertThat(PROJECTION.read(parser)).isEqualTo(map("status", "closed"));
+            assertThat(PROJECTION.read(parser)).isEqualTo(7);
+            assertThatThrownBy(() -> PROJECTION.read(parser)).isInstanceOf(EOFException.class);
+        }
+    }
+
+    @Test
+    void pathsListWhatIsReadWhole() {
+        assertThat(PROJECTION.paths()).containsExactlyInAnyOrder(
+                "customer.age", "customer.address.city",
+                "order.items[].sku", "order.items[].stock.level",
+                "tags", "score", "meta.flags.beta", "history.last", "profile.deep.missing", "status");
+        assertThat(PROJECTION.contextPaths()).containsExactly("limits.minAge");
+    }
+
+    @Test
+    void wholeValuesSubsumeTheirParts() {
+        DocumentProjection projection = DocumentProjection.of(new Specification("overlap", List.of(
+                new QueryCriterion("city", Map.of("address.city", "London")),
+                new QueryCriterion("address", Map.of("address", Map.of("$exists", true))),
+                new QueryCriterion("items", Map.of("items", Map.of("$elemMatch", Map.of("sku", "a")))),
+                new QueryCriterion("count", Map.of("items", Map.of("$size", 2))))));
+
+        assertThat(projection.paths()).containsExactlyInAnyOrder("address", "items");
+    }
+
+    @Test
+    void rootOperatorsReadTheWholeDocument() {
+        DocumentProjection projection = DocumentProjection.of(new Specification("root", List.of(
+                new QueryCriterion("present", Map.of("$exists", true)),
+                new QueryCriterion("city", Map.of("address.city", "London")))));
+
+        assertThat(projection.paths()).containsExactly("");
+        Map<String, Object> document = map("address", map("city", "London"), "other", 1);
+        assertThat(projection.project(document)).isSameAs(document);
+    }
+
+    @Test
+    void nullSpecificationIsRejected() {
+        assertThatThrownBy(() -> DocumentProjection.of(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,257 @@
+package uk.codery.jspec.evaluator;
+
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.model.CompositeCriterion;
+import uk.codery.jspec.model.Criterion;
+import uk.codery.jspec.model.CriterionReference;
+import uk.codery.jspec.model.Junction;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.result.CompositeResult;
+import uk.codery.jspec.result.EvaluationResult;
+import uk.codery.jspec.result.EvaluationState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EvaluationPlanTest {
+
+    private static final QueryCriterion ADULT = new QueryCriterion("adult", Map.of("age", Map.of("$gte", 18)));
+    private static final QueryCriterion ACTIVE = new QueryCriterion("active", Map.of("status", "active"));
+    private static final QueryCriterion VIP = new QueryCriterion("vip", Map.of("tier", "gold"));
+
+    private static EvaluationPlan plan(List<Criterion> criteria) {
+        Map<String, Criterion> index = new HashMap<>();
+        index(criteria, index);
+        return new EvaluationPlan(criteria, index, Map.of());
+    }
+
+    private static void index(List<Criterion> criteria, Map<String, Criterion> index) {
+        for (Criterion c : criteria) {
+            if (c instanceof CriterionReference) continue;
+            index.putIfAbsent(c.id(), c);
+            if (c instanceof CompositeCriterion composite) index(composite.criteria(), index);
+        }
+    }
+
+    @Test
+    void ordinalsFollowDeclarationOrderDepthFirst() {
+        CompositeCriterion inner = new CompositeCriterion("inner", List.of(VIP));
+        CompositeCriterion outer = new CompositeCriterion("outer", List.of(ACTIVE, inner, new CriterionReference("adult")));
+
+        EvaluationPlan plan = plan(List.of(outer, ADULT));
+
+        assertThat(plan.size()).isEqualTo(5);
+        assertThat(List.of("outer", "active", "inner", "vip", "adult"))
+                .allSatisfy(id -> assertThat(plan.criterion(plan.ordinal(id)).id()).isEqualTo(id));
+        assertThat(plan.ordinal("outer")).isZero();
+        assertThat(plan.ordinal("adult")).isEqualTo(4);
+        assertThat(plan.children(0)).containsExactly(1, 2, 4);
+    }
+
+    @Test
+    void duplicateIdsKeepTheFirstDefinition() {
+        QueryCriterion second = new QueryCriterion("adult", Map.of("age", Map.of("$gte", 21)));
+
+        EvaluationPlan plan = plan(List.of(ADULT, second));
+
+        assertThat(plan.size()).isEqualTo(1);
+        assertThat(plan.criterion(0)).isSameAs(ADULT);
+        assertThat(plan.schedule().levels()).isDeepEqualTo(new int[][]{{0}});
+    }
+
+    @Test
+    void unknownReferenceTargetsHaveNoOrdinal() {
+        CompositeCriterion composite = new CompositeCriterion("c", List.of(new CriterionReference("ghost")));
+
+        EvaluationPlan plan = plan(List.of(composite, new CriterionReference("ghost")));
+
+        assertThat(plan.ordinal("ghost")).isEqualTo(EvaluationPlan.UNKNOWN);
+        assertThat(plan.children(0)).containsExactly(EvaluationPlan.UNKNOWN);
+        assertThat(plan.dependents()).containsExactly(0);
+    }
+
+    @Test
+    void topLevelReferencesAndCompositesAreDependentsInDeclarationOrder() {
+        CompositeCriterion both = new CompositeCriterion("both", List.of(
+                new CriterionReference("adult"), new CriterionReference("active")));
+
+        EvaluationPlan plan = plan(List.of(ADULT, both, ACTIVE, new CriterionReference("adult")));
+
+        assertThat(plan.dependents()).containsExactly(plan.ordinal("both"), plan.ordinal("adult"));
+    }
+
+    @Test
+    void levelsPlaceEveryCompositeAboveItsChildren() {
+        CompositeCriterion inner = new CompositeCriterion("inner", List.of(VIP, new CriterionReference("adult")));
+        CompositeCriterion outer = new CompositeCriterion("outer", List.of(ACTIVE, inner));
+        CompositeCriterion viaRef = new CompositeCriterion("via-ref", List.of(new CriterionReference("outer")));
+        CompositeCriterion flat = new CompositeCriterion("flat", List.of(new CriterionReference("active")));
+
+        EvaluationPlan plan = plan(List.of(viaRef, outer, flat, ADULT));
+
+        assertThat(plan.schedule().levels()).isDeepEqualTo(new int[][]{
+                ordinals(plan, "active", "vip", "adult"),
+                ordinals(plan, "inner", "flat"),
+                ordinals(plan, "outer"),
+                ordinals(plan, "via-ref")});
+        assertThat(plan.schedule().parallelisable()).isTrue();
+    }
+
+    @Test
+    void levelsIgnoreCutCyclesAndMissingTargets() {
+        CompositeCriterion a = new CompositeCriterion("a", List.of(new CriterionReference("b"), ADULT));
+        CompositeCriterion b = new CompositeCriterion("b", List.of(new CriterionReference("a"), new CriterionReference("ghost")));
+
+        EvaluationPlan plan = plan(List.of(a, b));
+
+        assertThat(plan.schedule().levels()).isDeepEqualTo(new int[][]{
+                ordinals(plan, "adult", "b"),
+                ordinals(plan, "a")});
+    }
+
+    @Test
+    void levelsOnlyHoldReachableOrdinals() {
+        CompositeCriterion first = new CompositeCriterion("dup", List.of(ACTIVE));
+        CompositeCriterion shadowed = new CompositeCriterion("dup", List.of(VIP));
+
+        EvaluationPlan plan = plan(List.of(first, shadowed));
+
+        assertThat(plan.ordinal("vip")).isNotEqualTo(EvaluationPlan.UNKNOWN);
+        assertThat(plan.schedule().levels()).isDeepEqualTo(new int[][]{ordinals(plan, "active"), ordinals(plan, "dup")});
+        assertThat(plan.schedule().parallelisable()).isFalse();
+    }
+
+    @Test
+    void parallelLevelsMatchSequentialEvaluation() {
+        List<Criterion> criteria = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            criteria.add(new QueryCriterion("q" + i, Map.of("n", Map.of("$gte", i))));
+        }
+        for (int i = 0; i < 20; i++) {
+            criteria.add(new CompositeCriterion("c" + i, i % 2 == 0 ? Junction.AND : Junction.OR, List.of(
+                    new CriterionReference("q" + i), new CriterionReference("q" + (i + 20)),
+                    new CriterionReference(i > 0 ? "c" + (i - 1) : "c19"))));
+        }
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(new Specification("wide", criteria));
+
+        EvaluationPlan plan = plan(criteria);
+
+        for (int n : new int[]{0, 10, 25, 50}) {
+            Map<String, Object> document = Map.of("n", n);
+            // The sequential path: top-level criteria in declaration order, composites
+            // evaluating their children on demand.
+            EvaluationContext sequential = new EvaluationContext(new CriterionEvaluator(), Map.of(), plan, false, false, null, null);
+            criteria.forEach(c -> sequential.getOrEvaluate(c, document));
+
+            assertThat(evaluator.evaluate(document).results()).isEqualTo(List.copyOf(sequential.getAllResults()));
+        }
+    }
+
+    @Test
+    void referencesClosingACycleAreCutWhereTheWalkFirstMeetsThem() {
+        CompositeCriterion a = new CompositeCriterion("a", List.of(new CriterionReference("b"), ADULT));
+        CompositeCriterion b = new CompositeCriterion("b", List.of(new CriterionReference("a")));
+        CompositeCriterion self = new CompositeCriterion("self", List.of(new CriterionReference("self")));
+
+        EvaluationPlan plan = plan(List.of(a, b, self, ADULT));
+
+        assertThat(plan.children(plan.ordinal("a"))).containsExactly(plan.ordinal("b"), plan.ordinal("adult"));
+        assertThat(plan.children(plan.ordinal("b"))).containsExactly(EvaluationPlan.CYCLE);
+        assertThat(plan.children(plan.ordinal("self"))).containsExactly(EvaluationPlan.CYCLE);
+    }
+
+    @Test
+    void sharedTargetsAreNotCycles() {
+        CompositeCriterion left = new CompositeCriterion("left", List.of(new CriterionReference("adult")));
+        CompositeCriterion both = new CompositeCriterion("both", List.of(
+                new CriterionReference("left"), new CriterionReference("adult"), new CriterionReference("left")));
+
+        EvaluationPlan plan = plan(List.of(both, left, ADULT));
+
+        assertThat(plan.children(plan.ordinal("both")))
+                .containsExactly(plan.ordinal("left"), plan.ordinal("adult"), plan.ordinal("left"));
+    }
+
+    @Test
+    void nestedCompositeRepeatingAnAncestorIdIsReportedAsACycle() {
+        CompositeCriterion outer = new CompositeCriterion("outer", List.of(
+                ACTIVE, new CompositeCriterion("outer", List.of(VIP))));
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(new Specification("repeat", List.of(outer)));
+
+        EvaluationResult result = evaluator.evaluate(Map.of("status", "active")).results().get(0);
+
+        assertThat(result.state()).isEqualTo(EvaluationState.UNDETERMINED);
+        assertThat(((CompositeResult) result).childResults().get(1).reason()).contains("cycle");
+    }
+
+    @Test
+    void outcomeResultsAreInDeclarationOrder() {
+        CompositeCriterion inner = new CompositeCriterion("inner", Junction.OR, List.of(VIP));
+        CompositeCriterion outer = new CompositeCriterion("outer", List.of(ACTIVE, inner));
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(
+                new Specification("ordered", List.of(outer, ADULT)));
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(evaluator.evaluate(Map.of("age", 30, "status", "active")).results())
+                    .extracting(EvaluationResult::id)
+                    .containsExactly("outer", "active", "inner", "vip", "adult");
+        }
+    }
+
+    @Test
+    void plannedEvaluationMatchesTheMapBackedContext() {
+        CompositeCriterion selfCycle = new CompositeCriterion("self", List.of(ACTIVE, new CriterionReference("self")));
+        CompositeCriterion a = new CompositeCriterion("a", List.of(new CriterionReference("b"), ADULT));
+        CompositeCriterion b = new CompositeCriterion("b", Junction.OR, List.of(new CriterionReference("a"), VIP));
+        CompositeCriterion refs = new CompositeCriterion("refs", Junction.OR, List.of(
+                new CriterionReference("adult"), new CriterionReference("ghost"), new CriterionReference("nested")));
+        CompositeCriterion nested = new CompositeCriterion("nested", List.of());
+        CompositeCriterion holder = new CompositeCriterion("holder", List.of(nested, ACTIVE));
+        List<List<Criterion>> specs = List.of(
+                List.of(ACTIVE, selfCycle),
+                List.of(a, b, ADULT, VIP, new CriterionReference("a")),
+                List.of(refs, ADULT, holder, new CriterionReference("ghost")));
+
+        for (List<Criterion> criteria : specs) {
+            SpecificationEvaluator evaluator = new SpecificationEvaluator(new Specification("mixed", criteria));
+            for (Map<String, Object> document : List.<Map<String, Object>>of(
+                    Map.of("age", 30, "status", "active", "tier", "gold"),
+                    Map.of("age", 10, "status", "inactive"),
+                    Map.of())) {
+                Map<String, EvaluationResult> planned = byId(evaluator.evaluate(document).results());
+                Map<String, EvaluationResult> mapped = byId(evaluateWithMapContext(criteria, document));
+
+                assertThat(planned).as("%s against %s", criteria, document).isEqualTo(mapped);
+            }
+        }
+    }
+
+    /** The phase-1/phase-2 orchestration over a map-backed context. */
+    private static List<EvaluationResult> evaluateWithMapContext(List<Criterion> criteria, Object document) {
+        Map<String, Criterion> index = new HashMap<>();
+        index(criteria, index);
+        try (EvaluationContext context = new EvaluationContext(new CriterionEvaluator(), Map.of(), index)) {
+            criteria.stream().filter(QueryCriterion.class::isInstance).forEach(c -> context.getOrEvaluate(c, document));
+            criteria.stream().filter(c -> !(c instanceof QueryCriterion)).forEach(c -> context.getOrEvaluate(c, document));
+            return List.copyOf(context.getAllResults());
+        }
+    }
+
+    private static int[] ordinals(EvaluationPlan plan, String... ids) {
+        return Arrays.stream(ids).mapToInt(plan::ordinal).toArray();
+    }
+
+    private static Map<String, EvaluationResult> byId(List<EvaluationResult> results) {
+        return results.stream().collect(Collectors.toMap(EvaluationResult::id, Function.identity(),
+                (x, y) -> x, LinkedHashMap::new));
+    }
+}
@@ -0,0 +1,242 @@
+package uk.codery.jspec.evaluator;
+
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.model.CompositeCriterion;
+import uk.codery.jspec.model.Criterion;
+import uk.codery.jspec.model.CriterionReference;
+import uk.codery.jspec.model.Junction;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.operator.OperatorRegistry;
+import uk.codery.jspec.result.EvaluationOutcome;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExecutionStrategyTest {
+
+    /** Records the thread of every {@code $onThread} test. */
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+    private CriterionEvaluator recordingEvaluator() {
+        OperatorRegistry registry = OperatorRegistry.withDefaults();
+        registry.register("$onThread", (value, operand) -> {
+            threads.add(Thread.currentThread().getName());
+            return value instanceof Number number && number.intValue() > ((Number) operand).intValue();
+        });
+        return new CriterionEvaluator(registry);
+    }
+
+    /** Sixteen queries, and composites over them on two further levels. */
+    private static Specification spec() {
+        List<Criterion> criteria = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            criteria.add(new QueryCriterion("q" + i, Map.of("f" + (i % 4), Map.of("$onThread", i))));
+        }
+        criteria.add(new CompositeCriterion("any", Junction.OR, List.of(
+                new CriterionReference("q0"), new CriterionReference("q5"))));
+        criteria.add(new CompositeCriterion("all", Junction.AND, List.of(
+                new CriterionReference("q1"), new CriterionReference("q2"))));
+        criteria.add(new CompositeCriterion("both", Junction.AND, List.of(
+                new CriterionReference("any"), new CriterionReference("all"))));
+        return new Specification("strategies", criteria);
+    }
+
+    private static List<Map<String, Object>> documents(int count) {
+        return IntStream.range(0, count)
+                .<Map<String, Object>>mapToObj(i -> Map.of("f0", i % 20, "f1", (i * 7) % 20, "f3", "x"))
+                .toList();
+    }
+
+    /** Splits every level across the strategy, as these cheap queries would otherwise stay on the caller. */
+    private SpecificationEvaluator evaluator(ExecutionStrategy strategy) {
+        return new SpecificationEvaluator(spec(), recordingEvaluator(),
+                EvaluationOptions.defaults().withExecutionStrategy(strategy).withCostBasedParallelism(false));
+    }
+
+    @Test
+    void everyStrategyGivesTheSameOutcomes() throws Exception {
+        ExecutorService fixed = Executors.newFixedThreadPool(2);
+        try {
+            List<Map<String, Object>> documents = documents(300);
+            List<EvaluationOutcome> expected = documents.stream().map(evaluator(ExecutionStrategy.callerThread())::evaluate).toList();
+
+            for (ExecutionStrategy strategy : List.of(ExecutionStrategy.commonPool(), ExecutionStrategy.forkJoinPool(3),
+                    ExecutionStrategy.executor(fixed, 2), ExecutionStrategy.virtualThreads())) {
+                SpecificationEvaluator evaluator = evaluator(strategy);
+
+                assertThat(documents.stream().map(evaluator::evaluate).toList()).as("%s", strategy).isEqualTo(expected);
+                assertThat(evaluator.evaluateAll(documents).outcomes()).as("%s", strategy).isEqualTo(expected);
+            }
+        } finally {
+            fixed.shutdown();
+        }
+    }
+
+    @Test
+    void callerThreadKeepsAllWorkOnTheCallingThread() throws Exception {
+        SpecificationEvaluator evaluator = evaluator(ExecutionStrategy.callerThread());
+
+        evaluator.evaluate(documents(1).get(0));
+        evaluator.evaluateAll(documents(5000));
+        String ndjson = String.join("\n", documents(100).stream().map(d -> "{\"f0\": " + d.get("f0") + "}").toList());
+        new StreamingEvaluator(evaluator, 16).evaluate(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), outcome -> { });
+
+        assertThat(threads).containsExactly(Thread.currentThread().getName());
+        assertThat(evaluator.executionMetrics()).isEqualTo(ExecutionMetrics.EMPTY);
+    }
+
+    @Test
+    void suppliedExecutorRunsTheWorkAndIsMeasured() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4,
+                task -> new Thread(task, "spec-worker-" + created.incrementAndGet()));
+        try {
+            SpecificationEvaluator evaluator = evaluator(ExecutionStrategy.executor(executor, 4));
+
+            for (Map<String, Object> document : documents(200)) {
+                evaluator.evaluate(document);
+            }
+
+            // Any task may be reclaimed by the caller before a worker starts it
+            ExecutionMetrics metrics = evaluator.executionMetrics();
+            assertThat(metrics.forks()).isGreaterThanOrEqualTo(200);
+            assertThat(metrics.tasks()).isGreaterThanOrEqualTo(metrics.forks());
+            assertThat(metrics.workerTasks() + metrics.reclaimed()).isEqualTo(metrics.tasks());
+            assertThat(metrics.meanQueueTime()).isLessThanOrEqualTo(metrics.maxQueueTime());
+
+            // The caller's own task holds it until a worker has started another, so one runs on a worker
+            ParallelExecution execution = new ParallelExecution(ExecutionStrategy.executor(executor, 4));
+            CountDownLatch workerStarted = new CountDownLatch(1);
+            Set<String> runners = ConcurrentHashMap.newKeySet();
+            execution.invokeAll(4, i -> {
+                runners.add(Thread.currentThread().getName());
+                if (i > 0) {
+                    workerStarted.countDown();
+                    return;
+                }
+                try {
+                    assertThat(workerStarted.await(5, TimeUnit.SECONDS)).isTrue();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            assertThat(runners).anyMatch(name -> name.startsWith("spec-worker-"));
+            assertThat(execution.metrics().workerTasks()).isPositive();
+            assertThat(execution.metrics().maxQueueTime()).isPositive();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void saturatedExecutorStillCompletesOnTheCaller() throws Exception {
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        single.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try {
+            SpecificationEvaluator evaluator = evaluator(ExecutionStrategy.executor(single, 4));
+            EvaluationOutcome expected = evaluator(ExecutionStrategy.callerThread()).evaluate(documents(1).get(0));
+
+            assertThat(evaluator.evaluate(documents(1).get(0))).isEqualTo(expected);
+
+            ExecutionMetrics metrics = evaluator.executionMetrics();
+            assertThat(metrics.reclaimed()).isEqualTo(metrics.tasks()).isPositive();
+            assertThat(metrics.workerTasks()).isZero();
+        } finally {
+            release.countDown();
+            single.shutdown();
+            single.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void rejectedTasksRunOnTheCaller() {
+        ExecutionStrategy rejecting = ExecutionStrategy.executor(task -> {
+            throw new RejectedExecutionException("full");
+        }, 8);
+        SpecificationEvaluator evaluator = evaluator(rejecting);
+
+        assertThat(evaluator.evaluateAll(documents(100)).outcomes())
+                .isEqualTo(evaluator(ExecutionStrategy.callerThread()).evaluateAll(documents(100)).outcomes());
+        assertThat(evaluator.executionMetrics().reclaimed()).isEqualTo(evaluator.executionMetrics().tasks());
+    }
+
+    @Test
+    void derivedEvaluatorsShareTheirMetrics() {
+        SpecificationEvaluator evaluator = evaluator(ExecutionStrategy.forkJoinPool(2));
+
+        evaluator.forTargets(Set.of("q1", "q2", "q3")).evaluate(documents(1).get(0));
+
+        assertThat(evaluator.executionMetrics().forks()).isPositive();
+    }
+
+    @Test
+    void failuresAreRethrownAfterEveryTaskHasFinished() {
+        ParallelExecution execution = new ParallelExecution(ExecutionStrategy.forkJoinPool(4));
+        AtomicInteger finished = new AtomicInteger();
+
+        assertThatThrownBy(() -> execution.invokeAll(8, i -> {
+            if (i == 3) {
+                throw new IllegalStateException("task " + i);
+            }
+            finished.incrementAndGet();
+        })).isInstanceOf(IllegalStateException.class).hasMessage("task 3");
+        assertThat(finished).hasValue(7);
+    }
+
+    @Test
+    void metricsSubtract() {
+        ExecutionMetrics earlier = new ExecutionMetrics(2, 6, 1, Duration.ofMillis(5), Duration.ofMillis(3));
+        ExecutionMetrics later = new ExecutionMetrics(5, 15, 1, Duration.ofMillis(20), Duration.ofMillis(4));
+
+        ExecutionMetrics interval = later.since(earlier);
+
+        assertThat(interval).isEqualTo(new ExecutionMetrics(3, 9, 0, Duration.ofMillis(15), Duration.ofMillis(4)));
+        assertThat(interval.meanQueueTime()).isEqualTo(Duration.ofNanos(15_000_000 / 9));
+        assertThat(ExecutionMetrics.EMPTY.meanQueueTime()).isZero();
+    }
+
+    @Test
+    void invalidConfigurationIsRejected() {
+        assertThatThrownBy(() -> EvaluationOptions.defaults().withExecutionStrategy(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ExecutionStrategy cannot be null");
+        assertThatThrownBy(() -> ExecutionStrategy.forkJoinPool(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ExecutionStrategy.executor(null, 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Executor cannot be null");
+        assertThatThrownBy(() -> ExecutionStrategy.executor(Runnable::run, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ExecutionMetrics(1, 1, 2, Duration.ZERO, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(EvaluationOptions.defaults().executionStrategy()).isSameAs(ExecutionStrategy.commonPool());
+        assertThat(ExecutionStrategy.callerThread().parallelism()).isOne();
+        assertThat(ExecutionStrategy.callerThread()).hasToString("ExecutionStrategy.callerThread()");
+    }
+}
@@ -0,0 +1,81 @@
+package uk.codery.jspec.evaluator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FieldPathTest {
+
+    @Test
+    void segmentsMatchStringSplit() {
+        for (String path : List.of("a", "a.b", "a.b.c", "a..b", ".a", "a.", "a..", ".", "x.y.")) {
+            FieldPath parsed = FieldPath.of(path);
+            String[] segments = IntStream.range(0, parsed.size()).mapToObj(parsed::segment).toArray(String[]::new);
+            assertThat(segments).as(path).isEqualTo(path.split("\\."));
+        }
+    }
+
+    @Test
+    void emptyPathHasNoSegmentsAndNavigatesToTheRoot() {
+        Map<String, Object> doc = Map.of("a", 1);
+
+        assertThat(FieldPath.of("").size()).isZero();
+        assertThat(FieldPath.of("").navigate(doc)).isSameAs(doc);
+    }
+
+    @Test
+    void ofInternsRepeatedPaths() {
+        String path = new String("address.city");
+
+        assertThat(FieldPath.of(path)).isSameAs(FieldPath.of("address.city"));
+        assertThat(FieldPath.of(path).path()).isEqualTo("address.city");
+    }
+
+    @Test
+    void navigatesNestedMaps() {
+        Map<String, Object> doc = Map.of("address", Map.of("city", "London", "geo", Map.of("lat", 51.5)));
+
+        assertThat(FieldPath.of("address.city").navigate(doc)).isEqualTo("London");
+        assertThat(FieldPath.of("address.geo.lat").navigate(doc)).isEqualTo(51.5);
+        assertThat(FieldPath.of("address").navigate(doc)).isInstanceOf(Map.class);
+    }
+
+    @Test
+    void missingNullOrNonMapIntermediatesNavigateToNull() {
+        Map<String, Object> withNull = new HashMap<>();
+        withNull.put("address", null);
+        Map<String, Object> doc = Map.of("name", "Alice", "tags", Arrays.asList("a", "b"));
+
+        assertThat(FieldPath.of("address.city").navigate(withNull)).isNull();
+        assertThat(FieldPath.of("missing.city").navigate(doc)).isNull();
+        assertThat(FieldPath.of("name.first").navigate(doc)).isNull();
+        assertThat(FieldPath.of("tags.0").navigate(doc)).isNull();
+    }
+
+    @Test
+    void navigateAgreesWithSplitBasedNavigation() {
+        Map<String, Object> doc = Map.of("a", Map.of("b", Map.of("c", 1)), "", Map.of("x", 2));
+        for (String path : List.of("a", "a.b", "a.b.c", "a.b.c.d", ".x", "a..b", "a.", "", ".")) {
+            assertThat(FieldPath.of(path).navigate(doc)).as(path).isEqualTo(splitNavigate(doc, path));
+        }
+    }
+
+    /** The split-on-every-lookup navigation FieldPath replaced. */
+    private static Object splitNavigate(Map<?, ?> map, String path) {
+        if (path.isEmpty()) return map;
+        if (!path.contains(".")) return map.get(path);
+        Object current = map;
+        for (String part : path.split("\\.")) {
+            if (!(current instanceof Map<?, ?> m)) return null;
+            current = m.get(part);
+            if (current == null) return null;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,103 @@
+package uk.codery.jspec.evaluator;
+
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.result.EvaluationState;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OperandSetTest {
+
+    @Test
+    void numbersOfEqualValueShareACanonicalKey() {
+        for (Object one : List.of(1, 1L, 1.0, 1.0f, (short) 1, (byte) 1, BigInteger.ONE, new BigDecimal("1.00"))) {
+            assertThat(OperandSet.canonical(one)).as("%s (%s)", one, one.getClass().getSimpleName()).isEqualTo(1L);
+        }
+        assertThat(OperandSet.canonical(2.5)).isEqualTo(2.5);
+        assertThat(OperandSet.canonical(new BigDecimal("2.5"))).isEqualTo(2.5);
+        assertThat(OperandSet.canonical("1")).isEqualTo("1");
+        assertThat(OperandSet.canonical(null)).isNull();
+    }
+
+    @Test
+    void valuesOutsideLongRangeStayDistinct() {
+        BigInteger huge = BigInteger.TWO.pow(80);
+
+        assertThat(OperandSet.canonical(huge)).isEqualTo(huge);
+        assertThat(OperandSet.canonical(1e30)).isEqualTo(1e30);
+        assertThat(OperandSet.canonical(Double.POSITIVE_INFINITY)).isEqualTo(Double.POSITIVE_INFINITY);
+        assertThat(OperandSet.canonical(Double.NaN)).isEqualTo(Double.NaN);
+    }
+
+    @Test
+    void containsMatchesAcrossNumericTypes() {
+        OperandSet set = OperandSet.of(List.of(1, 2.5, "x"));
+
+        assertThat(set.contains(1L)).isTrue();
+        assertThat(set.contains(1.0)).isTrue();
+        assertThat(set.contains(2.5f)).isTrue();
+        assertThat(set.contains("x")).isTrue();
+        assertThat(set.contains(2)).isFalse();
+        assertThat(set.contains("1")).isFalse();
+        assertThat(set.contains(null)).isFalse();
+    }
+
+    @Test
+    void nullMembersAreSupported() {
+        OperandSet set = OperandSet.of(Arrays.asList("a", null));
+
+        assertThat(set.contains(null)).isTrue();
+        assertThat(OperandSet.containsCanonical(Arrays.asList("a", null), null)).isTrue();
+    }
+
+    @Test
+    void containsAnyChecksEveryElement() {
+        OperandSet set = OperandSet.of(List.of("a", "b"));
+
+        assertThat(set.containsAny(List.of("z", "b"))).isTrue();
+        assertThat(set.containsAny(List.of("z"))).isFalse();
+        assertThat(set.containsAny(List.of())).isFalse();
+    }
+
+    @Test
+    void isCoveredByRequiresEveryDistinctMember() {
+        OperandSet set = OperandSet.of(List.of("a", "b", "a", 1));
+
+        assertThat(set.isCoveredBy(List.of("b", 1.0, "a"))).isTrue();
+        assertThat(set.isCoveredBy(List.of("a", "a", "b"))).isFalse();
+        assertThat(OperandSet.of(List.of()).isCoveredBy(List.of())).isTrue();
+    }
+
+    @Test
+    void isCoveredByHandlesOperandsBeyondTheBitMask() {
+        for (int size : List.of(63, 64, 65, 200)) {
+            List<Object> operand = new ArrayList<>(IntStream.range(0, size).boxed().toList());
+            OperandSet set = OperandSet.of(operand);
+
+            assertThat(set.isCoveredBy(operand)).as("size %d", size).isTrue();
+            assertThat(set.isCoveredBy(operand.subList(1, size))).as("size %d", size).isFalse();
+            List<Object> repeated = new ArrayList<>(operand.subList(1, size));
+            repeated.addAll(operand.subList(1, size));
+            assertThat(set.isCoveredBy(repeated)).as("size %d repeated", size).isFalse();
+        }
+    }
+
+    @Test
+    void interpreterAndCompiledQueriesAgreeOnCanonicalMembership() {
+        CriterionEvaluator evaluator = new CriterionEvaluator();
+        QueryCriterion criterion = new QueryCriterion("codes",
+                Map.of("code", Map.of("$in", List.of(100, 200, 300))));
+        Map<String, Object> doc = Map.of("code", 200.0);
+
+        assertThat(evaluator.evaluateQuery(doc, criterion).state()).isEqualTo(EvaluationState.MATCHED);
+        assertThat(evaluator.compile(criterion).evaluate(doc).state()).isEqualTo(EvaluationState.MATCHED);
+    }
+}
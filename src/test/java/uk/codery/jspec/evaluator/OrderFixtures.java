@@ -0,0 +1,58 @@
+package uk.codery.jspec.evaluator;
+
+import uk.codery.jspec.operator.OperatorRegistry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Order documents, queries and evaluators shared by the tests that evaluate many documents or
+ * specifications at once.
+ */
+final class OrderFixtures {
+
+    /** Orders with a total over 100. */
+    static final Map<String, Object> LARGE = Map.of("order.total", Map.of("$gt", 100));
+
+    private OrderFixtures() {
+    }
+
+    /**
+     * Random orders with every field present, absent or of the wrong type in turn. The
+     * documents themselves are mutable, so tests can add fields of their own.
+     */
+    static List<Map<String, Object>> documents(int count, long seed) {
+        Random random = new Random(seed);
+        List<Map<String, Object>> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> order = new HashMap<>();
+            if (random.nextInt(5) > 0) order.put("total", random.nextInt(200));
+            if (random.nextInt(5) > 0) order.put("country", List.of("uk", "ie", "fr", "de").get(random.nextInt(4)));
+            Map<String, Object> customer = new HashMap<>();
+            switch (random.nextInt(3)) {
+                case 0 -> customer.put("verified", random.nextBoolean());
+                case 1 -> customer.put("verified", "yes");
+                default -> { }
+            }
+            Map<String, Object> document = new HashMap<>();
+            document.put("order", order);
+            document.put("customer", customer);
+            documents.add(document);
+        }
+        return documents;
+    }
+
+    /** A criterion evaluator whose {@code $counted} operator tests equality and counts its calls. */
+    static CriterionEvaluator countingEvaluator(AtomicInteger calls) {
+        OperatorRegistry registry = OperatorRegistry.withDefaults();
+        registry.register("$counted", (value, operand) -> {
+            calls.incrementAndGet();
+            return operand.equals(value);
+        });
+        return new CriterionEvaluator(registry);
+    }
+}
@@ -0,0 +1,150 @@
+package uk.codery.jspec.evaluator;
+
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.model.CompositeCriterion;
+import uk.codery.jspec.model.Criterion;
+import uk.codery.jspec.model.CriterionReference;
+import uk.codery.jspec.model.Junction;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.result.EvaluationOutcome;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class ParallelismTunerTest {
+
+    private static final ExecutionStrategy FOUR_WORKERS = ExecutionStrategy.forkJoinPool(4);
+
+    private static Specification cheap() {
+        List<Criterion> criteria = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            criteria.add(new QueryCriterion("q" + i, Map.of("f" + i, Map.of("$gt", i))));
+        }
+        return new Specification("cheap", criteria);
+    }
+
+    private static Specification expensive() {
+        List<Criterion> criteria = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            criteria.add(new QueryCriterion("r" + i, Map.of("name", Map.of("$regex", "^(a|b)+" + i + "[0-9]*$"))));
+        }
+        criteria.add(new CompositeCriterion("any", Junction.OR, List.of(
+                new CriterionReference("r0"), new CriterionReference("r1"))));
+        return new Specification("expensive", criteria);
+    }
+
+    private static SpecificationEvaluator evaluator(Specification spec, boolean costBased) {
+        return new SpecificationEvaluator(spec, new CriterionEvaluator(), EvaluationOptions.defaults()
+                .withExecutionStrategy(FOUR_WORKERS).withCostBasedParallelism(costBased));
+    }
+
+    private static List<Map<String, Object>> documents(int count) {
+        return IntStream.range(0, count)
+                .<Map<String, Object>>mapToObj(i -> Map.of("f1", i % 3, "f3", i, "name", "abab" + (i % 400)))
+                .toList();
+    }
+
+    @Test
+    void cheapSpecificationsStayOnTheCallingThread() {
+        SpecificationEvaluator evaluator = evaluator(cheap(), true);
+
+        for (Map<String, Object> document : documents(100)) {
+            evaluator.evaluate(document);
+        }
+        evaluator.evaluateAll(documents(10));
+
+        assertThat(evaluator.executionMetrics().forks()).isZero();
+    }
+
+    @Test
+    void withoutCostsEveryLevelIsSplit() {
+        SpecificationEvaluator evaluator = evaluator(cheap(), false);
+
+        evaluator.evaluate(documents(1).get(0));
+
+        assertThat(evaluator.executionMetrics().forks()).isOne();
+    }
+
+    @Test
+    void expensiveSpecificationsFanOut() {
+        SpecificationEvaluator evaluator = evaluator(expensive(), true);
+
+        evaluator.evaluate(documents(1).get(0));
+
+        ExecutionMetrics metrics = evaluator.executionMetrics();
+        assertThat(metrics.forks()).isOne();
+        assertThat(metrics.tasks()).as("handed off besides the caller task").isEqualTo(3);
+    }
+
+    @Test
+    void tunedEvaluationGivesTheSameOutcomes() {
+        List<Map<String, Object>> documents = documents(200);
+        for (Specification spec : List.of(cheap(), expensive())) {
+            SpecificationEvaluator tuned = evaluator(spec, true);
+            SpecificationEvaluator split = evaluator(spec, false);
+
+            List<EvaluationOutcome> expected = documents.stream().map(split::evaluate).toList();
+
+            assertThat(documents.stream().map(tuned::evaluate).toList()).isEqualTo(expected);
+            assertThat(tuned.evaluateAll(documents).outcomes()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void taskCountScalesWithWorkAndHandOffCost() {
+        ParallelismTuner tuner = new ParallelismTuner(new ParallelExecution(FOUR_WORKERS));
+        double handoffUnits = ParallelExecution.INITIAL_HANDOFF_NANOS / ParallelismTuner.INITIAL_NANOS_PER_UNIT;
+
+        assertThat(tuner.tasks(handoffUnits, 8)).isOne();
+        assertThat(tuner.tasks(ParallelismTuner.TASK_HANDOFFS * handoffUnits * 3, 8)).isEqualTo(3);
+        assertThat(tuner.tasks(1_000_000, 8)).isEqualTo(8);
+        assertThat(tuner.tasks(1_000_000, 1)).isOne();
+    }
+
+    @Test
+    void samplesMoveTheUnitCost() {
+        ParallelismTuner tuner = new ParallelismTuner(new ParallelExecution(FOUR_WORKERS));
+        double units = 200;
+        int before = tuner.tasks(units, 8);
+
+        for (int i = 0; i < 100; i++) {
+            tuner.record(units, (long) (units * 1_000));
+        }
+
+        assertThat(tuner.nanosPerUnit()).isCloseTo(1_000, offset(10.0));
+        assertThat(before).isOne();
+        assertThat(tuner.tasks(units, 8)).isEqualTo(8);
+
+        for (int i = 0; i < 100; i++) {
+            tuner.record(units, (long) units);
+        }
+
+        assertThat(tuner.tasks(units, 8)).isOne();
+    }
+
+    @Test
+    void costsFollowTheQueryShape() {
+        double eq = CostModel.query(Map.of("a", 1));
+        double regex = CostModel.query(Map.of("a", Map.of("$regex", "x+")));
+        double nested = CostModel.query(Map.of("a.b.c", 1));
+        double elemMatch = CostModel.query(Map.of("a", Map.of("$elemMatch", Map.of("b", 1))));
+        double doubleElemMatch = CostModel.query(Map.of("a", Map.of("$elemMatch",
+                Map.of("b", Map.of("$elemMatch", Map.of("c", 1))))));
+        double smallIn = CostModel.query(Map.of("a", Map.of("$in", List.of(1, 2))));
+        double largeIn = CostModel.query(Map.of("a", Map.of("$in", IntStream.range(0, 400).boxed().toList())));
+
+        assertThat(regex).isGreaterThan(eq);
+        assertThat(nested).isGreaterThan(eq);
+        assertThat(elemMatch).isGreaterThan(eq);
+        assertThat(doubleElemMatch).isGreaterThan(elemMatch);
+        assertThat(largeIn).isGreaterThan(smallIn);
+        assertThat(CostModel.units(new CompositeCriterion("c", Junction.AND, List.of()))).isEqualTo(CostModel.COMPOSITE);
+        assertThat(CostModel.query(Map.of())).isOne();
+    }
+}
@@ -0,0 +1,118 @@
+package uk.codery.jspec.evaluator;
+
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.accessor.DocumentAccessor;
+import uk.codery.jspec.model.CompositeCriterion;
+import uk.codery.jspec.model.Criterion;
+import uk.codery.jspec.model.CriterionReference;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.result.EvaluationResult;
+import uk.codery.jspec.result.EvaluationState;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathValuesTest {
+
+    /** A document that counts how often each of its keys is read. */
+    private static final class CountingMap extends HashMap<String, Object> {
+        final Map<Object, AtomicInteger> reads = new HashMap<>();
+
+        CountingMap(Map<String, Object> contents) {
+            super(contents);
+        }
+
+        @Override
+        public Object get(Object key) {
+            synchronized (reads) {
+                reads.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            }
+            return super.get(key);
+        }
+
+        int reads(String key) {
+            AtomicInteger count = reads.get(key);
+            return count == null ? 0 : count.get();
+        }
+    }
+
+    @Test
+    void tableNumbersDistinctPathsDensely() {
+        FieldPathTable table = new FieldPathTable();
+
+        assertThat(table.slot(FieldPath.of("order.total"))).isZero();
+        assertThat(table.slot(FieldPath.of("customer.verified"))).isEqualTo(1);
+        assertThat(table.slot(FieldPath.of("order.total"))).isZero();
+        assertThat(table.size()).isEqualTo(2);
+    }
+
+    @Test
+    void eachSlotIsNavigatedOncePerDocument() {
+        CountingMap document = new CountingMap(Map.of("status", "active"));
+        PathValues values = new PathValues(document, 2, false);
+        FieldPath status = FieldPath.of("status");
+        FieldPath missing = FieldPath.of("missing");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(values.get(0, status, document, DocumentAccessor.defaults())).isEqualTo("active");
+            assertThat(values.get(1, missing, document, DocumentAccessor.defaults())).isNull();
+        }
+
+        assertThat(document.reads("status")).isEqualTo(1);
+        assertThat(document.reads("missing")).isEqualTo(1);
+    }
+
+    @Test
+    void otherMapsAndUnknownSlotsAreNavigatedDirectly() {
+        Map<String, Object> document = Map.of("status", "active");
+        PathValues values = new PathValues(document, 1, true);
+        FieldPath status = FieldPath.of("status");
+
+        assertThat(values.get(0, status, Map.of("status", "closed"), DocumentAccessor.defaults())).isEqualTo("closed");
+        assertThat(values.get(5, status, document, DocumentAccessor.defaults())).isEqualTo("active");
+        assertThat(values.get(0, status, document, DocumentAccessor.defaults())).isEqualTo("active");
+    }
+
+    @Test
+    void criteriaSharingAFieldReadItOncePerEvaluation() {
+        Specification spec = new Specification("shared", List.of(
+                new QueryCriterion("verified", Map.of("customer.verified", true)),
+                new QueryCriterion("unverified", Map.of("customer.verified", false)),
+                new QueryCriterion("known", Map.of("customer.verified", Map.of("$exists", true))),
+                new QueryCriterion("verified-uk", Map.of("customer.verified", true, "customer.country", "uk")),
+                new CompositeCriterion("nested", List.of(
+                        new QueryCriterion("verified-again", Map.of("customer.verified", true))))));
+        CountingMap document = new CountingMap(Map.of("customer", Map.of("verified", true, "country", "uk")));
+
+        List<EvaluationResult> results = new SpecificationEvaluator(spec).evaluate(document).results();
+
+        assertThat(results).extracting(EvaluationResult::state).containsExactly(
+                EvaluationState.MATCHED, EvaluationState.NOT_MATCHED, EvaluationState.MATCHED,
+                EvaluationState.MATCHED, EvaluationState.MATCHED, EvaluationState.MATCHED);
+        // One navigation each for customer.verified and customer.country.
+        assertThat(document.reads("customer")).isEqualTo(2);
+    }
+
+    @Test
+    void parallelEvaluationSharesFieldsSafely() {
+        List<Criterion> queries = IntStream.range(0, 64)
+                .<Criterion>mapToObj(i -> new QueryCriterion("q" + i, Map.of("n" + (i % 4), Map.of("$gte", i % 8))))
+                .toList();
+        Specification spec = new Specification("parallel", List.of(
+                new CompositeCriterion("all", queries),
+                new CompositeCriterion("ref", List.of(new CriterionReference("q2"), new CriterionReference("q3")))));
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec);
+        SpecificationEvaluator interpreted = new SpecificationEvaluator(spec, new CriterionEvaluator() {});
+
+        for (int round = 0; round < 50; round++) {
+            Map<String, Object> document = Map.of("n0", round % 9, "n1", 4, "n2", 7, "n3", round % 3);
+            assertThat(evaluator.evaluate(document)).isEqualTo(interpreted.evaluate(document));
+        }
+    }
+}
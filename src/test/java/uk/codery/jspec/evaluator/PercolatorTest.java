@@ -0,0 +1,252 @@
+package uk.codery.jspec.evaluator;
+
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.model.CompositeCriterion;
+import uk.codery.jspec.model.CriterionReference;
+import uk.codery.jspec.model.Junction;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.operator.OperatorRegistry;
+import uk.codery.jspec.result.EvaluationOutcome;
+import uk.codery.jspec.result.EvaluationState;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PercolatorTest {
+
+    private static final Map<String, Object> CONTEXT = Map.of("promo", Map.of("tier", "gold"));
+
+    private static Specification spec(String id, Map<String, Object> query) {
+        return new Specification(id, List.of(new QueryCriterion(id + "-q", query)));
+    }
+
+    /** One specification per kind of anchor, and the shapes the index must leave alone. */
+    private static List<Specification> specifications() {
+        List<Specification> specs = new ArrayList<>();
+        specs.add(spec("eq-implicit", Map.of("status", "active")));
+        specs.add(spec("eq-operator", Map.of("status", Map.of("$eq", "closed"))));
+        specs.add(spec("eq-number", Map.of("count", 3)));
+        specs.add(spec("eq-nested", Map.of("customer", Map.of("country", "GB"))));
+        specs.add(spec("in", Map.of("customer.country", Map.of("$in", List.of("GB", "IE")))));
+        specs.add(spec("in-numbers", Map.of("count", Map.of("$in", Arrays.asList(1, 2.0, null)))));
+        specs.add(spec("in-tags", Map.of("tags", Map.of("$in", List.of("vip")))));
+        specs.add(spec("gt", Map.of("total", Map.of("$gt", 100))));
+        specs.add(spec("range", Map.of("total", Map.of("$gte", 10, "$lt", 50))));
+        specs.add(spec("empty-range", Map.of("total", Map.of("$gt", 50, "$lt", 10))));
+        specs.add(spec("between", Map.of("total", Map.of("$between", List.of(20, 30)))));
+        specs.add(spec("between-string", Map.of("status", Map.of("$between", List.of("a", "m")))));
+        specs.add(spec("exists", Map.of("email", Map.of("$exists", true))));
+        specs.add(spec("absent", Map.of("email", Map.of("$exists", false))));
+        specs.add(spec("exists-and-gt", Map.of("total", Map.of("$exists", true, "$gt", 1000))));
+        specs.add(spec("regex", Map.of("email", Map.of("$regex", ".*@example\\.com$"))));
+        specs.add(spec("array-literal", Map.of("tags", List.of("vip", "new"))));
+        specs.add(spec("not", Map.of("status", Map.of("$not", Map.of("$eq", "active")))));
+        specs.add(spec("root-or", Map.of("$or", List.of(Map.of("status", "active"), Map.of("total", 5)))));
+        specs.add(spec("context", Map.of("tier", Map.of("$eq", Map.of("$contextPath", "promo.tier")))));
+        specs.add(spec("multi", Map.of("status", "active", "total", Map.of("$gt", 20), "customer.country", "GB")));
+        specs.add(new Specification("empty", List.of()));
+        specs.add(new Specification("composite", List.of(
+                new QueryCriterion("big", Map.of("total", Map.of("$gt", 40))),
+                new QueryCriterion("uk", Map.of("customer.country", "GB")),
+                new CompositeCriterion("either", Junction.OR, List.of(
+                        new CriterionReference("big"), new CriterionReference("uk"))),
+                new CompositeCriterion("inline", Junction.AND, List.of(
+                        new QueryCriterion("active", Map.of("status", "active")))))));
+        return specs;
+    }
+
+    private static final List<Object> STATUSES = Arrays.asList("active", "closed", "pending", 7, null);
+    private static final List<Object> TOTALS = Arrays.asList(5, 10, 20L, 25.5, 30, 49.99, 50, 100,
+            new BigDecimal("150.5"), 1001, Double.NaN, "100", List.of(25), Map.of("n", 25), null);
+    private static final List<Object> COUNTS = Arrays.asList(1, 2L, 2.0, 3, 3L, 3.0, List.of(1), null);
+    private static final List<Object> COUNTRIES = Arrays.asList("GB", "IE", "FR", null);
+    private static final List<Object> TAGS = Arrays.asList(List.of("vip", "new"), List.of("new"), "vip",
+            Arrays.asList("x", null), null);
+    private static final List<Object> EMAILS = Arrays.asList("a@example.com", "b@other.org", null);
+
+    private static List<Object> documents() {
+        Random random = new Random(42);
+        List<Object> documents = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            Map<String, Object> document = new HashMap<>();
+            put(document, "status", pick(random, STATUSES));
+            put(document, "total", pick(random, TOTALS));
+            put(document, "count", pick(random, COUNTS));
+            put(document, "tags", pick(random, TAGS));
+            put(document, "email", pick(random, EMAILS));
+            put(document, "tier", pick(random, Arrays.asList("gold", "silver", null)));
+            Object country = pick(random, COUNTRIES);
+            if (random.nextInt(4) > 0) {
+                Map<String, Object> customer = new HashMap<>();
+                put(customer, "country", country);
+                document.put("customer", customer);
+            } else if (country != null) {
+                document.put("customer", country);
+            }
+            documents.add(document);
+        }
+        documents.addAll(Arrays.asList(Map.of(), "scalar", List.of(Map.of("status", "active")), null));
+        return documents;
+    }
+
+    private static Object pick(Random random, List<Object> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static void put(Map<String, Object> map, String key, Object value) {
+        if (value != null) {
+            map.put(key, value);
+        }
+    }
+
+    private static Map<String, EvaluationOutcome> bruteForce(List<Specification> specs, CriterionEvaluator evaluator,
+                                                             EvaluationOptions options, Object document, Object context) {
+        Map<String, EvaluationOutcome> matched = new LinkedHashMap<>();
+        for (Specification spec : specs) {
+            EvaluationOutcome outcome = new SpecificationEvaluator(spec, evaluator, options).evaluate(document, context);
+            if (outcome.overallState() == EvaluationState.MATCHED) {
+                matched.put(spec.id(), outcome);
+            }
+        }
+        return matched;
+    }
+
+    @Test
+    void matchesAreExactlyThoseOfEvaluatingEverySpecification() {
+        List<Specification> specs = specifications();
+        for (EvaluationOptions options : List.of(EvaluationOptions.defaults(),
+                EvaluationOptions.defaults().withShortCircuit(true).withSpecialisedOperators(true))) {
+            CriterionEvaluator evaluator = new CriterionEvaluator();
+            Percolator percolator = new Percolator(specs, evaluator, options);
+
+            for (Object document : documents()) {
+                for (Object context : Arrays.asList(CONTEXT, null)) {
+                    Map<String, EvaluationOutcome> expected = bruteForce(specs, evaluator, options, document, context);
+
+                    assertThat(percolator.percolate(document, context)).as("%s %s", options, document)
+                            .containsExactlyEntriesOf(expected);
+                    assertThat(percolator.candidates(document)).containsAll(expected.keySet());
+                }
+            }
+        }
+    }
+
+    @Test
+    void indexedSpecificationsAreRuledOutWithoutEvaluation() {
+        Percolator percolator = new Percolator(specifications());
+
+        assertThat(percolator.candidates(Map.of("status", "closed", "total", 25)))
+                .containsExactly("eq-operator", "range", "between", "between-string", "absent", "exists-and-gt",
+                        "not", "root-or", "empty");
+        assertThat(percolator.candidates(Map.of("email", "a@example.com")))
+                .containsExactly("exists", "regex", "root-or", "empty");
+    }
+
+    @Test
+    void onlyCandidatesAreEvaluated() {
+        AtomicInteger calls = new AtomicInteger();
+        List<Specification> specs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            specs.add(new Specification("rule-" + i, List.of(new QueryCriterion("q", Map.of(
+                    "account", "acc-" + i,
+                    "amount", Map.of("$gte", i, "$lt", i + 10),
+                    "note", Map.of("$counted", "x"))))));
+        }
+        Percolator percolator = new Percolator(specs, OrderFixtures.countingEvaluator(calls));
+
+        Map<String, EvaluationOutcome> matched = percolator.percolate(Map.of("account", "acc-5", "amount", 12, "note", "x"));
+
+        assertThat(matched).containsOnlyKeys("rule-5");
+        assertThat(calls).hasValue(1);
+        assertThat(percolator.candidates(Map.of("account", "acc-5", "amount", 99, "note", "x"))).isEmpty();
+    }
+
+    @Test
+    void onlyTheDefinitionsTheEvaluatorRunsAreIndexed() {
+        Specification repeated = new Specification("repeated", List.of(
+                new QueryCriterion("q", Map.of("status", "active")),
+                new QueryCriterion("q", Map.of("status", "closed"))));
+        Specification referenced = new Specification("referenced", List.of(
+                new CompositeCriterion("wrapper", Junction.AND, List.of(
+                        new QueryCriterion("big", Map.of("total", Map.of("$gt", 100))))),
+                new CriterionReference("big")));
+        List<Specification> specs = List.of(repeated, referenced);
+        Percolator percolator = new Percolator(specs);
+
+        for (Map<String, Object> document : List.<Map<String, Object>>of(Map.of("status", "active", "total", 150),
+                Map.of("status", "closed", "total", 50))) {
+            Map<String, EvaluationOutcome> expected = bruteForce(specs, new CriterionEvaluator(),
+                    EvaluationOptions.defaults(), document, null);
+
+            assertThat(percolator.percolate(document)).as("%s", document).containsExactlyEntriesOf(expected);
+        }
+        assertThat(percolator.candidates(Map.of("status", "active", "total", 150)))
+                .containsExactly("repeated", "referenced");
+        assertThat(percolator.candidates(Map.of("status", "closed", "total", 50))).isEmpty();
+    }
+
+    @Test
+    void overriddenOperatorsAndSubclassedEvaluatorsAreNotIndexed() {
+        OperatorRegistry registry = OperatorRegistry.withDefaults();
+        registry.register("$eq", (value, operand) -> String.valueOf(value).equalsIgnoreCase(String.valueOf(operand)));
+        List<Specification> specs = List.of(spec("eq", Map.of("status", Map.of("$eq", "ACTIVE"))),
+                spec("gt", Map.of("total", Map.of("$gt", 100))));
+
+        Percolator overridden = new Percolator(specs, new CriterionEvaluator(registry));
+        Percolator subclassed = new Percolator(specs, new CriterionEvaluator() {
+        });
+
+        assertThat(overridden.percolate(Map.of("status", "active"))).containsOnlyKeys("eq");
+        assertThat(overridden.candidates(Map.of("status", "active", "total", 5))).containsExactly("eq");
+        assertThat(subclassed.candidates(Map.of())).containsExactly("eq", "gt");
+    }
+
+    @Test
+    void invalidPercolatorsAreRejected() {
+        assertThatThrownBy(() -> new Percolator(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Specifications cannot be null");
+        assertThatThrownBy(() -> new Percolator(List.of(), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("CriterionEvaluator cannot be null");
+        assertThatThrownBy(() -> new Percolator(List.of(spec("a", Map.of()), spec("a", Map.of()))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Duplicate specification id: a");
+    }
+
+    @Test
+    void intervalsReportEveryIntervalContainingThePoint() {
+        Random random = new Random(7);
+        List<Double> lows = new ArrayList<>();
+        List<Double> highs = new ArrayList<>();
+        List<Integer> anchors = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            double low = random.nextInt(100);
+            lows.add(low);
+            highs.add(random.nextInt(10) == 0 ? Double.POSITIVE_INFINITY : low + random.nextInt(20));
+            anchors.add(i);
+        }
+        PercolatorIndex.Intervals intervals = new PercolatorIndex.Intervals(lows, highs, anchors);
+
+        for (double point = -1; point <= 125; point += 0.5) {
+            BitSet stabbed = new BitSet();
+            intervals.stab(point, stabbed);
+            for (int i = 0; i < 300; i++) {
+                assertThat(stabbed.get(i)).as("%s in [%s, %s]", point, lows.get(i), highs.get(i))
+                        .isEqualTo(lows.get(i) <= point && point <= highs.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package uk.codery.jspec.evaluator;
+
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.formatter.JsonResultFormatter;
+import uk.codery.jspec.model.CompositeCriterion;
+import uk.codery.jspec.model.Criterion;
+import uk.codery.jspec.model.CriterionReference;
+import uk.codery.jspec.model.Junction;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.result.CompositeResult;
+import uk.codery.jspec.result.EvaluationOutcome;
+import uk.codery.jspec.result.EvaluationResult;
+import uk.codery.jspec.result.EvaluationState;
+import uk.codery.jspec.result.QueryResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShortCircuitEvaluationTest {
+
+    private static final EvaluationOptions SHORT_CIRCUIT = EvaluationOptions.defaults().withShortCircuit(true);
+
+    private static final QueryCriterion ADULT = new QueryCriterion("adult", Map.of("age", Map.of("$gte", 18)));
+    private static final QueryCriterion ACTIVE = new QueryCriterion("active", Map.of("status", "active"));
+    private static final QueryCriterion VIP = new QueryCriterion("vip", Map.of("tier", "gold"));
+
+    /** Records which queries reach the interpreter (a subclass is never compiled). */
+    private static final class RecordingEvaluator extends CriterionEvaluator {
+        final Set<String> evaluated = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public QueryResult evaluateQuery(Object doc, QueryCriterion criterion) {
+            evaluated.add(criterion.id());
+            return super.evaluateQuery(doc, criterion);
+        }
+    }
+
+    @Test
+    void andStopsAtTheFirstNotMatchedChild() {
+        RecordingEvaluator recording = new RecordingEvaluator();
+        CompositeCriterion all = new CompositeCriterion("all", List.of(ADULT, ACTIVE, VIP));
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(
+                new Specification("s", List.of(all)), recording, SHORT_CIRCUIT);
+
+        EvaluationOutcome outcome = evaluator.evaluate(Map.of("age", 30, "status", "inactive", "tier", "gold"));
+
+        CompositeResult result = (CompositeResult) outcome.results().get(0);
+        assertThat(result.state()).isEqualTo(EvaluationState.NOT_MATCHED);
+        assertThat(result.childResults()).extracting(EvaluationResult::id).containsExactly("adult", "active");
+        assertThat(result.notEvaluated()).containsExactly(VIP);
+        assertThat(result.reason()).contains("1 not evaluated");
+        assertThat(recording.evaluated).containsExactlyInAnyOrder("adult", "active");
+        assertThat(outcome.results()).extracting(EvaluationResult::id).containsExactly("all", "adult", "active");
+    }
+
+    @Test
+    void orStopsAtTheFirstMatchedChild() {
+        CompositeCriterion any = new CompositeCriterion("any", Junction.OR, List.of(
+                ADULT, new CriterionReference("active"), VIP));
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(
+                new Specification("s", List.of(any)), new CriterionEvaluator(), SHORT_CIRCUIT);
+
+        CompositeResult result = (CompositeResult) evaluator.evaluate(Map.of("age", 30)).results().get(0);
+
+        assertThat(result.state()).isEqualTo(EvaluationState.MATCHED);
+        assertThat(result.childResults()).hasSize(1);
+        assertThat(result.notEvaluated()).containsExactly(new CriterionReference("active"), VIP);
+    }
+
+    @Test
+    void undeterminedChildrenDoNotShortCircuit() {
+        CompositeCriterion all = new CompositeCriterion("all", List.of(ADULT, ACTIVE));
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(
+                new Specification("s", List.of(all)), new CriterionEvaluator(), SHORT_CIRCUIT);
+
+        CompositeResult result = (CompositeResult) evaluator.evaluate(Map.of("status", "inactive")).results().get(0);
+
+        assertThat(result.childResults()).extracting(EvaluationResult::state)
+                .containsExactly(EvaluationState.UNDETERMINED, EvaluationState.NOT_MATCHED);
+        assertThat(result.notEvaluated()).isEmpty();
+        assertThat(result.state()).isEqualTo(EvaluationState.NOT_MATCHED);
+    }
+
+    @Test
+    void topLevelCriteriaAreAlwaysEvaluated() {
+        CompositeCriterion all = new CompositeCriterion("all", List.of(
+                new CriterionReference("adult"), new CriterionReference("vip")));
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(
+                new Specification("s", List.of(all, ADULT, VIP)), new CriterionEvaluator(), SHORT_CIRCUIT);
+
+        EvaluationOutcome outcome = evaluator.evaluate(Map.of("age", 10));
+
+        assertThat(outcome.results()).extracting(EvaluationResult::id).containsExactly("all", "adult", "vip");
+        assertThat(((CompositeResult) outcome.results().get(0)).notEvaluated())
+                .containsExactly(new CriterionReference("vip"));
+    }
+
+    @Test
+    void statesMatchFullEvaluation() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            List<Criterion> criteria = randomSpec(random);
+            Specification spec = new Specification("random", criteria);
+            SpecificationEvaluator full = new SpecificationEvaluator(spec);
+            SpecificationEvaluator lazy = new SpecificationEvaluator(spec, new CriterionEvaluator(), SHORT_CIRCUIT);
+
+            for (int d = 0; d < 5; d++) {
+                Map<String, Object> document = randomDocument(random);
+                Map<String, EvaluationState> expected = new HashMap<>();
+                full.evaluate(document).results().forEach(r -> expected.put(r.id(), r.state()));
+
+                assertThat(lazy.evaluate(document).results())
+                        .allSatisfy(r -> assertThat(r.state()).as(r.id()).isEqualTo(expected.get(r.id())));
+            }
+        }
+    }
+
+    @Test
+    void adaptiveOrderingRunsTheDecisiveChildFirst() {
+        CompositeCriterion all = new CompositeCriterion("all", List.of(ADULT, ACTIVE));
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(new Specification("s", List.of(all)),
+                new CriterionEvaluator(), SHORT_CIRCUIT.withAdaptiveOrdering(true));
+        Map<String, Object> document = Map.of("age", 30, "status", "inactive");
+
+        boolean reordered = false;
+        for (int i = 0; i < 50_000 && !reordered; i++) {
+            CompositeResult result = (CompositeResult) evaluator.evaluate(document).results().get(0);
+            assertThat(result.state()).isEqualTo(EvaluationState.NOT_MATCHED);
+            reordered = result.notEvaluated().contains(ADULT);
+        }
+
+        assertThat(reordered).as("'active' (always decisive) learned to run before 'adult'").isTrue();
+    }
+
+    @Test
+    void adaptiveStatesMatchFullEvaluation() {
+        Random random = new Random(7);
+        EvaluationOptions adaptive = SHORT_CIRCUIT.withAdaptiveOrdering(true);
+        for (int round = 0; round < 20; round++) {
+            Specification spec = new Specification("random", randomSpec(random));
+            SpecificationEvaluator full = new SpecificationEvaluator(spec);
+            SpecificationEvaluator lazy = new SpecificationEvaluator(spec, new CriterionEvaluator(), adaptive);
+
+            for (int d = 0; d < 500; d++) {
+                Map<String, Object> document = randomDocument(random);
+                Map<String, EvaluationState> expected = new HashMap<>();
+                full.evaluate(document).results().forEach(r -> expected.put(r.id(), r.state()));
+
+                assertThat(lazy.evaluate(document).results())
+                        .allSatisfy(r -> assertThat(r.state()).as(r.id()).isEqualTo(expected.get(r.id())));
+            }
+        }
+    }
+
+    @Test
+    void fullEvaluationJsonOmitsNotEvaluated() {
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(new Specification("s", List.of(
+                new CompositeCriterion("all", List.of(ADULT, ACTIVE)))));
+
+        String json = new JsonResultFormatter().format(evaluator.evaluate(Map.of("age", 10)));
+
+        assertThat(json).doesNotContain("notEvaluated");
+    }
+
+    private static List<Criterion> randomSpec(Random random) {
+        List<Criterion> criteria = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            criteria.add(new QueryCriterion("q" + i, Map.of("f" + i, Map.of("$eq", true))));
+        }
+        for (int i = 0; i < 4; i++) {
+            criteria.add(randomComposite(random, "c" + i, 2, i));
+        }
+        return criteria;
+    }
+
+    private static CompositeCriterion randomComposite(Random random, String id, int depth, int declared) {
+        List<Criterion> children = new ArrayList<>();
+        int count = 1 + random.nextInt(4);
+        for (int i = 0; i < count; i++) {
+            int pick = random.nextInt(depth > 0 ? 4 : 3);
+            children.add(switch (pick) {
+                case 0 -> new QueryCriterion(id + "-q" + i, Map.of("f" + random.nextInt(6), Map.of("$eq", true)));
+                case 1 -> new CriterionReference("q" + random.nextInt(4));
+                case 2 -> new CriterionReference("c" + random.nextInt(Math.max(1, declared)));
+                default -> randomComposite(random, id + "-c" + i, depth - 1, declared);
+            });
+        }
+        return new CompositeCriterion(id, random.nextBoolean() ? Junction.AND : Junction.OR, children);
+    }
+
+    /** Each field is true, false (NOT_MATCHED) or absent (UNDETERMINED for $eq). */
+    private static Map<String, Object> randomDocument(Random random) {
+        Map<String, Object> document = new HashMap<>();
+        for (int f = 0; f < 6; f++) {
+            int pick = random.nextInt(3);
+            if (pick < 2) document.put("f" + f, pick == 0);
+        }
+        return document;
+    }
+}
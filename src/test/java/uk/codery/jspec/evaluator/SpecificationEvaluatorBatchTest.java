@@ -0,0 +1,151 @@
+package uk.codery.jspec.evaluator;
+
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.model.CompositeCriterion;
+import uk.codery.jspec.model.CriterionReference;
+import uk.codery.jspec.model.Junction;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.result.BatchOutcome;
+import uk.codery.jspec.result.EvaluationOutcome;
+import uk.codery.jspec.result.EvaluationResult;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpecificationEvaluatorBatchTest {
+
+    private static Specification spec() {
+        return new Specification("orders", List.of(
+                new QueryCriterion("large", Map.of("order.total", Map.of("$gte", 100))),
+                new QueryCriterion("domestic", Map.of("order.country", Map.of("$in", List.of("uk", "ie")))),
+                new QueryCriterion("verified", Map.of("customer.verified", true)),
+                new QueryCriterion("within-limit",
+                        Map.of("order.total", Map.of("$lte", Map.of("$contextPath", "limits.total")))),
+                new CompositeCriterion("review", Junction.OR, List.of(
+                        new CriterionReference("large"),
+                        new CompositeCriterion("unverified-abroad", List.of(
+                                new QueryCriterion("abroad", Map.of("order.country", Map.of("$nin", List.of("uk", "ie")))),
+                                new QueryCriterion("unverified", Map.of("customer.verified", false)))))),
+                new CompositeCriterion("approve", List.of(
+                        new CriterionReference("verified"),
+                        new CriterionReference("within-limit")))));
+    }
+
+    @Test
+    void outcomesMatchSingleEvaluationInInputOrder() {
+        for (EvaluationOptions options : List.of(EvaluationOptions.defaults(),
+                EvaluationOptions.defaults().withSpecialisedOperators(true),
+                EvaluationOptions.defaults().withShortCircuit(true).withAdaptiveOrdering(true))) {
+            SpecificationEvaluator evaluator = new SpecificationEvaluator(spec(), new CriterionEvaluator(), options);
+            List<Map<String, Object>> documents = OrderFixtures.documents(5_000, 11);
+
+            BatchOutcome batch = evaluator.evaluateAll(documents);
+
+            assertThat(batch.size()).isEqualTo(documents.size());
+            for (int i = 0; i < documents.size(); i++) {
+                EvaluationOutcome expected = evaluator.evaluate(documents.get(i));
+                if (options.adaptiveOrdering()) {
+                    // Learned orders, and so the children skipped, may differ between the two
+                    // runs; the state of every criterion both evaluated may not.
+                    Map<String, EvaluationResult> actual = batch.get(i).asMap();
+                    for (EvaluationResult result : expected.results()) {
+                        if (actual.containsKey(result.id())) {
+                            assertThat(actual.get(result.id()).state()).as("document %d: %s", i, result.id())
+                                    .isEqualTo(result.state());
+                        }
+                    }
+                } else {
+                    assertThat(batch.get(i)).as("document %d", i).isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void interpretedEvaluatorsBatchToo() {
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec(), new CriterionEvaluator() {});
+        List<Map<String, Object>> documents = OrderFixtures.documents(300, 5);
+
+        BatchOutcome batch = evaluator.evaluateAll(documents);
+
+        assertThat(batch.outcomes()).containsExactlyElementsOf(documents.stream().map(evaluator::evaluate).toList());
+    }
+
+    @Test
+    void everyKindOfInputKeepsItsOrder() {
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec());
+        List<Map<String, Object>> documents = OrderFixtures.documents(200, 3);
+        List<EvaluationOutcome> expected = documents.stream().map(evaluator::evaluate).toList();
+        Iterable<Map<String, Object>> iterable = documents::iterator;
+
+        assertThat(evaluator.evaluateAll(new LinkedList<>(documents)).outcomes()).isEqualTo(expected);
+        assertThat(evaluator.evaluateAll(iterable).outcomes()).isEqualTo(expected);
+        assertThat(evaluator.evaluateAll(documents.stream()).outcomes()).isEqualTo(expected);
+        assertThat(evaluator.evaluateAll(documents.parallelStream()).outcomes()).isEqualTo(expected);
+    }
+
+    @Test
+    void summaryAddsUpEveryDocument() {
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec());
+        List<Map<String, Object>> documents = OrderFixtures.documents(1_000, 7);
+
+        BatchOutcome batch = evaluator.evaluateAll(documents);
+
+        assertThat(batch.specificationId()).isEqualTo("orders");
+        assertThat(batch.summary().documents()).isEqualTo(1_000);
+        assertThat(batch.summary().total()).isEqualTo(batch.stream().mapToLong(o -> o.summary().total()).sum());
+        assertThat(batch.summary().matched()).isEqualTo(batch.stream().mapToLong(o -> o.summary().matched()).sum());
+        assertThat(batch.summary().undetermined()).isEqualTo(batch.stream().mapToLong(o -> o.summary().undetermined()).sum());
+        assertThat(batch.summary().fullyDeterminedDocuments())
+                .isEqualTo((int) batch.stream().filter(EvaluationOutcome::isFullyDetermined).count());
+    }
+
+    @Test
+    void boundContextAndTargetsAreHonoured() {
+        Map<String, Object> context = Map.of("limits", Map.of("total", 150));
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec());
+        SpecificationEvaluator approvals = evaluator.forTargets(Set.of("approve")).bindContext(context);
+        List<Map<String, Object>> documents = OrderFixtures.documents(500, 13);
+
+        BatchOutcome batch = approvals.evaluateAll(documents);
+
+        for (int i = 0; i < documents.size(); i++) {
+            assertThat(batch.get(i)).isEqualTo(evaluator.evaluate(documents.get(i), context, Set.of("approve")));
+        }
+    }
+
+    @Test
+    void emptyBatchHasAnEmptySummary() {
+        BatchOutcome batch = new SpecificationEvaluator(spec()).evaluateAll(List.of());
+
+        assertThat(batch.outcomes()).isEmpty();
+        assertThat(batch.summary().documents()).isZero();
+        assertThat(batch.summary().fullyDetermined()).isTrue();
+    }
+
+    @Test
+    void nullDocumentsAreRejected() {
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec());
+
+        assertThatThrownBy(() -> evaluator.evaluateAll((Iterable<?>) null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> evaluator.evaluateAll((Stream<?>) null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void chunksSpreadDocumentsOverWorkersUpToACap() {
+        assertThat(SpecificationEvaluator.batchChunkSize(0, 8)).isEqualTo(1);
+        assertThat(SpecificationEvaluator.batchChunkSize(10, 8)).isEqualTo(1);
+        assertThat(SpecificationEvaluator.batchChunkSize(3_200, 8)).isEqualTo(100);
+        assertThat(SpecificationEvaluator.batchChunkSize(3_200, 0)).isEqualTo(800);
+        assertThat(SpecificationEvaluator.batchChunkSize(50_000_000, 8)).isEqualTo(SpecificationEvaluator.MAX_BATCH_CHUNK);
+    }
+}
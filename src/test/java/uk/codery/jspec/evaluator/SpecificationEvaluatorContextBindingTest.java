@@ -0,0 +1,223 @@
+package uk.codery.jspec.evaluator;
+
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.model.CompositeCriterion;
+import uk.codery.jspec.model.CriterionReference;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.operator.OperatorRegistry;
+import uk.codery.jspec.result.EvaluationResult;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpecificationEvaluatorContextBindingTest {
+
+    private static final Map<String, Object> TENANT_A = Map.of("tenant", Map.of(
+            "limit", 1_000, "regions", List.of("uk", "ie")));
+    private static final Map<String, Object> TENANT_B = Map.of("tenant", Map.of(
+            "limit", 50, "regions", List.of("fr")));
+
+    private static final List<Map<String, Object>> ORDERS = List.of(
+            Map.of("amount", 100, "region", "uk", "status", "active"),
+            Map.of("amount", 5_000, "region", "fr", "status", "active"),
+            Map.of("amount", 40, "region", "fr"),
+            Map.of("region", "ie", "status", "closed"));
+
+    private static Specification spec() {
+        return new Specification("orders", List.of(
+                new QueryCriterion("within-limit",
+                        Map.of("amount", Map.of("$lte", Map.of("$contextPath", "tenant.limit")))),
+                new QueryCriterion("served-region",
+                        Map.of("region", Map.of("$in", Map.of("$contextPath", "tenant.regions")))),
+                new QueryCriterion("active", Map.of("status", "active")),
+                new QueryCriterion("flagged",
+                        Map.of("region", Map.of("$eq", Map.of("$contextPath", "tenant.blocked")))),
+                new CompositeCriterion("approve", List.of(
+                        new CriterionReference("within-limit"),
+                        new CriterionReference("served-region"),
+                        new CriterionReference("active")))));
+    }
+
+    /** A context document that counts the lookups made into it. */
+    private static final class CountingMap extends HashMap<String, Object> {
+        int lookups;
+
+        CountingMap(Map<String, Object> contents) {
+            super(contents);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            lookups++;
+            return super.containsKey(key);
+        }
+    }
+
+    @Test
+    void boundResultsMatchTwoArgEvaluation() {
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec());
+
+        for (Map<String, Object> tenant : List.of(TENANT_A, TENANT_B, Map.<String, Object>of())) {
+            SpecificationEvaluator bound = evaluator.bindContext(tenant);
+            for (Map<String, Object> order : ORDERS) {
+                assertThat(bound.evaluate(order)).isEqualTo(evaluator.evaluate(order, tenant));
+            }
+        }
+    }
+
+    @Test
+    void boundResultsMatchTwoArgEvaluationWithSpecialisedOperators() {
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec(), new CriterionEvaluator(),
+                EvaluationOptions.defaults().withSpecialisedOperators(true).withShortCircuit(true));
+
+        for (Map<String, Object> order : ORDERS) {
+            assertThat(evaluator.bindContext(TENANT_A).evaluate(order)).isEqualTo(evaluator.evaluate(order, TENANT_A));
+        }
+    }
+
+    @Test
+    void contextIsResolvedOnceWhenBound() {
+        CountingMap tenant = new CountingMap(TENANT_A);
+        SpecificationEvaluator bound = new SpecificationEvaluator(spec()).bindContext(tenant);
+        assertThat(tenant.lookups).isPositive();
+
+        tenant.lookups = 0;
+        ORDERS.forEach(bound::evaluate);
+
+        assertThat(tenant.lookups).isZero();
+    }
+
+    @Test
+    void equalContextsShareOneBinding() {
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec());
+
+        SpecificationEvaluator bound = evaluator.bindContext(TENANT_A);
+
+        assertThat(evaluator.bindContext(new HashMap<>(TENANT_A))).isSameAs(bound);
+        assertThat(bound.bindContext(TENANT_A)).isSameAs(bound);
+        assertThat(evaluator.bindContext(TENANT_B)).isNotSameAs(bound);
+        assertThat(evaluator.bindContext(TENANT_B).bindContext(TENANT_A)).isSameAs(bound);
+    }
+
+    @Test
+    void bindingsExpireAfterTheirTimeToLive() {
+        long[] nanos = {0};
+        ContextBindings bindings = new ContextBindings(8, Duration.ofMinutes(5), () -> nanos[0],
+                context -> new SpecificationEvaluator(spec()));
+
+        SpecificationEvaluator bound = bindings.get(TENANT_A);
+        nanos[0] += Duration.ofMinutes(4).toNanos();
+        assertThat(bindings.get(TENANT_A)).isSameAs(bound);
+
+        nanos[0] += Duration.ofMinutes(1).toNanos();
+        assertThat(bindings.get(TENANT_A)).isNotSameAs(bound);
+    }
+
+    @Test
+    void bindingsExpireUnderAFixedEvaluatorClock() throws InterruptedException {
+        Clock fixed = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec(),
+                new CriterionEvaluator(OperatorRegistry.withDefaults(), fixed),
+                EvaluationOptions.defaults().withContextCache(8, Duration.ofMillis(1)));
+
+        SpecificationEvaluator bound = evaluator.bindContext(TENANT_A);
+        Thread.sleep(5);
+        SpecificationEvaluator rebound = evaluator.bindContext(TENANT_A);
+
+        assertThat(rebound).isNotSameAs(bound).isEqualTo(bound);
+    }
+
+    @Test
+    void unboundedTimeToLiveNeverExpires() {
+        long[] nanos = {Long.MAX_VALUE - 10};
+        ContextBindings bindings = new ContextBindings(8, Duration.ofSeconds(Long.MAX_VALUE), () -> nanos[0],
+                context -> new SpecificationEvaluator(spec()));
+
+        SpecificationEvaluator bound = bindings.get(TENANT_A);
+        nanos[0] += 1_000_000;
+
+        assertThat(bindings.get(TENANT_A)).isSameAs(bound);
+    }
+
+    @Test
+    void leastRecentlyBoundContextIsEvictedFirst() {
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec(), new CriterionEvaluator(),
+                EvaluationOptions.defaults().withContextCache(2, Duration.ofHours(1)));
+        Map<String, Object> tenantC = Map.of("tenant", Map.of("limit", 10));
+
+        SpecificationEvaluator a = evaluator.bindContext(TENANT_A);
+        SpecificationEvaluator b = evaluator.bindContext(TENANT_B);
+        evaluator.bindContext(TENANT_A);
+        evaluator.bindContext(tenantC);
+
+        assertThat(evaluator.bindContext(TENANT_A)).isSameAs(a);
+        assertThat(evaluator.bindContext(TENANT_B)).isNotSameAs(b);
+    }
+
+    @Test
+    void zeroSizeCacheBindsEveryTime() {
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec(), new CriterionEvaluator(),
+                EvaluationOptions.defaults().withContextCache(0, Duration.ofHours(1)));
+
+        assertThat(evaluator.bindContext(TENANT_A)).isNotSameAs(evaluator.bindContext(TENANT_A));
+    }
+
+    @Test
+    void boundEvaluatorHonoursAnExplicitContext() {
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec());
+        SpecificationEvaluator bound = evaluator.bindContext(TENANT_A);
+
+        for (Map<String, Object> order : ORDERS) {
+            assertThat(bound.evaluate(order, TENANT_B)).isEqualTo(evaluator.evaluate(order, TENANT_B));
+            assertThat(bound.evaluate(order, null)).isEqualTo(evaluator.evaluate(order));
+        }
+    }
+
+    @Test
+    void bindingKeepsTargets() {
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec());
+        Map<String, EvaluationResult> expected = new HashMap<>();
+        evaluator.evaluate(ORDERS.get(0), TENANT_A).results().forEach(r -> expected.put(r.id(), r));
+
+        for (SpecificationEvaluator bound : List.of(
+                evaluator.forTargets(Set.of("approve")).bindContext(TENANT_A),
+                evaluator.bindContext(TENANT_A).forTargets(Set.of("approve")))) {
+            assertThat(bound.targets()).containsExactly("approve");
+            assertThat(bound.evaluate(ORDERS.get(0)).results()).containsExactly(expected.get("approve"));
+        }
+    }
+
+    @Test
+    void boundContextTakesPartInEquality() {
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec());
+
+        assertThat(evaluator.bindContext(TENANT_A))
+                .isEqualTo(new SpecificationEvaluator(spec()).bindContext(new HashMap<>(TENANT_A)))
+                .hasSameHashCodeAs(new SpecificationEvaluator(spec()).bindContext(TENANT_A))
+                .isNotEqualTo(evaluator)
+                .isNotEqualTo(evaluator.bindContext(TENANT_B));
+        assertThat(evaluator.bindContext(TENANT_A).toString()).contains("boundContext=");
+    }
+
+    @Test
+    void invalidCacheBoundsAreRejected() {
+        EvaluationOptions defaults = EvaluationOptions.defaults();
+
+        assertThatThrownBy(() -> defaults.withContextCache(-1, Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> defaults.withContextCache(1, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> defaults.withContextCache(1, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
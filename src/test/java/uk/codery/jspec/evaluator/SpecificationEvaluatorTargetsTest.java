@@ -0,0 +1,129 @@
+package uk.codery.jspec.evaluator;
+
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.model.CompositeCriterion;
+import uk.codery.jspec.model.CriterionReference;
+import uk.codery.jspec.model.Junction;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.result.EvaluationOutcome;
+import uk.codery.jspec.result.EvaluationResult;
+import uk.codery.jspec.result.QueryResult;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpecificationEvaluatorTargetsTest {
+
+    private static final Map<String, Object> APPLICANT = Map.of("age", 30, "income", 50_000, "status", "active");
+
+    private static Specification spec() {
+        return new Specification("loans", List.of(
+                new QueryCriterion("adult", Map.of("age", Map.of("$gte", 18))),
+                new QueryCriterion("earner", Map.of("income", Map.of("$gt", 20_000))),
+                new QueryCriterion("active", Map.of("status", "active")),
+                new QueryCriterion("vip", Map.of("tier", "gold")),
+                new CompositeCriterion("loan-eligibility", List.of(
+                        new CriterionReference("adult"),
+                        new CompositeCriterion("affordable", List.of(new CriterionReference("earner"))))),
+                new CompositeCriterion("upgrade", Junction.OR, List.of(
+                        new CriterionReference("vip"), new CriterionReference("active")))));
+    }
+
+    /** Records which queries reach the interpreter (a subclass is never compiled). */
+    private static final class RecordingEvaluator extends CriterionEvaluator {
+        final Set<String> evaluated = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public QueryResult evaluateQuery(Object doc, QueryCriterion criterion) {
+            evaluated.add(criterion.id());
+            return super.evaluateQuery(doc, criterion);
+        }
+    }
+
+    @Test
+    void evaluatesOnlyTheTargetsAndTheirDependencies() {
+        RecordingEvaluator recording = new RecordingEvaluator();
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec(), recording)
+                .forTargets(Set.of("loan-eligibility"));
+
+        EvaluationOutcome outcome = evaluator.evaluate(APPLICANT);
+
+        assertThat(recording.evaluated).containsExactlyInAnyOrder("adult", "earner");
+        assertThat(outcome.results()).extracting(EvaluationResult::id).containsExactly("loan-eligibility");
+        assertThat(outcome.summary().total()).isEqualTo(1);
+        assertThat(outcome.summary().matched()).isEqualTo(1);
+    }
+
+    @Test
+    void targetedResultsMatchAFullEvaluation() {
+        SpecificationEvaluator full = new SpecificationEvaluator(spec());
+        Map<String, EvaluationResult> expected = new HashMap<>();
+        full.evaluate(APPLICANT).results().forEach(r -> expected.put(r.id(), r));
+
+        for (Set<String> targets : List.of(Set.of("affordable"), Set.of("upgrade", "adult"), Set.of("vip"))) {
+            List<EvaluationResult> results = full.evaluate(APPLICANT, Map.of(), targets).results();
+
+            assertThat(results).extracting(EvaluationResult::id).containsExactlyInAnyOrderElementsOf(targets);
+            assertThat(results).allSatisfy(r -> assertThat(r).isEqualTo(expected.get(r.id())));
+        }
+    }
+
+    @Test
+    void targetsComeOutInDeclarationOrder() {
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec());
+
+        EvaluationOutcome outcome = evaluator.evaluate(APPLICANT, Map.of(), Set.of("upgrade", "vip", "adult"));
+
+        assertThat(outcome.results()).extracting(EvaluationResult::id).containsExactly("adult", "vip", "upgrade");
+    }
+
+    @Test
+    void cycleReportingMatchesAFullEvaluation() {
+        Specification spec = new Specification("cycle", List.of(
+                new CompositeCriterion("a", List.of(new CriterionReference("b"))),
+                new CompositeCriterion("b", List.of(new CriterionReference("a")))));
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec);
+        List<EvaluationResult> full = evaluator.evaluate(Map.of()).results();
+
+        assertThat(evaluator.evaluate(Map.of(), Map.of(), Set.of("b")).results()).containsExactly(full.get(1));
+        assertThat(evaluator.evaluate(Map.of(), Map.of(), Set.of("a")).results()).containsExactly(full.get(0));
+    }
+
+    @Test
+    void emptyTargetsEvaluateNothing() {
+        EvaluationOutcome outcome = new SpecificationEvaluator(spec()).evaluate(APPLICANT, Map.of(), Set.of());
+
+        assertThat(outcome.results()).isEmpty();
+        assertThat(outcome.summary().total()).isZero();
+    }
+
+    @Test
+    void unknownOrNullTargetsAreRejected() {
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec());
+
+        assertThatThrownBy(() -> evaluator.forTargets(Set.of("adult", "ghost")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ghost");
+        assertThatThrownBy(() -> evaluator.forTargets(null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void targetsTakePartInEquality() {
+        SpecificationEvaluator evaluator = new SpecificationEvaluator(spec());
+
+        assertThat(evaluator.targets()).isEmpty();
+        assertThat(evaluator.forTargets(Set.of("adult")))
+                .isEqualTo(new SpecificationEvaluator(spec()).forTargets(Set.of("adult")))
+                .isNotEqualTo(evaluator)
+                .isNotEqualTo(evaluator.forTargets(Set.of("vip")));
+        assertThat(evaluator.forTargets(Set.of("adult")).targets()).containsExactly("adult");
+    }
+}
@@ -0,0 +1,192 @@
+package uk.codery.jspec.evaluator;
+
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.model.CompositeCriterion;
+import uk.codery.jspec.model.CriterionReference;
+import uk.codery.jspec.model.Junction;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.result.EvaluationOutcome;
+import uk.codery.jspec.result.QueryResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpecificationSetTest {
+
+    private static final Map<String, Object> VERIFIED = Map.of("customer.verified", true);
+    private static final Map<String, Object> UK = Map.of("customer", Map.of("country", Map.of("$in", List.of("GB", "IE"))));
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private static Specification fraud() {
+        return new Specification("fraud", List.of(
+                new QueryCriterion("verified", VERIFIED),
+                new QueryCriterion("big-order", OrderFixtures.LARGE),
+                new QueryCriterion("risky-email", Map.of("email", Map.of("$regex", ".*@example\\.com$"))),
+                new CompositeCriterion("review", Junction.AND, List.of(
+                        new CriterionReference("big-order"),
+                        new CompositeCriterion("flagged", Junction.OR, List.of(
+                                new CriterionReference("verified"), new CriterionReference("risky-email")))))));
+    }
+
+    private static Specification loyalty() {
+        return new Specification("loyalty", List.of(
+                new QueryCriterion("is-verified", VERIFIED),
+                new QueryCriterion("local", UK),
+                new QueryCriterion("spend", OrderFixtures.LARGE),
+                new QueryCriterion("tier", Map.of("tier", Map.of("$eq", Map.of("$contextPath", "promo.tier")))),
+                new CompositeCriterion("eligible", Junction.AND, List.of(
+                        new CriterionReference("is-verified"), new CriterionReference("local"),
+                        new CriterionReference("tier")))));
+    }
+
+    private static Specification shipping() {
+        return new Specification("shipping", List.of(
+                new QueryCriterion("domestic", UK),
+                new QueryCriterion("heavy", Map.of("order.weight", Map.of("$gte", 30))),
+                new CompositeCriterion("surcharge", Junction.OR, List.of(
+                        new CriterionReference("heavy"), new CriterionReference("missing")))));
+    }
+
+    private static final List<Object> DOCUMENTS = List.of(
+            Map.of("customer", Map.of("verified", true, "country", "GB"), "order", Map.of("total", 150, "weight", 40),
+                    "email", "a@example.com", "tier", "gold"),
+            Map.of("customer", Map.of("verified", false, "country", "FR"), "order", Map.of("total", 20)),
+            Map.of("email", "b@other.org"),
+            Map.of());
+
+    private static final Map<String, Object> CONTEXT = Map.of("promo", Map.of("tier", "gold"));
+
+    @Test
+    void outcomesMatchEvaluatingEachSpecificationAlone() {
+        List<Specification> specifications = List.of(fraud(), loyalty(), shipping());
+        for (EvaluationOptions options : List.of(EvaluationOptions.defaults(),
+                EvaluationOptions.defaults().withShortCircuit(true),
+                EvaluationOptions.defaults().withSpecialisedOperators(true),
+                EvaluationOptions.defaults().withExecutionStrategy(ExecutionStrategy.forkJoinPool(3))
+                        .withCostBasedParallelism(false))) {
+            CriterionEvaluator criterionEvaluator = new CriterionEvaluator();
+            SpecificationSet set = new SpecificationSet(specifications, criterionEvaluator, options);
+
+            for (Object document : DOCUMENTS) {
+                for (Object context : Arrays.asList(Map.of(), CONTEXT, null)) {
+                    Map<String, EvaluationOutcome> outcomes = set.evaluate(document, context);
+
+                    assertThat(outcomes).containsOnlyKeys("fraud", "loyalty", "shipping");
+                    for (Specification specification : specifications) {
+                        EvaluationOutcome alone = new SpecificationEvaluator(specification, criterionEvaluator, options)
+                                .evaluate(document, context);
+                        assertThat(outcomes.get(specification.id())).as("%s %s %s", options, specification.id(), document)
+                                .isEqualTo(alone);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void identicalQueriesAreEvaluatedOncePerDocument() {
+        List<Specification> specifications = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            specifications.add(new Specification("spec-" + i, List.of(
+                    new QueryCriterion("shared-" + i, Map.of("status", Map.of("$counted", "active"))),
+                    new QueryCriterion("own-" + i, Map.of("rank", Map.of("$counted", i))))));
+        }
+        SpecificationSet set = new SpecificationSet(specifications, OrderFixtures.countingEvaluator(calls));
+
+        Map<String, EvaluationOutcome> outcomes = set.evaluate(Map.of("status", "active", "rank", 7));
+
+        assertThat(set.sharedQueries()).isEqualTo(51);
+        assertThat(calls).hasValue(51);
+        assertThat(outcomes).hasSize(50);
+        assertThat(outcomes.get("spec-7").summary().matched()).isEqualTo(2);
+        assertThat(outcomes.get("spec-8").summary().matched()).isOne();
+        assertThat(outcomes.get("spec-8").results()).extracting(result -> result.id())
+                .containsExactly("shared-8", "own-8");
+    }
+
+    @Test
+    void queriesDifferingOnlyInKeyOrderReportTheirOwnMissingPaths() {
+        Map<String, Object> ab = new LinkedHashMap<>();
+        ab.put("a", Map.of("$gt", 1));
+        ab.put("b", Map.of("$gt", 2));
+        Map<String, Object> ba = new LinkedHashMap<>();
+        ba.put("b", Map.of("$gt", 2));
+        ba.put("a", Map.of("$gt", 1));
+        Specification first = new Specification("ab", List.of(new QueryCriterion("q", ab)));
+        Specification second = new Specification("ba", List.of(new QueryCriterion("q", ba)));
+        SpecificationSet set = new SpecificationSet(List.of(first, second));
+
+        Map<String, EvaluationOutcome> outcomes = set.evaluate(Map.of());
+
+        assertThat(set.sharedQueries()).isEqualTo(2);
+        assertThat(outcomes.get("ba")).isEqualTo(new SpecificationEvaluator(second).evaluate(Map.of()));
+        assertThat(((QueryResult) outcomes.get("ba").results().get(0)).missingPaths()).containsExactly("b", "a");
+        assertThat(((QueryResult) outcomes.get("ab").results().get(0)).missingPaths()).containsExactly("a", "b");
+    }
+
+    @Test
+    void contextQueriesAreNotShared() {
+        List<Specification> specifications = IntStream.range(0, 3)
+                .mapToObj(i -> new Specification("spec-" + i, List.of(new QueryCriterion("tier",
+                        Map.of("tier", Map.of("$counted", Map.of("$contextPath", "promo.tier")))))))
+                .toList();
+        SpecificationSet set = new SpecificationSet(specifications, OrderFixtures.countingEvaluator(calls));
+
+        Map<String, EvaluationOutcome> outcomes = set.evaluate(Map.of("tier", "gold"), CONTEXT);
+
+        assertThat(set.sharedQueries()).isZero();
+        assertThat(calls).hasValue(3);
+        assertThat(outcomes.values()).allSatisfy(outcome -> assertThat(outcome.summary().matched()).isOne());
+    }
+
+    @Test
+    void outcomesFollowTheSetsOrder() {
+        SpecificationSet set = new SpecificationSet(List.of(shipping(), fraud(), loyalty()));
+
+        assertThat(set.evaluate(DOCUMENTS.get(0)).keySet()).containsExactly("shipping", "fraud", "loyalty");
+        assertThat(set.specifications()).extracting(Specification::id).containsExactly("shipping", "fraud", "loyalty");
+        assertThat(new SpecificationSet(List.of()).evaluate(DOCUMENTS.get(0))).isEmpty();
+    }
+
+    @Test
+    void invalidSetsAreRejected() {
+        assertThatThrownBy(() -> new SpecificationSet(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Specifications cannot be null");
+        assertThatThrownBy(() -> new SpecificationSet(Arrays.asList(fraud(), null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Specification cannot be null");
+        assertThatThrownBy(() -> new SpecificationSet(List.of(fraud(), fraud())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Duplicate specification id: fraud");
+        assertThatThrownBy(() -> new SpecificationSet(List.of(fraud()), new CriterionEvaluator(), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("EvaluationOptions cannot be null");
+    }
+
+    @Test
+    void criteriaOfOneSpecificationStillResolveWithinIt() {
+        Specification first = new Specification("first", List.of(
+                new QueryCriterion("a", VERIFIED),
+                new CompositeCriterion("c", Junction.AND, List.of(new CriterionReference("a")))));
+        Specification second = new Specification("second", List.of(
+                new QueryCriterion("a", OrderFixtures.LARGE),
+                new CompositeCriterion("c", Junction.AND, List.of(new CriterionReference("a")))));
+        Map<String, Object> document = Map.of("customer", Map.of("verified", true), "order", Map.of("total", 5));
+
+        Map<String, EvaluationOutcome> outcomes = new SpecificationSet(List.of(first, second)).evaluate(document);
+
+        assertThat(outcomes.get("first").summary().matched()).isEqualTo(2);
+        assertThat(outcomes.get("second").summary().matched()).isZero();
+    }
+}
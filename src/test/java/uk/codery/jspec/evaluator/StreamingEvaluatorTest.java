@@ -0,0 +1,217 @@
+package uk.codery.jspec.evaluator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.codery.jspec.model.CompositeCriterion;
+import uk.codery.jspec.model.CriterionReference;
+import uk.codery.jspec.model.QueryCriterion;
+import uk.codery.jspec.model.Specification;
+import uk.codery.jspec.result.BatchSummary;
+import uk.codery.jspec.result.EvaluationOutcome;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreamingEvaluatorTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final SpecificationEvaluator EVALUATOR = new SpecificationEvaluator(new Specification("orders", List.of(
+            new QueryCriterion("large", Map.of("order.total", Map.of("$gte", 100))),
+            new QueryCriterion("domestic", Map.of("order.country", Map.of("$in", List.of("uk", "ie")))),
+            new QueryCriterion("within-limit", Map.of("order.total", Map.of("$lte", Map.of("$contextPath", "limit")))),
+            new CompositeCriterion("review", List.of(
+                    new CriterionReference("large"), new CriterionReference("domestic"))))));
+
+    private static String ndjson(List<?> records) throws JsonProcessingException {
+        StringBuilder out = new StringBuilder();
+        for (Object record : records) {
+            out.append(JSON.writeValueAsString(record)).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Streams {@code content} and returns the outcomes the sink received, in order. */
+    private static List<EvaluationOutcome> collect(StreamingEvaluator streaming, String content) throws IOException {
+        List<EvaluationOutcome> outcomes = new ArrayList<>();
+        streaming.evaluate(stream(content), outcomes::add);
+        return outcomes;
+    }
+
+    @Test
+    void ndjsonRecordsAreEvaluatedInInputOrder() throws IOException {
+        List<Map<String, Object>> records = OrderFixtures.documents(1_000, 17);
+        List<EvaluationOutcome> expected = records.stream().map(EVALUATOR::evaluate).toList();
+
+        for (int windowSize : List.of(1, 7, 256, 5_000)) {
+            assertThat(collect(new StreamingEvaluator(EVALUATOR, windowSize), ndjson(records)))
+                    .as("window of %d", windowSize).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void topLevelArrayIsUnwrapped() throws IOException {
+        List<Map<String, Object>> records = OrderFixtures.documents(50, 17);
+
+        List<EvaluationOutcome> outcomes = collect(new StreamingEvaluator(EVALUATOR, 8), JSON.writeValueAsString(records));
+
+        assertThat(outcomes).isEqualTo(records.stream().map(EVALUATOR::evaluate).toList());
+    }
+
+    @Test
+    void summaryCoversEveryRecord() throws IOException {
+        List<Map<String, Object>> records = OrderFixtures.documents(300, 17);
+
+        BatchSummary summary = new StreamingEvaluator(EVALUATOR, 64).evaluate(stream(ndjson(records)), outcome -> { });
+
+        assertThat(summary).isEqualTo(EVALUATOR.evaluateAll(records).summary());
+    }
+
+    @Test
+    void emptyInputEvaluatesNothing() throws IOException {
+        List<EvaluationOutcome> outcomes = new ArrayList<>();
+
+        BatchSummary summary = new StreamingEvaluator(EVALUATOR).evaluate(stream("  \n"), outcomes::add);
+
+        assertThat(outcomes).isEmpty();
+        assertThat(summary.documents()).isZero();
+    }
+
+    @Test
+    void boundContextResolvesContextPaths() throws IOException {
+        SpecificationEvaluator bound = EVALUATOR.bindContext(Map.of("limit", 150));
+        List<Map<String, Object>> records = OrderFixtures.documents(100, 17);
+
+        List<EvaluationOutcome> outcomes = collect(new StreamingEvaluator(bound, 16), ndjson(records));
+
+        assertThat(outcomes).isEqualTo(records.stream().map(r -> EVALUATOR.evaluate(r, Map.of("limit", 150))).toList());
+    }
+
+    @Test
+    void singleThreadExecutorSharedWithTheCallerDoesNotDeadlock() throws Exception {
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            SpecificationEvaluator evaluator = new SpecificationEvaluator(EVALUATOR.specification(),
+                    new CriterionEvaluator(), EvaluationOptions.defaults()
+                    .withExecutionStrategy(ExecutionStrategy.executor(single, 2)));
+            List<Map<String, Object>> records = OrderFixtures.documents(500, 17);
+            String content = ndjson(records);
+
+            // The caller occupies the only worker, so every window must be evaluated on the caller
+            List<EvaluationOutcome> outcomes = single.submit(() -> collect(new StreamingEvaluator(evaluator, 32), content))
+                    .get(30, TimeUnit.SECONDS);
+
+            assertThat(outcomes).isEqualTo(records.stream().map(EVALUATOR::evaluate).toList());
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    void yamlMapperReadsMultiDocumentYaml() throws IOException {
+        String yaml = "order:\n  total: 150\n  country: uk\n---\norder:\n  total: 20\n---\norder:\n  country: fr\n";
+        StreamingEvaluator streaming = new StreamingEvaluator(EVALUATOR, 2, new ObjectMapper(new YAMLFactory()));
+
+        List<EvaluationOutcome> outcomes = collect(streaming, yaml);
+
+        assertThat(outcomes).isEqualTo(List.of(
+                EVALUATOR.evaluate(Map.of("order", Map.of("total", 150, "country", "uk"))),
+                EVALUATOR.evaluate(Map.of("order", Map.of("total", 20))),
+                EVALUATOR.evaluate(Map.of("order", Map.of("country", "fr")))));
+    }
+
+    @Test
+    void projectingStreamGivesTheSameOutcomes() throws IOException {
+        List<Map<String, Object>> records = OrderFixtures.documents(200, 17);
+        records.forEach(record -> record.put("notes", Map.of("text", "unused", "lines", List.of(1, 2, 3))));
+        StreamingEvaluator projecting = new StreamingEvaluator(EVALUATOR, 16).withProjection();
+        List<EvaluationOutcome> expected = records.stream().map(EVALUATOR::evaluate).toList();
+
+        assertThat(projecting.projecting()).isTrue();
+        assertThat(collect(projecting, ndjson(records))).isEqualTo(expected);
+        assertThat(collect(projecting, JSON.writeValueAsString(records))).isEqualTo(expected);
+    }
+
+    @Test
+    void filesAreReadFromAPath(@TempDir Path directory) throws IOException {
+        List<Map<String, Object>> records = OrderFixtures.documents(40, 17);
+        Path file = Files.writeString(directory.resolve("orders.ndjson"), ndjson(records));
+        List<EvaluationOutcome> outcomes = new ArrayList<>();
+
+        new StreamingEvaluator(EVALUATOR, 16).evaluate(file, outcomes::add);
+
+        assertThat(outcomes).isEqualTo(records.stream().map(EVALUATOR::evaluate).toList());
+    }
+
+    @Test
+    void callerKeepsOwnershipOfTheStream() throws IOException {
+        boolean[] closed = {false};
+        byte[] content = ndjson(OrderFixtures.documents(3, 17)).getBytes(StandardCharsets.UTF_8);
+        InputStream input = new ByteArrayInputStream(content) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        new StreamingEvaluator(EVALUATOR).evaluate(input, outcome -> { });
+
+        assertThat(closed[0]).isFalse();
+    }
+
+    @Test
+    void malformedInputFailsAfterDeliveringEarlierWindows() throws IOException {
+        String content = ndjson(OrderFixtures.documents(10, 17)) + "{\"order\": \n";
+        List<EvaluationOutcome> outcomes = new ArrayList<>();
+        StreamingEvaluator streaming = new StreamingEvaluator(EVALUATOR, 2);
+
+        assertThatThrownBy(() -> streaming.evaluate(stream(content), outcomes::add))
+                .isInstanceOf(IOException.class);
+        // Windows of two: the last full window may still have been in flight.
+        assertThat(outcomes.size()).isBetween(8, 10);
+    }
+
+    @Test
+    void sinkFailuresPropagate() {
+        StreamingEvaluator streaming = new StreamingEvaluator(EVALUATOR, 4);
+
+        assertThatThrownBy(() -> streaming.evaluate(stream(ndjson(OrderFixtures.documents(10, 17))), outcome -> {
+            throw new IllegalStateException("sink full");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("sink full");
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        StreamingEvaluator streaming = new StreamingEvaluator(EVALUATOR);
+
+        assertThat(streaming.windowSize()).isEqualTo(StreamingEvaluator.DEFAULT_WINDOW_SIZE);
+        assertThat(streaming.evaluator()).isSameAs(EVALUATOR);
+        assertThat(streaming.projecting()).isFalse();
+        assertThatThrownBy(() -> new StreamingEvaluator(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new StreamingEvaluator(EVALUATOR, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new StreamingEvaluator(EVALUATOR, 1, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> streaming.evaluate((InputStream) null, outcome -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> streaming.evaluate(stream("{}"), null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -442,4 +442,23 @@ class OperatorRegistryTest {
         assertThat(lt.evaluate(99L, 100)).isTrue();
     }
 
+    @Test
+    void isDefault_trueOnlyForUnoverriddenBuiltIns() {
+        registry = OperatorRegistry.withDefaults();
+        registry.register("$custom", (val, operand) -> true);
+
+        assertThat(registry.isDefault("$gt")).isTrue();
+        assertThat(registry.isDefault("$eq")).isTrue();
+        assertThat(registry.isDefault("$custom")).isFalse();
+        assertThat(registry.isDefault("$unknown")).isFalse();
+
+        registry.register("$gt", (val, operand) -> false);
+        assertThat(registry.isDefault("$gt")).isFalse();
+    }
+
+    @Test
+    void isDefault_falseForEmptyRegistry() {
+        assertThat(new OperatorRegistry().isDefault("$eq")).isFalse();
+    }
+
 }
@@ -0,0 +1,85 @@
+package uk.codery.jspec.result;
+
+import org.junit.jupiter.api.Test;
+import uk.codery.jspec.model.QueryCriterion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchSummaryTest {
+
+    @Test
+    void summaryAddsUpOutcomes() {
+        BatchSummary summary = BatchSummary.from(List.of(
+                outcome(EvaluationState.MATCHED, EvaluationState.NOT_MATCHED),
+                outcome(EvaluationState.MATCHED, EvaluationState.UNDETERMINED, EvaluationState.UNDETERMINED),
+                outcome()));
+
+        assertThat(summary).isEqualTo(new BatchSummary(3, 2, 5, 2, 1, 2));
+        assertThat(summary.fullyDetermined()).isFalse();
+    }
+
+    @Test
+    void batchWithoutUndeterminedResultsIsFullyDetermined() {
+        BatchSummary summary = BatchSummary.from(List.of(outcome(EvaluationState.MATCHED)));
+
+        assertThat(summary.fullyDeterminedDocuments()).isEqualTo(1);
+        assertThat(summary.fullyDetermined()).isTrue();
+    }
+
+    @Test
+    void summariesOfWindowsAddUpToTheWholeBatch() {
+        List<EvaluationOutcome> first = List.of(outcome(EvaluationState.MATCHED), outcome(EvaluationState.UNDETERMINED));
+        List<EvaluationOutcome> second = List.of(outcome(EvaluationState.NOT_MATCHED, EvaluationState.MATCHED));
+        List<EvaluationOutcome> all = new ArrayList<>(first);
+        all.addAll(second);
+
+        assertThat(BatchSummary.from(first).plus(BatchSummary.from(second))).isEqualTo(BatchSummary.from(all));
+    }
+
+    @Test
+    void inconsistentCountsAreRejected() {
+        assertThatThrownBy(() -> new BatchSummary(1, 1, 3, 1, 1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BatchSummary(1, 2, 0, 0, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void outcomeIsImmutableAndIndexed() {
+        EvaluationOutcome first = outcome(EvaluationState.MATCHED);
+        EvaluationOutcome second = outcome(EvaluationState.NOT_MATCHED);
+        BatchOutcome batch = new BatchOutcome("spec", new ArrayList<>(List.of(first, second)),
+                BatchSummary.from(List.of(first, second)));
+
+        assertThat(batch.size()).isEqualTo(2);
+        assertThat(batch.get(1)).isSameAs(second);
+        assertThat(batch.stream()).containsExactly(first, second);
+        assertThatThrownBy(() -> batch.outcomes().add(first)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void unmodifiableOutcomesAreKeptWithoutCopying() {
+        List<EvaluationOutcome> outcomes = Collections.unmodifiableList(Arrays.asList(
+                outcome(EvaluationState.MATCHED), outcome(EvaluationState.UNDETERMINED)));
+
+        BatchOutcome batch = new BatchOutcome("spec", outcomes, BatchSummary.from(outcomes));
+
+        assertThat(batch.outcomes()).isSameAs(outcomes);
+    }
+
+    private static EvaluationOutcome outcome(EvaluationState... states) {
+        List<EvaluationResult> results = new ArrayList<>();
+        for (int i = 0; i < states.length; i++) {
+            QueryCriterion criterion = new QueryCriterion("q" + i, Map.of("field", "value"));
+            results.add(new QueryResult(criterion, states[i], List.of(), null));
+        }
+        return new EvaluationOutcome("spec", results, EvaluationSummary.from(results));
+    }
+}